@@ -0,0 +1,13 @@
+-- Record the key of a row changed in a default partition while its rows are copied to a new partition
+-- TG_ARGV[0]: log table, TG_ARGV[1]: key column
+CREATE OR REPLACE FUNCTION partition_migration_log() RETURNS trigger AS $$
+BEGIN
+	IF TG_OP = 'DELETE' THEN
+		EXECUTE format('INSERT INTO %I SELECT ($1).%I', TG_ARGV[0], TG_ARGV[1]) USING OLD;
+	ELSE
+		EXECUTE format('INSERT INTO %I SELECT ($1).%I', TG_ARGV[0], TG_ARGV[1]) USING NEW;
+	END IF;
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql
+;
@@ -0,0 +1,9 @@
+-- TREE_LAZY_LOADING
+SELECT register_migration_script('202610191000_TREE_LAZY_LOADING.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 10:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200272,0,0,TO_TIMESTAMP('2026-10-19 10:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 10:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','TREE_LAZY_LOADING_THRESHOLD','10000','Minimum number of nodes for a tree to load the children of a node on demand when the node is open (0 to always load all nodes)','D','C','304a642b-8eef-428d-9bf0-dca4af6432f0')
+;
@@ -0,0 +1,9 @@
+-- STORAGE_WRITE_BEHIND
+SELECT register_migration_script('202610191100_STORAGE_WRITE_BEHIND.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 11:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200273,0,0,TO_TIMESTAMP('2026-10-19 11:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 11:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','STORAGE_WRITE_BEHIND','N','Y to aggregate storage on hand and reservation changes of a transaction and write them before commit, in product order','D','C','95079f44-7a1a-424c-adc3-9596f562951b')
+;
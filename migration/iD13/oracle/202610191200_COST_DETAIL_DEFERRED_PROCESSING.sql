@@ -0,0 +1,9 @@
+-- COST_DETAIL_DEFERRED_PROCESSING
+SELECT register_migration_script('202610191200_COST_DETAIL_DEFERRED_PROCESSING.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 12:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200274,0,0,TO_TIMESTAMP('2026-10-19 12:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 12:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','COST_DETAIL_DEFERRED_PROCESSING','N','Y to process cost detail created by posting after commit of the posting transaction in background, grouped by product, instead of immediately','D','C','4b4a12d0-56f0-4043-a237-a068aeca6b8a')
+;
@@ -0,0 +1,9 @@
+-- PDF_STREAMING_LAYOUT
+SELECT register_migration_script('202610191300_PDF_STREAMING_LAYOUT.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 1:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200275,0,0,TO_TIMESTAMP('2026-10-19 13:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 13:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','PDF_STREAMING_LAYOUT','N','Y to lay out and write PDF reports page by page, releasing completed pages instead of keeping the whole layout in memory','D','C','7dd0a0a1-d7d2-445f-b198-3caee953ba1d')
+;
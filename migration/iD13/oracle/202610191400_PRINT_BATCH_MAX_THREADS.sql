@@ -0,0 +1,9 @@
+-- PRINT_BATCH_MAX_THREADS
+SELECT register_migration_script('202610191400_PRINT_BATCH_MAX_THREADS.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 2:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200276,0,0,TO_TIMESTAMP('2026-10-19 14:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 14:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','PRINT_BATCH_MAX_THREADS','0','Maximum number of documents rendered concurrently by batch printing (invoice and dunning print), 0 to use the number of processors, 1 to render one document at a time','D','C','5fd517d2-3869-4cec-b4c2-96637f950af6')
+;
@@ -0,0 +1,13 @@
+-- TABLE_PARTITION_ONLINE_MIGRATION
+SELECT register_migration_script('202610191500_TABLE_PARTITION_ONLINE_MIGRATION.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 3:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200277,0,0,TO_TIMESTAMP('2026-10-19 15:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 15:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','TABLE_PARTITION_ONLINE_MIGRATION','N','Y to migrate rows to new table partitions in chunks of TABLE_PARTITION_MIGRATION_CHUNK_SIZE rows, committing after each chunk and each partition','D','S','8e357c2e-b6e0-41b2-88d9-a2fb371d7164')
+;
+
+-- Oct 19, 2026, 3:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200278,0,0,TO_TIMESTAMP('2026-10-19 15:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 15:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','TABLE_PARTITION_MIGRATION_MAX_ROWS_PER_SECOND','0','Maximum number of rows per second moved by online table partition migration, 0 for no limit','D','S','ec527ce5-2a2d-4b74-b102-64de3c2ae329')
+;
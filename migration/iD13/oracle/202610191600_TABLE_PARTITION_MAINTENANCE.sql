@@ -0,0 +1,17 @@
+-- TABLE_PARTITION_MAINTENANCE
+SELECT register_migration_script('202610191600_TABLE_PARTITION_MAINTENANCE.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 4:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200279,0,0,TO_TIMESTAMP('2026-10-19 16:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 16:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','TABLE_PARTITION_FUTURE_INTERVALS','2','Number of range intervals for which the Partition Maintenance process creates empty partitions ahead of data','D','S','a4624d4c-b876-4daf-85d7-7fbda7024cb1')
+;
+
+-- Oct 19, 2026, 4:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200280,0,0,TO_TIMESTAMP('2026-10-19 16:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 16:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','TABLE_PARTITION_RETENTION_INTERVALS','0','Number of past date range intervals kept attached by the Partition Maintenance process, older partitions are detached. 0 to keep all partitions attached','D','S','5fbd9338-b3d1-42bf-8046-170821cbf2d6')
+;
+
+-- Oct 19, 2026, 4:00:00 PM
+INSERT INTO AD_Process (AD_Process_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,Name,Description,Help,IsReport,Value,IsDirectPrint,Classname,AccessLevel,EntityType,Statistic_Count,Statistic_Seconds,IsBetaFunctionality,ShowHelp,CopyFromProcess,AD_Process_UU,AllowMultipleExecution) VALUES (200163,0,0,'Y',TO_TIMESTAMP('2026-10-19 16:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-19 16:00:00','YYYY-MM-DD HH24:MI:SS'),100,'Partition Maintenance','Rolling maintenance of partitioned tables','Move rows from default partitions, create range partitions ahead of data, detach or re-attach date range partitions according to TABLE_PARTITION_RETENTION_INTERVALS and log partition health. Intended to be run by a scheduler.','N','PartitionMaintenance','N','org.idempiere.tablepartition.process.PartitionMaintenance','4','D',0,0,'N','Y','N','f227fdbb-b79c-4f16-874d-f3ca64bdd4ce','NA')
+;
@@ -0,0 +1,9 @@
+-- WEBSERVICE_STREAM
+SELECT register_migration_script('202610191700_WEBSERVICE_STREAM.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 5:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200281,0,0,TO_TIMESTAMP('2026-10-19 17:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 17:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','WEBSERVICE_STREAM_MAX_ROWS','100000','Maximum number of rows of a streaming web service response (queryData/getList), 0 for no limit','D','C','1df48659-b693-44ae-b959-8798bca51c70')
+;
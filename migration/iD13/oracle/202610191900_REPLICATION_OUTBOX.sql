@@ -0,0 +1,13 @@
+-- REPLICATION_OUTBOX
+SELECT register_migration_script('202610191900_REPLICATION_OUTBOX.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 7:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200283,0,0,TO_TIMESTAMP('2026-10-19 19:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 19:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','REPLICATION_OUTBOX','N','Y to publish replication export documents after commit of the transaction, in batches, with retry on failure','D','C','cf628a65-9866-4cf6-b419-b6a77561a72e')
+;
+
+-- Oct 19, 2026, 7:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200284,0,0,TO_TIMESTAMP('2026-10-19 19:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 19:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','REPLICATION_OUTBOX_BATCH_SIZE','100','Maximum number of replication export documents published as one batch','D','C','36fdbd32-5932-4616-ab58-161f6a3a5b2a')
+;
@@ -0,0 +1,25 @@
+-- 2PACK_SKIP_UNCHANGED
+SELECT register_migration_script('202610192000_2PACK_SKIP_UNCHANGED.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 8:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200285,0,0,TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','2PACK_SKIP_UNCHANGED','Y','Y to skip a 2Pack zip identical (SHA-256 digest) to a 2Pack already applied successfully in the same tenant','D','S','05d36af2-033a-4032-bf03-83daadb047bc')
+;
+
+-- Oct 19, 2026, 8:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200286,0,0,TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','AUTOMATIC_PACKIN_PARALLEL_THREADS','1','Maximum number of automatic pack in files of different tenants applied in parallel','D','S','4655dca0-8354-4e67-b334-6ed8707acba2')
+;
+
+-- Oct 19, 2026, 8:00:00 PM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,Description,PrintName,EntityType,AD_Element_UU) VALUES (204007,0,0,'Y',TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),100,'PK_Digest','Package Digest','SHA-256 digest of the package file','Package Digest','D','9d93ebd1-0a08-41f3-b819-f33ce32f33ca')
+;
+
+-- Oct 19, 2026, 8:00:00 PM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,SeqNo,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsSyncDatabase,IsAlwaysUpdateable,IsAutocomplete,IsAllowLogging,AD_Column_UU,IsAllowCopy,SeqNoSelection,IsToolbarButton,IsSecure,IsHtml,IsPartitionKey) VALUES (217112,0,'Package Digest','SHA-256 digest of the package file',50008,'PK_Digest',64,'N','N','N','N','N',0,'N',10,0,0,'Y',TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-19 20:00:00','YYYY-MM-DD HH24:MI:SS'),100,204007,'N','N','D','N','N','N','Y','fa5f5baf-4d11-48de-a98a-cc3c7dbb605e','N',0,'N','N','N','N')
+;
+
+-- Oct 19, 2026, 8:00:00 PM
+ALTER TABLE AD_Package_Imp_Proc ADD PK_Digest VARCHAR2(64 CHAR) DEFAULT NULL 
+;
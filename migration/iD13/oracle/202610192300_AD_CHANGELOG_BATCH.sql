@@ -0,0 +1,13 @@
+-- AD_CHANGELOG_BATCH
+SELECT register_migration_script('202610192300_AD_CHANGELOG_BATCH.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 19, 2026, 11:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200290,0,0,TO_TIMESTAMP('2026-10-19 23:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 23:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','AD_CHANGELOG_BATCH_SIZE','0','Number of change log records of a transaction inserted with one JDBC batch before commit, 0 to save each change log immediately','D','S','fc3d4ebb-4650-4af0-9f3c-b2e6ada72c48')
+;
+
+-- Oct 19, 2026, 11:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200291,0,0,TO_TIMESTAMP('2026-10-19 23:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 23:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','AD_CHANGELOG_ID_BLOCK_SIZE','1','Number of AD_ChangeLog_ID reserved at once from the table sequence','D','S','12d370bb-1c5e-4ebb-864d-50bb31f0fb04')
+;
@@ -0,0 +1,9 @@
+-- ZK_DASHBOARD_CACHE_SECONDS
+SELECT register_migration_script('202610200000_ZK_DASHBOARD_CACHE_SECONDS.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 20, 2026, 12:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200292,0,0,TO_TIMESTAMP('2026-10-20 00:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 00:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','ZK_DASHBOARD_CACHE_SECONDS','30','Seconds to share dashboard gadget data (e.g. document status counts) between sessions with the same access, 0 to disable','D','C','27ae9006-a7d7-4e2f-aac8-aad79a998bd7')
+;
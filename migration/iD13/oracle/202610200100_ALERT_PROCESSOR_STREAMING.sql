@@ -0,0 +1,17 @@
+-- ALERT_PROCESSOR_STREAMING
+SELECT register_migration_script('202610200100_ALERT_PROCESSOR_STREAMING.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 20, 2026, 1:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200293,0,0,TO_TIMESTAMP('2026-10-20 01:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 01:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','ALERT_PROCESSOR_THREADS','1','Number of alerts processed concurrently by an alert processor','D','C','15e2207b-67c2-407c-b2d0-12c0450265fc')
+;
+
+-- Oct 20, 2026, 1:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200294,0,0,TO_TIMESTAMP('2026-10-20 01:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 01:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','ALERT_PROCESSOR_TIMEOUT_SECONDS','0','Timeout in seconds of an alert (and its queries) processed by an alert processor, 0 = no timeout','D','C','7f8590ef-197a-435c-a7c3-24eee6f80ab6')
+;
+
+-- Oct 20, 2026, 1:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200295,0,0,TO_TIMESTAMP('2026-10-20 01:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 01:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','ALERT_STREAMING_ATTACHMENT','N','Write alert rule rows from the cursor into the xlsx (or csv when ALERT_SEND_ATTACHMENT_AS_XLS=N) attachment with bounded memory','D','C','79b3c780-3759-48b5-ab66-9eefc3a4c883')
+;
@@ -0,0 +1,9 @@
+-- TABLE_PARTITION_MIGRATION_CHUNK_SIZE
+SELECT register_migration_script('202610200400_TABLE_PARTITION_MIGRATION_CHUNK_SIZE.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 20, 2026, 4:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200300,0,0,TO_TIMESTAMP('2026-10-20 04:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 04:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','TABLE_PARTITION_MIGRATION_CHUNK_SIZE','10000','Number of rows moved per commit by online table partition migration, 0 to move the rows of a partition in one transaction','D','S','dbc75811-655a-4e47-ba7d-3697abf26439')
+;
@@ -0,0 +1,148 @@
+-- MAIL_OUTBOX_TABLE
+SELECT register_migration_script('202610200600_MAIL_OUTBOX_TABLE.sql') FROM dual;
+
+SET SQLBLANKLINES ON
+SET DEFINE OFF
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Table (AD_Table_ID,Name,Description,TableName,LoadSeq,AccessLevel,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,IsSecurityEnabled,IsDeleteable,IsHighVolume,IsView,EntityType,ImportTable,IsChangeLog,ReplicationType,CopyColumnsFromTable,IsCentrallyMaintained,AD_Table_UU,Processing,DatabaseViewDrop,CopyComponentsFromView,CreateWindowFromTable,IsShowInDrillOptions,IsPartition,CreatePartition) VALUES (200433,'Mail Outbox','Emails waiting to be sent or failed','AD_MailOutbox',0,'6',0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'N','Y','Y','N','D','N','N','L','N','Y','794c684c-810d-4793-b224-989951369bd6','N','N','N','N','N','N','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Sequence (Name,CurrentNext,IsAudited,StartNewYear,Description,IsActive,IsTableID,AD_Client_ID,AD_Org_ID,Created,CreatedBy,Updated,UpdatedBy,AD_Sequence_ID,IsAutoSequence,StartNo,IncrementNo,CurrentNextSys,AD_Sequence_UU) VALUES ('AD_MailOutbox',1000000,'N','N','Table AD_MailOutbox','Y','Y',0,0,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,200523,'Y',1000000,1,200000,'4844a784-7723-46dd-9778-4f2cf237b450')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217125,0.0,'Tenant','Tenant for this installation.','A Tenant is a company or a legal entity. You cannot share data between Tenants.',200433,'AD_Client_ID','@#AD_Client_ID@',10,'N','N','Y','N','N','N',30,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,102,'N','N','D','N','0fa7b2ca-c42b-4f72-be22-df921d000677','N','ADClient_ADMailOutbox','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217126,0.0,'Organization','Organizational entity within tenant','An organization is a unit of your tenant or legal entity - examples are store, department. You can share data between organizations.',200433,'AD_Org_ID','@AD_Org_ID@',10,'N','N','Y','N','N','N',19,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,113,'N','N','D','N','bc9a862c-a110-4063-ba44-ec8bc9aa2de2','N','ADOrg_ADMailOutbox','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217127,0.0,'Created','Date this record was created','The Created field indicates the date that this record was created.',200433,'Created',7,'N','N','Y','N','N','N',16,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,245,'N','N','D','N','0de6ecc4-2927-40ea-9b13-9e9dcf037bc0','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Reference_Value_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217128,0.0,'Created By','User who created this records','The Created By field indicates the user who created this record.',200433,'CreatedBy',10,'N','N','Y','N','N','N',30,110,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,246,'N','N','D','N','7200a556-39ce-4047-8cb2-492cfabf892a','N','CreatedBy_ADMailOutbox','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217129,0.0,'Updated','Date this record was updated','The Updated field indicates the date that this record was updated.',200433,'Updated',7,'N','N','Y','N','N','N',16,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,607,'N','N','D','N','30763c36-5021-4b5d-a61c-c7ae74704079','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Reference_Value_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217130,0.0,'Updated By','User who updated this records','The Updated By field indicates the user who updated this record.',200433,'UpdatedBy',10,'N','N','Y','N','N','N',30,110,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,608,'N','N','D','N','d5199bf7-7844-41f6-b502-c3c3ee0b046c','N','UpdatedBy_ADMailOutbox','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217131,0.0,'Active','The record is active in the system','There are two methods of making records unavailable in the system: One is to delete the record, the other is to de-activate the record. A de-activated record is not available for selection, but available for reports.
+There are two reasons for de-activating and not deleting records:
+(1) The system requires the record for audit purposes.
+(2) The record is referenced by other records. E.g., you cannot delete a Business Partner, if there are invoices for this partner record existing. You de-activate the Business Partner and prevent that this record is used for future entries.',200433,'IsActive','Y',1,'N','N','Y','N','N','N',20,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,348,'Y','N','D','N','8bdfd347-4c7c-487a-bf5b-01ed61daa03e','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,Description,PrintName,EntityType,AD_Element_UU) VALUES (204012,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'AD_MailOutbox_ID','Mail Outbox','Email waiting to be sent','Mail Outbox','D','3afd3865-267d-41c2-9c53-173926320a52')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217132,0.0,'Mail Outbox','Email waiting to be sent',200433,'AD_MailOutbox_ID',22,'Y','N','Y','N','N','N',13,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,204012,'N','N','D','N','5bab4c04-89d5-4468-8f10-fa1631ca42cd','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,PrintName,EntityType,AD_Element_UU) VALUES (204013,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'AD_MailOutbox_UU','AD_MailOutbox_UU','AD_MailOutbox_UU','D','6e3bf620-b34d-4272-a589-178bd0b497e1')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217133,0.0,'AD_MailOutbox_UU',200433,'AD_MailOutbox_UU',36,'N','N','Y','N','N','N',200231,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,204013,'N','N','D','N','382d806f-df20-4531-8f28-4ceb9e744e89','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217134,0.0,'Binary Data','Binary Data','The Binary field stores binary data.',200433,'BinaryData',0,'N','N','Y','N','N','N',23,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,174,'N','N','D','N','d37f35d7-58a4-431d-b6b0-37b0819cfc51','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217135,0.0,'Mail Host','Hostname of Mail Server for SMTP and IMAP','The host name of the Mail Server for SMTP and IMAP',200433,'SMTPHost',60,'N','N','Y','N','N','N',10,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,1253,'N','N','D','N','aa218f1a-213b-46bf-8b20-4f1a8a6c6086','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217136,0.0,'SMTP Port','SMTP Port Number',200433,'SMTPPort',10,'N','N','Y','N','N','N',11,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,200170,'N','N','D','N','a0a4a98d-3587-448b-b50f-3beb91717500','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,Description,PrintName,EntityType,AD_Element_UU) VALUES (204014,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'MailProperties','Mail Properties','Mail session properties and SMTP user of the queued email','Mail Properties','D','4643ffb2-97cf-48bf-b931-aaa61a7f7801')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217137,0.0,'Mail Properties','Mail session properties and SMTP user of the queued email',200433,'MailProperties',0,'N','N','N','N','N','N',36,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,204014,'N','N','D','N','b9ba3113-51ff-4f22-be43-6d6a8bf32fdc','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217138,0.0,'Retry Count','Number of failed attempts',200433,'RetryCount','0',10,'N','N','Y','N','N','N',11,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,204011,'Y','N','D','N','fe0507c8-7bb6-4e84-9289-45e62bbc19ef','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217139,0.0,'Date Next Run','Date the process will run next','The Date Next Run indicates the next time this process will run.',200433,'DateNextRun',7,'N','N','Y','N','N','N',16,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,1090,'Y','N','D','N','ca18497c-30a8-4949-bc6a-4a96ac725e41','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217140,0.0,'Error','An Error occurred in the execution',200433,'IsError','N',1,'N','N','Y','N','N','N',20,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,2395,'Y','N','D','N','7bdb9628-be5c-4f9d-8d49-19820846bcbf','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217141,0.0,'Result','Result of the action taken','The Result indicates the result of any action taken on this request.',200433,'Result',2000,'N','N','N','N','N','N',14,0,0,'Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,546,'Y','N','D','N','6486ce24-c012-4bad-bcbe-64d4162d7a3f','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_TableIndex (AD_Client_ID,AD_Org_ID,AD_TableIndex_ID,AD_TableIndex_UU,Created,CreatedBy,EntityType,IsActive,Name,Updated,UpdatedBy,AD_Table_ID,IsCreateConstraint,IsUnique,Processing,IsKey) VALUES (0,0,201290,'4025e713-df0a-4e21-8aaf-351187dbddd9',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y','AD_MailOutbox_uu_idx',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,200432,'Y','Y','N','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_IndexColumn (AD_Client_ID,AD_Org_ID,AD_IndexColumn_ID,AD_IndexColumn_UU,Created,CreatedBy,EntityType,IsActive,Updated,UpdatedBy,AD_Column_ID,AD_TableIndex_ID,SeqNo) VALUES (0,0,201761,'7fd0ccfb-0674-4ffc-abc5-e336a9647d1b',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,217133,201290,10)
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_TableIndex (AD_Client_ID,AD_Org_ID,AD_TableIndex_ID,AD_TableIndex_UU,Created,CreatedBy,EntityType,IsActive,Name,Updated,UpdatedBy,AD_Table_ID,IsCreateConstraint,IsUnique,Processing,IsKey) VALUES (0,0,201291,'e1754e5a-db73-41e0-b73c-3a918e2c2536',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y','AD_MailOutbox_Next',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,200432,'N','N','N','N')
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_IndexColumn (AD_Client_ID,AD_Org_ID,AD_IndexColumn_ID,AD_IndexColumn_UU,Created,CreatedBy,EntityType,IsActive,Updated,UpdatedBy,AD_Column_ID,AD_TableIndex_ID,SeqNo) VALUES (0,0,201762,'9e0e6fbf-d8b0-4dca-b639-044f580f3910',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,217140,201291,10)
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+INSERT INTO AD_IndexColumn (AD_Client_ID,AD_Org_ID,AD_IndexColumn_ID,AD_IndexColumn_UU,Created,CreatedBy,EntityType,IsActive,Updated,UpdatedBy,AD_Column_ID,AD_TableIndex_ID,SeqNo) VALUES (0,0,201763,'319485bb-534c-42db-9ae8-c5cb4199aff8',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y',TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),100,217139,201291,20)
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+CREATE TABLE AD_MailOutbox (AD_Client_ID NUMBER(10) NOT NULL, AD_MailOutbox_ID NUMBER(10) NOT NULL, AD_MailOutbox_UU VARCHAR2(36 CHAR) NOT NULL, AD_Org_ID NUMBER(10) NOT NULL, BinaryData BLOB NOT NULL, Created DATE NOT NULL, CreatedBy NUMBER(10) NOT NULL, DateNextRun DATE NOT NULL, IsActive CHAR(1) DEFAULT 'Y' CHECK (IsActive IN ('Y','N')) NOT NULL, IsError CHAR(1) DEFAULT 'N' CHECK (IsError IN ('Y','N')) NOT NULL, MailProperties CLOB DEFAULT NULL , Result VARCHAR2(2000 CHAR) DEFAULT NULL , RetryCount NUMBER(10) DEFAULT 0 NOT NULL, SMTPHost VARCHAR2(60 CHAR) NOT NULL, SMTPPort NUMBER(10) NOT NULL, Updated DATE NOT NULL, UpdatedBy NUMBER(10) NOT NULL, CONSTRAINT AD_MailOutbox_Key PRIMARY KEY (AD_MailOutbox_ID), CONSTRAINT AD_MailOutbox_UU_idx UNIQUE (AD_MailOutbox_UU))
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+ALTER TABLE AD_MailOutbox ADD CONSTRAINT ADClient_ADMailOutbox FOREIGN KEY (AD_Client_ID) REFERENCES ad_client(ad_client_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+ALTER TABLE AD_MailOutbox ADD CONSTRAINT ADOrg_ADMailOutbox FOREIGN KEY (AD_Org_ID) REFERENCES ad_org(ad_org_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+ALTER TABLE AD_MailOutbox ADD CONSTRAINT CreatedBy_ADMailOutbox FOREIGN KEY (CreatedBy) REFERENCES ad_user(ad_user_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+ALTER TABLE AD_MailOutbox ADD CONSTRAINT UpdatedBy_ADMailOutbox FOREIGN KEY (UpdatedBy) REFERENCES ad_user(ad_user_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+CREATE INDEX AD_MailOutbox_Next ON AD_MailOutbox (IsError,DateNextRun)
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+UPDATE AD_SysConfig SET Description='Queue emails in the mail outbox table (AD_MailOutbox) and send them from a background thread of a server',Updated=TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),UpdatedBy=100 WHERE AD_SysConfig_ID=200296
+;
+
+-- Oct 20, 2026, 6:00:00 AM
+UPDATE AD_SysConfig SET Description='Number of attempts to send a queued email before it is marked as error in the mail outbox table (AD_MailOutbox)',Updated=TO_TIMESTAMP('2026-10-20 06:00:00','YYYY-MM-DD HH24:MI:SS'),UpdatedBy=100 WHERE AD_SysConfig_ID=200297
+;
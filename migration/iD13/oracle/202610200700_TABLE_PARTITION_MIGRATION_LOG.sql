@@ -0,0 +1,4 @@
+-- TABLE_PARTITION_MIGRATION_LOG
+SELECT register_migration_script('202610200700_TABLE_PARTITION_MIGRATION_LOG.sql') FROM dual;
+
+-- trigger function used by the PostgreSQL table partition migration only
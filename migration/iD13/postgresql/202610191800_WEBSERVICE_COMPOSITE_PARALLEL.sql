@@ -0,0 +1,6 @@
+-- WEBSERVICE_COMPOSITE_PARALLEL
+SELECT register_migration_script('202610191800_WEBSERVICE_COMPOSITE_PARALLEL.sql') FROM dual;
+
+-- Oct 19, 2026, 6:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200282,0,0,TO_TIMESTAMP('2026-10-19 18:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 18:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','WEBSERVICE_COMPOSITE_MAX_THREADS','1','Maximum number of independent operations elements of a composite web service request running in parallel, 1 to run all operations elements sequentially','D','C','f4377183-2cbc-4ab4-8486-82268fff8fde')
+;
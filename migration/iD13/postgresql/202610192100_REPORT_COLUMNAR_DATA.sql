@@ -0,0 +1,6 @@
+-- REPORT_COLUMNAR_DATA
+SELECT register_migration_script('202610192100_REPORT_COLUMNAR_DATA.sql') FROM dual;
+
+-- Oct 19, 2026, 9:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200287,0,0,TO_TIMESTAMP('2026-10-19 21:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 21:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','REPORT_COLUMNAR_DATA','Y','Keep report data in memory as columns instead of rows of elements swapped to file (see REPORT_SWAP_MAX_ROWS)','D','S','944f677d-84ac-41da-a077-f806998fb178')
+;
@@ -0,0 +1,10 @@
+-- WORKFLOW_DIRECT_DOC_ACTION
+SELECT register_migration_script('202610192200_WORKFLOW_DIRECT_DOC_ACTION.sql') FROM dual;
+
+-- Oct 19, 2026, 10:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200288,0,0,TO_TIMESTAMP('2026-10-19 22:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 22:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','WORKFLOW_DIRECT_DOC_ACTION','N','Run document process workflows with only document actions without persistent workflow activities','D','C','19ca2c14-90c7-43e8-859a-bdc21b37ebe5')
+;
+
+-- Oct 19, 2026, 10:00:00 PM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200289,0,0,TO_TIMESTAMP('2026-10-19 22:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-19 22:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','WORKFLOW_DIRECT_DOC_ACTION_AUDIT','Y','Save a single workflow process record for workflows run by WORKFLOW_DIRECT_DOC_ACTION','D','C','b0322d26-06ae-4c9f-ac3d-cdb44ae1b7cd')
+;
@@ -0,0 +1,14 @@
+-- MAIL_OUTBOX
+SELECT register_migration_script('202610200200_MAIL_OUTBOX.sql') FROM dual;
+
+-- Oct 20, 2026, 2:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200296,0,0,TO_TIMESTAMP('2026-10-20 02:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 02:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','MAIL_OUTBOX_ENABLED','N','Queue emails in the outbox directory and send them from a background thread','D','C','dd0c6ea4-332f-4d63-9e56-4304c5276d50')
+;
+
+-- Oct 20, 2026, 2:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200297,0,0,TO_TIMESTAMP('2026-10-20 02:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 02:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','MAIL_OUTBOX_MAX_ATTEMPTS','5','Number of attempts to send a queued email before it is moved to the failed directory of the outbox','D','C','9fd582ac-e395-4442-afca-d46ceddb29d4')
+;
+
+-- Oct 20, 2026, 2:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200298,0,0,TO_TIMESTAMP('2026-10-20 02:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 02:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','MAIL_SMTP_POOL_IDLE_SECONDS','0','Seconds an SMTP connection is kept open for reuse after sending, 0 = close after each email','D','S','5f9814c6-eb31-4fa2-857d-620a2b41b1e0')
+;
@@ -0,0 +1,6 @@
+-- WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES
+SELECT register_migration_script('202610200300_WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES.sql') FROM dual;
+
+-- Oct 20, 2026, 3:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200299,0,0,TO_TIMESTAMP('2026-10-20 03:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 03:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES','0','Minutes between full scans of suspended activities by the workflow processor, in between only activities due in the index of saved activities are processed. 0 = full scan on each run','D','C','d40dd258-ce5b-48df-91a2-bbf549a5e943')
+;
@@ -0,0 +1,137 @@
+-- REPLICATION_OUTBOX_TABLE
+SELECT register_migration_script('202610200500_REPLICATION_OUTBOX_TABLE.sql') FROM dual;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Table (AD_Table_ID,Name,Description,TableName,LoadSeq,AccessLevel,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,IsSecurityEnabled,IsDeleteable,IsHighVolume,IsView,EntityType,ImportTable,IsChangeLog,ReplicationType,CopyColumnsFromTable,IsCentrallyMaintained,AD_Table_UU,Processing,DatabaseViewDrop,CopyComponentsFromView,CreateWindowFromTable,IsShowInDrillOptions,IsPartition,CreatePartition) VALUES (200432,'Replication Outbox','Replication export documents waiting for publishing','EXP_Outbox',0,'6',0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'N','Y','Y','N','D','N','N','L','N','Y','321c97fb-78a8-49d0-abac-73dae29118ef','N','N','N','N','N','N','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Sequence (Name,CurrentNext,IsAudited,StartNewYear,Description,IsActive,IsTableID,AD_Client_ID,AD_Org_ID,Created,CreatedBy,Updated,UpdatedBy,AD_Sequence_ID,IsAutoSequence,StartNo,IncrementNo,CurrentNextSys,AD_Sequence_UU) VALUES ('EXP_Outbox',1000000,'N','N','Table EXP_Outbox','Y','Y',0,0,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,200522,'Y',1000000,1,200000,'d5759f93-ee9c-4c8a-94ba-5b971af03a79')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217113,0.0,'Tenant','Tenant for this installation.','A Tenant is a company or a legal entity. You cannot share data between Tenants.',200432,'AD_Client_ID','@#AD_Client_ID@',10,'N','N','Y','N','N','N',30,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,102,'N','N','D','N','61f2cdea-c25b-4e28-a8bb-4e37bac4b098','N','ADClient_EXPOutbox','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217114,0.0,'Organization','Organizational entity within tenant','An organization is a unit of your tenant or legal entity - examples are store, department. You can share data between organizations.',200432,'AD_Org_ID','@AD_Org_ID@',10,'N','N','Y','N','N','N',19,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,113,'N','N','D','N','4543fd62-7fee-4933-9dad-1a2d555ed90b','N','ADOrg_EXPOutbox','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217115,0.0,'Created','Date this record was created','The Created field indicates the date that this record was created.',200432,'Created',7,'N','N','Y','N','N','N',16,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,245,'N','N','D','N','c933177b-a34b-474e-91e9-c508073c0bb0','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Reference_Value_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217116,0.0,'Created By','User who created this records','The Created By field indicates the user who created this record.',200432,'CreatedBy',10,'N','N','Y','N','N','N',30,110,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,246,'N','N','D','N','6959f706-9ec3-4ece-91d2-9c6b5a16f70f','N','CreatedBy_EXPOutbox','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217117,0.0,'Updated','Date this record was updated','The Updated field indicates the date that this record was updated.',200432,'Updated',7,'N','N','Y','N','N','N',16,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,607,'N','N','D','N','c56bfe59-ff54-488b-8b13-db69fb33b715','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Reference_Value_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217118,0.0,'Updated By','User who updated this records','The Updated By field indicates the user who updated this record.',200432,'UpdatedBy',10,'N','N','Y','N','N','N',30,110,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,608,'N','N','D','N','c4c4e8f3-17c0-456e-bfe2-c63d80c4609f','N','UpdatedBy_EXPOutbox','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,Help,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217119,0.0,'Active','The record is active in the system','There are two methods of making records unavailable in the system: One is to delete the record, the other is to de-activate the record. A de-activated record is not available for selection, but available for reports.
+There are two reasons for de-activating and not deleting records:
+(1) The system requires the record for audit purposes.
+(2) The record is referenced by other records. E.g., you cannot delete a Business Partner, if there are invoices for this partner record existing. You de-activate the Business Partner and prevent that this record is used for future entries.',200432,'IsActive','Y',1,'N','N','Y','N','N','N',20,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,348,'Y','N','D','N','d928e09c-3182-40a5-a559-24cfc10dd5c2','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,Description,PrintName,EntityType,AD_Element_UU) VALUES (204008,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'EXP_Outbox_ID','Replication Outbox','Replication export document waiting for publishing','Replication Outbox','D','78b8c0e9-3406-4938-81cf-00fc915d0f83')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217120,0.0,'Replication Outbox','Replication export document waiting for publishing',200432,'EXP_Outbox_ID',22,'Y','N','Y','N','N','N',13,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,204008,'N','N','D','N','f5363b46-e604-4616-9392-c21b52c89db8','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,PrintName,EntityType,AD_Element_UU) VALUES (204009,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'EXP_Outbox_UU','EXP_Outbox_UU','EXP_Outbox_UU','D','ce5af590-55c7-484b-b139-00f5878c736a')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217121,0.0,'EXP_Outbox_UU',200432,'EXP_Outbox_UU',36,'N','N','Y','N','N','N',200231,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,204009,'N','N','D','N','50b00fb6-5eb3-4aa6-9225-a315a90fa4f3','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton,FKConstraintName,FKConstraintType) VALUES (217122,0.0,'Export Processor',200432,'EXP_Processor_ID',10,'N','N','Y','N','N','N',19,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,53367,'N','N','D','N','d2701360-a909-48ea-95c1-924a98a1e8ba','N','EXPProcessor_EXPOutbox','C')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,Description,PrintName,EntityType,AD_Element_UU) VALUES (204010,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'ExportXML','Export XML','XML document of replication export','Export XML','D','41e6aa19-d339-4ef1-9f5a-40553e978310')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217123,0.0,'Export XML','XML document of replication export',200432,'ExportXML',0,'N','N','Y','N','N','N',36,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,204010,'N','N','D','N','00f5be5b-b616-4bca-8c7e-25d2b1e33067','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Element (AD_Element_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,ColumnName,Name,Description,PrintName,EntityType,AD_Element_UU) VALUES (204011,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'RetryCount','Retry Count','Number of failed attempts','Retry Count','D','8dc9136e-331f-4e65-9726-2293dbc03097')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_Column (AD_Column_ID,Version,Name,Description,AD_Table_ID,ColumnName,DefaultValue,FieldLength,IsKey,IsParent,IsMandatory,IsTranslated,IsIdentifier,IsEncrypted,AD_Reference_ID,AD_Client_ID,AD_Org_ID,IsActive,Created,CreatedBy,Updated,UpdatedBy,AD_Element_ID,IsUpdateable,IsSelectionColumn,EntityType,IsAlwaysUpdateable,AD_Column_UU,IsToolbarButton) VALUES (217124,0.0,'Retry Count','Number of failed attempts',200432,'RetryCount','0',10,'N','N','Y','N','N','N',11,0,0,'Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,204011,'Y','N','D','N','1095a800-6ac5-4e31-a305-548ed83af157','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_TableIndex (AD_Client_ID,AD_Org_ID,AD_TableIndex_ID,AD_TableIndex_UU,Created,CreatedBy,EntityType,IsActive,Name,Updated,UpdatedBy,AD_Table_ID,IsCreateConstraint,IsUnique,Processing,IsKey) VALUES (0,0,201288,'bfad2165-e9b2-49dc-8d06-ccb677cf57f5',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y','EXP_Outbox_uu_idx',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,200432,'Y','Y','N','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_IndexColumn (AD_Client_ID,AD_Org_ID,AD_IndexColumn_ID,AD_IndexColumn_UU,Created,CreatedBy,EntityType,IsActive,Updated,UpdatedBy,AD_Column_ID,AD_TableIndex_ID,SeqNo) VALUES (0,0,201758,'b9498cdb-498f-4d6c-a8ee-487f76430ab7',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,217121,201288,10)
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_TableIndex (AD_Client_ID,AD_Org_ID,AD_TableIndex_ID,AD_TableIndex_UU,Created,CreatedBy,EntityType,IsActive,Name,Updated,UpdatedBy,AD_Table_ID,IsCreateConstraint,IsUnique,Processing,IsKey) VALUES (0,0,201289,'07845017-17db-40ed-81bf-faf9606c42f9',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y','EXP_Outbox_Processor',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,200432,'N','N','N','N')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_IndexColumn (AD_Client_ID,AD_Org_ID,AD_IndexColumn_ID,AD_IndexColumn_UU,Created,CreatedBy,EntityType,IsActive,Updated,UpdatedBy,AD_Column_ID,AD_TableIndex_ID,SeqNo) VALUES (0,0,201759,'68f61efa-786f-4f3b-83a3-b4fe56950ce0',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,217122,201289,10)
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_IndexColumn (AD_Client_ID,AD_Org_ID,AD_IndexColumn_ID,AD_IndexColumn_UU,Created,CreatedBy,EntityType,IsActive,Updated,UpdatedBy,AD_Column_ID,AD_TableIndex_ID,SeqNo) VALUES (0,0,201760,'32b5106a-4b67-4c0b-9b11-31fb4b533f63',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,'D','Y',TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,217120,201289,20)
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+CREATE TABLE EXP_Outbox (AD_Client_ID NUMERIC(10) NOT NULL, AD_Org_ID NUMERIC(10) NOT NULL, Created TIMESTAMP NOT NULL, CreatedBy NUMERIC(10) NOT NULL, EXP_Outbox_ID NUMERIC(10) NOT NULL, EXP_Outbox_UU VARCHAR(36) NOT NULL, EXP_Processor_ID NUMERIC(10) NOT NULL, ExportXML TEXT NOT NULL, IsActive CHAR(1) DEFAULT 'Y' CHECK (IsActive IN ('Y','N')) NOT NULL, RetryCount NUMERIC(10) DEFAULT 0 NOT NULL, Updated TIMESTAMP NOT NULL, UpdatedBy NUMERIC(10) NOT NULL, CONSTRAINT EXP_Outbox_Key PRIMARY KEY (EXP_Outbox_ID), CONSTRAINT EXP_Outbox_UU_idx UNIQUE (EXP_Outbox_UU))
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+ALTER TABLE EXP_Outbox ADD CONSTRAINT ADClient_EXPOutbox FOREIGN KEY (AD_Client_ID) REFERENCES ad_client(ad_client_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+ALTER TABLE EXP_Outbox ADD CONSTRAINT ADOrg_EXPOutbox FOREIGN KEY (AD_Org_ID) REFERENCES ad_org(ad_org_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+ALTER TABLE EXP_Outbox ADD CONSTRAINT CreatedBy_EXPOutbox FOREIGN KEY (CreatedBy) REFERENCES ad_user(ad_user_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+ALTER TABLE EXP_Outbox ADD CONSTRAINT EXPProcessor_EXPOutbox FOREIGN KEY (EXP_Processor_ID) REFERENCES exp_processor(exp_processor_id) ON DELETE CASCADE DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+ALTER TABLE EXP_Outbox ADD CONSTRAINT UpdatedBy_EXPOutbox FOREIGN KEY (UpdatedBy) REFERENCES ad_user(ad_user_id) DEFERRABLE INITIALLY DEFERRED
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+CREATE INDEX EXP_Outbox_Processor ON EXP_Outbox (EXP_Processor_ID,EXP_Outbox_ID)
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200301,0,0,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','REPLICATION_OUTBOX_MAX_RETRIES','100','Number of failed attempts after which a document of the replication outbox is deactivated and skipped, 0 to retry without limit','D','C','9741902e-4dc7-4585-a808-479d03792c93')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+INSERT INTO AD_SysConfig (AD_SysConfig_ID,AD_Client_ID,AD_Org_ID,Created,Updated,CreatedBy,UpdatedBy,IsActive,Name,Value,Description,EntityType,ConfigurationLevel,AD_SysConfig_UU) VALUES (200302,0,0,TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),100,100,'Y','REPLICATION_OUTBOX_MAX_SIZE','100000','Maximum number of documents waiting in the replication outbox of an export processor, saving a replicated record fails when it is full, 0 for no limit','D','C','54341dcc-623a-4adf-8cfc-e7feeea101fc')
+;
+
+-- Oct 20, 2026, 5:00:00 AM
+UPDATE AD_SysConfig SET Description='Y to write replication export documents to the replication outbox table (EXP_Outbox) in the transaction of the record and publish them after commit, in batches, with retry on failure',Updated=TO_TIMESTAMP('2026-10-20 05:00:00','YYYY-MM-DD HH24:MI:SS'),UpdatedBy=100 WHERE AD_SysConfig_ID=200283
+;
@@ -17,13 +17,9 @@
 package org.compiere.model;
 
 import java.math.BigDecimal;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.util.Properties;
 import java.util.logging.Level;
 
-import org.compiere.util.DB;
 import org.compiere.util.Env;
 
 /**
@@ -132,45 +128,10 @@ public class CalloutInventory extends CalloutEngine
 	 * @throws Exception
 	 */
 	private BigDecimal setQtyBook (int M_AttributeSetInstance_ID, int M_Product_ID, int M_Locator_ID) throws Exception {
-		// Set QtyBook from first storage location
-		BigDecimal bd = null;
-		String sql = "SELECT SUM(QtyOnHand) FROM M_StorageOnHand "
-			+ "WHERE M_Product_ID=?"	//	1
-			+ " AND M_Locator_ID=?"		//	2
-			+ " AND M_AttributeSetInstance_ID=?"; //3
-		PreparedStatement pstmt = null;
-		ResultSet rs = null;
-		try
-		{
-			pstmt = DB.prepareStatement(sql, null);
-			pstmt.setInt(1, M_Product_ID);
-			pstmt.setInt(2, M_Locator_ID);
-			pstmt.setInt(3, M_AttributeSetInstance_ID);
-			rs = pstmt.executeQuery();
-			if (rs.next())
-			{
-				bd = rs.getBigDecimal(1);
-				if (bd != null)
-					return bd;
-			} else {
-				// gwu: 1719401: clear Booked Quantity to zero first in case the query returns no rows, 
-				// for example when the locator has never stored a particular product.
-				return Env.ZERO;
-			}
-		}
-		catch (SQLException e)
-		{
-			log.log(Level.SEVERE, sql, e);
-			throw new Exception(e.getLocalizedMessage());
-		}
-		finally
-		{
-			DB.close(rs, pstmt);
-			rs = null;
-			pstmt = null;
-		}
-
-		return Env.ZERO;
+		// Set QtyBook from first storage location, read through storage ledger of write behind storage changes
+		if (M_AttributeSetInstance_ID == 0)
+			return MStorageOnHand.getQtyOnHandForLocatorWithASIZero(M_Product_ID, M_Locator_ID, null);
+		return MStorageOnHand.getQtyOnHandForLocator(M_Product_ID, M_Locator_ID, M_AttributeSetInstance_ID, null);
 	}
 	
 
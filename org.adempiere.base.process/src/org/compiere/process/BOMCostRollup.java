@@ -0,0 +1,425 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.process;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.adempiere.exceptions.DBException;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+
+/**
+ * Set based roll up of BOM costs for one accounting schema and cost element.<br/>
+ * The BOM graph and the cost records are loaded with one query each, the assemblies are sorted
+ * topologically (components before assembly) and the rolled up current and future cost price
+ * are calculated in memory. Assemblies of the same level don't depend on each other and are
+ * calculated in parallel for large BOM sets.
+ */
+public class BOMCostRollup
+{
+	/** Level size to calculate in parallel */
+	private static final int PARALLEL_THRESHOLD = 1000;
+
+	/**
+	 * Cost record (M_Cost) of product
+	 */
+	public static class CostRecord
+	{
+		private final String m_M_Cost_UU;
+		private final int m_M_Product_ID;
+		private final int m_M_AttributeSetInstance_ID;
+		private final BigDecimal m_currentCostPrice;
+		private final BigDecimal m_futureCostPrice;
+
+		private CostRecord(String M_Cost_UU, int M_Product_ID, int M_AttributeSetInstance_ID,
+				BigDecimal currentCostPrice, BigDecimal futureCostPrice)
+		{
+			m_M_Cost_UU = M_Cost_UU;
+			m_M_Product_ID = M_Product_ID;
+			m_M_AttributeSetInstance_ID = M_AttributeSetInstance_ID;
+			m_currentCostPrice = currentCostPrice != null ? currentCostPrice : Env.ZERO;
+			m_futureCostPrice = futureCostPrice != null ? futureCostPrice : Env.ZERO;
+		}
+
+		/**
+		 * @return M_Cost_UU
+		 */
+		public String getM_Cost_UU()
+		{
+			return m_M_Cost_UU;
+		}
+
+		/**
+		 * @return M_Product_ID
+		 */
+		public int getM_Product_ID()
+		{
+			return m_M_Product_ID;
+		}
+
+		/**
+		 * @return M_AttributeSetInstance_ID
+		 */
+		public int getM_AttributeSetInstance_ID()
+		{
+			return m_M_AttributeSetInstance_ID;
+		}
+
+		/**
+		 * @return current cost price stored in M_Cost
+		 */
+		public BigDecimal getCurrentCostPrice()
+		{
+			return m_currentCostPrice;
+		}
+
+		/**
+		 * @return future cost price stored in M_Cost
+		 */
+		public BigDecimal getFutureCostPrice()
+		{
+			return m_futureCostPrice;
+		}
+	}	//	CostRecord
+
+	/**
+	 * BOM line (component and quantity)
+	 */
+	private static class BOMLine
+	{
+		private final int M_Product_ID;
+		private final BigDecimal qtyBOM;
+
+		private BOMLine(int M_Product_ID, BigDecimal qtyBOM)
+		{
+			this.M_Product_ID = M_Product_ID;
+			this.qtyBOM = qtyBOM != null ? qtyBOM : Env.ZERO;
+		}
+	}	//	BOMLine
+
+	private final int m_AD_Client_ID;
+	private final int m_C_AcctSchema_ID;
+	private final int m_M_CostElement_ID;
+	private final String m_trxName;
+
+	/** Assembly:components to roll up first (active lines of active assembly BOM) */
+	private final Map<Integer, Set<Integer>> m_components = new HashMap<Integer, Set<Integer>>();
+	/** Assembly:lines of active assembly BOM, for current cost price */
+	private final Map<Integer, List<BOMLine>> m_currentLines = new HashMap<Integer, List<BOMLine>>();
+	/** Product:lines of all active BOM, for future cost price */
+	private final Map<Integer, List<BOMLine>> m_futureLines = new HashMap<Integer, List<BOMLine>>();
+	/** Product:cost records */
+	private final Map<Integer, List<CostRecord>> m_costs = new HashMap<Integer, List<CostRecord>>();
+
+	/** Rolled up current cost price of assemblies */
+	private final Map<Integer, BigDecimal> m_newCurrent = new ConcurrentHashMap<Integer, BigDecimal>();
+	/** Rolled up future cost price of assemblies */
+	private final Map<Integer, BigDecimal> m_newFuture = new ConcurrentHashMap<Integer, BigDecimal>();
+	/** Assemblies in roll up order (components first) */
+	private final List<Integer> m_rolledUp = new ArrayList<Integer>();
+	/** Products with a BOM cycle */
+	private final Set<Integer> m_cycles = new HashSet<Integer>();
+
+	/**
+	 * @param AD_Client_ID
+	 * @param C_AcctSchema_ID
+	 * @param M_CostElement_ID
+	 * @param trxName
+	 */
+	public BOMCostRollup(int AD_Client_ID, int C_AcctSchema_ID, int M_CostElement_ID, String trxName)
+	{
+		m_AD_Client_ID = AD_Client_ID;
+		m_C_AcctSchema_ID = C_AcctSchema_ID;
+		m_M_CostElement_ID = M_CostElement_ID;
+		m_trxName = trxName;
+	}
+
+	/**
+	 * Load BOM graph and cost records of client
+	 */
+	public void load()
+	{
+		loadBOMs();
+		loadCosts();
+	}	//	load
+
+	/**
+	 * Load BOM lines of active BOMs
+	 */
+	private void loadBOMs()
+	{
+		String sql = "SELECT b.M_Product_ID, b.BOMType, b.BOMUse, bl.M_Product_ID, bl.QtyBOM, bl.IsActive "
+			+ "FROM PP_Product_BOM b "
+			+ "JOIN PP_Product_BOMLine bl ON (b.PP_Product_BOM_ID=bl.PP_Product_BOM_ID) "
+			+ "WHERE b.AD_Client_ID=? AND b.IsActive='Y' "
+			+ "ORDER BY b.M_Product_ID, bl.Line";
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, m_trxName);
+			pstmt.setInt(1, m_AD_Client_ID);
+			rs = pstmt.executeQuery();
+			while (rs.next())
+			{
+				int assemblyId = rs.getInt(1);
+				boolean assembly = "A".equals(rs.getString(2)) && "A".equals(rs.getString(3));
+				BOMLine line = new BOMLine(rs.getInt(4), rs.getBigDecimal(5));
+				boolean active = "Y".equals(rs.getString(6));
+				m_futureLines.computeIfAbsent(assemblyId, k -> new ArrayList<BOMLine>()).add(line);
+				if (assembly)
+				{
+					m_currentLines.computeIfAbsent(assemblyId, k -> new ArrayList<BOMLine>()).add(line);
+					if (active)
+						m_components.computeIfAbsent(assemblyId, k -> new LinkedHashSet<Integer>()).add(line.M_Product_ID);
+				}
+			}
+		}
+		catch (SQLException e)
+		{
+			throw new DBException(e, sql);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}	//	loadBOMs
+
+	/**
+	 * Load cost records of accounting schema and cost element
+	 */
+	private void loadCosts()
+	{
+		String sql = "SELECT M_Cost_UU, M_Product_ID, M_AttributeSetInstance_ID, CurrentCostPrice, FutureCostPrice "
+			+ "FROM M_Cost "
+			+ "WHERE AD_Client_ID=? AND C_AcctSchema_ID=? AND M_CostElement_ID=? "
+			+ "ORDER BY M_Product_ID";
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, m_trxName);
+			pstmt.setInt(1, m_AD_Client_ID);
+			pstmt.setInt(2, m_C_AcctSchema_ID);
+			pstmt.setInt(3, m_M_CostElement_ID);
+			rs = pstmt.executeQuery();
+			while (rs.next())
+			{
+				CostRecord cost = new CostRecord(rs.getString(1), rs.getInt(2), rs.getInt(3),
+						rs.getBigDecimal(4), rs.getBigDecimal(5));
+				m_costs.computeIfAbsent(cost.getM_Product_ID(), k -> new ArrayList<CostRecord>()).add(cost);
+			}
+		}
+		catch (SQLException e)
+		{
+			throw new DBException(e, sql);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+	}	//	loadCosts
+
+	/**
+	 * @return assemblies (products with active assembly BOM and active BOM line)
+	 */
+	public Set<Integer> getAssemblies()
+	{
+		return Collections.unmodifiableSet(m_components.keySet());
+	}	//	getAssemblies
+
+	/**
+	 * Roll up costs of products and their components (recursive).
+	 * @param productIds products to roll up
+	 * @return products that can't be rolled up because of a BOM cycle
+	 */
+	public Set<Integer> rollUp(Collection<Integer> productIds)
+	{
+		Set<Integer> errors = new LinkedHashSet<Integer>();
+		Map<Integer, Integer> levels = new HashMap<Integer, Integer>();
+		List<Integer> order = new ArrayList<Integer>();
+		for (Integer productId : productIds)
+		{
+			if (!sort(productId, levels, order))
+				errors.add(productId);
+		}
+
+		//	group by level, assemblies of a level only depend on lower levels
+		List<List<Integer>> byLevel = new ArrayList<List<Integer>>();
+		for (Integer productId : order)
+		{
+			int level = levels.get(productId);
+			while (byLevel.size() <= level)
+				byLevel.add(new ArrayList<Integer>());
+			byLevel.get(level).add(productId);
+		}
+		for (List<Integer> level : byLevel)
+		{
+			if (level.size() >= PARALLEL_THRESHOLD)
+				level.parallelStream().forEach(this::calculate);
+			else
+				level.forEach(this::calculate);
+		}
+		m_rolledUp.addAll(order);
+		return errors;
+	}	//	rollUp
+
+	/**
+	 * Topological sort of product and its components (iterative depth first search).
+	 * @param productId
+	 * @param levels product:level of already sorted products
+	 * @param order sorted products, components first
+	 * @return false if product or one of its components is part of a BOM cycle (components sorted before the cycle is found are kept)
+	 */
+	private boolean sort(int productId, Map<Integer, Integer> levels, List<Integer> order)
+	{
+		if (levels.containsKey(productId) || m_newFuture.containsKey(productId))
+			return true;
+		if (m_cycles.contains(productId))
+			return false;
+
+		List<Integer> sorted = new ArrayList<Integer>();
+		Set<Integer> onPath = new HashSet<Integer>();
+		Deque<Integer> stack = new ArrayDeque<Integer>();
+		stack.push(productId);
+		while (!stack.isEmpty())
+		{
+			int id = stack.peek();
+			if (onPath.add(id))
+			{
+				if (levels.containsKey(id) || m_newFuture.containsKey(id))
+				{
+					//	already sorted through other assembly
+					onPath.remove(id);
+					stack.pop();
+					continue;
+				}
+				for (Integer componentId : m_components.getOrDefault(id, Collections.emptySet()))
+				{
+					if (onPath.contains(componentId) || m_cycles.contains(componentId))
+					{
+						m_cycles.addAll(onPath);
+						order.addAll(sorted);
+						return false;
+					}
+					if (!levels.containsKey(componentId) && !m_newFuture.containsKey(componentId))
+						stack.push(componentId);
+				}
+			}
+			else
+			{
+				//	all components sorted
+				stack.pop();
+				onPath.remove(id);
+				int level = 0;
+				for (Integer componentId : m_components.getOrDefault(id, Collections.emptySet()))
+				{
+					Integer componentLevel = levels.get(componentId);
+					if (componentLevel != null)
+						level = Math.max(level, componentLevel + 1);
+				}
+				levels.put(id, level);
+				sorted.add(id);
+			}
+		}
+		order.addAll(sorted);
+		return true;
+	}	//	sort
+
+	/**
+	 * Calculate rolled up current and future cost price of product.<br/>
+	 * Current cost price is rolled up from the stored current cost of components (which are
+	 * adjusted by cost adjustment document), future cost price from the rolled up future cost of components.
+	 * @param productId
+	 */
+	private void calculate(int productId)
+	{
+		BigDecimal current = Env.ZERO;
+		for (BOMLine line : m_currentLines.getOrDefault(productId, Collections.emptyList()))
+		{
+			for (CostRecord cost : m_costs.getOrDefault(line.M_Product_ID, Collections.emptyList()))
+				current = current.add(line.qtyBOM.multiply(cost.getCurrentCostPrice()));
+		}
+		BigDecimal future = Env.ZERO;
+		for (BOMLine line : m_futureLines.getOrDefault(productId, Collections.emptyList()))
+		{
+			BigDecimal componentFuture = m_currentLines.containsKey(line.M_Product_ID) ? m_newFuture.get(line.M_Product_ID) : null;
+			for (CostRecord cost : m_costs.getOrDefault(line.M_Product_ID, Collections.emptyList()))
+				future = future.add(line.qtyBOM.multiply(componentFuture != null ? componentFuture : cost.getFutureCostPrice()));
+		}
+		m_newCurrent.put(productId, current);
+		m_newFuture.put(productId, future);
+	}	//	calculate
+
+	/**
+	 * @return rolled up products, components first
+	 */
+	public List<Integer> getRolledUpProducts()
+	{
+		return Collections.unmodifiableList(m_rolledUp);
+	}	//	getRolledUpProducts
+
+	/**
+	 * Get cost records to update with rolled up cost (cost records of assemblies only)
+	 * @param productId
+	 * @return cost records
+	 */
+	public List<CostRecord> getCostRecords(int productId)
+	{
+		if (!m_currentLines.containsKey(productId))
+			return Collections.emptyList();
+		return m_costs.getOrDefault(productId, Collections.emptyList());
+	}	//	getCostRecords
+
+	/**
+	 * @param productId
+	 * @return rolled up current cost price or null if product is not rolled up
+	 */
+	public BigDecimal getNewCurrentCostPrice(int productId)
+	{
+		return m_newCurrent.get(productId);
+	}	//	getNewCurrentCostPrice
+
+	/**
+	 * @param productId
+	 * @return rolled up future cost price or null if product is not rolled up
+	 */
+	public BigDecimal getNewFutureCostPrice(int productId)
+	{
+		return m_newFuture.get(productId);
+	}	//	getNewFutureCostPrice
+}	//	BOMCostRollup
@@ -30,6 +30,7 @@ import org.compiere.model.MInventory;
 import org.compiere.model.MInventoryLine;
 import org.compiere.model.MInventoryLineMA;
 import org.compiere.model.MProcessPara;
+import org.compiere.model.StorageLedger;
 import org.compiere.util.AdempiereSystemError;
 import org.compiere.util.DB;
 import org.compiere.util.Env;
@@ -134,6 +135,9 @@ public class InventoryCountCreate extends SvrProcess
 			if (log.isLoggable(Level.FINE)) log.fine("doIt - Deleted #" + no);
 		}
 		
+		//	Write behind storage changes of transaction
+		StorageLedger.flush(get_TrxName());
+
 		//	Create Null Storage records
 		if (p_QtyRange != null && p_QtyRange.equals("="))
 		{
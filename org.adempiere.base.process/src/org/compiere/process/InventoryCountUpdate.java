@@ -21,6 +21,7 @@ import java.util.logging.Level;
 import org.compiere.model.MInventory;
 import org.compiere.model.MInventoryLineMA;
 import org.compiere.model.MProcessPara;
+import org.compiere.model.StorageLedger;
 import org.compiere.util.AdempiereSystemError;
 import org.compiere.util.DB;
 
@@ -85,6 +86,9 @@ public class InventoryCountUpdate extends SvrProcess
 		int delMA = MInventoryLineMA.deleteInventoryMA(p_M_Inventory_ID, get_TrxName());
 		if (log.isLoggable(Level.INFO)) log.info("DeletedMA=" + delMA);
 
+		//	Write behind storage changes of transaction
+		StorageLedger.flush(get_TrxName());
+
 		//	ASI
 		sql = new StringBuilder("UPDATE M_InventoryLine l ")
 			.append("SET (QtyBook,QtyCount) = ")
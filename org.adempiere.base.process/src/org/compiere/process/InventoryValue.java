@@ -24,6 +24,7 @@ import org.compiere.model.MAcctSchema;
 import org.compiere.model.MClient;
 import org.compiere.model.MProcessPara;
 import org.compiere.model.MWarehouse;
+import org.compiere.model.StorageLedger;
 import org.compiere.util.DB;
 import org.compiere.util.TimeUtil;
 
@@ -104,6 +105,9 @@ public class InventoryValue extends SvrProcess
 	  MAcctSchema as = c.getAcctSchema();
 	  String msg = "";
 
+	  //  Write behind storage changes of transaction
+	  StorageLedger.flush(get_TrxName());
+
 	  if (p_M_Warehouse_IDs == null) // process all warehouses
 		  p_M_Warehouse_IDs = DB.getIDsEx(get_TrxName(), "SELECT M_Warehouse_ID FROM M_Warehouse WHERE AD_Client_ID=? AND IsActive='Y'", getAD_Client_ID());
 
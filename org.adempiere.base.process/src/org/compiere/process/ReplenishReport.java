@@ -41,6 +41,7 @@ import org.compiere.model.MRequisition;
 import org.compiere.model.MRequisitionLine;
 import org.compiere.model.MStorageOnHand;
 import org.compiere.model.MWarehouse;
+import org.compiere.model.StorageLedger;
 import org.compiere.model.X_T_Replenish;
 import org.compiere.util.AdempiereSystemError;
 import org.compiere.util.AdempiereUserError;
@@ -254,6 +255,8 @@ public class ReplenishReport extends SvrProcess
 			no = DB.executeUpdate(sql.toString(), get_TrxName());
 			if (log.isLoggable(Level.FINE)) log.fine("Insert (BP) #" + no);
 		}
+		//	Write behind storage changes of transaction
+		StorageLedger.flush(get_TrxName());
 		sql = new StringBuilder("UPDATE T_Replenish t SET ");
 			sql.append("QtyOnHand = (SELECT COALESCE(SUM(QtyOnHand),0) FROM M_StorageOnHand s, M_Locator l WHERE t.M_Product_ID=s.M_Product_ID");
 			sql.append(" AND l.M_Locator_ID=s.M_Locator_ID AND l.M_Warehouse_ID=t.M_Warehouse_ID),");
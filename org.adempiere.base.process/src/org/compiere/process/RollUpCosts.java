@@ -25,14 +25,13 @@
 package org.compiere.process;
 
 import java.math.BigDecimal;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-
-import javax.sql.RowSet;
+import java.util.Set;
 
 import org.compiere.model.MClient;
 import org.compiere.model.MCost;
@@ -42,11 +41,10 @@ import org.compiere.model.MInventory;
 import org.compiere.model.MInventoryLine;
 import org.compiere.model.MProcessPara;
 import org.compiere.model.MProduct;
+import org.compiere.model.Query;
 import org.compiere.util.DB;
 import org.compiere.util.Env;
 import org.compiere.util.Msg;
-import org.compiere.util.Trx;
-import org.compiere.util.Util;
 import org.compiere.wf.MWorkflow;
 
 /**
@@ -60,7 +58,10 @@ public class RollUpCosts extends SvrProcess {
 	private int product_id = 0;
 	private int costelement_id = 0;
 	private int charge_id = 0;
-	private HashSet<Integer> processed;
+	/** Number of cost records to load per query */
+	private static final int BATCH_SIZE = 1000;
+	
+	private BOMCostRollup rollup;
 	
 	private Map<Integer, MInventory> inventoryDocs = new HashMap<>();
 	private Map<String, MInventoryLine> inventoryLines = new HashMap<>();
@@ -107,8 +108,6 @@ public class RollUpCosts extends SvrProcess {
 	@Override
 	protected String doIt() throws Exception
 	{
-		processed = new HashSet<Integer>();
-		
 		MDocType[] doctypes = MDocType.getOfDocBaseType(getCtx(), MDocType.DOCBASETYPE_MaterialPhysicalInventory);
 		for(MDocType dt : doctypes)
 		{
@@ -153,201 +152,111 @@ public class RollUpCosts extends SvrProcess {
 	 * @throws Exception
 	 */
 	protected String rollUp() throws Exception {		
-		int count = 0;
+		int C_AcctSchema_ID = MClient.get(getAD_Client_ID()).getAcctSchema().getC_AcctSchema_ID();
+		rollup = new BOMCostRollup(getAD_Client_ID(), C_AcctSchema_ID, costelement_id, get_TrxName());
+		rollup.load();
+		
+		List<Integer> productIds = new ArrayList<Integer>();
 		if (product_id != 0) //only for the product
 		{
-			String error = rollUpCosts(product_id);
-			if (!Util.isEmpty(error))
-			{
-				addLog(getAD_PInstance_ID(), null, null, "Rollup BOM Cost is not applicable for the product " + MProduct.get(getCtx(), product_id).getName() 
-						+ ". Details: " + error, MProduct.Table_ID, product_id);
-			}
-			else
-			{
-				count++;
-			}
+			productIds.add(product_id);
 		}
 		else if (category != 0) //roll up for all categories
 		{
-			String sql = "SELECT M_PRODUCT_ID FROM M_PRODUCT WHERE M_PRODUCT_CATEGORY_ID = " + 
-			    category + " AND AD_CLIENT_ID = " + getAD_Client_ID() + 
-			    " AND M_PRODUCT_ID IN (SELECT b.M_PRODUCT_ID FROM PP_PRODUCT_BOM b " +
-			    " JOIN PP_PRODUCT_BOMLINE bl ON b.PP_PRODUCT_BOM_ID = bl.PP_PRODUCT_BOM_ID" +
-			    " WHERE b.AD_Client_ID=" + getAD_Client_ID() +" AND b.IsActive='Y' AND bl.IsActive='Y' AND b.BOMType='A' AND b.BOMUse='A')";
-			Trx trx = Trx.get(get_TrxName(), false);
-			RowSet results = null;
-			try {
-				results = DB.getRowSet(sql);
-				while (results.next())
-				{
-					Savepoint savepoint = trx.setSavepoint(null);
-					int id= results.getInt(1);
-					String error = rollUpCosts(id);
-					if (!Util.isEmpty(error))
-					{
-						addLog(getAD_PInstance_ID(), null, null, "Rollup BOM Cost is not applicable for the product " + MProduct.get(getCtx(), id).getName() 
-								+ ". Details: " + error, MProduct.Table_ID, product_id);
-						trx.rollback(savepoint);
-					}
-					else
-					{
-						trx.releaseSavepoint(savepoint);
-						count++;
-					}
-				}
-			} finally {
-				DB.close(results);
+			String sql = "SELECT M_Product_ID FROM M_Product WHERE M_Product_Category_ID=? AND AD_Client_ID=? ORDER BY M_Product_ID";
+			for (int id : DB.getIDsEx(get_TrxName(), sql, category, getAD_Client_ID()))
+			{
+				if (rollup.getAssemblies().contains(id))
+					productIds.add(id);
 			}
 		}
 		else //do it for all products 
 		{
-			String sql = "SELECT M_PRODUCT_ID FROM M_PRODUCT WHERE AD_CLIENT_ID = " + getAD_Client_ID() + 
-			   " AND M_PRODUCT_ID IN (SELECT b.M_PRODUCT_ID FROM PP_PRODUCT_BOM b " +
-			   " JOIN PP_PRODUCT_BOMLINE bl ON b.PP_PRODUCT_BOM_ID = bl.PP_PRODUCT_BOM_ID" +
-			   " WHERE b.AD_Client_ID=" + getAD_Client_ID() +" AND b.IsActive='Y' AND bl.IsActive='Y' AND b.BOMType='A' AND b.BOMUse='A')";
-			Trx trx = Trx.get(get_TrxName(), false);
-			RowSet results = null;
-			try {
-				results = DB.getRowSet(sql);
-				while (results.next())
-				{
-					Savepoint savepoint = trx.setSavepoint(null);
-					int id= results.getInt(1);
-					String error = rollUpCosts(id);
-					if (!Util.isEmpty(error))
-					{
-						addLog(getAD_PInstance_ID(), null, null, "Rollup BOM Cost is not applicable for the product " + MProduct.get(getCtx(), id).getName() 
-								+ ". Details: " + error, MProduct.Table_ID, product_id);
-						trx.rollback(savepoint);
-					}
-					else
-					{
-						trx.releaseSavepoint(savepoint);
-						count++;
-					}
-				}
-			} finally {
-				DB.close(results);
-			}
+			productIds.addAll(rollup.getAssemblies());
+			Collections.sort(productIds);
 		}
 		
+		Set<Integer> errors = rollup.rollUp(productIds);
+		for (Integer id : errors)
+		{
+			addLog(getAD_PInstance_ID(), null, null, "Rollup BOM Cost is not applicable for the product " + MProduct.get(getCtx(), id).getName() 
+					+ ". Details: BOM cycle", MProduct.Table_ID, id);
+		}
+		
+		updateCosts();
+		
+		int count = productIds.size() - errors.size();
 		return count + " Product Cost Updated.";
 	}
-    
+	
 	/**
-	 * 
-	 * @param productId
-	 * @return error message (if any)
+	 * Create cost adjustment lines for changed current cost price and save changed future cost price (components first)
 	 * @throws Exception
 	 */
-	protected String rollUpCosts(int productId) throws Exception 
+	protected void updateCosts() throws Exception
 	{
-		String sql = "SELECT bl.M_Product_ID FROM PP_Product_BOMLine bl " 
-			+ " JOIN PP_PRODUCT_BOM b " 
-			+ " ON ( b.PP_PRODUCT_BOM_ID = bl.PP_PRODUCT_BOM_ID ) WHERE b.M_Product_ID = ?"
-			+ " AND b.AD_Client_ID = " + getAD_Client_ID()
-			+ " AND b.BOMUse='A' AND b.BOMType='A' AND b.IsActive='Y' AND bl.IsActive='Y' ";
-		int[] prodbomids = DB.getIDsEx(get_TrxName(), sql.toString(), productId);
-		
-		for (int prodbomid : prodbomids) {
-			if ( !processed.contains(prodbomid)) {
-				String error = rollUpCosts(prodbomid);
-				if (!Util.isEmpty(error))
-					return error;
+		Map<String, BigDecimal> futureCostPrices = new LinkedHashMap<String, BigDecimal>();
+		for (int productId : rollup.getRolledUpProducts())
+		{
+			BigDecimal newCurrentCostPrice = rollup.getNewCurrentCostPrice(productId);
+			BigDecimal newFutureCostPrice = rollup.getNewFutureCostPrice(productId);
+			for (BOMCostRollup.CostRecord cost : rollup.getCostRecords(productId))
+			{
+				if (cost.getCurrentCostPrice().compareTo(newCurrentCostPrice) != 0) 
+					createCostingLine(MProduct.get(getCtx(), productId), cost, newCurrentCostPrice);
+				if (cost.getFutureCostPrice().compareTo(newFutureCostPrice) != 0)
+					futureCostPrices.put(cost.getM_Cost_UU(), newFutureCostPrice);
 			}
 		}
 		
-		MProduct product = new MProduct(getCtx(), productId, get_TrxName());
-		PreparedStatement pstmt = null;
-		ResultSet rs = null;
-		try {
-			//once the subproducts costs are accurate, calculate the costs for this product
-			StringBuilder productCostSql = new StringBuilder("SELECT * FROM M_Cost ")
-					.append(" WHERE M_Product_ID = ").append(productId).append(" AND AD_Client_ID = ").append(getAD_Client_ID())
-					.append(" AND M_CostElement_ID = ").append(costelement_id)
-					.append(" AND C_AcctSchema_ID = ").append(MClient.get(getAD_Client_ID()).getAcctSchema().getC_AcctSchema_ID())
-					.append(" AND M_PRODUCT_ID IN (SELECT b.M_PRODUCT_ID FROM PP_PRODUCT_BOM b ")
-					.append(" JOIN PP_PRODUCT_BOMLINE bl ON b.PP_PRODUCT_BOM_ID = bl.PP_PRODUCT_BOM_ID")
-					.append(" WHERE b.BOMType='A' AND b.BOMUse='A' AND b.IsActive='Y' ") 
-					.append(" AND b.AD_Client_ID=").append(getAD_Client_ID()).append(")");
-	
-			pstmt = DB.prepareStatement(productCostSql.toString(), get_TrxName());
-			rs = pstmt.executeQuery();
-			while (rs.next()) {
-				MCost cost = new MCost(getCtx(), rs, get_TrxName());
-				
-				StringBuilder newCurrentCostPriceSql = new StringBuilder("SELECT SUM(b.QtyBOM * c.CurrentCostPrice)")
-						.append(" FROM PP_Product_BOMLine b ")
-						.append(" INNER JOIN M_Cost c ON (b.M_PRODUCT_ID = c.M_Product_ID) ") 
-						.append(" JOIN PP_Product_BOM bom ON (bom.PP_PRODUCT_BOM_ID = b.PP_PRODUCT_BOM_ID AND bom.IsActive='Y') ")
-						.append(" WHERE bom.M_Product_ID = ").append(productId).append(" AND bom.BOMType='A' AND bom.BOMUse='A' AND M_CostElement_ID = ").append(costelement_id)
-						.append(" AND c.C_AcctSchema_ID = ").append(cost.getC_AcctSchema_ID());
-				BigDecimal newCurrentCostPrice = DB.getSQLValueBD(get_TrxName(), newCurrentCostPriceSql.toString());
-				if (newCurrentCostPrice == null)
-					newCurrentCostPrice = BigDecimal.ZERO;
-				
-				StringBuilder newFutureCostPriceSql = new StringBuilder("SELECT SUM(b.QtyBOM * c.FutureCostPrice)")
-						.append(" FROM PP_Product_BOMLine b ") 
-						.append(" INNER JOIN M_Cost c ON (b.M_PRODUCT_ID = c.M_Product_ID) ") 
-						.append(" JOIN PP_Product_BOM bom ON (bom.PP_PRODUCT_BOM_ID = b.PP_PRODUCT_BOM_ID AND bom.IsActive='Y') ")
-						.append(" WHERE bom.M_Product_ID = ").append(productId).append(" AND M_CostElement_ID = ").append(costelement_id)
-						.append(" AND c.C_AcctSchema_ID = ").append(cost.getC_AcctSchema_ID());
-				BigDecimal newFutureCostPrice = DB.getSQLValueBD(get_TrxName(), newFutureCostPriceSql.toString());
-				if (newFutureCostPrice == null)
-					newFutureCostPrice = BigDecimal.ZERO;
-				
-				StringBuilder qtyOnHandSql = new StringBuilder("SELECT SUM(QtyOnHand)")
-						.append(" FROM M_StorageOnHand oh ")
-						.append(" JOIN M_Locator loc ON (oh.M_Locator_ID=loc.M_Locator_ID)")
-						.append(" JOIN M_Warehouse w ON (w.M_Warehouse_ID=loc.M_Warehouse_ID)")
-						.append(" WHERE oh.M_Product_ID=").append(productId)
-						.append(" AND w.IsActive='Y'")
-						.append(" AND w.AD_Client_ID=").append(getAD_Client_ID());				
-				if (cost.getM_AttributeSetInstance_ID() != 0)
-					qtyOnHandSql.append(" AND oh.M_AttributeSetInstance_ID=").append(cost.getM_AttributeSetInstance_ID());
-
-				BigDecimal qtyOnHand = DB.getSQLValueBD(get_TrxName(), qtyOnHandSql.toString());
-				if (qtyOnHand == null)
-					qtyOnHand = BigDecimal.ZERO;
-				
-				if (cost.getCurrentCostPrice().compareTo(newCurrentCostPrice) != 0) 
-				{
-					MInventory costingDoc = createCostingDoc(product);
-					
-					String key = costingDoc.getM_Inventory_ID() + "_" + cost.getM_Product_ID() + "_" + cost.getM_AttributeSetInstance_ID();
-					MInventoryLine costingLine = inventoryLines.get(key);
-					if (costingLine == null) {
-						costingLine = new MInventoryLine(getCtx(), 0, get_TrxName());
-						costingLine.setAD_Org_ID(costingDoc.getAD_Org_ID());
-						costingLine.setM_Inventory_ID(costingDoc.getM_Inventory_ID());
-						costingLine.setM_Product_ID(cost.getM_Product_ID());
-						costingLine.setM_AttributeSetInstance_ID(cost.getM_AttributeSetInstance_ID());
-						costingLine.setC_Charge_ID(charge_id);
-						costingLine.setCurrentCostPrice(cost.getCurrentCostPrice());
-						costingLine.setM_Locator_ID(0);
-					}
-					
-					costingLine.setNewCostPrice(newCurrentCostPrice);
-					costingLine.saveEx();
-					
-					inventoryLines.put(key, costingLine);					
-				}
-				
-				if (cost.getFutureCostPrice().compareTo(newFutureCostPrice) != 0) {
-					cost.setFutureCostPrice(newFutureCostPrice);
-				}
-				
+		//	load changed cost records in batches
+		List<String> uuids = new ArrayList<String>(futureCostPrices.keySet());
+		for (int i = 0; i < uuids.size(); i += BATCH_SIZE)
+		{
+			List<String> batch = uuids.subList(i, Math.min(i + BATCH_SIZE, uuids.size()));
+			StringBuilder whereClause = new StringBuilder(MCost.COLUMNNAME_M_Cost_UU).append(" IN (");
+			for (int j = 0; j < batch.size(); j++)
+				whereClause.append(j > 0 ? ",?" : "?");
+			whereClause.append(")");
+			List<MCost> costs = new Query(getCtx(), MCost.Table_Name, whereClause.toString(), get_TrxName())
+				.setParameters(new ArrayList<Object>(batch))
+				.list();
+			for (MCost cost : costs)
+			{
+				cost.setFutureCostPrice(futureCostPrices.get(cost.getM_Cost_UU()));
 				if (cost.is_Changed())
 					cost.saveEx();
 			}
 		}
-		finally {
-			DB.close(rs, pstmt);
+	}
+	
+	/**
+	 * Create or update cost adjustment line
+	 * @param product
+	 * @param cost
+	 * @param newCurrentCostPrice
+	 */
+	private void createCostingLine(MProduct product, BOMCostRollup.CostRecord cost, BigDecimal newCurrentCostPrice)
+	{
+		MInventory costingDoc = createCostingDoc(product);
+		
+		String key = costingDoc.getM_Inventory_ID() + "_" + cost.getM_Product_ID() + "_" + cost.getM_AttributeSetInstance_ID();
+		MInventoryLine costingLine = inventoryLines.get(key);
+		if (costingLine == null) {
+			costingLine = new MInventoryLine(getCtx(), 0, get_TrxName());
+			costingLine.setAD_Org_ID(costingDoc.getAD_Org_ID());
+			costingLine.setM_Inventory_ID(costingDoc.getM_Inventory_ID());
+			costingLine.setM_Product_ID(cost.getM_Product_ID());
+			costingLine.setM_AttributeSetInstance_ID(cost.getM_AttributeSetInstance_ID());
+			costingLine.setC_Charge_ID(charge_id);
+			costingLine.setCurrentCostPrice(cost.getCurrentCostPrice());
+			costingLine.setM_Locator_ID(0);
 		}
 		
-		processed.add(productId);
+		costingLine.setNewCostPrice(newCurrentCostPrice);
+		costingLine.saveEx();
 		
-		return null;
+		inventoryLines.put(key, costingLine);					
 	}
 	
 	private MInventory createCostingDoc(MProduct product) {
@@ -537,6 +537,18 @@ public abstract class AbstractXLSXExporter
 		currentRowOnly = b;
 	}
 
+	/**
+	 * Fetch row before it is exported.<br/>
+	 * Forward only exporter reads the next row of its cursor here.
+	 * @param row
+	 * @return false if there are no more rows to export
+	 * @throws Exception
+	 */
+	protected boolean fetchRow(int row) throws Exception
+	{
+		return true;
+	}
+
 	/**
 	 * Export to given stream
 	 * 
@@ -577,7 +589,11 @@ public abstract class AbstractXLSXExporter
 		for (int xls_rownum = initxls_rownum; rownum < lastRowNum; rownum++, xls_rownum++)
 		{
 			if (!isCurrentRowOnly())
+			{
+				if (!fetchRow(rownum))
+					break;
 				setCurrentRow(rownum);
+			}
 
 			boolean isPageBreak = false;
 			Row row = sheet.createRow(xls_rownum);
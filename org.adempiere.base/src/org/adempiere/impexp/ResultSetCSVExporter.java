@@ -0,0 +1,102 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.adempiere.impexp;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+
+import org.compiere.util.DisplayType;
+import org.compiere.util.Ini;
+import org.supercsv.io.CsvListWriter;
+import org.supercsv.io.ICsvListWriter;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * Export to CSV format from an open ResultSet.<br/>
+ * Rows are written as they are read from the cursor, the caller owns the ResultSet and has to close it after export.
+ */
+public class ResultSetCSVExporter {
+	private ResultSet m_rs = null;
+	private int m_rowCount = 0;
+	private SimpleDateFormat m_dateFormat = new SimpleDateFormat(DisplayType.DEFAULT_TIMESTAMP_FORMAT);
+
+	/**
+	 * @param rs open result set, positioned before the first row
+	 */
+	public ResultSetCSVExporter(ResultSet rs) {
+		m_rs = rs;
+	}
+
+	/**
+	 * Export header (column labels) and all rows of result set
+	 * @param file
+	 * @throws Exception
+	 */
+	public void export(File file) throws Exception {
+		ResultSetMetaData meta = m_rs.getMetaData();
+		int columnCount = meta.getColumnCount();
+		String[] values = new String[columnCount];
+		ICsvListWriter writer = new CsvListWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Ini.getCharset())),
+				CsvPreference.STANDARD_PREFERENCE);
+		try {
+			for (int col = 0; col < columnCount; col++)
+				values[col] = meta.getColumnLabel(col+1);
+			writer.writeHeader(values);
+			while (m_rs.next()) {
+				for (int col = 0; col < columnCount; col++)
+					values[col] = toString(m_rs.getObject(col+1));
+				writer.write(values);
+				m_rowCount++;
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * @return number of rows exported
+	 */
+	public int getExportedRowCount() {
+		return m_rowCount;
+	}
+
+	/**
+	 * @param value
+	 * @return CSV value
+	 */
+	private String toString(Object value) {
+		if (value == null)
+			return null;
+		if (value instanceof Timestamp)
+			return m_dateFormat.format(value);
+		if (value instanceof BigDecimal)
+			return ((BigDecimal) value).toPlainString();
+		return value.toString();
+	}
+}
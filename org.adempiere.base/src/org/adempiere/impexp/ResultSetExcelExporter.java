@@ -0,0 +1,167 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.adempiere.impexp;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Properties;
+
+import org.compiere.util.DisplayType;
+import org.compiere.util.Msg;
+import org.compiere.util.Util;
+
+/**
+ * Export to excel format (xlsx) from an open ResultSet.<br/>
+ * Rows are read forward only while exported, memory is bounded by the streaming
+ * workbook window (see {@link org.compiere.model.MSysConfig#XLSX_EXPORT_USE_FAST_METHOD}).<br/>
+ * The caller owns the ResultSet and has to close it after export.
+ */
+public class ResultSetExcelExporter extends AbstractXLSXExporter {
+	private Properties m_ctx = null;
+	private ResultSet m_rs = null;
+	private ResultSetMetaData m_meta = null;
+	private Object[] m_values = null;
+	private int m_currentRow = -1;
+
+	/**
+	 * @param ctx
+	 * @param rs open result set, positioned before the first row
+	 * @throws SQLException
+	 */
+	public ResultSetExcelExporter(Properties ctx, ResultSet rs) throws SQLException {
+		super();
+		m_ctx = ctx;
+		m_rs = rs;
+		m_meta = rs.getMetaData();
+		m_values = new Object[m_meta.getColumnCount()];
+	}
+
+	@Override
+	public Properties getCtx() {
+		return m_ctx;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return m_values.length;
+	}
+
+	@Override
+	protected boolean fetchRow(int row) throws Exception {
+		if (!m_rs.next())
+			return false;
+		for (int col = 0; col < m_values.length; col++)
+			m_values[col] = m_rs.getObject(col+1);
+		m_currentRow = row;
+		return true;
+	}
+
+	@Override
+	public int getDisplayType(int row, int col) {
+		Object value = m_values[col];
+		if (value == null)
+			;
+		else if (value instanceof Timestamp) {
+			return DisplayType.Date;
+		}
+		else if (value instanceof Number) {
+			if (value instanceof Integer) {
+				return DisplayType.Integer;
+			}
+			else {
+				return DisplayType.Number;
+			}
+		}
+		else if (value instanceof Boolean) {
+			return DisplayType.YesNo;
+		}
+		else {
+			return DisplayType.String;
+		}
+		return -1;
+	}
+
+	@Override
+	public String getHeaderName(int col) {
+		String name = null;
+		try {
+			name = m_meta.getColumnLabel(col+1);
+		} catch (SQLException e) {
+			log.warning(e.getLocalizedMessage());
+		}
+		String nameTrl = Msg.translate(getLanguage(), name);
+		if (Util.isEmpty(nameTrl))
+			nameTrl = name;
+		return nameTrl;
+	}
+
+	/**
+	 * Number of rows is not known before the end of the result set
+	 */
+	@Override
+	public int getRowCount() {
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * @return number of rows exported
+	 */
+	public int getExportedRowCount() {
+		return m_currentRow + 1;
+	}
+
+	@Override
+	public Object getValueAt(int row, int col) {
+		return m_values[col];
+	}
+
+	@Override
+	public boolean isColumnPrinted(int col) {
+		return true;
+	}
+
+	@Override
+	public boolean isFunctionRow() {
+		return false;
+	}
+
+	@Override
+	public boolean isPageBreak(int row, int col) {
+		return false;
+	}
+
+	@Override
+	protected void setCurrentRow(int row) {
+	}
+
+	@Override
+	protected int getCurrentRow() {
+		return m_currentRow;
+	}
+
+	@Override
+	public boolean isDisplayed(int row, int col) {
+		return true;
+	}
+}
@@ -20,9 +20,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.adempiere.exceptions.AdempiereException;
 import org.compiere.model.MSysConfig;
+import org.compiere.print.layout.LayoutEngine;
+import org.compiere.print.layout.Page;
 
 import com.lowagie.text.FontFactory;
 import com.lowagie.text.Rectangle;
@@ -42,6 +48,36 @@ public class Document {
 		FontFactory.registerDirectories();
 	}
 	
+	/** Font mapper shared by all documents */
+	private static DefaultFontMapper s_mapper = null;
+	/** PDF_FONT_DIR of shared font mapper */
+	private static String s_mapperFontDir = null;
+	
+	/**
+	 * Get font mapper with additional fonts from directory set in PDF_FONT_DIR of System Configurator.<br/>
+	 * The mapper is created once and shared, it is only created again if PDF_FONT_DIR has changed.
+	 * @return font mapper
+	 */
+	public static synchronized DefaultFontMapper getFontMapper()
+	{
+		String pdfFontDir = MSysConfig.getValue(MSysConfig.PDF_FONT_DIR, "");
+		pdfFontDir = pdfFontDir != null ? pdfFontDir.trim() : "";
+		if (s_mapper != null && pdfFontDir.equals(s_mapperFontDir))
+			return s_mapper;
+		
+		final DefaultFontMapper mapper = new DefaultFontMapper();
+		//Elaine 2009/02/17 - load additional font from directory set in PDF_FONT_DIR of System Configurator 
+		if (pdfFontDir.length() > 0)
+		{
+			File dir = new File(pdfFontDir);
+			if(dir.exists() && dir.isDirectory())
+				mapper.insertDirectory(pdfFontDir);
+		}
+		s_mapper = mapper;
+		s_mapperFontDir = pdfFontDir;
+		return mapper;
+	}
+	
 	/**
 	 * write pageable to output
 	 * @param pageable
@@ -59,18 +95,7 @@ public class Document {
                     document, output);
             writer.setPdfVersion(PdfWriter.VERSION_1_2);
             document.open();
-            final DefaultFontMapper mapper = new DefaultFontMapper();     
-            
-            //Elaine 2009/02/17 - load additional font from directory set in PDF_FONT_DIR of System Configurator 
-            String pdfFontDir = MSysConfig.getValue(MSysConfig.PDF_FONT_DIR, ""); 
-            if(pdfFontDir != null && pdfFontDir.trim().length() > 0)
-            {
-            	pdfFontDir = pdfFontDir.trim();
-	            File dir = new File(pdfFontDir);
-	            if(dir.exists() && dir.isDirectory())
-	            	mapper.insertDirectory(pdfFontDir);
-            }
-            //
+            final DefaultFontMapper mapper = getFontMapper();
             
             final float w = (float) pf.getWidth();
             final float h = (float) pf.getHeight();
@@ -96,6 +121,124 @@ public class Document {
         }
 	}
 	
+	/**
+	 * Page listener of streaming {@link LayoutEngine} that writes completed pages to output.<br/>
+	 * Content of page is rendered and written as soon as the page is completed. Header/footer and
+	 * content that reference the page count are added to the page as templates that are only
+	 * rendered and written after layout of all pages is completed.
+	 */
+	public static class PDFPageWriter implements LayoutEngine.PageListener
+	{
+		private final OutputStream output;
+		private com.lowagie.text.Document document;
+		private PdfWriter writer;
+		private PdfContentByte cb;
+		private DefaultFontMapper mapper;
+		private float w;
+		private float h;
+		/** Content templates of pages that reference page count */
+		private final Map<Page, PdfTemplate> deferred = new LinkedHashMap<Page, PdfTemplate>();
+		/** Header/footer templates, in page order */
+		private final List<PdfTemplate> headerFooters = new ArrayList<PdfTemplate>();
+		/** Pages, in page order */
+		private final List<Page> pages = new ArrayList<Page>();
+		
+		/**
+		 * @param output
+		 */
+		public PDFPageWriter(OutputStream output)
+		{
+			this.output = output;
+		}
+
+		@Override
+		public void pageCompleted(LayoutEngine layout, Page page)
+		{
+			try {
+				if (document == null)
+					open(layout.getPageFormat());
+				else
+					document.newPage();
+				
+				PdfTemplate tp = createTemplate();
+				cb.addTemplate(tp, 0, 0);
+				if (page.isPageCountReferenced())
+				{
+					deferred.put(page, tp);
+				}
+				else
+				{
+					Graphics2D g2 = new PdfGraphics2D(tp, w, h, mapper, false, false, 1f);
+					layout.printContent(g2, page);
+					g2.dispose();
+					writer.releaseTemplate(tp);
+				}
+				
+				PdfTemplate hf = createTemplate();
+				cb.addTemplate(hf, 0, 0);
+				headerFooters.add(hf);
+				pages.add(page);
+			} catch (Exception e) {
+				throw new AdempiereException(e);
+			}
+		}
+
+		@Override
+		public void layoutCompleted(LayoutEngine layout)
+		{
+			try {
+				for (Map.Entry<Page, PdfTemplate> entry : deferred.entrySet())
+				{
+					Graphics2D g2 = new PdfGraphics2D(entry.getValue(), w, h, mapper, false, false, 1f);
+					layout.printContent(g2, entry.getKey());
+					g2.dispose();
+					writer.releaseTemplate(entry.getValue());
+				}
+				deferred.clear();
+				for (int i = 0; i < pages.size(); i++)
+				{
+					Graphics2D g2 = new PdfGraphics2D(headerFooters.get(i), w, h, mapper, false, false, 1f);
+					layout.printHeaderFooter(g2, pages.get(i));
+					g2.dispose();
+					writer.releaseTemplate(headerFooters.get(i));
+				}
+				if (document != null)
+					document.close();
+			} catch (Exception e) {
+				throw new AdempiereException(e);
+			}
+		}
+		
+		/**
+		 * Open document
+		 * @param pf page format
+		 * @throws Exception
+		 */
+		private void open(PageFormat pf) throws Exception
+		{
+			document = new com.lowagie.text.Document(new Rectangle(
+					(int) pf.getWidth(), (int) pf.getHeight()));
+			writer = PdfWriter.getInstance(document, output);
+			writer.setPdfVersion(PdfWriter.VERSION_1_2);
+			document.open();
+			mapper = getFontMapper();
+			w = (float) pf.getWidth();
+			h = (float) pf.getHeight();
+			cb = writer.getDirectContent();
+		}
+		
+		/**
+		 * @return new page size template
+		 */
+		private PdfTemplate createTemplate()
+		{
+			PdfTemplate tp = cb.createTemplate(w, h);
+			tp.setWidth(w);
+			tp.setHeight(h);
+			return tp;
+		}
+	}
+	
 	/**
 	 * Create pdf file from pageable
 	 * @param filename
@@ -22,8 +22,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.logging.Level;
 
 import javax.swing.ImageIcon;
@@ -31,6 +37,7 @@ import javax.swing.event.EventListenerList;
 
 import org.adempiere.base.Core;
 import org.compiere.db.CConnection;
+import org.compiere.model.CostDetailQueue;
 import org.compiere.model.MClient;
 import org.compiere.model.MSysConfig;
 import org.compiere.model.MSystem;
@@ -42,13 +49,18 @@ import org.compiere.util.CLogFile;
 import org.compiere.util.CLogMgt;
 import org.compiere.util.CLogger;
 import org.compiere.util.DB;
+import org.compiere.util.EMailOutbox;
 import org.compiere.util.Env;
 import org.compiere.util.Ini;
+import org.compiere.util.InstrumentedScheduledThreadPool;
+import org.compiere.util.InstrumentedThreadPool;
 import org.compiere.util.Login;
 import org.compiere.util.SecureEngine;
 import org.compiere.util.SecureInterface;
+import org.compiere.util.ThreadPoolMXBean;
 import org.compiere.util.Trx;
 import org.compiere.util.Util;
+import org.compiere.util.VirtualThreads;
 import org.eclipse.core.runtime.IProduct;
 import org.eclipse.core.runtime.Platform;
 import org.osgi.framework.Bundle;
@@ -108,8 +120,24 @@ public final class Adempiere
 	/**	Logging								*/
 	private static CLogger		log = null;
 	
+	/** Name of the shared scheduled thread pool */
+	public static final String THREAD_POOL_DEFAULT = "Default";
+	/** Thread pool for asynchronous UI tasks (dashboard content) */
+	public static final String THREAD_POOL_UI = "UI";
+	/** Thread pool for lookup and window data loaders of interactive users */
+	public static final String THREAD_POOL_LOOKUP = "Lookup";
+	/** Thread pool for processes and reports started from the UI */
+	public static final String THREAD_POOL_REPORT = "Report";
+	/** Thread pool for server processors (scheduler, alert, workflow, ...) */
+	public static final String THREAD_POOL_SERVER = "Server";
+
+	/** Default maximum number of concurrent tasks of a workload thread pool with virtual threads */
+	private static final int VIRTUAL_THREAD_POOL_SIZE = 256;
+
 	/** Thread pool **/
 	private final static ScheduledThreadPoolExecutor threadPoolExecutor = createThreadPool();
+	/** Workload thread pools by name */
+	private final static Map<String, InstrumentedThreadPool> threadPools = new ConcurrentHashMap<String, InstrumentedThreadPool>();
 	static {
 		Trx.startTrxMonitor();
 	}
@@ -593,13 +621,14 @@ public final class Adempiere
 				log.log(Level.FINEST, System.getProperties().toString());
 		}
 
+		if (SystemProperties.isVirtualThreads() && !VirtualThreads.isSupported())
+			log.warning("Virtual threads require Java 21 or later, workload thread pools use platform threads");
+
 		loadDBProvider();
 		
 		//  Set Default Database Connection from Ini
 		DB.setDBTarget(CConnection.get());
 
-		createThreadPool();
-		
 		fireServerStateChanged(new ServerStateChangeEvent(new Object(), ServerStateChangeEvent.SERVER_START));
 		
 		if (isClient)		//	don't test connection
@@ -640,7 +669,51 @@ public final class Adempiere
 		}
 		
 		// start thread pool
-		return new ScheduledThreadPoolExecutor(max);								
+		return new InstrumentedScheduledThreadPool(THREAD_POOL_DEFAULT, max);
+	}
+
+	/**
+	 * Create workload thread pool, sized by the org.idempiere.ThreadPool.[name].* system properties.<br/>
+	 * With -Dorg.idempiere.VirtualThreads=true, tasks run in virtual threads and the default maximum is
+	 * {@link #VIRTUAL_THREAD_POOL_SIZE} concurrent tasks.
+	 * @param name pool name
+	 * @return InstrumentedThreadPool
+	 */
+	private static InstrumentedThreadPool createThreadPool(String name) {
+		int processors = Runtime.getRuntime().availableProcessors();
+		boolean report = THREAD_POOL_REPORT.equals(name);
+		boolean virtual = SystemProperties.isVirtualThreads() && VirtualThreads.isSupported();
+		int defaultMax = virtual ? VIRTUAL_THREAD_POOL_SIZE : (report ? processors * 2 : processors * 4);
+		int max = getIntProperty(SystemProperties.getThreadPoolMaxSize(name), defaultMax);
+		int queueSize = getIntProperty(SystemProperties.getThreadPoolQueueSize(name), report ? 100 : 1000);
+		String policy = SystemProperties.getThreadPoolRejectionPolicy(name);
+		if (!Util.isEmpty(policy, true) && InstrumentedThreadPool.POLICY_DISCARD.equalsIgnoreCase(policy.trim())
+			&& (THREAD_POOL_LOOKUP.equals(name) || THREAD_POOL_REPORT.equals(name) || THREAD_POOL_SERVER.equals(name))) {
+			// a discarded task never completes its future, callers of these pools wait for it
+			CLogger.getCLogger(Adempiere.class).warning("Rejection policy " + policy + " not supported for thread pool " + name);
+			policy = null;
+		}
+		if (Util.isEmpty(policy, true)) {
+			// lookup loader can run in the calling thread, its context is kept; others fail fast
+			policy = THREAD_POOL_LOOKUP.equals(name) ? InstrumentedThreadPool.POLICY_CALLER_RUNS : InstrumentedThreadPool.POLICY_ABORT;
+		}
+		return new InstrumentedThreadPool(name, max, queueSize, policy, virtual);
+	}
+
+	/**
+	 * @param value
+	 * @param defaultValue
+	 * @return value as positive int or defaultValue
+	 */
+	private static int getIntProperty(String value, int defaultValue) {
+		if (value != null) {
+			try {
+				int i = Integer.parseInt(value.trim());
+				if (i > 0)
+					return i;
+			} catch (NumberFormatException e) {}
+		}
+		return defaultValue;
 	}
 
 	/**
@@ -716,7 +789,11 @@ public final class Adempiere
 		}
 		
 		if (!isClient)
+		{
 			DB.updateMail();
+			CostDetailQueue.recover();
+			EMailOutbox.recover();
+		}
 				
 		return true;
 	}	//	startupEnvironment
@@ -734,6 +811,9 @@ public final class Adempiere
 	 */
 	public static synchronized void stop() {
 		threadPoolExecutor.shutdown();
+		for (InstrumentedThreadPool pool : threadPools.values())
+			pool.shutdown();
+		threadPools.clear();
 		log = null;
 	}
 	
@@ -743,6 +823,31 @@ public final class Adempiere
 	public static ScheduledThreadPoolExecutor getThreadPoolExecutor() {
 		return threadPoolExecutor;
 	}
+
+	/**
+	 * Get thread pool of a workload class, isolated from the other workloads.<br/>
+	 * The pool is created on first use, with bounded queue and rejection policy.
+	 * @param workload {@link #THREAD_POOL_UI}, {@link #THREAD_POOL_LOOKUP}, {@link #THREAD_POOL_REPORT}, {@link #THREAD_POOL_SERVER} or plug-in defined name
+	 * @return {@link ThreadPoolExecutor}, the shared scheduled thread pool for null or {@link #THREAD_POOL_DEFAULT}
+	 */
+	public static ThreadPoolExecutor getThreadPoolExecutor(String workload) {
+		if (workload == null || THREAD_POOL_DEFAULT.equals(workload))
+			return threadPoolExecutor;
+		return threadPools.computeIfAbsent(workload, Adempiere::createThreadPool);
+	}
+
+	/**
+	 * @return statistics of the shared thread pool and the workload thread pools
+	 */
+	public static List<ThreadPoolMXBean> getThreadPools() {
+		List<ThreadPoolMXBean> list = new ArrayList<ThreadPoolMXBean>();
+		if (threadPoolExecutor instanceof ThreadPoolMXBean)
+			list.add((ThreadPoolMXBean) threadPoolExecutor);
+		List<ThreadPoolMXBean> pools = new ArrayList<ThreadPoolMXBean>(threadPools.values());
+		pools.sort(Comparator.comparing(ThreadPoolMXBean::getName));
+		list.addAll(pools);
+		return list;
+	}
 	
 	/**
 	 *  @param l listener
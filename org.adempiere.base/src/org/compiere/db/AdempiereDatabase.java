@@ -300,6 +300,14 @@ public interface AdempiereDatabase
 	 */
 	public String getStatus();
 
+	/**
+	 * 	Get maximum size of connection pool
+	 * 	@return maximum number of pooled connections or -1 if no local datasource available
+	 */
+	public default int getMaxPoolSize() {
+		return -1;
+	}
+
 	/**
 	 * 	Close
 	 */
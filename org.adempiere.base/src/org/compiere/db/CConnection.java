@@ -1143,7 +1143,8 @@ public class CConnection implements Serializable, Cloneable
 
 		try
 		{
-			conn = m_db.getCachedConnection(this, autoCommit, transactionIsolation);
+			AdempiereDatabase db = m_db;
+			conn = ConnectionLimiter.getConnection(db, () -> db.getCachedConnection(this, autoCommit, transactionIsolation));
 			//	Verify Connection
 			if (conn != null)
 			{
@@ -0,0 +1,261 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.compiere.model.SystemProperties;
+import org.compiere.util.CLogger;
+import org.compiere.util.VirtualThreads;
+
+/**
+ * Limit the number of connections of a database connection pool used at the same time by virtual threads.<br/>
+ * Without limit, thousands of virtual threads queue in the connection pool and fail after its connection timeout,
+ * and leave no connection for interactive users. A virtual thread waits for a permit instead, unmounted from its carrier thread.<br/>
+ * Platform threads are not limited. A virtual thread that already holds a connection gets nested connections without permit,
+ * so that it cannot deadlock with itself.
+ */
+public final class ConnectionLimiter
+{
+	/** Maximum wait (seconds) for a permit, the connection is then requested from the pool without permit */
+	private static final long MAX_WAIT_SECONDS = 300;
+
+	/** Limiter by database */
+	private static final Map<AdempiereDatabase, ConnectionLimiter> s_limiters = new ConcurrentHashMap<AdempiereDatabase, ConnectionLimiter>();
+
+	private static final CLogger log = CLogger.getCLogger(ConnectionLimiter.class);
+
+	private final int maxPermits;
+	private final Semaphore permits;
+	/** Number of open connections of the current thread */
+	private final ThreadLocal<AtomicInteger> openCount = ThreadLocal.withInitial(AtomicInteger::new);
+	private final AtomicLong waitCount = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+
+	/**
+	 * @param maxPermits maximum number of connections used by virtual threads
+	 */
+	public ConnectionLimiter(int maxPermits)
+	{
+		this.maxPermits = maxPermits;
+		this.permits = new Semaphore(maxPermits, true);
+	}
+
+	/**
+	 * Get connection from the pool, through the limiter of the database if the current thread is a virtual thread
+	 * @param db database
+	 * @param pool get connection from the pool
+	 * @return connection
+	 * @throws Exception
+	 */
+	public static Connection getConnection(AdempiereDatabase db, Callable<Connection> pool) throws Exception
+	{
+		if (!SystemProperties.isVirtualThreads() || !VirtualThreads.isCurrentThreadVirtual())
+			return pool.call();
+		ConnectionLimiter limiter = s_limiters.computeIfAbsent(db, ConnectionLimiter::create);
+		return limiter != null ? limiter.getConnection(pool) : pool.call();
+	}
+
+	/**
+	 * @param db
+	 * @return limiter of database or null if no virtual thread has requested a connection yet
+	 */
+	public static ConnectionLimiter get(AdempiereDatabase db)
+	{
+		return db != null ? s_limiters.get(db) : null;
+	}
+
+	/**
+	 * Create limiter sized by -Dorg.idempiere.VirtualThreadDBConnections, default 3/4 of the connection pool size
+	 * @param db
+	 * @return limiter or null if the pool size is not known yet
+	 */
+	private static ConnectionLimiter create(AdempiereDatabase db)
+	{
+		int poolSize = db.getMaxPoolSize();
+		if (poolSize <= 0)
+			return null;
+		int max = Math.max(poolSize * 3 / 4, 1);
+		String value = SystemProperties.getVirtualThreadDBConnections();
+		if (value != null)
+		{
+			try
+			{
+				max = Math.min(Math.max(Integer.parseInt(value.trim()), 1), poolSize);
+			}
+			catch (NumberFormatException e)
+			{
+			}
+		}
+		return new ConnectionLimiter(max);
+	}
+
+	/**
+	 * Wait for a permit and get connection, the permit is released when the connection is closed
+	 * @param pool get connection from the pool
+	 * @return connection
+	 * @throws Exception
+	 */
+	public Connection getConnection(Callable<Connection> pool) throws Exception
+	{
+		AtomicInteger count = openCount.get();
+		boolean permit = false;
+		if (count.get() == 0)
+		{
+			permit = permits.tryAcquire();
+			if (!permit)
+			{
+				waitCount.incrementAndGet();
+				try
+				{
+					permit = permits.tryAcquire(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e)
+				{
+					Thread.currentThread().interrupt();
+					throw new SQLException("Interrupted while waiting for a database connection", e);
+				}
+				if (!permit)
+				{
+					timeoutCount.incrementAndGet();
+					log.warning("No permit after " + MAX_WAIT_SECONDS + "s, " + toString());
+				}
+			}
+		}
+
+		Connection conn = null;
+		try
+		{
+			conn = pool.call();
+		}
+		finally
+		{
+			if (conn == null && permit)
+				permits.release();
+		}
+		if (conn == null)
+			return null;
+		count.incrementAndGet();
+		return (Connection) Proxy.newProxyInstance(ConnectionLimiter.class.getClassLoader(), new Class<?>[] {Connection.class},
+				new LimitedConnection(conn, count, permit));
+	}
+
+	/**
+	 * @return number of connections used by virtual threads with a permit
+	 */
+	public int getUsedCount()
+	{
+		return maxPermits - permits.availablePermits();
+	}
+
+	/**
+	 * @return maximum number of connections used by virtual threads
+	 */
+	public int getMaxCount()
+	{
+		return maxPermits;
+	}
+
+	/**
+	 * @return number of virtual threads waiting for a permit
+	 */
+	public int getWaitingCount()
+	{
+		return permits.getQueueLength();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Virtual Thread Connections: " + getUsedCount() + "/" + maxPermits
+			+ ", Waiting=" + getWaitingCount()
+			+ ", Waits=" + waitCount.get()
+			+ ", Timeouts=" + timeoutCount.get();
+	}
+
+	/**
+	 * Release permit on close of connection
+	 */
+	private class LimitedConnection implements InvocationHandler
+	{
+		private final Connection connection;
+		private final AtomicInteger count;
+		private final boolean permit;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		private LimitedConnection(Connection connection, AtomicInteger count, boolean permit)
+		{
+			this.connection = connection;
+			this.count = count;
+			this.permit = permit;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			String name = method.getName();
+			if (name.equals("close") && method.getParameterCount() == 0)
+			{
+				try
+				{
+					connection.close();
+				}
+				finally
+				{
+					if (closed.compareAndSet(false, true))
+					{
+						count.decrementAndGet();
+						if (permit)
+							permits.release();
+					}
+				}
+				return null;
+			}
+			else if (name.equals("equals") && method.getParameterCount() == 1)
+				return proxy == args[0];
+			else if (name.equals("hashCode") && method.getParameterCount() == 0)
+				return System.identityHashCode(proxy);
+
+			try
+			{
+				return method.invoke(connection, args);
+			}
+			catch (InvocationTargetException e)
+			{
+				throw e.getCause();
+			}
+		}
+	}
+}
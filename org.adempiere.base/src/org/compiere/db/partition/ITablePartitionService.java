@@ -58,7 +58,20 @@ public interface ITablePartitionService {
 	 * @return true if success
 	 */
 	public boolean addPartitionAndMigrateData(MTable table, String trxName, ProcessInfo processInfo);
-	
+
+	/**
+	 * Add new partition for new data and migrate data to new partition (if needed by DB).<br/>
+	 * Default implementation ignores monitor and migrates all data in trxName.
+	 * @param table
+	 * @param trxName
+	 * @param processInfo
+	 * @param monitor progress and throttling of data migration, commit after each partition if online
+	 * @return true if success
+	 */
+	public default boolean addPartitionAndMigrateData(MTable table, String trxName, ProcessInfo processInfo, PartitionMigrationMonitor monitor) {
+		return addPartitionAndMigrateData(table, trxName, processInfo);
+	}
+
 	/**
 	 * Run post partition process (if needed)
 	 * @param table
@@ -99,4 +112,27 @@ public interface ITablePartitionService {
 	 * @param processInfo
 	 */
 	public void reattachPartition(MTable table, X_AD_TablePartition partition, String trxName, ProcessInfo processInfo);
+
+	/**
+	 * Create empty range partitions ahead of data, from the current date (date key) or maximum key value (numeric key).<br/>
+	 * Default implementation doesn't create any partition (e.g. DB creates new range partition automatically).
+	 * @param table partitioned table
+	 * @param intervals number of range intervals to create ahead
+	 * @param trxName
+	 * @param processInfo
+	 * @return number of partitions created
+	 */
+	public default int addFutureRangePartitions(MTable table, int intervals, String trxName, ProcessInfo processInfo) {
+		return 0;
+	}
+
+	/**
+	 * Get number of rows in default partition, as estimated by DB statistics
+	 * @param table partitioned table
+	 * @param trxName
+	 * @return estimated number of rows or -1 if not available
+	 */
+	public default long getDefaultPartitionRowCount(MTable table, String trxName) {
+		return -1;
+	}
 }
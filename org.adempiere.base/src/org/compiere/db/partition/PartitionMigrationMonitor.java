@@ -0,0 +1,192 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.db.partition;
+
+import java.util.logging.Level;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.IProcessUI;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.X_AD_TablePartition;
+import org.compiere.process.ProcessInfo;
+import org.compiere.util.CLogger;
+import org.compiere.util.Env;
+import org.compiere.util.Trx;
+
+/**
+ * Progress and throttling of data migration to new table partitions.<br/>
+ * In online mode ({@link MSysConfig#TABLE_PARTITION_ONLINE_MIGRATION}), rows are copied in chunks of
+ * {@link MSysConfig#TABLE_PARTITION_MIGRATION_CHUNK_SIZE} rows (key range of the table ID column) and the migration
+ * transaction is committed after each chunk and each partition. Copied rows stay in the default partition until the
+ * partition is attached, so they stay visible through the table during the migration.
+ * After each commit, the migration is paused as needed to stay within {@link MSysConfig#TABLE_PARTITION_MIGRATION_MAX_ROWS_PER_SECOND}.<br/>
+ * Progress is kept by the committed AD_TablePartition records, the partition tables not attached yet and the rows
+ * copied to them, so running the migration again after a failure continues where it stopped.
+ */
+public class PartitionMigrationMonitor {
+
+	/**	Logger */
+	private static final CLogger log = CLogger.getCLogger(PartitionMigrationMonitor.class);
+
+	private final String trxName;
+	private final ProcessInfo pi;
+	private final boolean online;
+	private final int maxRowsPerSecond;
+	private final int chunkSize;
+	private int partitionCount = 0;
+	private long rowCount = 0;
+
+	/**
+	 * Create monitor with settings from AD_SysConfig
+	 * @param trxName migration transaction
+	 * @param pi optional process info for progress report
+	 * @return new monitor
+	 */
+	public static PartitionMigrationMonitor create(String trxName, ProcessInfo pi) {
+		int AD_Client_ID = Env.getAD_Client_ID(Env.getCtx());
+		return new PartitionMigrationMonitor(trxName, pi,
+				MSysConfig.getBooleanValue(MSysConfig.TABLE_PARTITION_ONLINE_MIGRATION, false, AD_Client_ID),
+				MSysConfig.getIntValue(MSysConfig.TABLE_PARTITION_MIGRATION_MAX_ROWS_PER_SECOND, 0, AD_Client_ID),
+				MSysConfig.getIntValue(MSysConfig.TABLE_PARTITION_MIGRATION_CHUNK_SIZE, 10000, AD_Client_ID));
+	}
+
+	/**
+	 * @param trxName migration transaction
+	 * @param pi optional process info for progress report
+	 * @param online true to commit after each chunk and partition
+	 * @param maxRowsPerSecond maximum number of rows moved per second in online mode, 0 for no limit
+	 * @param chunkSize number of rows copied per commit in online mode, 0 to move the rows of a partition in one transaction
+	 */
+	public PartitionMigrationMonitor(String trxName, ProcessInfo pi, boolean online, int maxRowsPerSecond, int chunkSize) {
+		this.trxName = trxName;
+		this.pi = pi;
+		this.online = online;
+		this.maxRowsPerSecond = maxRowsPerSecond;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * @return true if migration transaction is committed after each partition
+	 */
+	public boolean isOnline() {
+		return online;
+	}
+
+	/**
+	 * @return number of rows copied per commit, 0 if rows of a partition are moved in one transaction
+	 */
+	public int getChunkSize() {
+		return online && chunkSize > 0 ? chunkSize : 0;
+	}
+
+	/**
+	 * Commit migration transaction (online mode only)
+	 */
+	public void commit() {
+		if (!online)
+			return;
+		Trx trx = Trx.get(trxName, false);
+		if (trx != null) {
+			try {
+				trx.commit(true);
+			} catch (Exception e) {
+				throw new AdempiereException(e);
+			}
+		}
+	}
+
+	/**
+	 * Record a chunk of rows copied to a partition that is not attached yet.<br/>
+	 * Commit the migration transaction and wait as needed for the rate limit.
+	 * @param partition new partition
+	 * @param rows number of rows copied in chunk
+	 * @param startTime start time (ms) of chunk
+	 */
+	public void chunkMigrated(X_AD_TablePartition partition, int rows, long startTime) {
+		commit();
+		rowCount += rows;
+		statusUpdate(partition.getName() + ": " + rows + " (" + partitionCount + " / " + rowCount + ")");
+		throttle(rows, startTime);
+	}
+
+	/**
+	 * Record data migration of a partition.<br/>
+	 * In online mode, commit the migration transaction and wait as needed for the rate limit.
+	 * @param partition new partition
+	 * @param rows number of rows moved to partition since startTime, -1 if not known
+	 * @param startTime start time (ms) of data migration for partition or of the last chunk
+	 */
+	public void partitionMigrated(X_AD_TablePartition partition, int rows, long startTime) {
+		commit();
+		partitionCount++;
+		if (rows > 0)
+			rowCount += rows;
+		statusUpdate(partition.getName() + (rows >= 0 ? ": " + rows : "") + " (" + partitionCount + " / " + rowCount + ")");
+		throttle(rows, startTime);
+	}
+
+	/**
+	 * Report progress
+	 * @param msg
+	 */
+	private void statusUpdate(String msg) {
+		if (log.isLoggable(Level.INFO)) log.info(msg);
+		if (pi != null) {
+			IProcessUI processUI = pi.getProcessUI();
+			if (processUI != null)
+				processUI.statusUpdate(msg);
+		}
+	}
+
+	/**
+	 * Wait as needed for the rate limit (online mode only)
+	 * @param rows rows moved since startTime
+	 * @param startTime
+	 */
+	private void throttle(int rows, long startTime) {
+		if (online && maxRowsPerSecond > 0 && rows > 0) {
+			long wait = (rows * 1000L / maxRowsPerSecond) - (System.currentTimeMillis() - startTime);
+			if (wait > 0) {
+				try {
+					Thread.sleep(wait);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new AdempiereException(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return number of migrated partitions
+	 */
+	public int getPartitionCount() {
+		return partitionCount;
+	}
+
+	/**
+	 * @return number of migrated rows
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+}
@@ -0,0 +1,340 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.adempiere.exceptions.DBException;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Trx;
+import org.compiere.util.TrxEventListener;
+import org.compiere.util.Util;
+
+/**
+ * Buffer of unsaved change log records of a transaction.<br/>
+ * Enabled by {@link MSysConfig#AD_CHANGELOG_BATCH_SIZE}. Change log created by {@link MSession#changeLog(String, int, int, int, int, String, int, int, Object, Object, String)}
+ * is kept in memory and inserted with one JDBC batch just before commit (or when the buffer reaches the batch size), in the
+ * same transaction as the logged change. Records rolled back to a savepoint are discarded.<br/>
+ * The insert bypasses the PO save path: no model validator or event is fired for AD_ChangeLog and buffered records are not
+ * visible to queries of the transaction until flushed.<br/>
+ * AD_ChangeLog_ID is reserved in blocks of {@link MSysConfig#AD_CHANGELOG_ID_BLOCK_SIZE} (with or without buffer).
+ */
+public class ChangeLogBuffer implements TrxEventListener
+{
+	/** Buffer of transactions (trxName:buffer) */
+	private static final Map<String, ChangeLogBuffer> s_buffers = new ConcurrentHashMap<String, ChangeLogBuffer>();
+
+	/** Reserved AD_ChangeLog_ID of tenant sequence (system IDs are not reserved in blocks) */
+	private static final ArrayDeque<Integer> s_ids = new ArrayDeque<Integer>();
+
+	/** Logger */
+	private static final CLogger s_log = CLogger.getCLogger(ChangeLogBuffer.class);
+
+	/**
+	 * Get number of change log records inserted per batch
+	 * @return batch size or 0 if change log is saved immediately
+	 */
+	public static int getBatchSize()
+	{
+		return MSysConfig.getIntValue(MSysConfig.AD_CHANGELOG_BATCH_SIZE, 0);
+	}	//	getBatchSize
+
+	/**
+	 * Get next AD_ChangeLog_ID, from the block reserved by {@link MSequence#getNextIDs(int, String, int)}.<br/>
+	 * ID of system client maintaining the official dictionary (AdempiereSys) is not taken from the block.
+	 * @param AD_Client_ID
+	 * @param trxName
+	 * @return next id or &lt;= 0 if error
+	 */
+	public static int getNextID(int AD_Client_ID, String trxName)
+	{
+		int blockSize = MSysConfig.getIntValue(MSysConfig.AD_CHANGELOG_ID_BLOCK_SIZE, 1);
+		if (blockSize <= 1 || MSequence.isAdempiereSys(AD_Client_ID))
+			return DB.getNextID(AD_Client_ID, MChangeLog.Table_Name, trxName);
+		synchronized (s_ids)
+		{
+			if (s_ids.isEmpty())
+			{
+				for (int id : MSequence.getNextIDs(AD_Client_ID, MChangeLog.Table_Name, blockSize))
+					s_ids.add(id);
+				if (s_ids.isEmpty())
+					return -1;
+			}
+			return s_ids.poll();
+		}
+	}	//	getNextID
+
+	/**
+	 * Get buffer of transaction
+	 * @param trxName
+	 * @param create true to create if transaction has no buffer yet
+	 * @return buffer or null (no buffer or no active transaction)
+	 */
+	static ChangeLogBuffer get(String trxName, boolean create)
+	{
+		if (Util.isEmpty(trxName, true))
+			return null;
+		ChangeLogBuffer buffer = s_buffers.get(trxName);
+		if (buffer != null || !create)
+			return buffer;
+		Trx trx = Trx.get(trxName, false);
+		if (trx == null)
+			return null;
+		return s_buffers.computeIfAbsent(trxName, k -> {
+			ChangeLogBuffer b = new ChangeLogBuffer(trx);
+			trx.addTrxEventListener(b);
+			return b;
+		});
+	}	//	get
+
+	/**
+	 * Insert buffered change log of transaction
+	 * @param trxName
+	 */
+	public static void flush(String trxName)
+	{
+		ChangeLogBuffer buffer = get(trxName, false);
+		if (buffer != null)
+			buffer.flush();
+	}	//	flush
+
+	/** Buffer position of savepoint */
+	private static class SavepointMark
+	{
+		final Savepoint savepoint;
+		/** Number of inserted change log when savepoint is set */
+		int flushed;
+		/** Number of change log when savepoint is set */
+		int size;
+
+		SavepointMark(Savepoint savepoint, int flushed, int size)
+		{
+			this.savepoint = savepoint;
+			this.flushed = flushed;
+			this.size = size;
+		}
+	}
+
+	/** Transaction */
+	private final Trx m_trx;
+	/** Change log in add order, inserted change log are kept while a savepoint needs them */
+	private final List<MChangeLog> m_buffer = new ArrayList<MChangeLog>();
+	/** Number of change log at start of buffer already inserted */
+	private int m_flushed = 0;
+	/** Active savepoints in set order */
+	private final List<SavepointMark> m_savepoints = new ArrayList<SavepointMark>();
+
+	/**
+	 * @param trx
+	 */
+	private ChangeLogBuffer(Trx trx)
+	{
+		m_trx = trx;
+	}
+
+	/**
+	 * Add change log to buffer, insert buffer if batch size is reached
+	 * @param cl unsaved change log with AD_ChangeLog_ID
+	 * @param batchSize
+	 */
+	synchronized void add(MChangeLog cl, int batchSize)
+	{
+		m_buffer.add(cl);
+		if (m_buffer.size() - m_flushed >= batchSize)
+			flush();
+	}	//	add
+
+	/**
+	 * Insert buffered change log with one JDBC batch
+	 */
+	public synchronized void flush()
+	{
+		int size = m_buffer.size();
+		if (m_flushed == size)
+			return;
+		List<MChangeLog> pending = m_buffer.subList(m_flushed, size);
+		POInfo info = POInfo.getPOInfo(pending.get(0).getCtx(), MChangeLog.Table_ID);
+		List<Integer> columns = new ArrayList<Integer>();
+		StringBuilder sql = new StringBuilder("INSERT INTO ").append(MChangeLog.Table_Name).append(" (");
+		StringBuilder values = new StringBuilder();
+		for (int i = 0; i < info.getColumnCount(); i++)
+		{
+			if (info.isVirtualColumn(i))
+				continue;
+			if (!columns.isEmpty())
+			{
+				sql.append(",");
+				values.append(",");
+			}
+			columns.add(i);
+			sql.append(info.getColumnName(i));
+			values.append("?");
+		}
+		sql.append(") VALUES (").append(values).append(")");
+		String uuColumn = PO.getUUIDColumnName(MChangeLog.Table_Name);
+
+		String insert = sql.toString();
+		if (!DB.isOracle() && !DB.isPostgreSQL())
+			insert = DB.getDatabase().convertStatement(insert);
+		Connection conn = m_trx.getConnection();
+		PreparedStatement pstmt = null;
+		try
+		{
+			pstmt = conn.prepareStatement(insert);
+			for (MChangeLog cl : pending)
+			{
+				int index = 1;
+				for (int i : columns)
+				{
+					Object value = cl.get_Value(i);
+					if (value == null && info.getColumnName(i).equals(uuColumn))
+						value = UUID.randomUUID().toString();
+					DB.setParameter(pstmt, index++, value);
+				}
+				pstmt.addBatch();
+			}
+			pstmt.executeBatch();
+			if (s_log.isLoggable(Level.FINE)) s_log.fine(m_trx.getTrxName() + " #" + pending.size());
+			m_flushed = size;
+			trim();
+		}
+		catch (SQLException e)
+		{
+			throw new DBException(e, insert);
+		}
+		finally
+		{
+			DB.close(pstmt);
+		}
+	}	//	flush
+
+	/**
+	 * Remove inserted change log that is not needed to restore the buffer on rollback to an active savepoint
+	 */
+	private void trim()
+	{
+		int count = m_flushed;
+		for (SavepointMark mark : m_savepoints)
+			count = Math.min(count, mark.flushed);
+		if (count == 0)
+			return;
+		m_buffer.subList(0, count).clear();
+		m_flushed -= count;
+		for (SavepointMark mark : m_savepoints)
+		{
+			mark.flushed -= count;
+			mark.size -= count;
+		}
+	}	//	trim
+
+	/**
+	 * Remove savepoint and the savepoints set after it
+	 * @param savepoint
+	 * @return removed savepoint mark or null
+	 */
+	private SavepointMark removeSavepoint(Savepoint savepoint)
+	{
+		for (int i = 0; i < m_savepoints.size(); i++)
+		{
+			SavepointMark mark = m_savepoints.get(i);
+			if (mark.savepoint == savepoint)
+			{
+				m_savepoints.subList(i, m_savepoints.size()).clear();
+				return mark;
+			}
+		}
+		return null;
+	}	//	removeSavepoint
+
+	@Override
+	public void beforeCommit(Trx trx)
+	{
+		flush();
+	}
+
+	@Override
+	public synchronized void afterCommit(Trx trx, boolean success)
+	{
+		if (success)
+			reset();
+	}
+
+	@Override
+	public synchronized void afterRollback(Trx trx, boolean success)
+	{
+		reset();
+	}
+
+	@Override
+	public synchronized void afterSetSavepoint(Trx trx, Savepoint savepoint)
+	{
+		m_savepoints.add(new SavepointMark(savepoint, m_flushed, m_buffer.size()));
+	}
+
+	@Override
+	public synchronized void afterRollback(Trx trx, Savepoint savepoint)
+	{
+		SavepointMark mark = removeSavepoint(savepoint);
+		if (mark == null)
+			return;
+		//	change log added before savepoint but inserted after it is rolled back by database and pending again
+		if (m_buffer.size() > mark.size)
+			m_buffer.subList(mark.size, m_buffer.size()).clear();
+		m_flushed = mark.flushed;
+		trim();
+	}
+
+	@Override
+	public synchronized void afterReleaseSavepoint(Trx trx, Savepoint savepoint)
+	{
+		if (removeSavepoint(savepoint) != null)
+			trim();
+	}
+
+	@Override
+	public void afterClose(Trx trx)
+	{
+		s_buffers.remove(m_trx.getTrxName());
+		trx.removeTrxEventListener(this);
+	}
+
+	/**
+	 * Clear buffer after end of transaction
+	 */
+	private void reset()
+	{
+		m_buffer.clear();
+		m_savepoints.clear();
+		m_flushed = 0;
+	}
+}	//	ChangeLogBuffer
@@ -0,0 +1,364 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.model;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.ContextRunnable;
+import org.compiere.Adempiere;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Trx;
+import org.compiere.util.TrxEventListener;
+import org.compiere.util.Util;
+
+/**
+ * Queue of unprocessed cost detail records of a transaction.<br/>
+ * Enabled by {@link MSysConfig#COST_DETAIL_DEFERRED_PROCESSING}. Cost detail created through the MCostDetail.createXXX
+ * methods is saved immediately but processed (M_Cost update and M_CostHistory creation) after commit by a background
+ * worker of the {@link Adempiere#THREAD_POOL_SERVER} pool, in a transaction per accounting schema and product and in the
+ * same order as {@link MCostDetail#processProduct(MAcctSchema, MProduct, java.sql.Timestamp, String)}.
+ * The posting transaction therefore does not lock M_Cost rows of the cost detail it creates.<br/>
+ * Cost lookup through {@link MCost} (as used by posting) processes the pending cost detail of the product first, so
+ * costs read within the transaction are the same as with immediate processing.<br/>
+ * Committed cost detail that has not been processed by the worker (server stopped or pool saturated) is processed by
+ * the next cost lookup of the product or by {@link #recover()} at server start.
+ */
+public class CostDetailQueue implements TrxEventListener
+{
+	/** Queue of transactions (trxName:queue) */
+	private static final Map<String, CostDetailQueue> s_queues = new ConcurrentHashMap<String, CostDetailQueue>();
+
+	/** Logger */
+	private static final CLogger s_log = CLogger.getCLogger(CostDetailQueue.class);
+
+	/** Processing group of cost detail */
+	private record Group(int C_AcctSchema_ID, int M_Product_ID) {}
+
+	/** Processing order of groups */
+	private static final Comparator<Group> GROUP_ORDER = Comparator.comparingInt(Group::M_Product_ID)
+		.thenComparingInt(Group::C_AcctSchema_ID);
+
+	/**
+	 * Is deferred processing of cost detail enabled
+	 * @param AD_Client_ID
+	 * @return true if enabled
+	 */
+	public static boolean isDeferred(int AD_Client_ID)
+	{
+		return MSysConfig.getBooleanValue(MSysConfig.COST_DETAIL_DEFERRED_PROCESSING, false, AD_Client_ID);
+	}	//	isDeferred
+
+	/**
+	 * Get queue of transaction
+	 * @param trxName
+	 * @param create true to create if transaction has no queue yet
+	 * @return queue or null (no queue or no active transaction)
+	 */
+	static CostDetailQueue get(String trxName, boolean create)
+	{
+		if (Util.isEmpty(trxName, true))
+			return null;
+		CostDetailQueue queue = s_queues.get(trxName);
+		if (queue != null || !create)
+			return queue;
+		Trx trx = Trx.get(trxName, false);
+		if (trx == null)
+			return null;
+		return s_queues.computeIfAbsent(trxName, k -> {
+			CostDetailQueue q = new CostDetailQueue(trxName);
+			trx.addTrxEventListener(q);
+			return q;
+		});
+	}	//	get
+
+	/**
+	 * Process cost detail now or add it to the queue of its transaction
+	 * @param cd saved cost detail
+	 * @return true if processed or queued
+	 */
+	static boolean process(MCostDetail cd)
+	{
+		if (isDeferred(cd.getAD_Client_ID()))
+		{
+			CostDetailQueue queue = get(cd.get_TrxName(), true);
+			if (queue != null)
+			{
+				queue.add(cd);
+				return true;
+			}
+		}
+		return cd.process();
+	}	//	process
+
+	/**
+	 * Process pending cost detail of transaction
+	 * @param trxName
+	 */
+	public static void flush(String trxName)
+	{
+		CostDetailQueue queue = get(trxName, false);
+		if (queue != null)
+			queue.flush();
+	}	//	flush
+
+	/**
+	 * Process pending cost detail of product
+	 * @param C_AcctSchema_ID
+	 * @param M_Product_ID
+	 * @param trxName
+	 */
+	public static void flush(int C_AcctSchema_ID, int M_Product_ID, String trxName)
+	{
+		CostDetailQueue queue = get(trxName, false);
+		if (queue != null)
+			queue.flush(new Group(C_AcctSchema_ID, M_Product_ID));
+	}	//	flush
+
+	/**
+	 * Process committed unprocessed cost detail of groups, in a transaction per group
+	 */
+	private static class Worker extends ContextRunnable
+	{
+		private final List<Group> groups;
+
+		/**
+		 * @param ctx context of worker
+		 * @param groups
+		 */
+		Worker(Properties ctx, List<Group> groups)
+		{
+			this.context = ctx;
+			this.groups = groups;
+		}
+
+		@Override
+		protected void doRun()
+		{
+			for (Group group : groups)
+				processCommitted(group);
+		}
+	}
+
+	/**
+	 * Submit groups to background worker
+	 * @param ctx
+	 * @param groups
+	 */
+	private static void submit(Properties ctx, List<Group> groups)
+	{
+		if (groups.isEmpty())
+			return;
+		Properties workerCtx = new Properties();
+		workerCtx.putAll(ctx);
+		try
+		{
+			Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_SERVER).submit(new Worker(workerCtx, groups));
+		}
+		catch (RejectedExecutionException e)
+		{
+			//	processed by next cost lookup of product or at server start
+			s_log.warning("Cost detail worker rejected, #" + groups.size() + " products left unprocessed - " + e.getLocalizedMessage());
+		}
+	}	//	submit
+
+	/**
+	 * Process committed unprocessed cost detail of group
+	 * @param group
+	 */
+	private static void processCommitted(Group group)
+	{
+		Trx trx = Trx.get(Trx.createTrxName("CostDetail"), true);
+		trx.setDisplayName(CostDetailQueue.class.getName()+"_processCommitted");
+		int counterOK = 0;
+		int counterError = 0;
+		try
+		{
+			int[] ids = MCostDetail.lockUnprocessed(group.C_AcctSchema_ID(), group.M_Product_ID(), null, trx.getTrxName());
+			List<Integer> list = new ArrayList<Integer>(ids.length);
+			for (int id : ids)
+				list.add(id);
+			for (MCostDetail cd : MCostDetail.listUnprocessed(Env.getCtx(), list, trx.getTrxName()))
+			{
+				if (cd.process())
+					counterOK++;
+				else
+					counterError++;
+			}
+			trx.commit(true);
+		}
+		catch (Exception e)
+		{
+			trx.rollback();
+			s_log.log(Level.SEVERE, group.toString(), e);
+		}
+		finally
+		{
+			trx.close();
+		}
+		if (counterError > 0)
+			s_log.warning(group + " OK=" + counterOK + ", Errors=" + counterError);
+		else if (s_log.isLoggable(Level.FINE))
+			s_log.fine(group + " OK=" + counterOK);
+	}	//	processCommitted
+
+	/**
+	 * Submit committed unprocessed cost detail of clients with deferred processing to background worker,
+	 * called at server start
+	 */
+	public static void recover()
+	{
+		final String sql = "SELECT DISTINCT C_AcctSchema_ID, M_Product_ID FROM M_CostDetail WHERE AD_Client_ID=? AND Processed='N'";
+		for (MClient client : MClient.getAll(Env.getCtx()))
+		{
+			if (client.getAD_Client_ID() == 0 || !isDeferred(client.getAD_Client_ID()))
+				continue;
+			List<Group> groups = new ArrayList<Group>();
+			PreparedStatement pstmt = null;
+			ResultSet rs = null;
+			try
+			{
+				pstmt = DB.prepareStatement(sql, null);
+				pstmt.setInt(1, client.getAD_Client_ID());
+				rs = pstmt.executeQuery();
+				while (rs.next())
+					groups.add(new Group(rs.getInt(1), rs.getInt(2)));
+			}
+			catch (Exception e)
+			{
+				s_log.log(Level.SEVERE, sql, e);
+				continue;
+			}
+			finally
+			{
+				DB.close(rs, pstmt);
+				rs = null; pstmt = null;
+			}
+			groups.sort(GROUP_ORDER);
+			if (!groups.isEmpty() && s_log.isLoggable(Level.INFO)) s_log.info(client.getName() + " #" + groups.size());
+			Properties ctx = new Properties();
+			Env.setContext(ctx, Env.AD_CLIENT_ID, client.getAD_Client_ID());
+			submit(ctx, groups);
+		}
+	}	//	recover
+
+	/** Transaction name */
+	private final String m_trxName;
+	/** Pending M_CostDetail_ID by group */
+	private final TreeMap<Group, Set<Integer>> m_pending = new TreeMap<Group, Set<Integer>>(GROUP_ORDER);
+	/** Context of queued cost detail */
+	private Properties m_ctx = null;
+
+	/**
+	 * @param trxName
+	 */
+	private CostDetailQueue(String trxName)
+	{
+		m_trxName = trxName;
+	}
+
+	/**
+	 * Add cost detail to queue
+	 * @param cd
+	 */
+	private synchronized void add(MCostDetail cd)
+	{
+		m_pending.computeIfAbsent(new Group(cd.getC_AcctSchema_ID(), cd.getM_Product_ID()), k -> new TreeSet<Integer>())
+			.add(cd.getM_CostDetail_ID());
+		if (m_ctx == null)
+			m_ctx = cd.getCtx();
+		if (s_log.isLoggable(Level.FINE)) s_log.fine(m_trxName + " - queued " + cd);
+	}	//	add
+
+	/**
+	 * Process pending cost detail of group
+	 * @param group
+	 */
+	private synchronized void flush(Group group)
+	{
+		Set<Integer> ids = m_pending.remove(group);
+		if (ids != null)
+			process(ids);
+	}	//	flush
+
+	/**
+	 * Process pending cost detail.<br/>
+	 * Cost detail of a group is processed in account date order, cost detail deleted or processed in the meantime is skipped.
+	 */
+	public synchronized void flush()
+	{
+		while (!m_pending.isEmpty())
+		{
+			process(m_pending.pollFirstEntry().getValue());
+		}
+	}	//	flush
+
+	/**
+	 * Process cost detail of a group in processing order
+	 * @param ids M_CostDetail_ID
+	 */
+	private void process(Set<Integer> ids)
+	{
+		for (MCostDetail cd : MCostDetail.listUnprocessed(m_ctx, ids, m_trxName))
+		{
+			if (!cd.process())
+				throw new AdempiereException("Failed to process cost detail: " + cd);
+		}
+	}	//	process
+
+	@Override
+	public synchronized void afterCommit(Trx trx, boolean success)
+	{
+		if (success && !m_pending.isEmpty())
+			submit(m_ctx, new ArrayList<Group>(m_pending.keySet()));
+		m_pending.clear();
+		m_ctx = null;
+	}
+
+	@Override
+	public synchronized void afterRollback(Trx trx, boolean success)
+	{
+		m_pending.clear();
+		m_ctx = null;
+	}
+
+	@Override
+	public void afterClose(Trx trx)
+	{
+		s_queues.remove(m_trxName);
+		trx.removeTrxEventListener(this);
+	}
+}	//	CostDetailQueue
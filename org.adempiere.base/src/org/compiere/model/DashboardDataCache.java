@@ -0,0 +1,116 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.model;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.compiere.util.CCache;
+import org.compiere.util.Env;
+
+/**
+ * Short lived cache of dashboard gadget data shared by all sessions of a tenant.<br/>
+ * The key must identify the query completely (e.g. the SQL after role access and context parsing), so users with the
+ * same role and organization access share the result. Values are kept for {@link MSysConfig#ZK_DASHBOARD_CACHE_SECONDS}
+ * and concurrent loads of the same key wait for the first load instead of running the same query again.<br/>
+ * The cache is registered with CacheMgt and reset with the given table.
+ * @param <V> value type
+ */
+public class DashboardDataCache<V>
+{
+	/** Cached value with load time */
+	private record Entry<V>(V value, long loaded) {}
+
+	/** Cached values (AD_Client_ID|key) */
+	private final CCache<String, Entry<V>> m_cache;
+	/** Loads in progress (AD_Client_ID|key) */
+	private final ConcurrentHashMap<String, CompletableFuture<V>> m_loading = new ConcurrentHashMap<String, CompletableFuture<V>>();
+
+	/**
+	 * @param tableName table to reset cache
+	 * @param name cache name
+	 */
+	public DashboardDataCache(String tableName, String name)
+	{
+		m_cache = new CCache<String, Entry<V>>(tableName, name, 100, 60, false, 1000);
+	}
+
+	/**
+	 * Get cached value or load it
+	 * @param key query key
+	 * @param loader load value
+	 * @return value
+	 */
+	public V get(String key, Supplier<V> loader)
+	{
+		int AD_Client_ID = Env.getAD_Client_ID(Env.getCtx());
+		int ttl = MSysConfig.getIntValue(MSysConfig.ZK_DASHBOARD_CACHE_SECONDS, 30, AD_Client_ID);
+		if (ttl <= 0)
+			return loader.get();
+
+		String cacheKey = AD_Client_ID + "|" + key;
+		Entry<V> entry = m_cache.get(cacheKey);
+		if (entry != null && System.currentTimeMillis() - entry.loaded() < ttl * 1000L)
+			return entry.value();
+
+		CompletableFuture<V> future = new CompletableFuture<V>();
+		CompletableFuture<V> loading = m_loading.putIfAbsent(cacheKey, future);
+		if (loading != null)
+		{
+			try
+			{
+				return loading.join();
+			}
+			catch (CompletionException e)
+			{
+				//	load of other session failed, try again with context of this session
+				return loader.get();
+			}
+		}
+		try
+		{
+			V value = loader.get();
+			m_cache.put(cacheKey, new Entry<V>(value, System.currentTimeMillis()));
+			future.complete(value);
+			return value;
+		}
+		catch (RuntimeException e)
+		{
+			future.completeExceptionally(e);
+			throw e;
+		}
+		finally
+		{
+			m_loading.remove(cacheKey, future);
+		}
+	}	//	get
+
+	/**
+	 * Remove cached values
+	 */
+	public void reset()
+	{
+		m_cache.reset();
+	}	//	reset
+}	//	DashboardDataCache
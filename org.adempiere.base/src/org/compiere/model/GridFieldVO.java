@@ -26,7 +26,9 @@ import java.util.Comparator;
 import java.util.Properties;
 import java.util.logging.Level;
 
+import org.compiere.util.CCache;
 import org.compiere.util.CLogger;
+import org.compiere.util.CacheChangeListener;
 import org.compiere.util.DisplayType;
 import org.compiere.util.Env;
 
@@ -842,6 +844,79 @@ public class GridFieldVO implements Serializable, Cloneable
 		}
 	}   //  initFinish
 
+	/** Resolved lookup info (with role access SQL) shared by the window fields of a role and user, copied for each field */
+	private static final LookupInfoCache s_lookupInfoCache = new LookupInfoCache("GridFieldVO LookupInfo", 1000, 10000);
+
+	/**
+	 * Cache of resolved lookup info, reset with the lookup definition and role access tables
+	 */
+	private static final class LookupInfoCache extends CCache<String, MLookupInfo> implements CacheChangeListener
+	{
+		private static final long serialVersionUID = 4387205519346771203L;
+
+		/** Tables of lookup definition (see {@link MLookupFactory}) and role access (see {@link MRole}) */
+		private static final String[] TABLE_NAMES = {MRole.Table_Name, I_AD_Reference.Table_Name, I_AD_Ref_Table.Table_Name,
+			I_AD_Ref_List.Table_Name, I_AD_Column.Table_Name, I_AD_Val_Rule.Table_Name,
+			I_AD_Role_OrgAccess.Table_Name, I_AD_Table_Access.Table_Name};
+
+		private LookupInfoCache(String name, int initialCapacity, int maxSize)
+		{
+			super(null, name, initialCapacity, CCache.DEFAULT_EXPIRE_MINUTE, false, maxSize);
+		}
+
+		/**
+		 * @param tableName
+		 * @return true if lookup info depends on table
+		 */
+		private boolean isLookupTable(String tableName)
+		{
+			for (String name : TABLE_NAMES)
+			{
+				if (name.equalsIgnoreCase(tableName))
+					return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void reset(String tableName)
+		{
+			if (isLookupTable(tableName))
+				reset();
+		}
+
+		@Override
+		public void reset(String tableName, int recordId)
+		{
+			reset(tableName);
+		}
+
+		@Override
+		public void reset(String tableName, String key)
+		{
+			reset(tableName);
+		}
+	}	//	LookupInfoCache
+
+	/**
+	 * @return key of lookup info in {@link #s_lookupInfoCache}
+	 */
+	private String getLookupInfoKey()
+	{
+		StringBuilder key = new StringBuilder()
+			.append(Env.getAD_Client_ID(ctx)).append("|")
+			.append(Env.getAD_Role_ID(ctx)).append("|")
+			.append(Env.getAD_User_ID(ctx)).append("|")
+			.append(Env.getAD_Language(ctx)).append("|")
+			.append(AD_Column_ID).append("|")
+			.append(displayType).append("|")
+			.append(AD_Reference_Value_ID).append("|")
+			.append(IsParent).append("|")
+			.append(ColumnName).append("|")
+			.append(ValidationCode);
+		return key.toString();
+	}
+
 	/**
 	 * load lookup info.
 	 * used by findwindow to loadlookupinfo for invisible field
@@ -849,11 +924,23 @@ public class GridFieldVO implements Serializable, Cloneable
 	public void loadLookupInfo() {
 		try
 		{
+			String key = getLookupInfoKey();
+			MLookupInfo shared = s_lookupInfoCache.get(key);
+			if (shared != null)
+			{
+				lookupInfo = shared.cloneIt();
+				lookupInfo.ctx = ctx;
+				lookupInfo.WindowNo = WindowNo;
+				lookupInfo.tabNo = TabNo;
+				return;
+			}
 			lookupInfo = MLookupFactory.getLookupInfo (ctx, WindowNo, TabNo, AD_Column_ID, displayType,
 				Env.getLanguage(ctx), ColumnName, AD_Reference_Value_ID,
 				IsParent, ValidationCode);
 			if (lookupInfo == null)
 				displayType = DisplayType.ID;
+			else if (!lookupInfo.IsContextParsed)
+				s_lookupInfoCache.put(key, lookupInfo.cloneIt());
 		}
 		catch (Exception e)     //  Cannot create Lookup
 		{
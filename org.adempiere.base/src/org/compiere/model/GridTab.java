@@ -299,7 +299,7 @@ public class GridTab implements DataStatusListener, Evaluatee, Serializable
 		if (async)
 		{
 			m_loader = new Loader();
-			m_loaderFuture = Adempiere.getThreadPoolExecutor().submit(m_loader);
+			m_loaderFuture = Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_LOOKUP).submit(m_loader);
 			return false;
 		}
 		else
@@ -657,7 +657,7 @@ public class GridTable extends AbstractTableModel
 		if (m_rowCount > 0 || m_rowCountTimeout) 
 		{
 			m_loader.setContext(ServerContext.getCurrentInstance());
-			m_loaderFuture = Adempiere.getThreadPoolExecutor().submit(m_loader);
+			m_loaderFuture = Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_LOOKUP).submit(m_loader);
 		}
 		else
 			m_loader.close();
@@ -0,0 +1,235 @@
+/******************************************************************************
+ * Product: iDempiere ERP & CRM Smart Business Solution                       *
+ * Copyright (C) 1999-2012 ComPiere, Inc. All Rights Reserved.                *
+ * This program is free software, you can redistribute it and/or modify it    *
+ * under the terms version 2 of the GNU General Public License as published   *
+ * by the Free Software Foundation. This program is distributed in the hope   *
+ * that it will be useful, but WITHOUT ANY WARRANTY, without even the implied *
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.           *
+ * See the GNU General Public License for more details.                       *
+ * You should have received a copy of the GNU General Public License along    *
+ * with this program, if not, write to the Free Software Foundation, Inc.,    *
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA.                     *
+ * For the text or an alternative of this public license, you may reach us    *
+ * ComPiere, Inc., 2620 Augustine Dr. #245, Santa Clara, CA 95054, USA        *
+ * or via info@compiere.org or http://www.compiere.org/license.html           *
+ *****************************************************************************/
+package org.compiere.model;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import org.compiere.util.KeyNamePair;
+
+/** Generated Interface for AD_MailOutbox
+ *  @author iDempiere (generated) 
+ *  @version Release 13
+ */
+public interface I_AD_MailOutbox 
+{
+
+    /** TableName=AD_MailOutbox */
+    public static final String Table_Name = "AD_MailOutbox";
+
+    /** AD_Table_ID=200433 */
+    public static final int Table_ID = 200433;
+
+    KeyNamePair Model = new KeyNamePair(Table_ID, Table_Name);
+
+    /** AccessLevel = 6 - System - Client 
+     */
+    BigDecimal accessLevel = BigDecimal.valueOf(6);
+
+    /** Load Meta Data */
+
+    /** Column name AD_Client_ID */
+    public static final String COLUMNNAME_AD_Client_ID = "AD_Client_ID";
+
+	/** Get Tenant.
+	  * Tenant for this installation.
+	  */
+	public int getAD_Client_ID();
+
+    /** Column name AD_MailOutbox_ID */
+    public static final String COLUMNNAME_AD_MailOutbox_ID = "AD_MailOutbox_ID";
+
+	/** Set Mail Outbox.
+	  * Email waiting to be sent
+	  */
+	public void setAD_MailOutbox_ID (int AD_MailOutbox_ID);
+
+	/** Get Mail Outbox.
+	  * Email waiting to be sent
+	  */
+	public int getAD_MailOutbox_ID();
+
+    /** Column name AD_MailOutbox_UU */
+    public static final String COLUMNNAME_AD_MailOutbox_UU = "AD_MailOutbox_UU";
+
+	/** Set AD_MailOutbox_UU	  */
+	public void setAD_MailOutbox_UU (String AD_MailOutbox_UU);
+
+	/** Get AD_MailOutbox_UU	  */
+	public String getAD_MailOutbox_UU();
+
+    /** Column name AD_Org_ID */
+    public static final String COLUMNNAME_AD_Org_ID = "AD_Org_ID";
+
+	/** Set Organization.
+	  * Organizational entity within tenant
+	  */
+	public void setAD_Org_ID (int AD_Org_ID);
+
+	/** Get Organization.
+	  * Organizational entity within tenant
+	  */
+	public int getAD_Org_ID();
+
+    /** Column name BinaryData */
+    public static final String COLUMNNAME_BinaryData = "BinaryData";
+
+	/** Set Binary Data.
+	  * Binary Data
+	  */
+	public void setBinaryData (byte[] BinaryData);
+
+	/** Get Binary Data.
+	  * Binary Data
+	  */
+	public byte[] getBinaryData();
+
+    /** Column name Created */
+    public static final String COLUMNNAME_Created = "Created";
+
+	/** Get Created.
+	  * Date this record was created
+	  */
+	public Timestamp getCreated();
+
+    /** Column name CreatedBy */
+    public static final String COLUMNNAME_CreatedBy = "CreatedBy";
+
+	/** Get Created By.
+	  * User who created this records
+	  */
+	public int getCreatedBy();
+
+    /** Column name DateNextRun */
+    public static final String COLUMNNAME_DateNextRun = "DateNextRun";
+
+	/** Set Date Next Run.
+	  * Date the process will run next
+	  */
+	public void setDateNextRun (Timestamp DateNextRun);
+
+	/** Get Date Next Run.
+	  * Date the process will run next
+	  */
+	public Timestamp getDateNextRun();
+
+    /** Column name IsActive */
+    public static final String COLUMNNAME_IsActive = "IsActive";
+
+	/** Set Active.
+	  * The record is active in the system
+	  */
+	public void setIsActive (boolean IsActive);
+
+	/** Get Active.
+	  * The record is active in the system
+	  */
+	public boolean isActive();
+
+    /** Column name IsError */
+    public static final String COLUMNNAME_IsError = "IsError";
+
+	/** Set Error.
+	  * An Error occurred in the execution
+	  */
+	public void setIsError (boolean IsError);
+
+	/** Get Error.
+	  * An Error occurred in the execution
+	  */
+	public boolean isError();
+
+    /** Column name MailProperties */
+    public static final String COLUMNNAME_MailProperties = "MailProperties";
+
+	/** Set Mail Properties.
+	  * Mail session properties and SMTP user of the queued email
+	  */
+	public void setMailProperties (String MailProperties);
+
+	/** Get Mail Properties.
+	  * Mail session properties and SMTP user of the queued email
+	  */
+	public String getMailProperties();
+
+    /** Column name Result */
+    public static final String COLUMNNAME_Result = "Result";
+
+	/** Set Result.
+	  * Result of the action taken
+	  */
+	public void setResult (String Result);
+
+	/** Get Result.
+	  * Result of the action taken
+	  */
+	public String getResult();
+
+    /** Column name RetryCount */
+    public static final String COLUMNNAME_RetryCount = "RetryCount";
+
+	/** Set Retry Count.
+	  * Number of failed attempts
+	  */
+	public void setRetryCount (int RetryCount);
+
+	/** Get Retry Count.
+	  * Number of failed attempts
+	  */
+	public int getRetryCount();
+
+    /** Column name SMTPHost */
+    public static final String COLUMNNAME_SMTPHost = "SMTPHost";
+
+	/** Set Mail Host.
+	  * Hostname of Mail Server for SMTP and IMAP
+	  */
+	public void setSMTPHost (String SMTPHost);
+
+	/** Get Mail Host.
+	  * Hostname of Mail Server for SMTP and IMAP
+	  */
+	public String getSMTPHost();
+
+    /** Column name SMTPPort */
+    public static final String COLUMNNAME_SMTPPort = "SMTPPort";
+
+	/** Set SMTP Port.
+	  * SMTP Port Number
+	  */
+	public void setSMTPPort (int SMTPPort);
+
+	/** Get SMTP Port.
+	  * SMTP Port Number
+	  */
+	public int getSMTPPort();
+
+    /** Column name Updated */
+    public static final String COLUMNNAME_Updated = "Updated";
+
+	/** Get Updated.
+	  * Date this record was updated
+	  */
+	public Timestamp getUpdated();
+
+    /** Column name UpdatedBy */
+    public static final String COLUMNNAME_UpdatedBy = "UpdatedBy";
+
+	/** Get Updated By.
+	  * User who updated this records
+	  */
+	public int getUpdatedBy();
+}
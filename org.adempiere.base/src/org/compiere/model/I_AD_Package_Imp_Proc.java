@@ -179,6 +179,19 @@ public interface I_AD_Package_Imp_Proc
 	  */
 	public String getName();
 
+    /** Column name PK_Digest */
+    public static final String COLUMNNAME_PK_Digest = "PK_Digest";
+
+	/** Set Package Digest.
+	  * SHA-256 digest of the package file
+	  */
+	public void setPK_Digest (String PK_Digest);
+
+	/** Get Package Digest.
+	  * SHA-256 digest of the package file
+	  */
+	public String getPK_Digest();
+
     /** Column name P_Msg */
     public static final String COLUMNNAME_P_Msg = "P_Msg";
 
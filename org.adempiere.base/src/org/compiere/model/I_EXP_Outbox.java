@@ -0,0 +1,168 @@
+/******************************************************************************
+ * Product: iDempiere ERP & CRM Smart Business Solution                       *
+ * Copyright (C) 1999-2012 ComPiere, Inc. All Rights Reserved.                *
+ * This program is free software, you can redistribute it and/or modify it    *
+ * under the terms version 2 of the GNU General Public License as published   *
+ * by the Free Software Foundation. This program is distributed in the hope   *
+ * that it will be useful, but WITHOUT ANY WARRANTY, without even the implied *
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.           *
+ * See the GNU General Public License for more details.                       *
+ * You should have received a copy of the GNU General Public License along    *
+ * with this program, if not, write to the Free Software Foundation, Inc.,    *
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA.                     *
+ * For the text or an alternative of this public license, you may reach us    *
+ * ComPiere, Inc., 2620 Augustine Dr. #245, Santa Clara, CA 95054, USA        *
+ * or via info@compiere.org or http://www.compiere.org/license.html           *
+ *****************************************************************************/
+package org.compiere.model;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import org.compiere.util.KeyNamePair;
+
+/** Generated Interface for EXP_Outbox
+ *  @author iDempiere (generated) 
+ *  @version Release 13
+ */
+public interface I_EXP_Outbox 
+{
+
+    /** TableName=EXP_Outbox */
+    public static final String Table_Name = "EXP_Outbox";
+
+    /** AD_Table_ID=200432 */
+    public static final int Table_ID = 200432;
+
+    KeyNamePair Model = new KeyNamePair(Table_ID, Table_Name);
+
+    /** AccessLevel = 6 - System - Client 
+     */
+    BigDecimal accessLevel = BigDecimal.valueOf(6);
+
+    /** Load Meta Data */
+
+    /** Column name AD_Client_ID */
+    public static final String COLUMNNAME_AD_Client_ID = "AD_Client_ID";
+
+	/** Get Tenant.
+	  * Tenant for this installation.
+	  */
+	public int getAD_Client_ID();
+
+    /** Column name AD_Org_ID */
+    public static final String COLUMNNAME_AD_Org_ID = "AD_Org_ID";
+
+	/** Set Organization.
+	  * Organizational entity within tenant
+	  */
+	public void setAD_Org_ID (int AD_Org_ID);
+
+	/** Get Organization.
+	  * Organizational entity within tenant
+	  */
+	public int getAD_Org_ID();
+
+    /** Column name Created */
+    public static final String COLUMNNAME_Created = "Created";
+
+	/** Get Created.
+	  * Date this record was created
+	  */
+	public Timestamp getCreated();
+
+    /** Column name CreatedBy */
+    public static final String COLUMNNAME_CreatedBy = "CreatedBy";
+
+	/** Get Created By.
+	  * User who created this records
+	  */
+	public int getCreatedBy();
+
+    /** Column name EXP_Outbox_ID */
+    public static final String COLUMNNAME_EXP_Outbox_ID = "EXP_Outbox_ID";
+
+	/** Set Replication Outbox.
+	  * Replication export document waiting for publishing
+	  */
+	public void setEXP_Outbox_ID (int EXP_Outbox_ID);
+
+	/** Get Replication Outbox.
+	  * Replication export document waiting for publishing
+	  */
+	public int getEXP_Outbox_ID();
+
+    /** Column name EXP_Outbox_UU */
+    public static final String COLUMNNAME_EXP_Outbox_UU = "EXP_Outbox_UU";
+
+	/** Set EXP_Outbox_UU	  */
+	public void setEXP_Outbox_UU (String EXP_Outbox_UU);
+
+	/** Get EXP_Outbox_UU	  */
+	public String getEXP_Outbox_UU();
+
+    /** Column name EXP_Processor_ID */
+    public static final String COLUMNNAME_EXP_Processor_ID = "EXP_Processor_ID";
+
+	/** Set Export Processor	  */
+	public void setEXP_Processor_ID (int EXP_Processor_ID);
+
+	/** Get Export Processor	  */
+	public int getEXP_Processor_ID();
+
+	public org.compiere.model.I_EXP_Processor getEXP_Processor() throws RuntimeException;
+
+    /** Column name ExportXML */
+    public static final String COLUMNNAME_ExportXML = "ExportXML";
+
+	/** Set Export XML.
+	  * XML document of replication export
+	  */
+	public void setExportXML (String ExportXML);
+
+	/** Get Export XML.
+	  * XML document of replication export
+	  */
+	public String getExportXML();
+
+    /** Column name IsActive */
+    public static final String COLUMNNAME_IsActive = "IsActive";
+
+	/** Set Active.
+	  * The record is active in the system
+	  */
+	public void setIsActive (boolean IsActive);
+
+	/** Get Active.
+	  * The record is active in the system
+	  */
+	public boolean isActive();
+
+    /** Column name RetryCount */
+    public static final String COLUMNNAME_RetryCount = "RetryCount";
+
+	/** Set Retry Count.
+	  * Number of failed attempts
+	  */
+	public void setRetryCount (int RetryCount);
+
+	/** Get Retry Count.
+	  * Number of failed attempts
+	  */
+	public int getRetryCount();
+
+    /** Column name Updated */
+    public static final String COLUMNNAME_Updated = "Updated";
+
+	/** Get Updated.
+	  * Date this record was updated
+	  */
+	public Timestamp getUpdated();
+
+    /** Column name UpdatedBy */
+    public static final String COLUMNNAME_UpdatedBy = "UpdatedBy";
+
+	/** Get Updated By.
+	  * User who updated this records
+	  */
+	public int getUpdatedBy();
+}
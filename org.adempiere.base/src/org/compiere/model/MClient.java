@@ -579,6 +579,7 @@ public class MClient extends X_AD_Client implements ImmutablePOSupport
 		}	
 		try
 		{
+			email.setUseOutbox(false);
 			String msg = email.send();			
 			if (EMail.SENT_OK.equals (msg))
 			{
@@ -143,6 +143,7 @@ public class MCost extends X_M_Cost implements ICostInfo
 		}
 
 		//	Create/Update Costs
+		CostDetailQueue.flush(as.getC_AcctSchema_ID(), product.getM_Product_ID(), trxName);
 		if (!isInBackDatePostingProcess) // skip if is in a back-date posting process
 			MCostDetail.processProduct (as, product, dateAcct, trxName);
 		 
@@ -24,6 +24,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -63,6 +64,11 @@ public class MCostDetail extends X_M_CostDetail
 			"INNER JOIN M_InOutLine iol ON io.M_InOut_ID=iol.M_InOut_ID " +
 			"INNER JOIN C_DocType c ON io.C_DocType_ID=c.C_DocType_ID " +
 			"WHERE iol.M_InOutLine_ID=?";
+
+	/** Processing order of cost detail of a product and accounting schema, M_CostDetail joined with reference cost detail as refcd */
+	private static final String PROCESS_ORDERBY = "M_CostDetail.M_CostElement_ID, M_CostDetail.AD_Org_ID, M_CostDetail.M_AttributeSetInstance_ID, M_CostDetail.DateAcct, "
+			+ "CASE WHEN COALESCE(refcd.DateAcct,M_CostDetail.DateAcct) = M_CostDetail.DateAcct THEN COALESCE(M_CostDetail.Ref_CostDetail_ID,M_CostDetail.M_CostDetail_ID) ELSE M_CostDetail.M_CostDetail_ID END, "
+			+ "M_CostDetail.M_CostDetail_ID";
 			
 	/**
 	 * 	Create New Cost Detail record for Purchase Orders.
@@ -153,7 +159,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -248,7 +254,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -344,7 +350,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -437,7 +443,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -534,7 +540,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -627,7 +633,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -718,7 +724,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -810,7 +816,7 @@ public class MCostDetail extends X_M_CostDetail
 		boolean ok = cd.save();
 		if (ok && !cd.isProcessed())
 		{
-			ok = cd.process();
+			ok = CostDetailQueue.process(cd);
 		}
 		if (s_log.isLoggable(Level.CONFIG)) s_log.config("(" + ok + ") " + cd);
 		return ok;
@@ -998,9 +1004,7 @@ public class MCostDetail extends X_M_CostDetail
 		List<MCostDetail> list = new Query(product.getCtx(),I_M_CostDetail.Table_Name,whereClause,trxName)
 		.addJoinClause(" LEFT JOIN M_CostDetail refcd ON (refcd.M_CostDetail_ID=M_CostDetail.Ref_CostDetail_ID) ")
 		.setParameters(product.getM_Product_ID(),false)
-		.setOrderBy("M_CostDetail.C_AcctSchema_ID, M_CostDetail.M_CostElement_ID, M_CostDetail.AD_Org_ID, M_CostDetail.M_AttributeSetInstance_ID, M_CostDetail.DateAcct, "
-				+ "CASE WHEN COALESCE(refcd.DateAcct,M_CostDetail.DateAcct) = M_CostDetail.DateAcct THEN COALESCE(M_CostDetail.Ref_CostDetail_ID,M_CostDetail.M_CostDetail_ID) ELSE M_CostDetail.M_CostDetail_ID END, "
-				+ "M_CostDetail.M_CostDetail_ID")
+		.setOrderBy("M_CostDetail.C_AcctSchema_ID, " + PROCESS_ORDERBY)
 		.list();
 		for (MCostDetail cd : list) {
 			if (cd.process())	//	saves
@@ -1024,6 +1028,9 @@ public class MCostDetail extends X_M_CostDetail
 	{
 		if (dateAcct == null)
 			dateAcct = TimeUtil.getDay(System.currentTimeMillis());
+		//	wait for cost detail worker of deferred processing
+		if (!Util.isEmpty(trxName, true) && CostDetailQueue.isDeferred(as.getAD_Client_ID()))
+			lockUnprocessed(as.getC_AcctSchema_ID(), product.getM_Product_ID(), dateAcct, trxName);
 		
 		final String whereClause = I_M_CostDetail.Table_Name + "." + I_M_CostDetail.COLUMNNAME_C_AcctSchema_ID + "=?"
 				+ " AND " + I_M_CostDetail.Table_Name + "." + I_M_CostDetail.COLUMNNAME_M_Product_ID + "=?"
@@ -1034,9 +1041,7 @@ public class MCostDetail extends X_M_CostDetail
 		List<MCostDetail> list = new Query(product.getCtx(),I_M_CostDetail.Table_Name,whereClause,trxName)
 		.addJoinClause(" LEFT JOIN M_CostDetail refcd ON (refcd.M_CostDetail_ID=M_CostDetail.Ref_CostDetail_ID) ")
 		.setParameters(as.getC_AcctSchema_ID(), product.getM_Product_ID(), dateAcct, false)
-		.setOrderBy("M_CostDetail.M_CostElement_ID, M_CostDetail.AD_Org_ID, M_CostDetail.M_AttributeSetInstance_ID, M_CostDetail.DateAcct, "
-				+ "CASE WHEN COALESCE(refcd.DateAcct,M_CostDetail.DateAcct) = M_CostDetail.DateAcct THEN COALESCE(M_CostDetail.Ref_CostDetail_ID,M_CostDetail.M_CostDetail_ID) ELSE M_CostDetail.M_CostDetail_ID END, "
-				+ "M_CostDetail.M_CostDetail_ID")
+		.setOrderBy(PROCESS_ORDERBY)
 		.list();
 		for (MCostDetail cd : list) {
 			if (cd.process())	//	saves
@@ -1048,6 +1053,59 @@ public class MCostDetail extends X_M_CostDetail
 		return counterError == 0;
 	}	//	processProduct
 	
+	/**
+	 * Get unprocessed cost detail records in processing order
+	 * @param ctx context
+	 * @param M_CostDetail_IDs cost detail of one product and accounting schema
+	 * @param trxName transaction
+	 * @return unprocessed cost detail, deleted or already processed records are excluded
+	 */
+	static List<MCostDetail> listUnprocessed(Properties ctx, Collection<Integer> M_CostDetail_IDs, String trxName)
+	{
+		if (M_CostDetail_IDs.isEmpty())
+			return new ArrayList<MCostDetail>();
+		StringBuilder whereClause = new StringBuilder(I_M_CostDetail.Table_Name).append(".").append(I_M_CostDetail.COLUMNNAME_Processed).append("=?")
+			.append(" AND ").append(I_M_CostDetail.Table_Name).append(".").append(I_M_CostDetail.COLUMNNAME_M_CostDetail_ID).append(" IN (");
+		boolean first = true;
+		for (Integer id : M_CostDetail_IDs)
+		{
+			if (!first)
+				whereClause.append(",");
+			whereClause.append(id);
+			first = false;
+		}
+		whereClause.append(")");
+		return new Query(ctx, I_M_CostDetail.Table_Name, whereClause.toString(), trxName)
+			.addJoinClause(" LEFT JOIN M_CostDetail refcd ON (refcd.M_CostDetail_ID=M_CostDetail.Ref_CostDetail_ID) ")
+			.setParameters(false)
+			.setOrderBy(PROCESS_ORDERBY)
+			.list();
+	}	//	listUnprocessed
+	
+	/**
+	 * Lock unprocessed cost detail records of product (SELECT FOR UPDATE), to not process them concurrently
+	 * with another transaction
+	 * @param C_AcctSchema_ID accounting schema
+	 * @param M_Product_ID product
+	 * @param dateAcct optional maximum account date
+	 * @param trxName transaction
+	 * @return M_CostDetail_ID of locked records
+	 */
+	static int[] lockUnprocessed(int C_AcctSchema_ID, int M_Product_ID, Timestamp dateAcct, String trxName)
+	{
+		StringBuilder sql = new StringBuilder("SELECT M_CostDetail_ID FROM M_CostDetail WHERE C_AcctSchema_ID=? AND M_Product_ID=? AND Processed='N'");
+		List<Object> params = new ArrayList<Object>();
+		params.add(C_AcctSchema_ID);
+		params.add(M_Product_ID);
+		if (dateAcct != null)
+		{
+			sql.append(" AND DateAcct<=?");
+			params.add(dateAcct);
+		}
+		sql.append(" ORDER BY M_CostDetail_ID FOR UPDATE");
+		return DB.getIDsEx(trxName, sql.toString(), params.toArray());
+	}	//	lockUnprocessed
+	
 	/**	Logger	*/
 	private static CLogger 	s_log = CLogger.getCLogger (MCostDetail.class);
 		
@@ -108,6 +108,8 @@ public class MDocumentStatus extends X_PA_DocumentStatus implements ImmutablePOS
 	
 	/**	MDocumentStatus Cache				*/
 	private static ImmutableIntPOCache<Integer,MDocumentStatus>	s_cache = new ImmutableIntPOCache<Integer,MDocumentStatus>(Table_Name, 20);
+	/** Record count by SQL, shared by sessions with same access */
+	private static final DashboardDataCache<Integer> s_countCache = new DashboardDataCache<Integer>(Table_Name, Table_Name + "_Count");
 	
 	/**
 	 * 	Get from Cache (immutable)
@@ -186,7 +188,7 @@ public class MDocumentStatus extends X_PA_DocumentStatus implements ImmutablePOS
 
 	/**
 	 * @param documentStatus
-	 * @return number of matching records
+	 * @return number of matching records (cached, see {@link DashboardDataCache})
 	 */
 	public static int evaluate(MDocumentStatus documentStatus) {
 		StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM ");
@@ -196,7 +198,7 @@ public class MDocumentStatus extends X_PA_DocumentStatus implements ImmutablePOS
 		if (where != null && where.trim().length() > 0)
 			sql.append(" WHERE " ).append(where);
 		String sqlS = MRole.getDefault().addAccessSQL(sql.toString(), tableName, false, true);
-		return DB.getSQLValue(null, sqlS);
+		return s_countCache.get(sqlS, () -> DB.getSQLValue(null, sqlS));
 	}
 
 	/**
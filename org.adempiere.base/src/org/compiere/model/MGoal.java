@@ -25,6 +25,8 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
 import org.compiere.util.CLogger;
@@ -254,6 +256,8 @@ public class MGoal extends X_PA_Goal
 	
 	/**	Logger	*/
 	private static CLogger s_log = CLogger.getCLogger (MGoal.class);
+	/** Lock of measure update (PA_Measure_ID) */
+	private static final ConcurrentHashMap<Integer, ReentrantLock> s_updateLocks = new ConcurrentHashMap<Integer, ReentrantLock>();
 	
     /**
      * UUID based Constructor
@@ -398,11 +402,31 @@ public class MGoal extends X_PA_Goal
 			|| getDateLastRun() == null
 			|| isUpdateByInterfal)
 		{
-			measure = new MMeasure(Env.getCtx(), measure, get_TrxName());
-			if (measure.updateGoals())		//	saves
+			//	one update of measure at a time, sessions waiting for the lock use the result
+			ReentrantLock lock = s_updateLocks.computeIfAbsent(getPA_Measure_ID(), k -> new ReentrantLock());
+			lock.lock();
+			try
 			{
-				load(get_ID(), get_TrxName());
-				return true;
+				if (!force && get_ID() > 0)
+				{
+					Timestamp dateLastRun = DB.getSQLValueTS(get_TrxName(), "SELECT DateLastRun FROM PA_Goal WHERE PA_Goal_ID=?", get_ID());
+					long interval = MSysConfig.getIntValue(MSysConfig.ZK_DASHBOARD_PERFORMANCE_REFRESH_INTERVAL, 1800000, Env.getAD_Client_ID(Env.getCtx()));
+					if (dateLastRun != null && (System.currentTimeMillis() - dateLastRun.getTime()) <= interval)
+					{
+						load(get_ID(), get_TrxName());
+						return false;
+					}
+				}
+				measure = new MMeasure(Env.getCtx(), measure, get_TrxName());
+				if (measure.updateGoals())		//	saves
+				{
+					load(get_ID(), get_TrxName());
+					return true;
+				}
+			}
+			finally
+			{
+				lock.unlock();
 			}
 		}
 		return false;
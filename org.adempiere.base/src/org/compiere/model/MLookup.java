@@ -893,7 +893,7 @@ public final class MLookup extends Lookup implements Serializable
 		if (log.isLoggable(Level.FINE)) log.fine(m_info.KeyColumn + ": start");
 		
 		m_loader = new MLoader();
-		m_loaderFuture = Adempiere.getThreadPoolExecutor().submit(m_loader);
+		m_loaderFuture = Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_LOOKUP).submit(m_loader);
 		loadComplete();
 		if (log.isLoggable(Level.FINE)) log.fine(m_info.KeyColumn + ": #" + m_lookup.size());
 		
@@ -237,6 +237,7 @@ public class MLookupFactory
 				return null;
 			}
 			info.Query = newSQL;
+			info.IsContextParsed = true;
 			if (s_log.isLoggable(Level.FINE)) s_log.fine("getLookupInfo, newSQL ="+newSQL); //jz
 		}
 
@@ -250,6 +251,7 @@ public class MLookupFactory
 				return null;
 			}
 			info.QueryDirect = newSQL;
+			info.IsContextParsed = true;
 			if (s_log.isLoggable(Level.FINE)) s_log.fine("getLookupInfo, newSQL ="+newSQL); //jz
 		}
 
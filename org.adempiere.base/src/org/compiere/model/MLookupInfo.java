@@ -207,6 +207,9 @@ public class MLookupInfo implements Serializable, Cloneable
 	
 	public String		parsedValidationCode = "";
 
+	/** Query or QueryDirect has been parsed with global context variables */
+	public boolean		IsContextParsed = false;
+
 	public String DisplayColumn;
 	
 	public int InfoWindowId;
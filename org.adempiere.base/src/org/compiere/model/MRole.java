@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.adempiere.exceptions.AdempiereException;
@@ -170,14 +171,29 @@ public final class MRole extends X_AD_Role implements ImmutablePOSupport
 		MRole role = (MRole)s_roles.get (key, e -> new MRole(ctx, e));
 		if (role == null || reload)
 		{
-			role = new MRole (ctx, AD_Role_ID, null);			
-			if (AD_Role_ID == SystemIDs.ROLE_SYSTEM)
+			boolean shareable = AD_User_ID >= 0 && !hasSubstitutedRoles(AD_User_ID);
+			role = shareable && !reload ? s_roleAccess.get(ctx, AD_Role_ID) : null;
+			if (role != null)
 			{
-				String trxName = null;
-				role.load(trxName);			//	special Handling
+				//	role level access snapshot shared by all users of the role
+				role.setAD_User_ID(AD_User_ID);
+			}
+			else
+			{
+				role = new MRole (ctx, AD_Role_ID, null);			
+				if (AD_Role_ID == SystemIDs.ROLE_SYSTEM)
+				{
+					String trxName = null;
+					role.load(trxName);			//	special Handling
+				}
+				role.setAD_User_ID(AD_User_ID);
+				role.loadAccess(reload);
+				if (shareable && !role.isUserOrgAccessUsed())
+				{
+					role.loadAllAccess();
+					s_roleAccess.put(AD_Role_ID, role, e -> new MRole(Env.getCtx(), e));
+				}
 			}
-			role.setAD_User_ID(AD_User_ID);
-			role.loadAccess(reload);
 			s_roles.put (key, role, e -> new MRole(Env.getCtx(), e));
 			if (s_log.isLoggable(Level.INFO)) s_log.info(role.toString());
 		}
@@ -277,6 +293,39 @@ public final class MRole extends X_AD_Role implements ImmutablePOSupport
 		
 	/** Role/User Cache			*/
 	private static POCopyCache<String,MRole> s_roles = new POCopyCache<String,MRole>(Table_Name, 5);
+	/**
+	 * Role access snapshot cache (AD_Role_ID:MRole), shared by all users of a role that don't have user specific access.<br/>
+	 * Reset of a role removes the role and the roles that include it, snapshot of other roles is kept.
+	 */
+	private static POCopyCache<Integer,MRole> s_roleAccess = new POCopyCache<Integer,MRole>(Table_Name, Table_Name + "|Access", 20) {
+		private static final long serialVersionUID = -4318795839232604713L;
+
+		@Override
+		public int reset(int recordId) {
+			if (recordId <= 0)
+				return super.reset(recordId);
+			List<Integer> keys = new ArrayList<Integer>();
+			for (Entry<Integer, MRole> entry : entrySet())
+			{
+				if (entry.getKey().intValue() == recordId)
+				{
+					keys.add(entry.getKey());
+					continue;
+				}
+				for (MRole included : entry.getValue().getIncludedRoles(true))
+				{
+					if (included.getAD_Role_ID() == recordId)
+					{
+						keys.add(entry.getKey());
+						break;
+					}
+				}
+			}
+			for (Integer key : keys)
+				remove(key);
+			return keys.size();
+		}
+	};
 	/** Log						*/ 
 	private static CLogger			s_log = CLogger.getCLogger(MRole.class);
 	
@@ -406,6 +455,7 @@ public final class MRole extends X_AD_Role implements ImmutablePOSupport
 		this.m_parent = copy.m_parent != null ? new MRole(ctx, copy.m_parent, trxName) : null;
 		this.m_includedSeqNo = copy.m_includedSeqNo;
 		this.m_canAccess_Info_Product = copy.m_canAccess_Info_Product;
+		this.m_menuIndexes = copy.m_menuIndexes;
 	}
 
 	/**
@@ -798,10 +848,79 @@ public final class MRole extends X_AD_Role implements ImmutablePOSupport
 			m_taskAccess = null;
 			m_workflowAccess = null;
 			m_formAccess = null;
+			m_menuIndexes = new ConcurrentHashMap<String, MTree.MenuIndex>();
 		}
 		loadIncludedRoles(reload); // Load/Reload included roles - metas-2009_0021_AP1_G94
 	}	//	loadAccess
 
+	/**
+	 * Load all access, including the window, process, task, workflow, form and info window access
+	 * that is otherwise loaded on first use.
+	 */
+	private void loadAllAccess ()
+	{
+		getWindowAccess(0);
+		getProcessAccess(0);
+		getTaskAccess(0);
+		getWorkflowAccess(0);
+		getFormAccess(0);
+		getInfoAccess(0);
+	}	//	loadAllAccess
+
+	/**
+	 * Is organization access of this role or its included roles defined by user (AD_User_OrgAccess)
+	 * @return true if organization access is user specific
+	 */
+	private boolean isUserOrgAccessUsed ()
+	{
+		if (isUseUserOrgAccess())
+			return true;
+		for (MRole role : getIncludedRoles(true))
+		{
+			if (role.isUseUserOrgAccess())
+				return true;
+		}
+		return false;
+	}	//	isUserOrgAccessUsed
+
+	/**
+	 * Has user active substitutes with roles (these roles are included in the user's role)
+	 * @param AD_User_ID
+	 * @return true if user has substituted roles
+	 */
+	private static boolean hasSubstitutedRoles (int AD_User_ID)
+	{
+		final String sql = "SELECT COUNT(*) FROM AD_User_Substitute us"
+			+ " INNER JOIN AD_User_Roles ur ON (ur.AD_User_ID=us.AD_User_ID AND ur.IsActive='Y')"
+			+ " WHERE us.Substitute_ID=? AND us.IsActive='Y'"
+			+ " AND (us.ValidFrom IS NULL OR us.ValidFrom <= getDate())"
+			+ " AND (us.ValidTo IS NULL OR us.ValidTo >= getDate())";
+		return DB.getSQLValue(null, sql, AD_User_ID) > 0;
+	}	//	hasSubstitutedRoles
+
+	/** Menu tree index (tree key:index), shared by the copies of this role */
+	private ConcurrentHashMap<String, MTree.MenuIndex> m_menuIndexes = new ConcurrentHashMap<String, MTree.MenuIndex>();
+
+	/**
+	 * Get menu tree index built for this role
+	 * @param key tree key (tree, language and load options)
+	 * @return menu index or null
+	 */
+	MTree.MenuIndex getMenuIndex (String key)
+	{
+		return m_menuIndexes.get(key);
+	}	//	getMenuIndex
+
+	/**
+	 * Keep menu tree index built for this role
+	 * @param key tree key (tree, language and load options)
+	 * @param index menu index
+	 */
+	void setMenuIndex (String key, MTree.MenuIndex index)
+	{
+		m_menuIndexes.put(key, index);
+	}	//	setMenuIndex
+
 	/**
 	 * 	Load Organization Access
 	 *	@param reload reload from DB
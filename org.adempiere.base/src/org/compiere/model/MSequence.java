@@ -81,18 +81,7 @@ public class MSequence extends X_AD_Sequence
 	{
 		boolean isSystemNativeSequence = MSysConfig.getBooleanValue(MSysConfig.SYSTEM_NATIVE_SEQUENCE,false);
 		//	Check AdempiereSys
-		boolean adempiereSys = false;
-		if (Ini.isClient())
-		{
-			adempiereSys = Ini.isPropertyBool(Ini.P_ADEMPIERESYS);
-		} 
-		else
-		{
-			String sysProperty = Env.getCtx().getProperty(Ini.P_ADEMPIERESYS, "N");
-			adempiereSys = "y".equalsIgnoreCase(sysProperty) || "true".equalsIgnoreCase(sysProperty);
-		}
-		if (adempiereSys && AD_Client_ID > 11)
-			adempiereSys = false;
+		boolean adempiereSys = isAdempiereSys(AD_Client_ID);
 		//
 		if (CLogMgt.isLevel(Level.FINER))
 			s_log.log(Level.FINER, TableName + " - AdempiereSys=" + adempiereSys  + " [" + trxName + "]");
@@ -271,6 +260,122 @@ public class MSequence extends X_AD_Sequence
 		return retValue;
 	}	//	getNextID
 
+	/**
+	 * 	Is ID of client from the system (official dictionary) sequence
+	 *	@param AD_Client_ID client
+	 *	@return true if maintaining the official dictionary
+	 */
+	static boolean isAdempiereSys (int AD_Client_ID)
+	{
+		boolean adempiereSys = false;
+		if (Ini.isClient())
+		{
+			adempiereSys = Ini.isPropertyBool(Ini.P_ADEMPIERESYS);
+		} 
+		else
+		{
+			String sysProperty = Env.getCtx().getProperty(Ini.P_ADEMPIERESYS, "N");
+			adempiereSys = "y".equalsIgnoreCase(sysProperty) || "true".equalsIgnoreCase(sysProperty);
+		}
+		if (adempiereSys && AD_Client_ID > 11)
+			adempiereSys = false;
+		return adempiereSys;
+	}	//	isAdempiereSys
+
+	/**
+	 *	Reserve a block of IDs from table id sequence, committed immediately (like {@link #getNextID(int, String, String)}).<br/>
+	 *	Only for the AD_Sequence based table id of a tenant; with native sequence, system or centralized ID,
+	 *	{@link #getNextID(int, String, String)} is used for each ID.
+	 *  @param AD_Client_ID client
+	 *  @param TableName table name
+	 *  @param count number of IDs
+	 *  @return IDs (empty if error)
+	 */
+	public static int[] getNextIDs (int AD_Client_ID, String TableName, int count)
+	{
+		if (count <= 1 || isAdempiereSys(AD_Client_ID)
+			|| MSysConfig.getBooleanValue(MSysConfig.SYSTEM_NATIVE_SEQUENCE,false)
+			|| ((isTableWithEntityType(TableName) || MSequence.Table_Name.equalsIgnoreCase(TableName))
+				&& !isExceptionCentralized(TableName)
+				&& MSysConfig.getBooleanValue(MSysConfig.PROJECT_ID_USE_CENTRALIZED_ID, false)))
+		{
+			int[] ids = new int[Math.max(count, 1)];
+			for (int i = 0; i < ids.length; i++)
+			{
+				ids[i] = getNextID(AD_Client_ID, TableName, null);
+				if (ids[i] <= 0)
+					return new int[0];
+			}
+			return ids;
+		}
+
+		String selectSQL = "SELECT CurrentNext, IncrementNo, AD_Sequence_ID "
+			+ "FROM AD_Sequence "
+			+ "WHERE Name=?"
+			+ " AND IsActive='Y' AND IsTableID='Y' AND IsAutoSequence='Y' "
+			+ (DB.isOracle() ? " FOR UPDATE OF CurrentNext" : " FOR UPDATE OF AD_Sequence ");
+		String updateCmd = "UPDATE AD_Sequence SET CurrentNext=CurrentNext+? WHERE AD_Sequence_ID=?";
+		if (!DB.isOracle() && !DB.isPostgreSQL())
+		{
+			selectSQL = DB.getDatabase().convertStatement(selectSQL);
+			updateCmd = DB.getDatabase().convertStatement(updateCmd);
+		}
+
+		Connection conn = null;
+		PreparedStatement pstmt = null;
+		PreparedStatement updateSQL = null;
+		ResultSet rs = null;
+		try
+		{
+			conn = DB.getConnection(false);
+			if (conn == null)
+				return new int[0];
+			pstmt = conn.prepareStatement(selectSQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
+			pstmt.setString(1, TableName);
+			if (DB.getDatabase().isQueryTimeoutSupported())
+				pstmt.setQueryTimeout(MSysConfig.getIntValue(MSysConfig.MSEQUENCE_GETNEXT_TIMEOUT, QUERY_TIME_OUT, Env.getAD_Client_ID(Env.getCtx())));
+			rs = pstmt.executeQuery();
+			if (!rs.next())
+			{
+				s_log.severe ("No record found - " + TableName);
+				conn.rollback();
+				return new int[0];
+			}
+			int next = rs.getInt(1);
+			int incrementNo = rs.getInt(2);
+			updateSQL = conn.prepareStatement(updateCmd);
+			updateSQL.setInt(1, incrementNo * count);
+			updateSQL.setInt(2, rs.getInt(3));
+			updateSQL.executeUpdate();
+			conn.commit();
+			int[] ids = new int[count];
+			for (int i = 0; i < count; i++)
+				ids[i] = next + i * incrementNo;
+			return ids;
+		}
+		catch (Exception e)
+		{
+			s_log.log(Level.SEVERE, TableName + " - " + e.getMessage(), e);
+			try
+			{
+				if (conn != null)
+					conn.rollback();
+			} catch (SQLException e1) { }
+			return new int[0];
+		}
+		finally
+		{
+			DB.close(updateSQL);
+			DB.close(rs, pstmt);
+			if (conn != null)
+			{
+				try {
+					conn.close();
+				} catch (SQLException e) {}
+			}
+		}
+	}	//	getNextIDs
+
 	/**
 	 * 	Get next Document No for table
 	 *	@param AD_Client_ID client
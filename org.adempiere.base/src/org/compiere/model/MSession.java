@@ -373,7 +373,7 @@ public class MSession extends X_AD_Session implements ImmutablePOSupport
 	 *	@param OldValue old
 	 *	@param NewValue new
 	 *  @param event
-	 *	@return saved change log or null
+	 *	@return saved (or buffered, see {@link ChangeLogBuffer}) change log or null
 	 */
 	public MChangeLog changeLog (
 		String TrxName, int AD_ChangeLog_ID,
@@ -407,10 +407,20 @@ public class MSession extends X_AD_Session implements ImmutablePOSupport
 				+ ": " + OldValue + " -> " + NewValue);
 		try
 		{
+			if (AD_ChangeLog_ID == 0)
+				AD_ChangeLog_ID = ChangeLogBuffer.getNextID(AD_Client_ID, TrxName);
 			MChangeLog cl = new MChangeLog(getCtx(), 
 				AD_ChangeLog_ID, TrxName, getAD_Session_ID(),
 				AD_Table_ID, AD_Column_ID, Record_ID, Record_UU, AD_Client_ID, AD_Org_ID,
 				OldValue, NewValue, event);
+			//	Insert with the batch of the transaction
+			int batchSize = ChangeLogBuffer.getBatchSize();
+			ChangeLogBuffer buffer = batchSize > 0 && cl.getAD_ChangeLog_ID() > 0 ? ChangeLogBuffer.get(TrxName, true) : null;
+			if (buffer != null)
+			{
+				buffer.add(cl, batchSize);
+				return cl;
+			}
 			if (cl.saveCrossTenantSafe())
 				return cl;
 		}
@@ -73,6 +73,23 @@ public class MStorageOnHand extends X_M_StorageOnHand
 	 */
 	public static MStorageOnHand get (Properties ctx, int M_Locator_ID, 
 		int M_Product_ID, int M_AttributeSetInstance_ID,Timestamp dateMPolicy, String trxName)
+	{
+		StorageLedger.flush(trxName);
+		return find(ctx, M_Locator_ID, M_Product_ID, M_AttributeSetInstance_ID, dateMPolicy, trxName);
+	}	//	get
+
+	/**
+	 * 	Find On Hand Storage, without writing pending changes of {@link StorageLedger}
+	 *	@param ctx context
+	 *	@param M_Locator_ID locator
+	 *	@param M_Product_ID product
+	 *	@param M_AttributeSetInstance_ID instance
+	 *  @param dateMPolicy optional DateMaterialPolicy filter
+	 *	@param trxName transaction
+	 *	@return existing MStorageOnHand or null
+	 */
+	private static MStorageOnHand find (Properties ctx, int M_Locator_ID, 
+		int M_Product_ID, int M_AttributeSetInstance_ID,Timestamp dateMPolicy, String trxName)
 	{
 		String sqlWhere = "M_Locator_ID=? AND M_Product_ID=? AND ";
 		if (M_AttributeSetInstance_ID == 0)
@@ -98,7 +115,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 					+ ", M_Product_ID=" + M_Product_ID + ", M_AttributeSetInstance_ID=" + M_AttributeSetInstance_ID);
 		}
 		return retValue;
-	}	//	get
+	}	//	find
 
 	/**
 	 * 	Get all Storages for Product with ASI and QtyOnHand != 0
@@ -112,6 +129,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 	public static MStorageOnHand[] getAllWithASI (Properties ctx, int M_Product_ID, int M_Locator_ID, 
 		boolean FiFo, String trxName)
 	{
+		StorageLedger.flush(trxName);
 		ArrayList<MStorageOnHand> list = new ArrayList<MStorageOnHand>();
 		String sql = "SELECT * FROM M_StorageOnHand "
 			+ "WHERE M_Product_ID=? AND M_Locator_ID=?"
@@ -190,6 +208,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 	public static MStorageOnHand[] getAll (Properties ctx, 
 		int M_Product_ID, int M_Locator_ID, boolean locatorPriority, boolean fifo, String trxName, boolean forUpdate, int timeout)
 	{
+		StorageLedger.flush(trxName);
 		String sqlWhere = "M_Product_ID=? AND QtyOnHand <> 0";
 		if (M_Locator_ID > 0)
 			sqlWhere = sqlWhere + " AND M_Locator_ID=? ";
@@ -257,6 +276,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 	public static MStorageOnHand[] getAll (Properties ctx, 
 		int M_Product_ID, int M_Locator_ID, int M_AttributeSetInstance_ID, Timestamp dateMPolicy, boolean ignoreZeroQty, String trxName)
 	{
+		StorageLedger.flush(trxName);
 		String sqlWhere = "M_Locator_ID=? AND M_Product_ID=? AND ";
 		
 		if (M_AttributeSetInstance_ID == 0)
@@ -301,6 +321,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 	 */
 	public static MStorageOnHand[] getOfProduct (Properties ctx, int M_Product_ID, String trxName)
 	{
+		StorageLedger.flush(trxName);
 		String sqlWhere = "M_Product_ID=?";
 		
 		List<MStorageOnHand> list = new Query(ctx, MStorageOnHand.Table_Name, sqlWhere, trxName)
@@ -399,6 +420,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		int M_Product_ID, int M_AttributeSetInstance_ID, Timestamp minGuaranteeDate,
 		boolean FiFo, boolean positiveOnly, int M_Locator_ID, String trxName, boolean forUpdate, int timeout)
 	{
+		StorageLedger.flush(trxName);
 		if ((M_Warehouse_ID == 0 && M_Locator_ID == 0) || M_Product_ID == 0)
 			return new MStorageOnHand[0];
 		
@@ -580,6 +602,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		int M_Product_ID, int M_AttributeSetInstance_ID, Timestamp minGuaranteeDate,
 		boolean FiFo, int M_Locator_ID, String trxName, boolean forUpdate, int timeout)
 	{
+		StorageLedger.flush(trxName);
 		if ((M_Warehouse_ID == 0 && M_Locator_ID == 0) || M_Product_ID == 0)
 			return new MStorageOnHand[0];
 		
@@ -728,7 +751,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		if (dateMPolicy != null)
 			dateMPolicy = Util.removeTime(dateMPolicy);
 
-		MStorageOnHand retValue = get(ctx, M_Locator_ID, M_Product_ID, M_AttributeSetInstance_ID,dateMPolicy, trxName);
+		MStorageOnHand retValue = find(ctx, M_Locator_ID, M_Product_ID, M_AttributeSetInstance_ID,dateMPolicy, trxName);
 		if (retValue != null)
 		{
 			if (forUpdate)
@@ -824,8 +847,28 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		if (dateMPolicy != null)
 			dateMPolicy = Util.removeTime(dateMPolicy);
 
+		StorageLedger ledger = null;
+		if (StorageLedger.isWriteBehind(Env.getAD_Client_ID(ctx)))
+		{
+			MWarehouse wh = MWarehouse.get(ctx, MLocator.get(ctx, M_Locator_ID).getM_Warehouse_ID());
+			if (dateLastInventory == null && (diffQtyOnHand.signum() > 0 || !wh.isDisallowNegativeInv()))
+				ledger = StorageLedger.get(trxName, true);
+			if (ledger == null)
+			{
+				//	write pending changes first, negative on hand check need the actual quantity
+				StorageLedger.flush(trxName);
+				StorageLedger.invalidate(M_Product_ID, trxName);
+			}
+		}
+
 		//	Get Storage
-		MStorageOnHand storage = getCreate (ctx, M_Locator_ID, M_Product_ID, M_AttributeSetInstance_ID, dateMPolicy, trxName, true, 120);
+		MStorageOnHand storage = getCreate (ctx, M_Locator_ID, M_Product_ID, M_AttributeSetInstance_ID, dateMPolicy, trxName, ledger == null, 120);
+		if (ledger != null)
+		{
+			//	aggregate and write before commit
+			ledger.addQtyOnHand(storage, diffQtyOnHand);
+			return true;
+		}
 		//	Verify
 		if (storage.getM_Locator_ID() != M_Locator_ID 
 			&& storage.getM_Product_ID() != M_Product_ID
@@ -892,6 +935,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		int M_Product_ID, int M_AttributeSetInstance_ID, BigDecimal Qty,
 		String trxName)
 	{
+		StorageLedger.flush(trxName);
 		int M_Locator_ID = 0;
 		int firstM_Locator_ID = 0;
 		String sql = "SELECT s.M_Locator_ID, s.QtyOnHand "
@@ -1029,6 +1073,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		//	Negative On Hand check
 		if (newRecord || is_ValueChanged("QtyOnHand"))
 		{
+			StorageLedger.flush(get_TrxName());
 			MWarehouse wh = new MWarehouse(getCtx(), getM_Warehouse_ID(), get_TrxName());
 			if (wh.isDisallowNegativeInv())
 			{
@@ -1083,7 +1128,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 			params.add(M_AttributeSetInstance_ID);
 		}
 
-		BigDecimal qty = DB.getSQLValueBD(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1108,7 +1153,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		params.add(M_Product_ID);
 		params.add(M_Warehouse_ID);
 
-		BigDecimal qty = DB.getSQLValueBD(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1141,7 +1186,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 			params.add(M_AttributeSetInstance_ID);
 		}
 
-		BigDecimal qty = DB.getSQLValueBDEx(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1168,7 +1213,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		params.add(M_Product_ID);
 		params.add(M_Warehouse_ID);
 
-		BigDecimal qty = DB.getSQLValueBDEx(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1200,7 +1245,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 			params.add(M_AttributeSetInstance_ID);
 		}
 
-		BigDecimal qty = DB.getSQLValueBDEx(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1226,7 +1271,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		params.add(M_Product_ID);
 		params.add(M_Warehouse_ID);
 
-		BigDecimal qty = DB.getSQLValueBDEx(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1257,7 +1302,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 			params.add(M_AttributeSetInstance_ID);
 		}
 
-		BigDecimal qty = DB.getSQLValueBD(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1282,7 +1327,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 		params.add(M_Product_ID);
 		params.add(M_Locator_ID);
 
-		BigDecimal qty = DB.getSQLValueBD(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyOnHand(M_Product_ID, sql.toString(), params, trxName);
 		if (qty == null)
 			qty = Env.ZERO;
 
@@ -1314,6 +1359,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 	 * @return DateMaterialPolicy time stamp
 	 */
 	public static Timestamp getDateMaterialPolicy(int M_Product_ID, int M_AttributeSetInstance_ID,String trxName){
+		StorageLedger.flush(trxName);
 		
 		if (M_Product_ID <= 0  || M_AttributeSetInstance_ID <= 0)
 			return null;
@@ -1356,6 +1402,7 @@ public class MStorageOnHand extends X_M_StorageOnHand
 	 * @return DateMaterialPolicy time stamp
 	 */
 	public static Timestamp getDateMaterialPolicy(int M_Product_ID, int M_AttributeSetInstance_ID, int M_Locator_ID, String trxName) {
+		StorageLedger.flush(trxName);
 		
 		if (M_Product_ID <= 0  || M_AttributeSetInstance_ID <= 0)
 			return null;
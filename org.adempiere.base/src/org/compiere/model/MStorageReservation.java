@@ -48,6 +48,23 @@ public class MStorageReservation extends X_M_StorageReservation {
 	 */
 	public static MStorageReservation get (Properties ctx, int M_Warehouse_ID, 
 		int M_Product_ID, int M_AttributeSetInstance_ID, boolean isSOTrx, String trxName)
+	{
+		StorageLedger.flush(trxName);
+		return find(ctx, M_Warehouse_ID, M_Product_ID, M_AttributeSetInstance_ID, isSOTrx, trxName);
+	}	//	get
+
+	/**
+	 * 	Find Reservation Storage, without writing pending changes of {@link StorageLedger}
+	 *	@param ctx context
+	 *	@param M_Warehouse_ID warehouse
+	 *	@param M_Product_ID product
+	 *	@param M_AttributeSetInstance_ID instance
+	 *  @param isSOTrx
+	 *	@param trxName transaction
+	 *	@return existing MStorageReservation or null
+	 */
+	private static MStorageReservation find (Properties ctx, int M_Warehouse_ID, 
+		int M_Product_ID, int M_AttributeSetInstance_ID, boolean isSOTrx, String trxName)
 	{
 		MStorageReservation retValue = null;
 		String sql = "SELECT * FROM M_StorageReservation "
@@ -86,7 +103,7 @@ public class MStorageReservation extends X_M_StorageReservation {
 					+ ", M_Product_ID=" + M_Product_ID + ", M_AttributeSetInstance_ID=" + M_AttributeSetInstance_ID + ", IsSOTrx=" + isSOTrx);
 		}
 		return retValue;
-	}	//	get
+	}	//	find
 
 	private static CLogger s_log = CLogger.getCLogger(MStorageReservation.class);
 
@@ -147,6 +164,7 @@ public class MStorageReservation extends X_M_StorageReservation {
 	 */
 	public static MStorageReservation[] get(Properties ctx, int m_Warehouse_ID,
 			int m_Product_ID, int i, String trxName) {
+		StorageLedger.flush(trxName);
 		String sqlWhere = "M_Product_ID=? AND M_Warehouse_ID=?";
 		
 		List<MStorageReservation> list = new Query(ctx, MStorageReservation.Table_Name, sqlWhere, trxName)
@@ -167,6 +185,7 @@ public class MStorageReservation extends X_M_StorageReservation {
 	 */
 	public static MStorageReservation[] getOfProduct (Properties ctx, int M_Product_ID, String trxName)
 	{
+		StorageLedger.flush(trxName);
 		String sqlWhere = "M_Product_ID=?";
 		
 		List<MStorageReservation> list = new Query(ctx, MStorageReservation.Table_Name, sqlWhere, trxName)
@@ -205,7 +224,7 @@ public class MStorageReservation extends X_M_StorageReservation {
 			params.add(M_AttributeSetInstance_ID);
 		}
 
-		BigDecimal qty = DB.getSQLValueBDEx(trxName, sql.toString(), params);
+		BigDecimal qty = StorageLedger.getQtyReserved(M_Product_ID, sql.toString(), params, trxName);
 		if (qty==null)
 			qty = Env.ZERO;
 
@@ -274,9 +293,24 @@ public class MStorageReservation extends X_M_StorageReservation {
 			M_AttributeSetInstance_ID = 0;
 		}
 
+		boolean writeBehind = StorageLedger.isWriteBehind(Env.getAD_Client_ID(ctx));
+		StorageLedger ledger = writeBehind && tracer == null ? StorageLedger.get(trxName, true) : null;
+		if (writeBehind && ledger == null)
+		{
+			//	write pending changes first, tracer need the actual quantity
+			StorageLedger.flush(trxName);
+			StorageLedger.invalidate(M_Product_ID, trxName);
+		}
+
 		//	Get Storage
 		MStorageReservation storage = getCreate (ctx, M_Warehouse_ID,
 				M_Product_ID, M_AttributeSetInstance_ID, isSOTrx, trxName);
+		if (ledger != null)
+		{
+			//	aggregate and write before commit
+			ledger.addQty(storage, diffQty);
+			return true;
+		}
 		DB.getDatabase().forUpdate(storage, 120);
 		//	Verify
 		if (storage.getM_Warehouse_ID() != M_Warehouse_ID 
@@ -353,7 +387,7 @@ public class MStorageReservation extends X_M_StorageReservation {
 	 *	@param M_AttributeSetInstance_ID instance
 	 *  @param isSOTrx true for quantity reserved, false for quantity ordered
 	 *	@param trxName transaction
-	 *	@return existing or new MStorageReservation
+	 *	@return existing or new MStorageReservation (Qty doesn't include pending changes of {@link StorageLedger})
 	 */
 	public static MStorageReservation getCreate (Properties ctx, int M_Warehouse_ID, 
 		int M_Product_ID, int M_AttributeSetInstance_ID, boolean isSOTrx, String trxName)
@@ -362,7 +396,7 @@ public class MStorageReservation extends X_M_StorageReservation {
 			throw new IllegalArgumentException("M_Warehouse_ID=0");
 		if (M_Product_ID == 0)
 			throw new IllegalArgumentException("M_Product_ID=0");
-		MStorageReservation retValue = get(ctx, M_Warehouse_ID, M_Product_ID, M_AttributeSetInstance_ID, isSOTrx, trxName);
+		MStorageReservation retValue = find(ctx, M_Warehouse_ID, M_Product_ID, M_AttributeSetInstance_ID, isSOTrx, trxName);
 		if (retValue != null)
 			return retValue;
 		
@@ -51,9 +51,14 @@ public class MSysConfig extends X_AD_SysConfig
 
 	/** Constant for Predefine System Configuration Names (in alphabetical order) */
 	
+    public static final String AD_CHANGELOG_BATCH_SIZE = "AD_CHANGELOG_BATCH_SIZE";
+    public static final String AD_CHANGELOG_ID_BLOCK_SIZE = "AD_CHANGELOG_ID_BLOCK_SIZE";
     public static final String AD_CHANGELOG_SAVE_UUID = "AD_CHANGELOG_SAVE_UUID";
     public static final String ADDRESS_VALIDATION = "ADDRESS_VALIDATION";
+    public static final String ALERT_PROCESSOR_THREADS = "ALERT_PROCESSOR_THREADS";
+    public static final String ALERT_PROCESSOR_TIMEOUT_SECONDS = "ALERT_PROCESSOR_TIMEOUT_SECONDS";
     public static final String ALERT_SEND_ATTACHMENT_AS_XLS = "ALERT_SEND_ATTACHMENT_AS_XLS";
+    public static final String ALERT_STREAMING_ATTACHMENT = "ALERT_STREAMING_ATTACHMENT";
     public static final String ALLOCATION_DESCRIPTION = "ALLOCATION_DESCRIPTION";
     public static final String ALLOW_APPLY_PAYMENT_TO_CREDITMEMO = "ALLOW_APPLY_PAYMENT_TO_CREDITMEMO";
     public static final String ALLOW_OVER_APPLIED_PAYMENT = "ALLOW_OVER_APPLIED_PAYMENT";
@@ -77,6 +82,7 @@ public class MSysConfig extends X_AD_SysConfig
     public static final String AUTO_ASSIGN_ROLE_TO_CREATOR_USER = "AUTO_ASSIGN_ROLE_TO_CREATOR_USER";
     public static final String AUTOMATIC_PACKIN_FOLDERS = "AUTOMATIC_PACKIN_FOLDERS";
     public static final String AUTOMATIC_PACKIN_INITIAL_DELAY = "AUTOMATIC_PACKIN_INITIAL_DELAY";
+    public static final String AUTOMATIC_PACKIN_PARALLEL_THREADS = "AUTOMATIC_PACKIN_PARALLEL_THREADS";
     public static final String AUTOMATIC_PACKIN_PROCESSING = "AUTOMATIC_PACKIN_PROCESSING";
     public static final String AUTOMATIC_PACKIN_RETRIES = "AUTOMATIC_PACKIN_RETRIES";
     public static final String AUTOMATIC_PACKIN_TIMEOUT = "AUTOMATIC_PACKIN_TIMEOUT";
@@ -95,6 +101,7 @@ public class MSysConfig extends X_AD_SysConfig
     public static final String CHECK_CREDIT_ON_CASH_POS_ORDER = "CHECK_CREDIT_ON_CASH_POS_ORDER";
     public static final String CHECK_CREDIT_ON_PREPAY_ORDER = "CHECK_CREDIT_ON_PREPAY_ORDER";
     public static final String CLIENT_ACCOUNTING = "CLIENT_ACCOUNTING";
+    public static final String COST_DETAIL_DEFERRED_PROCESSING = "COST_DETAIL_DEFERRED_PROCESSING";
     public static final String DASHBOARD_LAYOUT_ORIENTATION = "DASHBOARD_LAYOUT_ORIENTATION";
     public static final String DB_READ_REPLICA_NORMAL_MAX_ITERATIONS = "DB_READ_REPLICA_NORMAL_MAX_ITERATIONS";
     public static final String DB_READ_REPLICA_NORMAL_TIMEOUT_IN_MILLISECONDS = "DB_READ_REPLICA_NORMAL_TIMEOUT_IN_MILLISECONDS";
@@ -154,10 +161,13 @@ public class MSysConfig extends X_AD_SysConfig
     public static final String LOGIN_SHOW_RESETPASSWORD = "LOGIN_SHOW_RESETPASSWORD";
     public static final String LOGIN_WITH_TENANT_PREFIX = "LOGIN_WITH_TENANT_PREFIX";
     public static final String MAIL_DONT_SEND_TO_ADDRESS = "MAIL_DONT_SEND_TO_ADDRESS";
+    public static final String MAIL_OUTBOX_ENABLED = "MAIL_OUTBOX_ENABLED";
+    public static final String MAIL_OUTBOX_MAX_ATTEMPTS = "MAIL_OUTBOX_MAX_ATTEMPTS";
     public static final String MAIL_SEND_BCC_TO_ADDRESS = "MAIL_SEND_BCC_TO_ADDRESS";
     public static final String MAIL_SEND_BCC_TO_FROM = "MAIL_SEND_BCC_TO_FROM";
     public static final String MAIL_SEND_CREDENTIALS = "MAIL_SEND_CREDENTIALS";
 	public static final String MAIL_SMTP_CONNECTIONTIMEOUT = "MAIL_SMTP_CONNECTIONTIMEOUT";
+    public static final String MAIL_SMTP_POOL_IDLE_SECONDS = "MAIL_SMTP_POOL_IDLE_SECONDS";
     public static final String MAIL_SMTP_TIMEOUT = "MAIL_SMTP_TIMEOUT";
 	public static final String MAIL_SMTP_WRITETIMEOUT = "MAIL_SMTP_WRITETIMEOUT";
     public static final String MAX_ACTIVITIES_IN_LIST = "MAX_ACTIVITIES_IN_LIST";
@@ -182,6 +192,8 @@ public class MSysConfig extends X_AD_SysConfig
     public static final String PAYMENT_OVERWRITE_DOCUMENTNO_WITH_CREDIT_CARD = "PAYMENT_OVERWRITE_DOCUMENTNO_WITH_CREDIT_CARD";
     public static final String PAYMENT_SELECTION_MANUAL_ASK_INVOKE_GENERATE = "PAYMENT_SELECTION_MANUAL_ASK_INVOKE_GENERATE";
     public static final String PDF_FONT_DIR = "PDF_FONT_DIR";
+    public static final String PDF_STREAMING_LAYOUT = "PDF_STREAMING_LAYOUT";
+    public static final String PRINT_BATCH_MAX_THREADS = "PRINT_BATCH_MAX_THREADS";
     public static final String ProductUOMConversionRateValidate = "ProductUOMConversionRateValidate";
     public static final String ProductUOMConversionUOMValidate = "ProductUOMConversionUOMValidate";
     public static final String PROJECT_ID_PASSWORD = "PROJECT_ID_PASSWORD";
@@ -193,23 +205,36 @@ public class MSysConfig extends X_AD_SysConfig
     public static final String REAL_TIME_POS = "REAL_TIME_POS";
     public static final String RecentItems_MaxSaved = "RecentItems_MaxSaved";
     public static final String RecentItems_MaxShown = "RecentItems_MaxShown";
+    public static final String REPLICATION_OUTBOX = "REPLICATION_OUTBOX";
+    public static final String REPLICATION_OUTBOX_BATCH_SIZE = "REPLICATION_OUTBOX_BATCH_SIZE";
+    public static final String REPLICATION_OUTBOX_MAX_RETRIES = "REPLICATION_OUTBOX_MAX_RETRIES";
+    public static final String REPLICATION_OUTBOX_MAX_SIZE = "REPLICATION_OUTBOX_MAX_SIZE";
+    public static final String REPORT_COLUMNAR_DATA = "REPORT_COLUMNAR_DATA";
 	public static final String REPORT_LOAD_TIMEOUT_IN_SECONDS = "REPORT_LOAD_TIMEOUT_IN_SECONDS";
     public static final String REPORT_SWAP_MAX_ROWS = "REPORT_SWAP_MAX_ROWS";
     public static final String SHIPPING_DEFAULT_WEIGHT_PER_PACKAGE = "SHIPPING_DEFAULT_WEIGHT_PER_PACKAGE";
     public static final String STANDARD_REPORT_FOOTER_TRADEMARK_TEXT = "STANDARD_REPORT_FOOTER_TRADEMARK_TEXT";
     public static final String START_VALUE_BPLOCATION_NAME = "START_VALUE_BPLOCATION_NAME";
+    public static final String STORAGE_WRITE_BEHIND = "STORAGE_WRITE_BEHIND";
     public static final String SWING_LOGIN_ALLOW_REMEMBER_ME = "SWING_LOGIN_ALLOW_REMEMBER_ME";
     public static final String SWING_OVERRIDE_TEXT_AREA_BEHAVIOUR = "SWING_OVERRIDE_TEXT_AREA_BEHAVIOUR";
     public static final String SYSTEM_IN_MAINTENANCE_MODE = "SYSTEM_IN_MAINTENANCE_MODE";
     public static final String SYSTEM_INSERT_CHANGELOG = "SYSTEM_INSERT_CHANGELOG";
     public static final String SYSTEM_NATIVE_SEQUENCE = "SYSTEM_NATIVE_SEQUENCE";
+    public static final String TABLE_PARTITION_FUTURE_INTERVALS = "TABLE_PARTITION_FUTURE_INTERVALS";
+    public static final String TABLE_PARTITION_MIGRATION_CHUNK_SIZE = "TABLE_PARTITION_MIGRATION_CHUNK_SIZE";
+    public static final String TABLE_PARTITION_MIGRATION_MAX_ROWS_PER_SECOND = "TABLE_PARTITION_MIGRATION_MAX_ROWS_PER_SECOND";
+    public static final String TABLE_PARTITION_ONLINE_MIGRATION = "TABLE_PARTITION_ONLINE_MIGRATION";
+    public static final String TABLE_PARTITION_RETENTION_INTERVALS = "TABLE_PARTITION_RETENTION_INTERVALS";
 	public static final String SSO_SELECT_ROLE = "SSO_SELECT_ROLE";
     public static final String TAX_LOOKUP_SERVICE = "TAX_LOOKUP_SERVICE";
     public static final String TOP_MARGIN_PIXELS_FOR_HEADER = "TOP_MARGIN_PIXELS_FOR_HEADER";
     public static final String TRACE_ALL_TRX_CONNECTION_GET = "TRACE_ALL_TRX_CONNECTION_GET";
+    public static final String TREE_LAZY_LOADING_THRESHOLD = "TREE_LAZY_LOADING_THRESHOLD";
     public static final String TRX_AUTOSET_DISPLAY_NAME = "TRX_AUTOSET_DISPLAY_NAME";
     public static final String TWOPACK_COMMIT_DDL = "2PACK_COMMIT_DDL";
     public static final String TWOPACK_HANDLE_TRANSLATIONS = "2PACK_HANDLE_TRANSLATIONS";
+    public static final String TWOPACK_SKIP_UNCHANGED = "2PACK_SKIP_UNCHANGED";
     public static final String UPLOAD_TEMP_FILENAME_PREFIX = "UPLOAD_TEMP_FILENAME_PREFIX";
     public static final String USE_EMAIL_FOR_LOGIN = "USE_EMAIL_FOR_LOGIN";
     public static final String USE_ESC_FOR_TAB_CLOSING = "USE_ESC_FOR_TAB_CLOSING";
@@ -221,7 +246,12 @@ public class MSysConfig extends X_AD_SysConfig
     public static final String USER_PASSWORD_HASH = "USER_PASSWORD_HASH";
     public static final String VALIDATE_MATCHING_PRODUCT_ON_SHIPMENT = "VALIDATE_MATCHING_PRODUCT_ON_SHIPMENT";
     public static final String VALIDATE_MATCHING_TO_ORDERED_QTY = "VALIDATE_MATCHING_TO_ORDERED_QTY";
+    public static final String WEBSERVICE_COMPOSITE_MAX_THREADS = "WEBSERVICE_COMPOSITE_MAX_THREADS";
+    public static final String WEBSERVICE_STREAM_MAX_ROWS = "WEBSERVICE_STREAM_MAX_ROWS";
     public static final String WEBUI_LOGOURL = "WEBUI_LOGOURL";
+    public static final String WORKFLOW_DIRECT_DOC_ACTION = "WORKFLOW_DIRECT_DOC_ACTION";
+    public static final String WORKFLOW_DIRECT_DOC_ACTION_AUDIT = "WORKFLOW_DIRECT_DOC_ACTION_AUDIT";
+    public static final String WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES = "WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES";
     public static final String XLSX_EXPORT_USE_FAST_METHOD = "XLSX_EXPORT_USE_FAST_METHOD";
     public static final String ZK_ADVANCE_FIND_FILTER_COLUMN_LIST = "ZK_ADVANCE_FIND_FILTER_COLUMN_LIST";
     public static final String ZK_AUTO_SAVE_CHANGES = "ZK_AUTO_SAVE_CHANGES";
@@ -229,6 +259,7 @@ public class MSysConfig extends X_AD_SysConfig
     public static final String ZK_BROWSER_ICON = "ZK_BROWSER_ICON";
     public static final String ZK_BROWSER_TITLE = "ZK_BROWSER_TITLE";
     public static final String ZK_BUTTON_STYLE = "ZK_BUTTON_STYLE";
+    public static final String ZK_DASHBOARD_CACHE_SECONDS = "ZK_DASHBOARD_CACHE_SECONDS";
     public static final String ZK_DASHBOARD_CALENDAR_REQUEST_DISPLAY_MODE = "ZK_DASHBOARD_CALENDAR_REQUEST_DISPLAY_MODE";
     public static final String ZK_DASHBOARD_PERFORMANCE_REFRESH_INTERVAL = "ZK_DASHBOARD_PERFORMANCE_REFRESH_INTERVAL";
     /** @deprecated not use for the new billboard implementation */
@@ -17,17 +17,21 @@
 package org.compiere.model;
 
 import java.awt.Color;
+import java.io.Serializable;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.logging.Level;
 
-import javax.sql.RowSet;
-
 import org.compiere.print.MPrintColor;
 import org.compiere.util.CCache;
 import org.compiere.util.CLogMgt;
@@ -129,9 +133,28 @@ public class MTree extends MTree_Base
 	 */
 	public MTree (Properties ctx, int AD_Tree_ID, 
 			boolean editable, boolean clientTree, boolean allNodes, String trxName, String linkColName, int linkID)
+	{
+		this (ctx, AD_Tree_ID, editable, clientTree, allNodes, false, trxName, linkColName, linkID);
+	}   //  MTree
+
+	/**
+	 * @param ctx
+	 * @param AD_Tree_ID
+	 * @param editable
+	 * @param clientTree
+	 * @param allNodes
+	 * @param lazy true to load children of a node on demand (see {@link #loadChildren(MTreeNode)}) 
+	 * if the tree has at least {@link MSysConfig#TREE_LAZY_LOADING_THRESHOLD} nodes
+	 * @param trxName
+	 * @param linkColName
+	 * @param linkID
+	 */
+	public MTree (Properties ctx, int AD_Tree_ID, 
+			boolean editable, boolean clientTree, boolean allNodes, boolean lazy, String trxName, String linkColName, int linkID)
 	{
 		this (ctx, AD_Tree_ID, trxName);
 		m_editable = editable;
+		m_lazy = lazy;
 		int AD_User_ID;
 		if (allNodes)
 			AD_User_ID = -1;
@@ -141,7 +164,8 @@ public class MTree extends MTree_Base
 		if (log.isLoggable(Level.INFO)) log.info("AD_Tree_ID=" + AD_Tree_ID
 				+ ", AD_User_ID=" + AD_User_ID 
 				+ ", Editable=" + editable
-				+ ", OnClient=" + clientTree);
+				+ ", OnClient=" + clientTree
+				+ ", Lazy=" + lazy);
 		//
 		loadNodes(AD_User_ID, linkColName, linkID);
 	}   //  MTree
@@ -150,14 +174,49 @@ public class MTree extends MTree_Base
 	private boolean     		m_editable = false;
 	/** Root Node                   */
 	private MTreeNode           m_root = null;
-	/** Buffer while loading tree   */
-	private ArrayList<MTreeNode> m_buffer = new ArrayList<MTreeNode>();
-	/** Prepared Statement for Node Details */
-	private RowSet			   	m_nodeRowSet;
 	/** The tree is displayed on the Java Client (i.e. not web)	*/
 	private boolean				m_clientTree = true;
-	
-	private HashMap<Integer, ArrayList<Integer>> m_nodeIdMap;
+	/** Load children of node on demand */
+	private boolean				m_lazy = false;
+	/** Shared node structure		*/
+	private MTreeStructure		m_structure = null;
+	/** Parent Node_ID:Child Node_IDs, after access filter	*/
+	private HashMap<Integer, int[]> m_childIds = new HashMap<Integer, int[]>();
+	/** Node_ID:Parent Node_ID, after access filter	*/
+	private HashMap<Integer, Integer> m_parentIds = new HashMap<Integer, Integer>();
+	/** Node_IDs with children added to tree	*/
+	private HashSet<Integer>	m_loadedIds = new HashSet<Integer>();
+
+	/**
+	 * Menu tree index filtered by role access.<br/>
+	 * Built once per role and structure and shared by the sessions of the role (see {@link MRole#getMenuIndex(String)}).
+	 */
+	static class MenuIndex implements Serializable
+	{
+		/**
+		 * generated serial id
+		 */
+		private static final long serialVersionUID = 3069553467311452812L;
+
+		/** Structure the index is built from */
+		private final MTreeStructure structure;
+		/** Parent_ID:children Node_IDs */
+		private final HashMap<Integer, int[]> childIds;
+		/** Node_ID:Parent_ID */
+		private final HashMap<Integer, Integer> parentIds;
+
+		/**
+		 * @param structure
+		 * @param childIds
+		 * @param parentIds
+		 */
+		private MenuIndex(MTreeStructure structure, HashMap<Integer, int[]> childIds, HashMap<Integer, Integer> parentIds)
+		{
+			this.structure = structure;
+			this.childIds = childIds;
+			this.parentIds = parentIds;
+		}
+	}	//	MenuIndex
 
 	/**	Logger			*/
 	private static CLogger s_log = CLogger.getCLogger(MTree.class);
@@ -264,32 +323,111 @@ public class MTree extends MTree_Base
 	}   //  getDefaultAD_Tree_ID
 
 	/**
-	 * Load Nodes and Bar (Favourites)
-	 * @param AD_User_ID user for tree bar
-	 * @param linkColName 
-	 * @param linkID 
+	 * Load Nodes and Bar (Favourites).<br/>
+	 * The node structure is shared by all sessions (see {@link MTreeStructure}), role access is applied on top of it.
+	 * @param AD_User_ID user for tree bar, -1 to not check access
+	 * @param linkColName
+	 * @param linkID
 	 */
 	private void loadNodes (int AD_User_ID, String linkColName, int linkID)
+	{
+		m_structure = getStructure(linkColName, linkID);
+		if (m_lazy)
+		{
+			int threshold = MSysConfig.getIntValue(MSysConfig.TREE_LAZY_LOADING_THRESHOLD, 10000, Env.getAD_Client_ID(getCtx()));
+			m_lazy = threshold > 0 && m_structure.size() >= threshold;
+		}
+		MRole role = isMenu() && !m_editable && get_TrxName() == null ? MRole.getDefault(getCtx(), false) : null;
+		String indexKey = role != null ? getStructureKey(linkColName, linkID) : null;
+		MenuIndex index = role != null ? role.getMenuIndex(indexKey) : null;
+		if (index != null && index.structure == m_structure)
+		{
+			//	menu of role already built for this structure
+			m_childIds = index.childIds;
+			m_parentIds = index.parentIds;
+			m_loadedIds = new HashSet<Integer>();
+		}
+		else
+		{
+			buildIndex(getAccessIds(AD_User_ID));
+			if (role != null)
+				role.setMenuIndex(indexKey, new MenuIndex(m_structure, m_childIds, m_parentIds));
+		}
+
+		m_root = new MTreeNode (0, 0, getName(), getDescription(), 0, true, null, false, null);
+		if (m_lazy)
+			loadChildren(m_root);
+		else
+			loadAllChildren(m_root);
+
+		if (CLogMgt.isLevelFinest() || m_root.getChildCount() == 0)
+			if (log.isLoggable(Level.FINE)) log.fine("ChildCount=" + m_root.getChildCount());
+	}   //  loadNodes
+
+	/**
+	 * Get node structure from shared cache or load it if running in transaction
+	 * @param linkColName
+	 * @param linkID
+	 * @return node structure
+	 */
+	private MTreeStructure getStructure (String linkColName, int linkID)
+	{
+		if (get_TrxName() != null)
+			return loadStructure(linkColName, linkID);
+
+		ArrayList<String> tableNames = new ArrayList<String>();
+		tableNames.add(Table_Name);
+		tableNames.add(getNodeTableName());
+		String sourceTableName = getSourceTableName(true);
+		if (sourceTableName != null)
+		{
+			tableNames.add(sourceTableName);
+			if (isMenu() && !Env.isBaseLanguage(p_ctx, "AD_Menu"))
+				tableNames.add(sourceTableName + "_Trl");
+		}
+		return MTreeStructure.get(getStructureKey(linkColName, linkID), tableNames.toArray(new String[0]), () -> loadStructure(linkColName, linkID));
+	}	//	getStructure
+
+	/**
+	 * Get key of node structure (tree, language and load options)
+	 * @param linkColName
+	 * @param linkID
+	 * @return structure key
+	 */
+	private String getStructureKey (String linkColName, int linkID)
+	{
+		StringBuilder key = new StringBuilder().append(getAD_Tree_ID())
+			.append("|").append(Env.getAD_Language(p_ctx))
+			.append("|").append(Env.getAD_Client_ID(p_ctx))
+			.append("|").append(m_editable)
+			.append("|").append(m_clientTree)
+			.append("|").append(linkColName)
+			.append("|").append(linkID);
+		return key.toString();
+	}	//	getStructureKey
+
+	/**
+	 * Load node structure (without role access filter)
+	 * @param linkColName
+	 * @param linkID
+	 * @return node structure
+	 */
+	private MTreeStructure loadStructure (String linkColName, int linkID)
 	{
 		//  SQL for TreeNodes
 		StringBuilder sql = new StringBuilder();
 		if (getTreeType().equals(TREETYPE_Menu))	// specific sql, need to load TreeBar IDEMPIERE 329 - nmicoud
 		{
-			sql = new StringBuilder("SELECT tn.Node_ID,tn.Parent_ID,tn.SeqNo,'N' FROM ").append(getNodeTableName()).append(" tn  WHERE tn.AD_Tree_ID=?");
+			sql = new StringBuilder("SELECT tn.Node_ID,tn.Parent_ID,tn.SeqNo FROM ").append(getNodeTableName()).append(" tn  WHERE tn.AD_Tree_ID=?");
 			if (!m_editable)
 				sql.append(" AND tn.IsActive='Y'");
 			sql.append(" ORDER BY COALESCE(tn.Parent_ID, -1), tn.SeqNo");
 		}
 		else	// IDEMPIERE 329 - nmicoud
 		{
-			String sourceTableName = getSourceTableName(getTreeType());
-			if (sourceTableName == null)
-			{
-				if (getAD_Table_ID() > 0)
-					sourceTableName = MTable.getTableName(getCtx(), getAD_Table_ID());
-			}
+			String sourceTableName = getSourceTableName(true);
 			sql = new StringBuilder("SELECT "
-					+ "tn.Node_ID,tn.Parent_ID,tn.SeqNo,st.IsActive "
+					+ "tn.Node_ID,tn.Parent_ID,tn.SeqNo "
 					+ "FROM ").append(sourceTableName).append(" st "
 							+ "LEFT OUTER JOIN ").append(getNodeTableName()).append(" tn ON (tn.Node_ID=st."+sourceTableName+"_ID) "
 									+ "WHERE tn.AD_Tree_ID=?");								//	#2
@@ -298,45 +436,35 @@ public class MTree extends MTree_Base
 			if (!Util.isEmpty(linkColName))
 				sql.append(" AND st.").append(linkColName).append("=").append(linkID);
 			sql.append(" ORDER BY COALESCE(tn.Parent_ID, -1), tn.SeqNo");
-			//do not check access if allNodes
-			if (AD_User_ID != -1)
-				sql = new StringBuilder(MRole.getDefault().addAccessSQL(sql.toString(), "st", MRole.SQL_FULLYQUALIFIED, MRole.SQL_RO));	// SQL_RO for Org_ID = 0
 		}
 		if (log.isLoggable(Level.FINEST)) log.finest(sql.toString());
 		//  The Node Loop
+		ArrayList<MTreeStructure.Node> nodes = new ArrayList<MTreeStructure.Node>();
 		PreparedStatement pstmt = null;
 		ResultSet rs = null;
 		try
 		{
-			// load Node details - addToTree -> getNodeDetail
-			getNodeDetails(linkColName, linkID); 
+			HashMap<Integer, MTreeStructure.Node> details = getNodeDetails(linkColName, linkID);
 			//
 			pstmt = DB.prepareStatement(sql.toString(), get_TrxName());
 			pstmt.setInt(1, getAD_Tree_ID());
-			//	Get Tree & Bar
 			rs = pstmt.executeQuery();
-			m_root = new MTreeNode (0, 0, getName(), getDescription(), 0, true, null, false, null);
 			while (rs.next())
 			{
 				int node_ID = rs.getInt(1);
 				int parent_ID = rs.getInt(2);
 				int seqNo = rs.getInt(3);
-				boolean onBar = (rs.getString(4) != null);
 				//
 				if (node_ID == 0 && parent_ID == 0)
-					;
-				else
-					addToTree (node_ID, parent_ID, seqNo, onBar);	//	calls getNodeDetail
+					continue;
+				MTreeStructure.Node detail = details.get(node_ID);
+				if (detail != null)
+					nodes.add(new MTreeStructure.Node(detail, parent_ID, seqNo));
 			}
-			//
-			m_nodeRowSet = null;
-			m_nodeIdMap = null;
 		}
 		catch (SQLException e)
 		{
 			log.log(Level.SEVERE, sql.toString(), e);
-			m_nodeRowSet = null;
-			m_nodeIdMap = null;
 		}
 		finally
 		{
@@ -344,117 +472,141 @@ public class MTree extends MTree_Base
 			rs = null;
 			pstmt = null;
 		}
-			
-		//  Done with loading - add remainder from buffer
-		if (m_buffer.size() != 0)
-		{
-			if (log.isLoggable(Level.FINEST)) log.finest("clearing buffer - Adding to: " + m_root);
-			for (int i = 0; i < m_buffer.size(); i++)
-			{
-				MTreeNode node = (MTreeNode)m_buffer.get(i);
-				MTreeNode parent = m_root.findNode(node.getParent_ID());
-				if (parent != null && parent.getAllowsChildren())
-				{
-					parent.add(node);
-					int sizeBeforeCheckBuffer = m_buffer.size();
-					checkBuffer(node);
-					if (sizeBeforeCheckBuffer == m_buffer.size())
-						m_buffer.remove(i);
-					i = -1;		//	start again with i=0
-				}
-			}
-		}
-
-		//	Nodes w/o parent
-		if (m_buffer.size() != 0)
-		{
-			log.severe ("Nodes w/o parent - adding to root - " + m_buffer);
-			for (int i = 0; i < m_buffer.size(); i++)
-			{
-				MTreeNode node = (MTreeNode)m_buffer.get(i);
-				m_root.add(node);
-				int sizeBeforeCheckBuffer = m_buffer.size();
-				checkBuffer(node);
-				if (sizeBeforeCheckBuffer == m_buffer.size())
-					m_buffer.remove(i);
-				i = -1;
-			}
-			if (m_buffer.size() != 0)
-				log.severe ("Still nodes in Buffer - " + m_buffer);
-		}	//	nodes w/o parents
-
-		//  clean up
-		if (!m_editable && m_root.getChildCount() > 0)
-			trimTree();
-		if (CLogMgt.isLevelFinest() || m_root.getChildCount() == 0)
-			if (log.isLoggable(Level.FINE)) log.fine("ChildCount=" + m_root.getChildCount());
-	}   //  loadNodes
+		return new MTreeStructure(nodes);
+	}	//	loadStructure
 
 	/**
-	 *  Add Node to Tree.
-	 *  If not found add to buffer.
-	 *  @param node_ID Node_ID
-	 *  @param parent_ID Parent_ID
-	 *  @param seqNo SeqNo
-	 *  @param onBar on bar
+	 * Get Node_IDs the current role can access
+	 * @param AD_User_ID -1 to not check access
+	 * @return accessible Node_IDs or null if no access check is needed
 	 */
-	private void addToTree (int node_ID, int parent_ID, int seqNo, boolean onBar)
+	private Set<Integer> getAccessIds (int AD_User_ID)
 	{
-		//  Create new Node
-		MTreeNode child = getNodeDetail (node_ID, parent_ID, seqNo, onBar);
-		if (child == null)
-			return;
-
-		//  Add to Tree
-		MTreeNode parent = null;
-		if (m_root != null)
-			parent = m_root.findNode (parent_ID);
-		//  Parent found
-		if (parent != null && parent.getAllowsChildren())
+		String sql = null;
+		if (isMenu())
 		{
-			parent.add(child);
-			//  see if we can add nodes from buffer
-			if (m_buffer.size() > 0)
-				checkBuffer(child);
+			if (m_editable)
+				return null;
+			sql = "SELECT t.AD_Menu_ID FROM AD_Menu t";
 		}
 		else
-			m_buffer.add(child);
-	}   //  addToTree
+		{
+			if (AD_User_ID == -1 && m_editable)	//	do not check access if allNodes
+				return null;
+			String fromClause = getSourceTableName(false);
+			if (fromClause == null)
+				return null;
+			sql = "SELECT t." + getSourceTableName(true) + "_ID FROM " + fromClause;
+		}
+		sql = MRole.getDefault(getCtx(), false).addAccessSQL(sql, "t", MRole.SQL_FULLYQUALIFIED, MRole.SQL_RO);	// SQL_RO for Org_ID = 0
+		if (log.isLoggable(Level.FINEST)) log.finest(sql);
+		HashSet<Integer> ids = new HashSet<Integer>(m_structure.size() * 4 / 3 + 1);
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, get_TrxName());
+			rs = pstmt.executeQuery();
+			while (rs.next())
+				ids.add(rs.getInt(1));
+		}
+		catch (SQLException e)
+		{
+			log.log(Level.SEVERE, sql, e);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+			rs = null;
+			pstmt = null;
+		}
+		return ids;
+	}	//	getAccessIds
 
 	/**
-	 *  Check the buffer for nodes which have newNode as Parents
-	 *  @param newNode new node
+	 * Build parent/children index of nodes accessible by role.<br/>
+	 * Nodes without accessible parent are added to root and empty summary nodes are removed if tree is not editable.
+	 * @param accessIds accessible Node_IDs, null for all
 	 */
-	private void checkBuffer (MTreeNode newNode)
+	private void buildIndex (Set<Integer> accessIds)
 	{
-		//	Ability to add nodes
-		if (!newNode.isSummary() || !newNode.getAllowsChildren())
-			return;
-		//
-		for (int i = 0; i < m_buffer.size(); i++)
+		MRole role = isMenu() && !m_editable ? MRole.getDefault(getCtx(), false) : null;
+		HashSet<Integer> visible = new HashSet<Integer>(m_structure.size() * 4 / 3 + 1);
+		for (MTreeStructure.Node node : m_structure.getNodes())
 		{
-			MTreeNode node = (MTreeNode)m_buffer.get(i);
-			if (node.getParent_ID() == newNode.getNode_ID())
+			if (accessIds != null && !accessIds.contains(node.getNode_ID()))
+				continue;
+			if (role != null && !node.isSummary() && getMenuAccess(role, node) == null)
+				continue;
+			visible.add(node.getNode_ID());
+		}
+
+		HashMap<Integer, List<Integer>> children = new HashMap<Integer, List<Integer>>();
+		int noParent = 0;
+		for (MTreeStructure.Node node : m_structure.getNodes())
+		{
+			if (!visible.contains(node.getNode_ID()))
+				continue;
+			int parent_ID = node.getParent_ID();
+			if (parent_ID != 0)
 			{
-				try
+				MTreeStructure.Node parent = m_structure.getNode(parent_ID);
+				if (parent == null || !parent.isSummary() || !visible.contains(parent_ID))
 				{
-					newNode.add(node);
+					parent_ID = 0;
+					noParent++;
 				}
-				catch (Exception e)
-				{
-					log.severe("Adding " + node.getName() 
-						+ " to " + newNode.getName() + ": " + e.getMessage());
-				}
-				m_buffer.remove(i);
-				i--;
 			}
+			children.computeIfAbsent(parent_ID, k -> new ArrayList<Integer>()).add(node.getNode_ID());
 		}
-	}   //  checkBuffer
-	
+		if (noParent > 0)
+			log.severe ("Nodes w/o parent - adding to root - #" + noParent);
+
+		//  clean up
+		if (!m_editable)
+			trimIndex(0, children);
+
+		m_childIds = new HashMap<Integer, int[]>(children.size() * 4 / 3 + 1);
+		m_parentIds = new HashMap<Integer, Integer>(visible.size() * 4 / 3 + 1);
+		for (Map.Entry<Integer, List<Integer>> entry : children.entrySet())
+		{
+			List<Integer> list = entry.getValue();
+			if (list.isEmpty())
+				continue;
+			int[] ids = new int[list.size()];
+			for (int i = 0; i < ids.length; i++)
+			{
+				ids[i] = list.get(i);
+				m_parentIds.put(ids[i], entry.getKey());
+			}
+			m_childIds.put(entry.getKey(), ids);
+		}
+		m_loadedIds = new HashSet<Integer>();
+	}	//	buildIndex
+
+	/**
+	 * Remove summary nodes without children
+	 * @param node_ID
+	 * @param children parent:children index
+	 * @return true if node has children after trim
+	 */
+	private boolean trimIndex (int node_ID, HashMap<Integer, List<Integer>> children)
+	{
+		List<Integer> list = children.get(node_ID);
+		if (list == null)
+			return false;
+		for (int i = list.size() - 1; i >= 0; i--)
+		{
+			MTreeStructure.Node child = m_structure.getNode(list.get(i));
+			if (child.isSummary() && !trimIndex(child.getNode_ID(), children))
+				list.remove(i);
+		}
+		return !list.isEmpty();
+	}	//	trimIndex
+
 	/**
 	 *  Get Node Detail.
 	 *  <pre>
-	 *  Loads data into RowSet m_nodeRowSet
 	 *  Columns:
 	 *  - ID
 	 *  - Name
@@ -465,18 +617,17 @@ public class MTree extends MTree_Base
 	 *  </pre>
 	 *  @param linkColName
 	 *  @param linkID
+	 *  @return Node_ID:node detail
 	 */
-	private void getNodeDetails (String linkColName, int linkID)
+	private HashMap<Integer, MTreeStructure.Node> getNodeDetails (String linkColName, int linkID)
 	{
 		//  SQL for Node Info
 		StringBuilder sqlNode = new StringBuilder();
-		String sourceTable = "t";
 		String fromClause = getSourceTableName(false);	//	fully qualified
 		String columnNameX = getSourceTableName(true);
 		String color = getActionColorName();
 		if (getTreeType().equals(TREETYPE_Menu)) {
 			boolean base = Env.isBaseLanguage(p_ctx, "AD_Menu");
-			sourceTable = "m";
 			if (base)
 				sqlNode.append("SELECT m.AD_Menu_ID, m.Name,m.Description,m.IsSummary,m.Action, "
 					+ "m.AD_Window_ID, m.AD_Process_ID, m.AD_Form_ID, m.AD_Workflow_ID, m.AD_Task_ID, m.AD_InfoWindow_ID "
@@ -523,7 +674,7 @@ public class MTree extends MTree_Base
 				sqlNode.append("t.Value || ' - ' || t.Name,");
 			else
 				sqlNode.append("t.Name,");
-			
+
 			sqlNode.append("t.Description,t.IsSummary,").append(color)
 			.append(" FROM ").append(tableName).append(" t ");
 			if (!m_editable)
@@ -539,7 +690,7 @@ public class MTree extends MTree_Base
 					sqlNode.append(" WHERE t.").append(linkColName).append("=").append(linkID);
 
 			}
-			
+
 		}  else if (isValueDisplayed()) {
 			sqlNode.append("SELECT t.").append(columnNameX)
 			.append("_ID, t.Value || ' - ' || t.Name, t.Description, t.IsSummary,").append(color)
@@ -557,161 +708,261 @@ public class MTree extends MTree_Base
 				sqlNode.append(" WHERE t.IsActive='Y'");
 		}
 		String sql = sqlNode.toString();
-		if (!m_editable)	//	editable = menu/etc. window
-			sql = MRole.getDefault(getCtx(), false).addAccessSQL(sql, 
-				sourceTable, MRole.SQL_FULLYQUALIFIED, m_editable);
 		log.fine(sql);
-		m_nodeRowSet = DB.getRowSet (sql);
-		m_nodeIdMap = new HashMap<Integer, ArrayList<Integer>>(50);
-		try 
+		boolean menu = getTreeType().equals(TREETYPE_Menu);
+		HashMap<Integer, MTreeStructure.Node> details = new HashMap<Integer, MTreeStructure.Node>();
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
 		{
-			m_nodeRowSet.beforeFirst();
-			int i = 0;
-			while (m_nodeRowSet.next())
+			pstmt = DB.prepareStatement(sql, get_TrxName());
+			rs = pstmt.executeQuery();
+			while (rs.next())
 			{
-				i++;
-				int node = m_nodeRowSet.getInt(1);
-				Integer nodeId = Integer.valueOf(node);
-				ArrayList<Integer> list = m_nodeIdMap.get(nodeId);
-				if (list == null)
+				int node_ID = rs.getInt(1);
+				//	ID,Name,Description,IsSummary,Action/Color
+				int index = 2;
+				String name = rs.getString(index++);
+				String description = rs.getString(index++);
+				boolean isSummary = "Y".equals(rs.getString(index++));
+				String actionColor = rs.getString(index++);
+				//	Menu only
+				int[] menuActionIDs = null;
+				if (menu)
 				{
-					list = new ArrayList<Integer>(5);
-					m_nodeIdMap.put(nodeId, list);
+					menuActionIDs = new int[6];
+					for (int i = 0; i < menuActionIDs.length; i++)
+						menuActionIDs[i] = rs.getInt(index++);
 				}
-				list.add(Integer.valueOf(i));
+				details.put(node_ID, new MTreeStructure.Node(node_ID, 0, 0, name, description, isSummary,
+					actionColor, menuActionIDs));
 			}
-		} catch (SQLException e) 
+		}
+		catch (SQLException e)
 		{
-			log.log(Level.SEVERE, "", e);
+			log.log(Level.SEVERE, sql, e);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+			rs = null;
+			pstmt = null;
 		}
+		return details;
 	}   //  getNodeDetails
 
 	/**
-	 *  Get Menu Node Details.
-	 *  As SQL contains security access, not all nodes will be found.
-	 *  @param  node_ID     Key of the record
+	 * Get role access to menu node
+	 * @param role
+	 * @param node menu node
+	 * @return null if can't access, TRUE if r/w and FALSE if r/o
+	 */
+	private Boolean getMenuAccess (MRole role, MTreeStructure.Node node)
+	{
+		String action = node.getActionColor();
+		if (X_AD_Menu.ACTION_Window.equals(action))
+			return role.getWindowAccess(node.getAD_Window_ID());
+		else if (X_AD_Menu.ACTION_Process.equals(action)
+			|| X_AD_Menu.ACTION_Report.equals(action))
+			return role.getProcessAccess(node.getAD_Process_ID());
+		else if (X_AD_Menu.ACTION_Form.equals(action))
+			return role.getFormAccess(node.getAD_Form_ID());
+		else if (X_AD_Menu.ACTION_WorkFlow.equals(action))
+			return role.getWorkflowAccess(node.getAD_Workflow_ID());
+		else if (X_AD_Menu.ACTION_Task.equals(action))
+			return role.getTaskAccess(node.getAD_Task_ID());
+		else if (X_AD_Menu.ACTION_Info.equals(action))
+			return role.getInfoAccess(node.getAD_InfoWindow_ID());
+		return null;
+	}	//	getMenuAccess
+
+	/**
+	 *  Create tree node from node structure.<br/>
+	 *  Apply user customization of window, process and info window name.
+	 *  @param  node		node structure
 	 *  @param  parent_ID   Parent ID of the record
-	 *  @param  seqNo       Sort index
-	 *  @param  onBar       Node also on Shortcut bar
 	 *  @return Node
 	 */
-	private MTreeNode getNodeDetail (int node_ID, int parent_ID, int seqNo, boolean onBar)
+	private MTreeNode getNodeDetail (MTreeStructure.Node node, int parent_ID)
 	{
-		MTreeNode retValue = null;
-		try
+		String name = node.getName();
+		String description = node.getDescription();
+		String actionColor = node.getActionColor();
+		//	node query always return a not null bar indicator
+		boolean onBar = true;
+		//	Menu only
+		if (getTreeType().equals(TREETYPE_Menu) && !node.isSummary())
 		{
-			ArrayList<Integer> nodeList = m_nodeIdMap.get(Integer.valueOf(node_ID));
-			int size = nodeList != null ? nodeList.size() : 0;
-			int i = 0;
-
-			while (i < size)
+			if (X_AD_Menu.ACTION_Window.equals(actionColor))
 			{
-				Integer nodeId = nodeList.get(i);
-				i++;
-				m_nodeRowSet.absolute(nodeId.intValue());
-				int node = m_nodeRowSet.getInt(1);				
-				if (node_ID != node)	//	search for correct one
-					continue;
-				//	ID,Name,Description,IsSummary,Action/Color
-				int index = 2;				
-				String name = m_nodeRowSet.getString(index++); 
-				String description = m_nodeRowSet.getString(index++);
-				boolean isSummary = "Y".equals(m_nodeRowSet.getString(index++));
-				String actionColor = m_nodeRowSet.getString(index++);
-				//	Menu only
-				if (getTreeType().equals(TREETYPE_Menu) && !isSummary)
+				// Get Window Customization
+				MUserDefWin userDef = MUserDefWin.getBestMatch(getCtx(), node.getAD_Window_ID());
+				if (userDef != null)
+				{
+					if (userDef.getName() != null)
+						name = userDef.getName();
+					if (userDef.getDescription() != null)
+						description = userDef.getDescription();
+				}
+			}
+			else if (X_AD_Menu.ACTION_Process.equals(actionColor)
+				|| X_AD_Menu.ACTION_Report.equals(actionColor))
+			{
+				// Get ProcessCustomization
+				MUserDefProc userDef = MUserDefProc.getBestMatch(getCtx(), node.getAD_Process_ID());
+				if (userDef != null)
 				{
-					int AD_Window_ID = m_nodeRowSet.getInt(index++);
-					int AD_Process_ID = m_nodeRowSet.getInt(index++);
-					int AD_Form_ID = m_nodeRowSet.getInt(index++);
-					int AD_Workflow_ID = m_nodeRowSet.getInt(index++);
-					int AD_Task_ID = m_nodeRowSet.getInt(index++);
-					int AD_InfoWindow_ID = m_nodeRowSet.getInt(index++);
-					//
-					MRole role = MRole.getDefault(getCtx(), false);
-					Boolean access = null;
-					if (X_AD_Menu.ACTION_Window.equals(actionColor))
-					{
- 						access = role.getWindowAccess(AD_Window_ID);
-						// FR XXX
-						// Get Window Customization
-						MUserDefWin userDef = null; 
-						userDef = MUserDefWin.getBestMatch(getCtx(), AD_Window_ID);
-						if (userDef != null)
-						{
-							if (userDef.getName() != null)
-								name = userDef.getName();
-							if (userDef.getDescription() != null)
-								description = userDef.getDescription();
-						}
-					}
-					else if (X_AD_Menu.ACTION_Process.equals(actionColor) 
-						|| X_AD_Menu.ACTION_Report.equals(actionColor)) {
-						access = role.getProcessAccess(AD_Process_ID);
-
-						// Get ProcessCustomization
-						MUserDefProc userDef = null; 
-						userDef = MUserDefProc.getBestMatch(getCtx(), AD_Process_ID);
-						if (userDef != null)
-						{
-							if (userDef.getName() != null)
-								name = userDef.getName();
-							if (userDef.getDescription() != null)
-								description = userDef.getDescription();
-						}
-					}
-					else if (X_AD_Menu.ACTION_Form.equals(actionColor))
-						access = role.getFormAccess(AD_Form_ID);
-					else if (X_AD_Menu.ACTION_WorkFlow.equals(actionColor))
-						access = role.getWorkflowAccess(AD_Workflow_ID);
-					else if (X_AD_Menu.ACTION_Task.equals(actionColor))
-						access = role.getTaskAccess(AD_Task_ID);
-					else if (X_AD_Menu.ACTION_Info.equals(actionColor)) {
-						access = role.getInfoAccess(AD_InfoWindow_ID);
-						
-						// Get Info Window Customization
-						MUserDefInfo userDef = null; 
-						userDef = MUserDefInfo.getBestMatch(getCtx(), AD_InfoWindow_ID);
-						if (userDef != null)
-						{
-							if (userDef.getName() != null)
-								name = userDef.getName();
-							if (userDef.getDescription() != null)
-								description = userDef.getDescription();
-						}
-					}
-					//
-					if (access != null		//	rw or ro for Role 
-						|| m_editable)		//	Menu Window can see all
-					{
-						retValue = new MTreeNode (node_ID, seqNo,
-							name, description, parent_ID, isSummary,
-							actionColor, onBar, null);	//	menu has no color
-					}
+					if (userDef.getName() != null)
+						name = userDef.getName();
+					if (userDef.getDescription() != null)
+						description = userDef.getDescription();
 				}
-				else	//	always add
+			}
+			else if (X_AD_Menu.ACTION_Info.equals(actionColor))
+			{
+				// Get Info Window Customization
+				MUserDefInfo userDef = MUserDefInfo.getBestMatch(getCtx(), node.getAD_InfoWindow_ID());
+				if (userDef != null)
 				{
-					Color color = null;	//	action
-					if (actionColor != null && !getTreeType().equals(TREETYPE_Menu))
-					{
-						MPrintColor printColor = MPrintColor.get(getCtx(), actionColor);
-						if (printColor != null)
-							color = printColor.getColor();
-					}
-					//
-					retValue = new MTreeNode (node_ID, seqNo,
-						name, description, parent_ID, isSummary,
-						null, onBar, color);			//	no action
+					if (userDef.getName() != null)
+						name = userDef.getName();
+					if (userDef.getDescription() != null)
+						description = userDef.getDescription();
 				}
 			}
+			return new MTreeNode (node.getNode_ID(), node.getSeqNo(),
+				name, description, parent_ID, node.isSummary(),
+				actionColor, onBar, null);	//	menu has no color
 		}
-		catch (SQLException e)
+
+		Color color = null;	//	action
+		if (actionColor != null && !getTreeType().equals(TREETYPE_Menu))
 		{
-			log.log(Level.SEVERE, "", e);
+			MPrintColor printColor = MPrintColor.get(getCtx(), actionColor);
+			if (printColor != null)
+				color = printColor.getColor();
 		}
-		return retValue;
-	}   //  getNodeDetails
-	
+		//
+		return new MTreeNode (node.getNode_ID(), node.getSeqNo(),
+			name, description, parent_ID, node.isSummary(),
+			null, onBar, color);			//	no action
+	}   //  getNodeDetail
+
+	/**
+	 * Add children of parent node (one level only).<br/>
+	 * Do nothing if children of parent node have been added before.
+	 * @param parent tree node
+	 * @return added child nodes
+	 */
+	public List<MTreeNode> loadChildren (MTreeNode parent)
+	{
+		if (parent == null || !m_loadedIds.add(parent.getNode_ID()))
+			return Collections.emptyList();
+		int[] ids = m_childIds.get(parent.getNode_ID());
+		if (ids == null)
+			return Collections.emptyList();
+		ArrayList<MTreeNode> list = new ArrayList<MTreeNode>(ids.length);
+		for (int id : ids)
+		{
+			MTreeNode child = getNodeDetail(m_structure.getNode(id), parent.getNode_ID());
+			parent.add(child);
+			list.add(child);
+		}
+		return list;
+	}	//	loadChildren
+
+	/**
+	 * Add all descendants of parent node
+	 * @param parent tree node
+	 */
+	private void loadAllChildren (MTreeNode parent)
+	{
+		for (MTreeNode child : loadChildren(parent))
+		{
+			if (child.isSummary())
+				loadAllChildren(child);
+		}
+	}	//	loadAllChildren
+
+	/**
+	 * @param node tree node
+	 * @return true if children of node have been added to tree
+	 */
+	public boolean isChildrenLoaded (MTreeNode node)
+	{
+		return m_loadedIds.contains(node.getNode_ID());
+	}	//	isChildrenLoaded
+
+	/**
+	 * Get number of children (including children not added to tree yet)
+	 * @param node_ID
+	 * @return number of children
+	 */
+	public int getChildCount (int node_ID)
+	{
+		int[] ids = m_childIds.get(node_ID);
+		return ids != null ? ids.length : 0;
+	}	//	getChildCount
+
+	/**
+	 * Is node an ancestor of another node
+	 * @param ancestor_ID ancestor Node_ID
+	 * @param node_ID Node_ID
+	 * @return true if ancestor_ID is an ancestor of node_ID
+	 */
+	public boolean isAncestor (int ancestor_ID, int node_ID)
+	{
+		Integer parent_ID = m_parentIds.get(node_ID);
+		while (parent_ID != null)
+		{
+			if (parent_ID.intValue() == ancestor_ID)
+				return true;
+			if (parent_ID.intValue() == 0)
+				break;
+			parent_ID = m_parentIds.get(parent_ID);
+		}
+		return false;
+	}	//	isAncestor
+
+	/**
+	 * Find node, add the path to node to tree if node has not been loaded.
+	 * @param node_ID
+	 * @return node or null
+	 */
+	public MTreeNode findNode (int node_ID)
+	{
+		if (m_root == null)
+			return null;
+		if (m_lazy && m_parentIds.containsKey(node_ID))
+		{
+			ArrayList<Integer> path = new ArrayList<Integer>();
+			Integer parent_ID = m_parentIds.get(node_ID);
+			while (parent_ID != null && parent_ID.intValue() != 0 && !path.contains(parent_ID))
+			{
+				path.add(0, parent_ID);
+				parent_ID = m_parentIds.get(parent_ID);
+			}
+			MTreeNode parent = m_root;
+			for (Integer id : path)
+			{
+				loadChildren(parent);
+				parent = parent.findNode(id);
+				if (parent == null)
+					return null;
+			}
+			loadChildren(parent);
+		}
+		return m_root.findNode(node_ID);
+	}	//	findNode
+
+	/**
+	 * @return true if children of node are loaded on demand
+	 */
+	public boolean isLazyLoading()
+	{
+		return m_lazy;
+	}	//	isLazyLoading
+
 	/**
 	 *  Trim tree of empty summary nodes
 	 */
@@ -0,0 +1,306 @@
+/**********************************************************************
+* This file is part of iDempiere ERP Open Source                      *
+* http://www.idempiere.org                                            *
+*                                                                     *
+* Copyright (C) Contributors                                          *
+*                                                                     *
+* This program is free software; you can redistribute it and/or       *
+* modify it under the terms of the GNU General Public License         *
+* as published by the Free Software Foundation; either version 2      *
+* of the License, or (at your option) any later version.              *
+*                                                                     *
+* This program is distributed in the hope that it will be useful,     *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+* GNU General Public License for more details.                        *
+*                                                                     *
+* You should have received a copy of the GNU General Public License   *
+* along with this program; if not, write to the Free Software         *
+* Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+* MA 02110-1301, USA.                                                 *
+**********************************************************************/
+package org.compiere.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.compiere.util.CCache;
+
+/**
+ * Immutable node structure of an AD_Tree (node, parent, sequence and display detail of each node).<br/>
+ * The structure doesn't include role access filtering and is shared by all sessions that
+ * use the same tree, language and load options. Role and user specific filtering is applied
+ * by {@link MTree} on top of the shared structure.
+ */
+public class MTreeStructure implements Serializable
+{
+	/**
+	 * generated serial id
+	 */
+	private static final long serialVersionUID = -2437035116981384467L;
+
+	/** Cache name prefix */
+	private static final String CACHE_NAME_PREFIX = "MTreeStructure|";
+
+	/** Structure caches, one per dependent table name */
+	private static final Map<String, CCache<String, MTreeStructure>> s_caches = new ConcurrentHashMap<String, CCache<String, MTreeStructure>>();
+
+	/**
+	 * Get shared tree structure from cache or load it with loader.<br/>
+	 * The cached structure is invalidated when any of the tables in tableNames have changed.
+	 * @param key structure key (tree, language and load options)
+	 * @param tableNames tables the structure depends on (node table, source table, etc)
+	 * @param loader loader to create the structure if it is not in cache
+	 * @return tree structure
+	 */
+	public static MTreeStructure get(String key, String[] tableNames, Supplier<MTreeStructure> loader)
+	{
+		MTreeStructure structure = null;
+		boolean valid = true;
+		for (String tableName : tableNames)
+		{
+			MTreeStructure cached = getCache(tableName).get(key);
+			if (cached == null || (structure != null && cached != structure))
+			{
+				valid = false;
+				break;
+			}
+			structure = cached;
+		}
+		if (valid && structure != null)
+			return structure;
+
+		structure = loader.get();
+		for (String tableName : tableNames)
+			getCache(tableName).put(key, structure);
+		return structure;
+	}	//	get
+
+	/**
+	 * Get structure cache for table
+	 * @param tableName
+	 * @return cache
+	 */
+	private static CCache<String, MTreeStructure> getCache(String tableName)
+	{
+		return s_caches.computeIfAbsent(tableName, e -> new CCache<String, MTreeStructure>(e, CACHE_NAME_PREFIX + e, 10));
+	}	//	getCache
+
+	/**
+	 * Node of tree structure
+	 */
+	public static class Node implements Serializable
+	{
+		/**
+		 * generated serial id
+		 */
+		private static final long serialVersionUID = 5337468003733659785L;
+
+		private final int node_ID;
+		private final int parent_ID;
+		private final int seqNo;
+		private final String name;
+		private final String description;
+		private final boolean summary;
+		private final String actionColor;
+		private final int[] menuActionIDs;
+
+		/**
+		 * @param node_ID
+		 * @param parent_ID
+		 * @param seqNo
+		 * @param name
+		 * @param description
+		 * @param summary
+		 * @param actionColor menu action or AD_PrintColor_ID
+		 * @param menuActionIDs AD_Window_ID, AD_Process_ID, AD_Form_ID, AD_Workflow_ID, AD_Task_ID and AD_InfoWindow_ID of menu node, null for other tree type
+		 */
+		public Node(int node_ID, int parent_ID, int seqNo, String name, String description, boolean summary,
+				String actionColor, int[] menuActionIDs)
+		{
+			this.node_ID = node_ID;
+			this.parent_ID = parent_ID;
+			this.seqNo = seqNo;
+			this.name = name;
+			this.description = description;
+			this.summary = summary;
+			this.actionColor = actionColor;
+			this.menuActionIDs = menuActionIDs;
+		}
+
+		/**
+		 * Create node from node detail
+		 * @param detail node detail (without parent and seqNo)
+		 * @param parent_ID
+		 * @param seqNo
+		 */
+		public Node(Node detail, int parent_ID, int seqNo)
+		{
+			this(detail.node_ID, parent_ID, seqNo, detail.name, detail.description, detail.summary,
+					detail.actionColor, detail.menuActionIDs);
+		}
+
+		/**
+		 * @return Node_ID
+		 */
+		public int getNode_ID()
+		{
+			return node_ID;
+		}
+
+		/**
+		 * @return Parent_ID
+		 */
+		public int getParent_ID()
+		{
+			return parent_ID;
+		}
+
+		/**
+		 * @return SeqNo
+		 */
+		public int getSeqNo()
+		{
+			return seqNo;
+		}
+
+		/**
+		 * @return name
+		 */
+		public String getName()
+		{
+			return name;
+		}
+
+		/**
+		 * @return description
+		 */
+		public String getDescription()
+		{
+			return description;
+		}
+
+		/**
+		 * @return true if summary node
+		 */
+		public boolean isSummary()
+		{
+			return summary;
+		}
+
+		/**
+		 * @return menu action or AD_PrintColor_ID
+		 */
+		public String getActionColor()
+		{
+			return actionColor;
+		}
+
+		/**
+		 * @return menu AD_Window_ID
+		 */
+		public int getAD_Window_ID()
+		{
+			return menuActionIDs != null ? menuActionIDs[0] : 0;
+		}
+
+		/**
+		 * @return menu AD_Process_ID
+		 */
+		public int getAD_Process_ID()
+		{
+			return menuActionIDs != null ? menuActionIDs[1] : 0;
+		}
+
+		/**
+		 * @return menu AD_Form_ID
+		 */
+		public int getAD_Form_ID()
+		{
+			return menuActionIDs != null ? menuActionIDs[2] : 0;
+		}
+
+		/**
+		 * @return menu AD_Workflow_ID
+		 */
+		public int getAD_Workflow_ID()
+		{
+			return menuActionIDs != null ? menuActionIDs[3] : 0;
+		}
+
+		/**
+		 * @return menu AD_Task_ID
+		 */
+		public int getAD_Task_ID()
+		{
+			return menuActionIDs != null ? menuActionIDs[4] : 0;
+		}
+
+		/**
+		 * @return menu AD_InfoWindow_ID
+		 */
+		public int getAD_InfoWindow_ID()
+		{
+			return menuActionIDs != null ? menuActionIDs[5] : 0;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "MTreeStructure.Node[" + node_ID + "," + parent_ID + "," + name + "]";
+		}
+	}	//	Node
+
+	/** Nodes in load order (by parent and seqNo) */
+	private final List<Node> m_nodes;
+	/** Node_ID:Node */
+	private final Map<Integer, Node> m_nodeMap;
+
+	/**
+	 * @param nodes nodes in load order
+	 */
+	public MTreeStructure(List<Node> nodes)
+	{
+		m_nodes = Collections.unmodifiableList(new ArrayList<Node>(nodes));
+		m_nodeMap = new HashMap<Integer, Node>(nodes.size() * 4 / 3 + 1);
+		for (Node node : nodes)
+			m_nodeMap.put(node.getNode_ID(), node);
+	}
+
+	/**
+	 * @return all nodes, ordered by parent and seqNo
+	 */
+	public List<Node> getNodes()
+	{
+		return m_nodes;
+	}
+
+	/**
+	 * @param node_ID
+	 * @return node or null
+	 */
+	public Node getNode(int node_ID)
+	{
+		return m_nodeMap.get(node_ID);
+	}
+
+	/**
+	 * @return number of nodes
+	 */
+	public int size()
+	{
+		return m_nodes.size();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "MTreeStructure[#" + m_nodes.size() + "]";
+	}
+}	//	MTreeStructure
@@ -296,6 +296,7 @@ public class MWarehouse extends X_M_Warehouse implements ImmutablePOSupport
 						 " GROUP BY M_Product_ID, M_Locator_ID, M_AttributeSetInstance_ID " +
 						 " HAVING SUM(s.QtyOnHand) < 0 ";
 			
+			StorageLedger.flush(get_TrxName());
 			int prdid = DB.getSQLValueEx(get_TrxName(), sql, getM_Warehouse_ID());
 			if (prdid > 0) {
 				log.saveError("Error", Msg.translate(getCtx(), "NegativeOnhandExists"));
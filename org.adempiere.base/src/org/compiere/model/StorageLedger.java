@@ -0,0 +1,476 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.model;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.exceptions.DBException;
+import org.compiere.util.CCache;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Trx;
+import org.compiere.util.TrxEventListener;
+import org.compiere.util.Util;
+
+/**
+ * Write behind ledger of storage quantity changes (M_StorageOnHand and M_StorageReservation) of a transaction.<br/>
+ * Enabled by {@link MSysConfig#STORAGE_WRITE_BEHIND}. Quantity changes are aggregated per storage record and
+ * written just before commit, sorted by product, locator/warehouse and attribute set instance. Row locks are
+ * therefore only held from flush to commit and always acquired in the same order, which avoids lock convoys and
+ * deadlocks on frequently used products. Pending changes are flushed before the storage of the transaction is read
+ * through {@link MStorageOnHand} and {@link MStorageReservation}. On hand decrease of warehouse that disallow
+ * negative inventory is not deferred, it is written and checked immediately.<br/>
+ * Quantity read outside transaction is cached per product and invalidated after commit of storage changes.
+ */
+public class StorageLedger implements TrxEventListener
+{
+	/** Ledger of transactions (trxName:ledger) */
+	private static final Map<String, StorageLedger> s_ledgers = new ConcurrentHashMap<String, StorageLedger>();
+
+	/** Quantity on hand read outside transaction (M_Product_ID:query key:qty) */
+	private static final CCache<Integer, Map<String, BigDecimal>> s_onHandCache
+		= new CCache<Integer, Map<String, BigDecimal>>(MStorageOnHand.Table_Name, MStorageOnHand.Table_Name + "|Qty", 100, 1, false);
+	/** Quantity reserved/ordered read outside transaction (M_Product_ID:query key:qty) */
+	private static final CCache<Integer, Map<String, BigDecimal>> s_reservationCache
+		= new CCache<Integer, Map<String, BigDecimal>>(MStorageReservation.Table_Name, MStorageReservation.Table_Name + "|Qty", 100, 1, false);
+
+	/** Logger */
+	private static final CLogger s_log = CLogger.getCLogger(StorageLedger.class);
+
+	/** On hand storage record key */
+	private record OnHandKey(int M_Product_ID, int M_Locator_ID, int M_AttributeSetInstance_ID, Timestamp DateMaterialPolicy) {}
+	/** Reservation storage record key */
+	private record ReservationKey(int M_Product_ID, int M_Warehouse_ID, int M_AttributeSetInstance_ID, boolean IsSOTrx) {}
+
+	/** Flush order of on hand storage */
+	private static final Comparator<OnHandKey> ONHAND_ORDER = Comparator.comparingInt(OnHandKey::M_Product_ID)
+		.thenComparingInt(OnHandKey::M_Locator_ID)
+		.thenComparingInt(OnHandKey::M_AttributeSetInstance_ID)
+		.thenComparing(OnHandKey::DateMaterialPolicy, Comparator.nullsFirst(Comparator.naturalOrder()));
+	/** Flush order of reservation storage */
+	private static final Comparator<ReservationKey> RESERVATION_ORDER = Comparator.comparingInt(ReservationKey::M_Product_ID)
+		.thenComparingInt(ReservationKey::M_Warehouse_ID)
+		.thenComparingInt(ReservationKey::M_AttributeSetInstance_ID)
+		.thenComparing(ReservationKey::IsSOTrx);
+
+	/**
+	 * Is write behind of storage changes enabled
+	 * @param AD_Client_ID
+	 * @return true if enabled
+	 */
+	public static boolean isWriteBehind(int AD_Client_ID)
+	{
+		return MSysConfig.getBooleanValue(MSysConfig.STORAGE_WRITE_BEHIND, false, AD_Client_ID);
+	}	//	isWriteBehind
+
+	/**
+	 * Get ledger of transaction
+	 * @param trxName
+	 * @param create true to create if transaction has no ledger yet
+	 * @return ledger or null (no ledger or no active transaction)
+	 */
+	static StorageLedger get(String trxName, boolean create)
+	{
+		if (Util.isEmpty(trxName, true))
+			return null;
+		StorageLedger ledger = s_ledgers.get(trxName);
+		if (ledger != null || !create)
+			return ledger;
+		Trx trx = Trx.get(trxName, false);
+		if (trx == null)
+			return null;
+		return s_ledgers.computeIfAbsent(trxName, k -> {
+			StorageLedger l = new StorageLedger(trxName);
+			trx.addTrxEventListener(l);
+			return l;
+		});
+	}	//	get
+
+	/**
+	 * Write pending changes of transaction
+	 * @param trxName
+	 */
+	public static void flush(String trxName)
+	{
+		StorageLedger ledger = get(trxName, false);
+		if (ledger != null)
+			ledger.flush();
+	}	//	flush
+
+	/**
+	 * Invalidate cached quantity of product after commit of transaction (immediately if no transaction)
+	 * @param M_Product_ID
+	 * @param trxName
+	 */
+	static void invalidate(int M_Product_ID, String trxName)
+	{
+		StorageLedger ledger = get(trxName, true);
+		if (ledger != null)
+			ledger.addProduct(M_Product_ID);
+		else
+			invalidate(M_Product_ID);
+	}	//	invalidate
+
+	/**
+	 * Remove cached quantity of product
+	 * @param M_Product_ID
+	 */
+	private static void invalidate(int M_Product_ID)
+	{
+		s_onHandCache.remove(M_Product_ID);
+		s_reservationCache.remove(M_Product_ID);
+	}	//	invalidate
+
+	/**
+	 * Get quantity on hand (SUM of M_StorageOnHand.QtyOnHand)
+	 * @param M_Product_ID
+	 * @param sql
+	 * @param params
+	 * @param trxName
+	 * @return quantity or null
+	 */
+	static BigDecimal getQtyOnHand(int M_Product_ID, String sql, List<Object> params, String trxName)
+	{
+		return getQty(s_onHandCache, M_Product_ID, sql, params, trxName);
+	}	//	getQtyOnHand
+
+	/**
+	 * Get quantity reserved/ordered (SUM of M_StorageReservation.Qty)
+	 * @param M_Product_ID
+	 * @param sql
+	 * @param params
+	 * @param trxName
+	 * @return quantity or null
+	 */
+	static BigDecimal getQtyReserved(int M_Product_ID, String sql, List<Object> params, String trxName)
+	{
+		return getQty(s_reservationCache, M_Product_ID, sql, params, trxName);
+	}	//	getQtyReserved
+
+	/**
+	 * Get quantity, from cache if read outside transaction and write behind is enabled
+	 * @param cache
+	 * @param M_Product_ID
+	 * @param sql
+	 * @param params
+	 * @param trxName
+	 * @return quantity or null
+	 */
+	private static BigDecimal getQty(CCache<Integer, Map<String, BigDecimal>> cache, int M_Product_ID,
+			String sql, List<Object> params, String trxName)
+	{
+		if (!Util.isEmpty(trxName, true))
+		{
+			flush(trxName);
+			return DB.getSQLValueBDEx(trxName, sql, params);
+		}
+		if (!isWriteBehind(Env.getAD_Client_ID(Env.getCtx())))
+			return DB.getSQLValueBDEx(trxName, sql, params);
+
+		String key = sql + params;
+		Map<String, BigDecimal> values = cache.computeIfAbsent(M_Product_ID, k -> new ConcurrentHashMap<String, BigDecimal>());
+		BigDecimal qty = values.get(key);
+		if (qty == null)
+		{
+			qty = DB.getSQLValueBDEx(trxName, sql, params);
+			if (qty == null)
+				qty = Env.ZERO;
+			values.put(key, qty);
+		}
+		return qty;
+	}	//	getQty
+
+	/** Journal position of savepoint */
+	private static class SavepointMark
+	{
+		final Savepoint savepoint;
+		/** Number of written changes when savepoint is set */
+		int written;
+		/** Number of changes when savepoint is set */
+		int size;
+
+		SavepointMark(Savepoint savepoint, int written, int size)
+		{
+			this.savepoint = savepoint;
+			this.written = written;
+			this.size = size;
+		}
+	}
+
+	private final String m_trxName;
+	/** Changes in add order (OnHandKey or ReservationKey:qty), written changes are kept while a savepoint needs them */
+	private final List<Map.Entry<Record, BigDecimal>> m_journal = new ArrayList<Map.Entry<Record, BigDecimal>>();
+	/** Number of changes at start of journal already written to database */
+	private int m_written = 0;
+	/** Active savepoints in set order */
+	private final List<SavepointMark> m_savepoints = new ArrayList<SavepointMark>();
+	/** Products changed in transaction */
+	private final Set<Integer> m_products = new HashSet<Integer>();
+
+	/**
+	 * @param trxName
+	 */
+	private StorageLedger(String trxName)
+	{
+		m_trxName = trxName;
+	}
+
+	/**
+	 * Add product to invalidate after commit
+	 * @param M_Product_ID
+	 */
+	private synchronized void addProduct(int M_Product_ID)
+	{
+		m_products.add(M_Product_ID);
+	}	//	addProduct
+
+	/**
+	 * Add quantity on hand change of storage record
+	 * @param storage existing on hand storage
+	 * @param diffQtyOnHand
+	 */
+	synchronized void addQtyOnHand(MStorageOnHand storage, BigDecimal diffQtyOnHand)
+	{
+		OnHandKey key = new OnHandKey(storage.getM_Product_ID(), storage.getM_Locator_ID(),
+			storage.getM_AttributeSetInstance_ID(), storage.getDateMaterialPolicy());
+		m_journal.add(new AbstractMap.SimpleImmutableEntry<Record, BigDecimal>(key, diffQtyOnHand));
+		m_products.add(storage.getM_Product_ID());
+	}	//	addQtyOnHand
+
+	/**
+	 * Add quantity reserved/ordered change of storage record
+	 * @param storage existing reservation storage
+	 * @param diffQty
+	 */
+	synchronized void addQty(MStorageReservation storage, BigDecimal diffQty)
+	{
+		ReservationKey key = new ReservationKey(storage.getM_Product_ID(), storage.getM_Warehouse_ID(),
+			storage.getM_AttributeSetInstance_ID(), storage.isSOTrx());
+		m_journal.add(new AbstractMap.SimpleImmutableEntry<Record, BigDecimal>(key, diffQty));
+		m_products.add(storage.getM_Product_ID());
+	}	//	addQty
+
+	/**
+	 * Write pending changes aggregated per storage record, on hand storage first.<br/>
+	 * The changes are written within a savepoint: if an update fails or does not find its storage record, the
+	 * updates of this flush are rolled back and the changes stay pending.
+	 */
+	synchronized void flush()
+	{
+		int size = m_journal.size();
+		if (m_written == size)
+			return;
+		TreeMap<OnHandKey, BigDecimal> onHand = new TreeMap<OnHandKey, BigDecimal>(ONHAND_ORDER);
+		TreeMap<ReservationKey, BigDecimal> reservation = new TreeMap<ReservationKey, BigDecimal>(RESERVATION_ORDER);
+		List<Map.Entry<Record, BigDecimal>> pending = m_journal.subList(m_written, size);
+		for (Map.Entry<Record, BigDecimal> change : pending)
+		{
+			if (change.getKey() instanceof OnHandKey key)
+				onHand.merge(key, change.getValue(), BigDecimal::add);
+			else if (change.getKey() instanceof ReservationKey key)
+				reservation.merge(key, change.getValue(), BigDecimal::add);
+		}
+		if (s_log.isLoggable(Level.FINE)) s_log.fine(m_trxName + " #" + pending.size() + " -> #" + (onHand.size() + reservation.size()));
+
+		Trx trx = Trx.get(m_trxName, false);
+		Savepoint savepoint = null;
+		try
+		{
+			if (trx != null)
+				savepoint = trx.setSavepoint(null);
+			int AD_User_ID = Env.getAD_User_ID(Env.getCtx());
+			for (Map.Entry<OnHandKey, BigDecimal> entry : onHand.entrySet())
+			{
+				OnHandKey key = entry.getKey();
+				BigDecimal addition = entry.getValue();
+				if (addition.signum() == 0)
+					continue;
+				final String sql = "UPDATE M_StorageOnHand SET QtyOnHand=QtyOnHand+?, Updated=getDate(), UpdatedBy=? "
+					+ "WHERE M_Product_ID=? AND M_Locator_ID=? AND M_AttributeSetInstance_ID=? AND DateMaterialPolicy=?";
+				int no = DB.executeUpdateEx(sql, new Object[] {addition, AD_User_ID, key.M_Product_ID(), key.M_Locator_ID(),
+					key.M_AttributeSetInstance_ID(), key.DateMaterialPolicy()}, m_trxName);
+				if (no == 0)
+					throw new AdempiereException("Storage on hand not found: " + key);
+			}
+			for (Map.Entry<ReservationKey, BigDecimal> entry : reservation.entrySet())
+			{
+				ReservationKey key = entry.getKey();
+				BigDecimal addition = entry.getValue();
+				if (addition.signum() == 0)
+					continue;
+				final String sql = "UPDATE M_StorageReservation SET Qty=Qty+?, Updated=getDate(), UpdatedBy=? "
+					+ "WHERE M_Product_ID=? AND M_Warehouse_ID=? AND M_AttributeSetInstance_ID=? AND IsSOTrx=?";
+				int no = DB.executeUpdateEx(sql, new Object[] {addition, AD_User_ID, key.M_Product_ID(), key.M_Warehouse_ID(),
+					key.M_AttributeSetInstance_ID(), key.IsSOTrx()}, m_trxName);
+				if (no == 0)
+					throw new AdempiereException("Storage reservation not found: " + key);
+			}
+		}
+		catch (RuntimeException | SQLException e)
+		{
+			//	restores the journal position of the savepoint, the changes are pending again
+			if (savepoint != null)
+			{
+				try
+				{
+					trx.rollback(savepoint);
+				}
+				catch (SQLException e1)
+				{
+					s_log.log(Level.SEVERE, m_trxName, e1);
+				}
+			}
+			if (e instanceof RuntimeException re)
+				throw re;
+			throw new DBException((SQLException) e);
+		}
+
+		m_written = size;
+		if (savepoint != null)
+		{
+			try
+			{
+				trx.releaseSavepoint(savepoint);
+			}
+			catch (SQLException e)
+			{
+				throw new DBException(e);
+			}
+		}
+		trim();
+	}	//	flush
+
+	/**
+	 * Remove written changes that are not needed to restore the journal on rollback to an active savepoint
+	 */
+	private void trim()
+	{
+		int count = m_written;
+		for (SavepointMark mark : m_savepoints)
+			count = Math.min(count, mark.written);
+		if (count == 0)
+			return;
+		m_journal.subList(0, count).clear();
+		m_written -= count;
+		for (SavepointMark mark : m_savepoints)
+		{
+			mark.written -= count;
+			mark.size -= count;
+		}
+	}	//	trim
+
+	/**
+	 * Remove savepoint and the savepoints set after it
+	 * @param savepoint
+	 * @return removed savepoint mark or null
+	 */
+	private SavepointMark removeSavepoint(Savepoint savepoint)
+	{
+		for (int i = 0; i < m_savepoints.size(); i++)
+		{
+			SavepointMark mark = m_savepoints.get(i);
+			if (mark.savepoint == savepoint)
+			{
+				m_savepoints.subList(i, m_savepoints.size()).clear();
+				return mark;
+			}
+		}
+		return null;
+	}	//	removeSavepoint
+
+	@Override
+	public void beforeCommit(Trx trx)
+	{
+		flush();
+	}
+
+	@Override
+	public synchronized void afterCommit(Trx trx, boolean success)
+	{
+		if (success)
+		{
+			for (Integer M_Product_ID : m_products)
+				invalidate(M_Product_ID);
+		}
+		m_journal.clear();
+		m_written = 0;
+		m_savepoints.clear();
+		m_products.clear();
+	}
+
+	@Override
+	public synchronized void afterRollback(Trx trx, boolean success)
+	{
+		m_journal.clear();
+		m_written = 0;
+		m_savepoints.clear();
+		m_products.clear();
+	}
+
+	@Override
+	public synchronized void afterSetSavepoint(Trx trx, Savepoint savepoint)
+	{
+		m_savepoints.add(new SavepointMark(savepoint, m_written, m_journal.size()));
+	}
+
+	@Override
+	public synchronized void afterRollback(Trx trx, Savepoint savepoint)
+	{
+		SavepointMark mark = removeSavepoint(savepoint);
+		if (mark == null)
+			return;
+		//	changes added before savepoint but written after it are rolled back by database and pending again
+		if (m_journal.size() > mark.size)
+			m_journal.subList(mark.size, m_journal.size()).clear();
+		m_written = mark.written;
+		trim();
+	}
+
+	@Override
+	public synchronized void afterReleaseSavepoint(Trx trx, Savepoint savepoint)
+	{
+		if (removeSavepoint(savepoint) != null)
+			trim();
+	}
+
+	@Override
+	public void afterClose(Trx trx)
+	{
+		s_ledgers.remove(m_trxName);
+		trx.removeTrxEventListener(this);
+	}
+}	//	StorageLedger
@@ -49,10 +49,16 @@ public class SystemProperties {
 	private static final String org_idempiere_db_debug_convert = "org.idempiere.db.debug.convert";
 	private static final String org_idempiere_db_debug_filter = "org.idempiere.db.debug.filter";
 	private static final String org_idempiere_developermode = "org.idempiere.developermode";
+	private static final String org_idempiere_FileLogAsync = "org.idempiere.FileLogAsync";
+	private static final String org_idempiere_FileLogFormat = "org.idempiere.FileLogFormat";
 	private static final String org_idempiere_FileLogPrefix = "org.idempiere.FileLogPrefix";
+	private static final String org_idempiere_FileLogQueueSize = "org.idempiere.FileLogQueueSize";
 	private static final String org_idempiere_FullExceptionTraceInLog = "org.idempiere.FullExceptionTraceInLog";
 	private static final String org_idempiere_postgresql_URLParameters = "org.idempiere.postgresql.URLParameters";
 	private static final String org_idempiere_po_useOptimisticLocking = "org.idempiere.po.useOptimisticLocking";
+	private static final String org_idempiere_ThreadPool_Prefix = "org.idempiere.ThreadPool.";
+	private static final String org_idempiere_VirtualThreadDBConnections = "org.idempiere.VirtualThreadDBConnections";
+	private static final String org_idempiere_VirtualThreads = "org.idempiere.VirtualThreads";
 	private static final String PostgreSQLNative = "PostgreSQLNative";
 	private static final String PropertyFile = "PropertyFile";
 	private static final String PropertyHomeFile = "PropertyHomeFile";
@@ -212,6 +218,81 @@ public class SystemProperties {
 		return System.setProperty(org_idempiere_FileLogPrefix, fileLogPrefix);
 	}
 
+	/**
+	 * org.idempiere.FileLogAsync=true to write the log file from a background thread, default false
+	 * @return
+	 */
+	public static boolean isFileLogAsync() {
+		return "true".equals(System.getProperty(org_idempiere_FileLogAsync));
+	}
+
+	/**
+	 * org.idempiere.FileLogQueueSize defines the number of queued records of async log file before records below WARNING are dropped, default 10000
+	 * @return
+	 */
+	public static int getFileLogQueueSize() {
+		try {
+			return Math.max(Integer.parseInt(System.getProperty(org_idempiere_FileLogQueueSize, "10000")), 1);
+		} catch (NumberFormatException e) {
+			return 10000;
+		}
+	}
+
+	/**
+	 * org.idempiere.FileLogFormat=json to write the log file as one JSON object per record
+	 * @return
+	 */
+	public static boolean isFileLogJSON() {
+		return "json".equalsIgnoreCase(System.getProperty(org_idempiere_FileLogFormat));
+	}
+
+	/**
+	 * org.idempiere.ThreadPool.[Pool].MaxSize defines the maximum number of threads of a workload thread pool.<br/>
+	 * For example -Dorg.idempiere.ThreadPool.Report.MaxSize=8
+	 * @param pool pool name
+	 * @return
+	 */
+	public static String getThreadPoolMaxSize(String pool) {
+		return System.getProperty(org_idempiere_ThreadPool_Prefix + pool + ".MaxSize");
+	}
+
+	/**
+	 * org.idempiere.ThreadPool.[Pool].QueueSize defines the maximum number of queued tasks of a workload thread pool
+	 * @param pool pool name
+	 * @return
+	 */
+	public static String getThreadPoolQueueSize(String pool) {
+		return System.getProperty(org_idempiere_ThreadPool_Prefix + pool + ".QueueSize");
+	}
+
+	/**
+	 * org.idempiere.ThreadPool.[Pool].RejectionPolicy defines what happens to a task submitted to a full workload thread pool:
+	 * Abort, CallerRuns or Discard (not for the Lookup, Report and Server pools, whose callers wait for the task)
+	 * @param pool pool name
+	 * @return
+	 */
+	public static String getThreadPoolRejectionPolicy(String pool) {
+		return System.getProperty(org_idempiere_ThreadPool_Prefix + pool + ".RejectionPolicy");
+	}
+
+	/**
+	 * org.idempiere.VirtualThreads=true to run the workload thread pools (UI, Lookup, Report, Server) in virtual threads,
+	 * requires Java 21 or later
+	 * @return
+	 */
+	public static boolean isVirtualThreads() {
+		return "true".equals(System.getProperty(org_idempiere_VirtualThreads));
+	}
+
+	/**
+	 * org.idempiere.VirtualThreadDBConnections defines the maximum number of database connections used at the same time
+	 * by virtual threads, default 3/4 of the connection pool size
+	 * @return
+	 */
+	public static String getVirtualThreadDBConnections() {
+		return System.getProperty(org_idempiere_VirtualThreadDBConnections);
+	}
+
 	/**
 	 * org.idempiere.postgresql.URLParameters allows to define additional URL parameters to be passed to
      *   the JDBC connection in PostgreSQL
@@ -0,0 +1,313 @@
+/******************************************************************************
+ * Product: iDempiere ERP & CRM Smart Business Solution                       *
+ * Copyright (C) 1999-2012 ComPiere, Inc. All Rights Reserved.                *
+ * This program is free software, you can redistribute it and/or modify it    *
+ * under the terms version 2 of the GNU General Public License as published   *
+ * by the Free Software Foundation. This program is distributed in the hope   *
+ * that it will be useful, but WITHOUT ANY WARRANTY, without even the implied *
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.           *
+ * See the GNU General Public License for more details.                       *
+ * You should have received a copy of the GNU General Public License along    *
+ * with this program, if not, write to the Free Software Foundation, Inc.,    *
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA.                     *
+ * For the text or an alternative of this public license, you may reach us    *
+ * ComPiere, Inc., 2620 Augustine Dr. #245, Santa Clara, CA 95054, USA        *
+ * or via info@compiere.org or http://www.compiere.org/license.html           *
+ *****************************************************************************/
+/** Generated Model - DO NOT CHANGE */
+package org.compiere.model;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Properties;
+
+/** Generated Model for AD_MailOutbox
+ *  @author iDempiere (generated)
+ *  @version Release 13 - $Id$ */
+@org.adempiere.base.Model(table="AD_MailOutbox")
+public class X_AD_MailOutbox extends PO implements I_AD_MailOutbox, I_Persistent
+{
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 20261020L;
+
+    /** Standard Constructor */
+    public X_AD_MailOutbox (Properties ctx, int AD_MailOutbox_ID, String trxName)
+    {
+      super (ctx, AD_MailOutbox_ID, trxName);
+      /** if (AD_MailOutbox_ID == 0)
+        {
+			setAD_MailOutbox_ID (0);
+			setBinaryData (null);
+			setDateNextRun (new Timestamp( System.currentTimeMillis() ));
+			setIsError (false);
+// N
+			setRetryCount (0);
+// 0
+			setSMTPHost (null);
+			setSMTPPort (0);
+        } */
+    }
+
+    /** Standard Constructor */
+    public X_AD_MailOutbox (Properties ctx, int AD_MailOutbox_ID, String trxName, String ... virtualColumns)
+    {
+      super (ctx, AD_MailOutbox_ID, trxName, virtualColumns);
+      /** if (AD_MailOutbox_ID == 0)
+        {
+			setAD_MailOutbox_ID (0);
+			setBinaryData (null);
+			setDateNextRun (new Timestamp( System.currentTimeMillis() ));
+			setIsError (false);
+// N
+			setRetryCount (0);
+// 0
+			setSMTPHost (null);
+			setSMTPPort (0);
+        } */
+    }
+
+    /** Standard Constructor */
+    public X_AD_MailOutbox (Properties ctx, String AD_MailOutbox_UU, String trxName)
+    {
+      super (ctx, AD_MailOutbox_UU, trxName);
+      /** if (AD_MailOutbox_UU == null)
+        {
+			setAD_MailOutbox_ID (0);
+			setBinaryData (null);
+			setDateNextRun (new Timestamp( System.currentTimeMillis() ));
+			setIsError (false);
+// N
+			setRetryCount (0);
+// 0
+			setSMTPHost (null);
+			setSMTPPort (0);
+        } */
+    }
+
+    /** Standard Constructor */
+    public X_AD_MailOutbox (Properties ctx, String AD_MailOutbox_UU, String trxName, String ... virtualColumns)
+    {
+      super (ctx, AD_MailOutbox_UU, trxName, virtualColumns);
+      /** if (AD_MailOutbox_UU == null)
+        {
+			setAD_MailOutbox_ID (0);
+			setBinaryData (null);
+			setDateNextRun (new Timestamp( System.currentTimeMillis() ));
+			setIsError (false);
+// N
+			setRetryCount (0);
+// 0
+			setSMTPHost (null);
+			setSMTPPort (0);
+        } */
+    }
+
+    /** Load Constructor */
+    public X_AD_MailOutbox (Properties ctx, ResultSet rs, String trxName)
+    {
+      super (ctx, rs, trxName);
+    }
+
+    /** AccessLevel
+      * @return 6 - System - Client
+      */
+    protected int get_AccessLevel()
+    {
+      return accessLevel.intValue();
+    }
+
+    /** Load Meta Data */
+    protected POInfo initPO (Properties ctx)
+    {
+      POInfo poi = POInfo.getPOInfo (ctx, Table_ID, get_TrxName());
+      return poi;
+    }
+
+    public String toString()
+    {
+      StringBuilder sb = new StringBuilder ("X_AD_MailOutbox[")
+        .append(get_ID()).append("]");
+      return sb.toString();
+    }
+
+	/** Set Mail Outbox.
+		@param AD_MailOutbox_ID Email waiting to be sent
+	*/
+	public void setAD_MailOutbox_ID (int AD_MailOutbox_ID)
+	{
+		if (AD_MailOutbox_ID < 1)
+			set_ValueNoCheck (COLUMNNAME_AD_MailOutbox_ID, null);
+		else
+			set_ValueNoCheck (COLUMNNAME_AD_MailOutbox_ID, Integer.valueOf(AD_MailOutbox_ID));
+	}
+
+	/** Get Mail Outbox.
+		@return Email waiting to be sent
+	  */
+	public int getAD_MailOutbox_ID()
+	{
+		Integer ii = (Integer)get_Value(COLUMNNAME_AD_MailOutbox_ID);
+		if (ii == null)
+			 return 0;
+		return ii.intValue();
+	}
+
+	/** Set AD_MailOutbox_UU.
+		@param AD_MailOutbox_UU AD_MailOutbox_UU
+	*/
+	public void setAD_MailOutbox_UU (String AD_MailOutbox_UU)
+	{
+		set_ValueNoCheck (COLUMNNAME_AD_MailOutbox_UU, AD_MailOutbox_UU);
+	}
+
+	/** Get AD_MailOutbox_UU.
+		@return AD_MailOutbox_UU	  */
+	public String getAD_MailOutbox_UU()
+	{
+		return (String)get_Value(COLUMNNAME_AD_MailOutbox_UU);
+	}
+
+	/** Set Binary Data.
+		@param BinaryData Binary Data
+	*/
+	public void setBinaryData (byte[] BinaryData)
+	{
+		set_ValueNoCheck (COLUMNNAME_BinaryData, BinaryData);
+	}
+
+	/** Get Binary Data.
+		@return Binary Data
+	  */
+	public byte[] getBinaryData()
+	{
+		return (byte[])get_Value(COLUMNNAME_BinaryData);
+	}
+
+	/** Set Date Next Run.
+		@param DateNextRun Date the process will run next
+	*/
+	public void setDateNextRun (Timestamp DateNextRun)
+	{
+		set_Value (COLUMNNAME_DateNextRun, DateNextRun);
+	}
+
+	/** Get Date Next Run.
+		@return Date the process will run next
+	  */
+	public Timestamp getDateNextRun()
+	{
+		return (Timestamp)get_Value(COLUMNNAME_DateNextRun);
+	}
+
+	/** Set Error.
+		@param IsError An Error occurred in the execution
+	*/
+	public void setIsError (boolean IsError)
+	{
+		set_Value (COLUMNNAME_IsError, Boolean.valueOf(IsError));
+	}
+
+	/** Get Error.
+		@return An Error occurred in the execution
+	  */
+	public boolean isError()
+	{
+		Object oo = get_Value(COLUMNNAME_IsError);
+		if (oo != null)
+		{
+			 if (oo instanceof Boolean)
+				 return ((Boolean)oo).booleanValue();
+			return "Y".equals(oo);
+		}
+		return false;
+	}
+
+	/** Set Mail Properties.
+		@param MailProperties Mail session properties and SMTP user of the queued email
+	*/
+	public void setMailProperties (String MailProperties)
+	{
+		set_ValueNoCheck (COLUMNNAME_MailProperties, MailProperties);
+	}
+
+	/** Get Mail Properties.
+		@return Mail session properties and SMTP user of the queued email
+	  */
+	public String getMailProperties()
+	{
+		return (String)get_Value(COLUMNNAME_MailProperties);
+	}
+
+	/** Set Result.
+		@param Result Result of the action taken
+	*/
+	public void setResult (String Result)
+	{
+		set_Value (COLUMNNAME_Result, Result);
+	}
+
+	/** Get Result.
+		@return Result of the action taken
+	  */
+	public String getResult()
+	{
+		return (String)get_Value(COLUMNNAME_Result);
+	}
+
+	/** Set Retry Count.
+		@param RetryCount Number of failed attempts
+	*/
+	public void setRetryCount (int RetryCount)
+	{
+		set_Value (COLUMNNAME_RetryCount, Integer.valueOf(RetryCount));
+	}
+
+	/** Get Retry Count.
+		@return Number of failed attempts
+	  */
+	public int getRetryCount()
+	{
+		Integer ii = (Integer)get_Value(COLUMNNAME_RetryCount);
+		if (ii == null)
+			 return 0;
+		return ii.intValue();
+	}
+
+	/** Set Mail Host.
+		@param SMTPHost Hostname of Mail Server for SMTP and IMAP
+	*/
+	public void setSMTPHost (String SMTPHost)
+	{
+		set_ValueNoCheck (COLUMNNAME_SMTPHost, SMTPHost);
+	}
+
+	/** Get Mail Host.
+		@return Hostname of Mail Server for SMTP and IMAP
+	  */
+	public String getSMTPHost()
+	{
+		return (String)get_Value(COLUMNNAME_SMTPHost);
+	}
+
+	/** Set SMTP Port.
+		@param SMTPPort SMTP Port Number
+	*/
+	public void setSMTPPort (int SMTPPort)
+	{
+		set_ValueNoCheck (COLUMNNAME_SMTPPort, Integer.valueOf(SMTPPort));
+	}
+
+	/** Get SMTP Port.
+		@return SMTP Port Number
+	  */
+	public int getSMTPPort()
+	{
+		Integer ii = (Integer)get_Value(COLUMNNAME_SMTPPort);
+		if (ii == null)
+			 return 0;
+		return ii.intValue();
+	}
+}
\ No newline at end of file
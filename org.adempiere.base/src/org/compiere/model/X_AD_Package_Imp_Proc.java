@@ -257,6 +257,22 @@ public class X_AD_Package_Imp_Proc extends PO implements I_AD_Package_Imp_Proc,
 		return (String)get_Value(COLUMNNAME_Name);
 	}
 
+	/** Set Package Digest.
+		@param PK_Digest SHA-256 digest of the package file
+	*/
+	public void setPK_Digest (String PK_Digest)
+	{
+		set_ValueNoCheck (COLUMNNAME_PK_Digest, PK_Digest);
+	}
+
+	/** Get Package Digest.
+		@return SHA-256 digest of the package file
+	  */
+	public String getPK_Digest()
+	{
+		return (String)get_Value(COLUMNNAME_PK_Digest);
+	}
+
 	/** Set Process Message.
 		@param P_Msg Process Message
 	*/
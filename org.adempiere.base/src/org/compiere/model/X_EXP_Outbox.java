@@ -0,0 +1,217 @@
+/******************************************************************************
+ * Product: iDempiere ERP & CRM Smart Business Solution                       *
+ * Copyright (C) 1999-2012 ComPiere, Inc. All Rights Reserved.                *
+ * This program is free software, you can redistribute it and/or modify it    *
+ * under the terms version 2 of the GNU General Public License as published   *
+ * by the Free Software Foundation. This program is distributed in the hope   *
+ * that it will be useful, but WITHOUT ANY WARRANTY, without even the implied *
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.           *
+ * See the GNU General Public License for more details.                       *
+ * You should have received a copy of the GNU General Public License along    *
+ * with this program, if not, write to the Free Software Foundation, Inc.,    *
+ * 59 Temple Place, Suite 330, Boston, MA 02111-1307 USA.                     *
+ * For the text or an alternative of this public license, you may reach us    *
+ * ComPiere, Inc., 2620 Augustine Dr. #245, Santa Clara, CA 95054, USA        *
+ * or via info@compiere.org or http://www.compiere.org/license.html           *
+ *****************************************************************************/
+/** Generated Model - DO NOT CHANGE */
+package org.compiere.model;
+
+import java.sql.ResultSet;
+import java.util.Properties;
+
+/** Generated Model for EXP_Outbox
+ *  @author iDempiere (generated)
+ *  @version Release 13 - $Id$ */
+@org.adempiere.base.Model(table="EXP_Outbox")
+public class X_EXP_Outbox extends PO implements I_EXP_Outbox, I_Persistent
+{
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = 20261020L;
+
+    /** Standard Constructor */
+    public X_EXP_Outbox (Properties ctx, int EXP_Outbox_ID, String trxName)
+    {
+      super (ctx, EXP_Outbox_ID, trxName);
+      /** if (EXP_Outbox_ID == 0)
+        {
+			setEXP_Outbox_ID (0);
+			setEXP_Processor_ID (0);
+			setExportXML (null);
+			setRetryCount (0);
+// 0
+        } */
+    }
+
+    /** Standard Constructor */
+    public X_EXP_Outbox (Properties ctx, int EXP_Outbox_ID, String trxName, String ... virtualColumns)
+    {
+      super (ctx, EXP_Outbox_ID, trxName, virtualColumns);
+      /** if (EXP_Outbox_ID == 0)
+        {
+			setEXP_Outbox_ID (0);
+			setEXP_Processor_ID (0);
+			setExportXML (null);
+			setRetryCount (0);
+// 0
+        } */
+    }
+
+    /** Standard Constructor */
+    public X_EXP_Outbox (Properties ctx, String EXP_Outbox_UU, String trxName)
+    {
+      super (ctx, EXP_Outbox_UU, trxName);
+      /** if (EXP_Outbox_UU == null)
+        {
+			setEXP_Outbox_ID (0);
+			setEXP_Processor_ID (0);
+			setExportXML (null);
+			setRetryCount (0);
+// 0
+        } */
+    }
+
+    /** Standard Constructor */
+    public X_EXP_Outbox (Properties ctx, String EXP_Outbox_UU, String trxName, String ... virtualColumns)
+    {
+      super (ctx, EXP_Outbox_UU, trxName, virtualColumns);
+      /** if (EXP_Outbox_UU == null)
+        {
+			setEXP_Outbox_ID (0);
+			setEXP_Processor_ID (0);
+			setExportXML (null);
+			setRetryCount (0);
+// 0
+        } */
+    }
+
+    /** Load Constructor */
+    public X_EXP_Outbox (Properties ctx, ResultSet rs, String trxName)
+    {
+      super (ctx, rs, trxName);
+    }
+
+    /** AccessLevel
+      * @return 6 - System - Client
+      */
+    protected int get_AccessLevel()
+    {
+      return accessLevel.intValue();
+    }
+
+    /** Load Meta Data */
+    protected POInfo initPO (Properties ctx)
+    {
+      POInfo poi = POInfo.getPOInfo (ctx, Table_ID, get_TrxName());
+      return poi;
+    }
+
+    public String toString()
+    {
+      StringBuilder sb = new StringBuilder ("X_EXP_Outbox[")
+        .append(get_ID()).append("]");
+      return sb.toString();
+    }
+
+	/** Set Replication Outbox.
+		@param EXP_Outbox_ID Replication export document waiting for publishing
+	*/
+	public void setEXP_Outbox_ID (int EXP_Outbox_ID)
+	{
+		if (EXP_Outbox_ID < 1)
+			set_ValueNoCheck (COLUMNNAME_EXP_Outbox_ID, null);
+		else
+			set_ValueNoCheck (COLUMNNAME_EXP_Outbox_ID, Integer.valueOf(EXP_Outbox_ID));
+	}
+
+	/** Get Replication Outbox.
+		@return Replication export document waiting for publishing
+	  */
+	public int getEXP_Outbox_ID()
+	{
+		Integer ii = (Integer)get_Value(COLUMNNAME_EXP_Outbox_ID);
+		if (ii == null)
+			 return 0;
+		return ii.intValue();
+	}
+
+	/** Set EXP_Outbox_UU.
+		@param EXP_Outbox_UU EXP_Outbox_UU
+	*/
+	public void setEXP_Outbox_UU (String EXP_Outbox_UU)
+	{
+		set_ValueNoCheck (COLUMNNAME_EXP_Outbox_UU, EXP_Outbox_UU);
+	}
+
+	/** Get EXP_Outbox_UU.
+		@return EXP_Outbox_UU	  */
+	public String getEXP_Outbox_UU()
+	{
+		return (String)get_Value(COLUMNNAME_EXP_Outbox_UU);
+	}
+
+	public org.compiere.model.I_EXP_Processor getEXP_Processor() throws RuntimeException
+	{
+		return (org.compiere.model.I_EXP_Processor)MTable.get(getCtx(), org.compiere.model.I_EXP_Processor.Table_ID)
+			.getPO(getEXP_Processor_ID(), get_TrxName());
+	}
+
+	/** Set Export Processor.
+		@param EXP_Processor_ID Export Processor
+	*/
+	public void setEXP_Processor_ID (int EXP_Processor_ID)
+	{
+		if (EXP_Processor_ID < 1)
+			set_ValueNoCheck (COLUMNNAME_EXP_Processor_ID, null);
+		else
+			set_ValueNoCheck (COLUMNNAME_EXP_Processor_ID, Integer.valueOf(EXP_Processor_ID));
+	}
+
+	/** Get Export Processor.
+		@return Export Processor	  */
+	public int getEXP_Processor_ID()
+	{
+		Integer ii = (Integer)get_Value(COLUMNNAME_EXP_Processor_ID);
+		if (ii == null)
+			 return 0;
+		return ii.intValue();
+	}
+
+	/** Set Export XML.
+		@param ExportXML XML document of replication export
+	*/
+	public void setExportXML (String ExportXML)
+	{
+		set_ValueNoCheck (COLUMNNAME_ExportXML, ExportXML);
+	}
+
+	/** Get Export XML.
+		@return XML document of replication export
+	  */
+	public String getExportXML()
+	{
+		return (String)get_Value(COLUMNNAME_ExportXML);
+	}
+
+	/** Set Retry Count.
+		@param RetryCount Number of failed attempts
+	*/
+	public void setRetryCount (int RetryCount)
+	{
+		set_Value (COLUMNNAME_RetryCount, Integer.valueOf(RetryCount));
+	}
+
+	/** Get Retry Count.
+		@return Number of failed attempts
+	  */
+	public int getRetryCount()
+	{
+		Integer ii = (Integer)get_Value(COLUMNNAME_RetryCount);
+		if (ii == null)
+			 return 0;
+		return ii.intValue();
+	}
+}
\ No newline at end of file
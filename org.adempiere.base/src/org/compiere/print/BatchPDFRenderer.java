@@ -0,0 +1,264 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.print;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.ServerContext;
+import org.compiere.Adempiere;
+import org.compiere.model.MQuery;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.PrintInfo;
+import org.compiere.util.CLogger;
+import org.compiere.util.Env;
+
+/**
+ * Render a batch of documents (e.g. invoices or dunning letters) to PDF files.<br/>
+ * Each document goes through the DataEngine, LayoutEngine and PDF writer chain of {@link ReportEngine}.
+ * Documents are rendered concurrently on the {@link Adempiere#THREAD_POOL_REPORT} thread pool, with at most
+ * {@link MSysConfig#PRINT_BATCH_MAX_THREADS} documents at a time, and results are returned in input order.
+ * Print format of a document is an in memory copy of the loaded print format, so the print format (items,
+ * table format and fonts) is only loaded once for the batch.<br/>
+ * Documents are rendered outside of transaction, the same as {@link ReportEngine#ReportEngine(Properties, MPrintFormat, MQuery, PrintInfo)}.
+ */
+public class BatchPDFRenderer
+{
+	/**	Logger */
+	private static final CLogger log = CLogger.getCLogger(BatchPDFRenderer.class);
+
+	/**
+	 * Document of batch
+	 */
+	public static class BatchDocument
+	{
+		private final MPrintFormat format;
+		private final MQuery query;
+		private final PrintInfo info;
+		private File file = null;
+
+		/**
+		 * @param format print format, copied (changes to format after this call don't affect the document)
+		 * @param query query
+		 * @param info print info
+		 */
+		public BatchDocument(MPrintFormat format, MQuery query, PrintInfo info)
+		{
+			this.format = new MPrintFormat(format.getCtx(), format, null);
+			this.query = query;
+			this.info = info;
+		}
+
+		/**
+		 * @param file optional output file, null to use temporary file
+		 * @return this
+		 */
+		public BatchDocument setFile(File file)
+		{
+			this.file = file;
+			return this;
+		}
+
+		/**
+		 * @return print info
+		 */
+		public PrintInfo getPrintInfo()
+		{
+			return info;
+		}
+
+		/**
+		 * @return query
+		 */
+		public MQuery getQuery()
+		{
+			return query;
+		}
+	}	//	BatchDocument
+
+	/**
+	 * Render result of document
+	 */
+	public static class BatchResult
+	{
+		private final BatchDocument document;
+		private File pdf = null;
+		private Exception error = null;
+
+		/**
+		 * @param document
+		 */
+		private BatchResult(BatchDocument document)
+		{
+			this.document = document;
+		}
+
+		/**
+		 * @return document
+		 */
+		public BatchDocument getDocument()
+		{
+			return document;
+		}
+
+		/**
+		 * @return PDF file or null if render failed
+		 */
+		public File getPDF()
+		{
+			return pdf;
+		}
+
+		/**
+		 * @return error or null
+		 */
+		public Exception getError()
+		{
+			return error;
+		}
+
+		/**
+		 * @return true if PDF has been created
+		 */
+		public boolean isOK()
+		{
+			return pdf != null && error == null;
+		}
+	}	//	BatchResult
+
+	/**
+	 * Get maximum number of documents rendered concurrently
+	 * @param AD_Client_ID
+	 * @return PRINT_BATCH_MAX_THREADS, default number of processors
+	 */
+	public static int getMaxThreads(int AD_Client_ID)
+	{
+		int max = MSysConfig.getIntValue(MSysConfig.PRINT_BATCH_MAX_THREADS, 0, AD_Client_ID);
+		if (max <= 0)
+			max = Runtime.getRuntime().availableProcessors();
+		return max;
+	}	//	getMaxThreads
+
+	/** Context */
+	private final Properties m_ctx;
+	/** Maximum number of concurrent documents */
+	private final int m_maxThreads;
+
+	/**
+	 * @param ctx context
+	 */
+	public BatchPDFRenderer(Properties ctx)
+	{
+		this(ctx, getMaxThreads(Env.getAD_Client_ID(ctx)));
+	}
+
+	/**
+	 * @param ctx context
+	 * @param maxThreads maximum number of documents rendered concurrently, 1 to render in calling thread
+	 */
+	public BatchPDFRenderer(Properties ctx, int maxThreads)
+	{
+		m_ctx = ctx;
+		m_maxThreads = Math.max(1, maxThreads);
+	}
+
+	/**
+	 * Render documents to PDF
+	 * @param documents
+	 * @return results, in the order of documents
+	 */
+	public List<BatchResult> render(List<BatchDocument> documents)
+	{
+		List<BatchResult> results = new ArrayList<BatchResult>(documents.size());
+		for (BatchDocument document : documents)
+			results.add(new BatchResult(document));
+		if (m_maxThreads == 1 || documents.size() <= 1)
+		{
+			for (BatchResult result : results)
+				render(result);
+			return results;
+		}
+
+		Semaphore permits = new Semaphore(m_maxThreads);
+		try
+		{
+			for (BatchResult result : results)
+			{
+				permits.acquire();
+				final Properties ctx = new Properties();
+				ctx.putAll(m_ctx);
+				try
+				{
+					Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_REPORT).submit(() -> {
+						try
+						{
+							ServerContext.setCurrentInstance(ctx);
+							render(result);
+						}
+						finally
+						{
+							ServerContext.dispose();
+							permits.release();
+						}
+					});
+				}
+				catch (RejectedExecutionException e)
+				{
+					permits.release();
+					render(result);		//	render in calling thread
+				}
+			}
+			permits.acquire(m_maxThreads);	//	wait for completion
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new AdempiereException(e);
+		}
+		return results;
+	}	//	render
+
+	/**
+	 * Render document of result
+	 * @param result
+	 */
+	private void render(BatchResult result)
+	{
+		BatchDocument document = result.getDocument();
+		try
+		{
+			ReportEngine re = new ReportEngine(Env.getCtx(), document.format, document.query, document.info);
+			result.pdf = re.getPDF(document.file);
+		}
+		catch (Exception e)
+		{
+			log.log(Level.SEVERE, document.info.getName(), e);
+			result.error = e;
+		}
+	}	//	render
+}	//	BatchPDFRenderer
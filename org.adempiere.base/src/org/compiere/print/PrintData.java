@@ -33,11 +33,14 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.compiere.Adempiere;
+import org.compiere.model.MSysConfig;
+import org.compiere.print.util.ColumnarSerializableMatrix;
 import org.compiere.print.util.SerializableMatrix;
 import org.compiere.print.util.SerializableMatrixImpl;
 import org.compiere.report.MReportLine;
 import org.compiere.util.CLogger;
 import org.compiere.util.DisplayType;
+import org.compiere.util.Env;
 import org.compiere.util.Trace;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -70,7 +73,7 @@ public class PrintData implements Serializable
 			throw new IllegalArgumentException("Name cannot be null");
 		m_ctx = ctx;
 		m_name = name;
-		m_matrix = new SerializableMatrixImpl<Serializable>(name);
+		m_matrix = createMatrix(ctx, name);
 	}	//	PrintData
 
 	/**
@@ -84,11 +87,25 @@ public class PrintData implements Serializable
 			throw new IllegalArgumentException("Name cannot be null");
 		m_ctx = ctx;
 		m_name = name;		
-		m_matrix = new SerializableMatrixImpl<Serializable>(name);
+		m_matrix = createMatrix(ctx, name);
 		if (nodes != null)
 			addRow(false, 0, nodes);
 	}	//	PrintData
 
+	/**
+	 * 	Create data matrix, columnar in memory or row based with swap file (see {@link MSysConfig#REPORT_COLUMNAR_DATA})
+	 * 	@param ctx context
+	 * 	@param name data element name
+	 * 	@return data matrix
+	 */
+	private static SerializableMatrix<Serializable> createMatrix(Properties ctx, String name)
+	{
+		int AD_Client_ID = ctx != null ? Env.getAD_Client_ID(ctx) : 0;
+		if (MSysConfig.getBooleanValue(MSysConfig.REPORT_COLUMNAR_DATA, true, AD_Client_ID))
+			return new ColumnarSerializableMatrix();
+		return new SerializableMatrixImpl<Serializable>(name);
+	}	//	createMatrix
+
 	private SerializableMatrix<Serializable> m_matrix;
 	
 	/**	Context						*/
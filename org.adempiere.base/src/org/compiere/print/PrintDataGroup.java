@@ -18,9 +18,12 @@ package org.compiere.print;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  *	Group By Management
@@ -49,9 +52,9 @@ public class PrintDataGroup
 	/** Map of group column & value		*/
 	private HashMap<Integer,Object> 	m_groupMap = new HashMap<Integer,Object>();
 	/**	List of column_function			*/
-	private HashMap<Integer,List<Character>>		m_functions = new HashMap<>();
-	/** Map of group_function column & function	*/
-	private HashMap<String,PrintDataFunction>	m_groupFunction = new HashMap<String,PrintDataFunction>();
+	private LinkedHashMap<Integer,List<Character>>		m_functions = new LinkedHashMap<>();
+	/** Map of function column & function values, index = index of group column in m_groups	*/
+	private HashMap<Integer,PrintDataFunction[]>	m_groupFunction = new HashMap<Integer,PrintDataFunction[]>();
 
 	/**
 	 * 	Add Group Column
@@ -146,22 +149,15 @@ public class PrintDataGroup
 	public char[] getFunctions(int groupId)
 	{
 		ArrayList<Character> list = new ArrayList<Character>();	//	the final function List
-		Iterator<String> it = m_groupFunction.keySet().iterator();
-		while(it.hasNext())
+		int index = m_groups.indexOf(groupId);
+		for (Map.Entry<Integer,List<Character>> entry : m_functions.entrySet())
 		{
-			String group_function = (String)it.next();	//	=TOTAL=~LoadSeq
-			if (group_function.startsWith(Integer.toString(groupId)))
+			if (getFunction(index, entry.getKey(), false) == null)
+				continue;
+			for (Character f : entry.getValue())
 			{
-				String functionColumn = group_function.substring(group_function.lastIndexOf(DELIMITER)+1);	//	LoadSeq
-				List<Character> fs = m_functions.get(Integer.parseInt(functionColumn));
-				if (fs != null && fs.size() > 0)
-				{
-					for (Character f : fs)
-					{
-						if (!list.contains(f))
-							list.add(f);
-					}
-				}
+				if (!list.contains(f))
+					list.add(f);
 			}
 		}
 		//	Return Value
@@ -204,16 +200,36 @@ public class PrintDataGroup
 			return;
 		//	Group Breaks
 		for (int i = 0; i < m_groups.size(); i++)
+			getFunction(i, functionColumnId, true).addValue(functionValue);
+	}	//	addValue
+
+	/**
+	 * 	Get function values of a group and function column
+	 * 	@param groupIndex index of group column
+	 * 	@param functionColumnId function column
+	 * 	@param create create if not exists
+	 * 	@return function values or null
+	 */
+	private PrintDataFunction getFunction (int groupIndex, int functionColumnId, boolean create)
+	{
+		if (groupIndex < 0)
+			return null;
+		PrintDataFunction[] pdfs = m_groupFunction.get(functionColumnId);
+		if (pdfs == null || pdfs.length <= groupIndex)
 		{
-			int groupId = m_groups.get(i);
-			String key = groupId + DELIMITER + functionColumnId;
-			PrintDataFunction pdf = (PrintDataFunction)m_groupFunction.get(key);
-			if (pdf == null)
-				pdf = new PrintDataFunction();
-			pdf.addValue(functionValue);
-			m_groupFunction.put(key, pdf);
+			if (!create)
+				return null;
+			pdfs = pdfs == null ? new PrintDataFunction[m_groups.size()] : Arrays.copyOf(pdfs, m_groups.size());
+			m_groupFunction.put(functionColumnId, pdfs);
 		}
-	}	//	addValue
+		PrintDataFunction pdf = pdfs[groupIndex];
+		if (pdf == null && create)
+		{
+			pdf = new PrintDataFunction();
+			pdfs[groupIndex] = pdf;
+		}
+		return pdf;
+	}	//	getFunction
 
 	/**
 	 * 	Get Value
@@ -225,8 +241,7 @@ public class PrintDataGroup
 	public Serializable getValue (int groupId, int functionColumnId,
 		char function)
 	{
-		String key = groupId + DELIMITER + functionColumnId;
-		PrintDataFunction pdf = (PrintDataFunction)m_groupFunction.get(key);
+		PrintDataFunction pdf = getFunction(m_groups.indexOf(groupId), functionColumnId, false);
 		if (pdf == null)
 			return null;
 		return pdf.getValue(function);
@@ -239,8 +254,7 @@ public class PrintDataGroup
 	 */
 	public void reset (int groupId, int functionColumnId)
 	{
-		String key = groupId + DELIMITER + functionColumnId;
-		PrintDataFunction pdf = (PrintDataFunction)m_groupFunction.get(key);
+		PrintDataFunction pdf = getFunction(m_groups.indexOf(groupId), functionColumnId, false);
 		if (pdf != null)
 			pdf.reset();
 	}	//	reset
@@ -289,12 +303,14 @@ public class PrintDataGroup
 		}
 		if (withData)
 		{
-			Iterator<String> it = m_groupFunction.keySet().iterator();
-			while(it.hasNext())
+			for (Map.Entry<Integer,PrintDataFunction[]> entry : m_groupFunction.entrySet())
 			{
-				Object key = it.next();
-				Object value = m_groupFunction.get(key);
-				sb.append(":").append(key).append("=").append(value);
+				PrintDataFunction[] pdfs = entry.getValue();
+				for (int i = 0; i < pdfs.length; i++)
+				{
+					if (pdfs[i] != null)
+						sb.append(":").append(m_groups.get(i)).append(DELIMITER).append(entry.getKey()).append("=").append(pdfs[i]);
+				}
 			}
 		}
 		sb.append("]");
@@ -386,6 +386,34 @@ public class ReportEngine implements PrintServiceAttributeListener
 		return m_layout;
 	}	//	getLayout
 
+	/**
+	 * 	Is report laid out page by page for PDF output (PDF_STREAMING_LAYOUT).<br/>
+	 *  Only used if the layout hasn't been created yet.
+	 *  @return true if PDF output should use {@link #createLayout(LayoutEngine.PageListener)}
+	 */
+	public boolean isStreamingLayout()
+	{
+		if (m_layout != null || m_printFormat == null || m_printFormat.getJasperProcess_ID() > 0)
+			return false;
+		return MSysConfig.getBooleanValue(MSysConfig.PDF_STREAMING_LAYOUT, false, Env.getAD_Client_ID(getCtx()));
+	}	//	isStreamingLayout
+
+	/**
+	 * 	Lay out report page by page.<br/>
+	 *  Completed pages are passed to pageListener and released, the layout is not kept by this report engine.
+	 *  @param pageListener listener of completed pages
+	 *  @return streaming layout engine
+	 *  @see LayoutEngine.PageListener
+	 */
+	public LayoutEngine createLayout(LayoutEngine.PageListener pageListener)
+	{
+		if (m_printFormat == null)
+			throw new IllegalStateException ("No print format");
+		if (m_printData == null)
+			throw new IllegalStateException ("No print data (Delete Print Format and restart)");
+		return new LayoutEngine (m_printFormat, m_printData, m_query, m_info, m_trxName, m_windowNo, pageListener);
+	}	//	createLayout
+
 	/**
 	 * 	Initialize Report Name
 	 */
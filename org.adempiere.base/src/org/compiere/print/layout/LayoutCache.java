@@ -0,0 +1,450 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.print.layout;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.compiere.print.MPrintColor;
+import org.compiere.print.MPrintFont;
+import org.compiere.print.MPrintFormat;
+import org.compiere.print.MPrintFormatItem;
+import org.compiere.print.MPrintTableFormat;
+import org.compiere.util.CCache;
+import org.compiere.util.CacheChangeListener;
+import org.compiere.util.Env;
+
+/**
+ * Shared caches of {@link LayoutEngine} and {@link TableElement}:
+ * <ul>
+ * <li>text measurement (advance and line height of a single line of text), keyed by font, text and render context</li>
+ * <li>derived fonts (e.g. bold header and financial report level fonts)</li>
+ * <li>layout template of a saved print format (resolved fonts and colors of format, table format and items)</li>
+ * </ul>
+ * All caches are bounded and registered with {@link org.compiere.util.CacheMgt}. Layout templates are reset with
+ * print format, print format item, print table format, print font and print color.
+ */
+public final class LayoutCache
+{
+	/** Text longer than this is measured without caching */
+	private static final int MAX_TEXT_LENGTH = 256;
+
+	/** Text size: [0]=advance, [1]=ascent + descent + leading */
+	private static final CCache<TextKey, float[]> s_textSizes = new CCache<TextKey, float[]>("LayoutCache_TextSize", 1000, 0, false, 20000);
+	/** Derived fonts */
+	private static final CCache<DerivedFontKey, Font> s_derivedFonts = new CCache<DerivedFontKey, Font>("LayoutCache_DerivedFont", 20, 0, false, 200);
+	/** Layout templates */
+	private static final TemplateCache s_templates = new TemplateCache("LayoutCache_FormatTemplate", 20, 100);
+
+	private LayoutCache()
+	{
+	}
+
+	/**
+	 * Get size of a single line of text.<br/>
+	 * Same as advance and ascent + descent + leading of new TextLayout(text, font, frc).
+	 * @param text non empty text
+	 * @param font
+	 * @param frc
+	 * @return [0]=advance, [1]=height
+	 */
+	public static float[] getTextSize(String text, Font font, FontRenderContext frc)
+	{
+		if (text.length() > MAX_TEXT_LENGTH)
+			return measure(text, font, frc);
+		TextKey key = new TextKey(text, font, frc);
+		float[] size = s_textSizes.get(key);
+		if (size == null)
+		{
+			size = measure(text, font, frc);
+			s_textSizes.put(key, size);
+		}
+		return size;
+	}	//	getTextSize
+
+	/**
+	 * @param text
+	 * @param font
+	 * @param frc
+	 * @return [0]=advance, [1]=height
+	 */
+	private static float[] measure(String text, Font font, FontRenderContext frc)
+	{
+		TextLayout layout = new TextLayout(text, font, frc);
+		return new float[] {layout.getAdvance(), layout.getAscent() + layout.getDescent() + layout.getLeading()};
+	}	//	measure
+
+	/**
+	 * Get font with same name as base font and different style and size
+	 * @param base
+	 * @param style
+	 * @param size
+	 * @return derived font
+	 */
+	public static Font deriveFont(Font base, int style, int size)
+	{
+		DerivedFontKey key = new DerivedFontKey(base.getName(), style, size);
+		Font font = s_derivedFonts.get(key);
+		if (font == null)
+		{
+			font = new Font(base.getName(), style, size);
+			s_derivedFonts.put(key, font);
+		}
+		return font;
+	}	//	deriveFont
+
+	/**
+	 * Get layout template of print format.<br/>
+	 * Template is cached for saved print format and rebuilt if the format, its table format or the fonts and colors of its items change.
+	 * @param format
+	 * @return template
+	 */
+	public static FormatTemplate getTemplate(MPrintFormat format)
+	{
+		MPrintTableFormat tf = format.getTableFormat();
+		if (format.get_ID() <= 0 || format.is_Changed() || tf.is_Changed())
+			return new FormatTemplate(format, tf);
+		TemplateKey key = new TemplateKey(format, tf);
+		FormatTemplate template = s_templates.get(key);
+		if (template == null)
+		{
+			template = new FormatTemplate(format, tf);
+			s_templates.put(key, template);
+		}
+		return template;
+	}	//	getTemplate
+
+	/**
+	 * Resolved fonts and colors of a print format.<br/>
+	 * Immutable, shared between layouts of the same print format.
+	 */
+	public static final class FormatTemplate
+	{
+		private final Font standardFont;
+		private final Color standardColor;
+		private final Font headerFont;
+		private final Color headerFGColor;
+		private final Color headerBGColor;
+		private final Font functFont;
+		private final Color functFGColor;
+		private final Color functBGColor;
+		/** Financial report level fonts, index = level no */
+		private final Font[] levelFonts;
+		/** Item fonts different from format font */
+		private final Map<Integer, Font> itemFonts = new HashMap<Integer, Font>();
+		/** Item colors different from format color */
+		private final Map<Integer, Color> itemColors = new HashMap<Integer, Color>();
+
+		private FormatTemplate(MPrintFormat format, MPrintTableFormat tf)
+		{
+			standardFont = MPrintFont.get(format.getAD_PrintFont_ID()).getFont();
+			standardColor = MPrintColor.get(Env.getCtx(), format.getAD_PrintColor_ID()).getColor();
+			tf.setStandard_Font(standardFont);
+			headerFont = tf.getHeader_Font();
+			headerFGColor = tf.getHeaderFG_Color();
+			headerBGColor = tf.getHeaderBG_Color();
+			functFont = tf.getFunct_Font();
+			functFGColor = tf.getFunctFG_Color();
+			functBGColor = tf.getFunctBG_Color();
+			levelFonts = new Font[] {standardFont,
+				deriveFont(standardFont, Font.ITALIC, standardFont.getSize() - 1),
+				deriveFont(standardFont, Font.PLAIN, standardFont.getSize() - 2)};
+			for (int i = 0; i < format.getItemCount(); i++)
+			{
+				MPrintFormatItem item = format.getItem(i);
+				if (item.getAD_PrintFont_ID() != 0 && item.getAD_PrintFont_ID() != format.getAD_PrintFont_ID())
+					itemFonts.put(item.getAD_PrintFormatItem_ID(), MPrintFont.get(item.getAD_PrintFont_ID()).getFont());
+				if (item.getAD_PrintColor_ID() != 0 && item.getAD_PrintColor_ID() != format.getAD_PrintColor_ID())
+					itemColors.put(item.getAD_PrintFormatItem_ID(), MPrintColor.get(Env.getCtx(), item.getAD_PrintColor_ID()).getColor());
+			}
+		}
+
+		/**
+		 * @return font of print format
+		 */
+		public Font getStandardFont()
+		{
+			return standardFont;
+		}
+
+		/**
+		 * @return color of print format
+		 */
+		public Color getStandardColor()
+		{
+			return standardColor;
+		}
+
+		/**
+		 * @return table header font
+		 */
+		public Font getHeaderFont()
+		{
+			return headerFont;
+		}
+
+		/**
+		 * @return table header foreground color
+		 */
+		public Color getHeaderFGColor()
+		{
+			return headerFGColor;
+		}
+
+		/**
+		 * @return table header background color
+		 */
+		public Color getHeaderBGColor()
+		{
+			return headerBGColor;
+		}
+
+		/**
+		 * @return function row font
+		 */
+		public Font getFunctFont()
+		{
+			return functFont;
+		}
+
+		/**
+		 * @return function row foreground color
+		 */
+		public Color getFunctFGColor()
+		{
+			return functFGColor;
+		}
+
+		/**
+		 * @return function row background color
+		 */
+		public Color getFunctBGColor()
+		{
+			return functBGColor;
+		}
+
+		/**
+		 * @param levelNo financial report line level
+		 * @return font of level or null if level has no specific font
+		 */
+		public Font getLevelFont(int levelNo)
+		{
+			if (levelNo <= 0 || levelNo >= levelFonts.length)
+				return null;
+			return levelFonts[levelNo];
+		}
+
+		/**
+		 * @param item
+		 * @return font of item or null if item uses print format font
+		 */
+		public Font getItemFont(MPrintFormatItem item)
+		{
+			return itemFonts.get(item.getAD_PrintFormatItem_ID());
+		}
+
+		/**
+		 * @param item
+		 * @return color of item or null if item uses print format color
+		 */
+		public Color getItemColor(MPrintFormatItem item)
+		{
+			return itemColors.get(item.getAD_PrintFormatItem_ID());
+		}
+	}	//	FormatTemplate
+
+	/**
+	 * Cache of layout templates, reset with the tables of the template
+	 */
+	private static final class TemplateCache extends CCache<TemplateKey, FormatTemplate> implements CacheChangeListener
+	{
+		private static final long serialVersionUID = -2766370307926546712L;
+
+		/** Tables of print format, table format, fonts and colors */
+		private static final String[] TABLE_NAMES = {MPrintFormat.Table_Name, MPrintFormatItem.Table_Name,
+			MPrintTableFormat.Table_Name, MPrintFont.Table_Name, MPrintColor.Table_Name};
+
+		private TemplateCache(String name, int initialCapacity, int maxSize)
+		{
+			super(null, name, initialCapacity, 0, false, maxSize);
+		}
+
+		/**
+		 * @param tableName
+		 * @return true if template depends on table
+		 */
+		private boolean isTemplateTable(String tableName)
+		{
+			for (String name : TABLE_NAMES)
+			{
+				if (name.equalsIgnoreCase(tableName))
+					return true;
+			}
+			return false;
+		}
+
+		@Override
+		public void reset(String tableName)
+		{
+			if (isTemplateTable(tableName))
+				reset();
+		}
+
+		@Override
+		public void reset(String tableName, int recordId)
+		{
+			reset(tableName);
+		}
+
+		@Override
+		public void reset(String tableName, String key)
+		{
+			reset(tableName);
+		}
+	}	//	TemplateCache
+
+	/**
+	 * Text measurement key
+	 */
+	private static final class TextKey
+	{
+		private final String text;
+		private final Font font;
+		private final FontRenderContext frc;
+		private final int hash;
+
+		private TextKey(String text, Font font, FontRenderContext frc)
+		{
+			this.text = text;
+			this.font = font;
+			this.frc = frc;
+			this.hash = Objects.hash(text, font, frc);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (this == obj)
+				return true;
+			if (!(obj instanceof TextKey))
+				return false;
+			TextKey other = (TextKey) obj;
+			return hash == other.hash && text.equals(other.text) && font.equals(other.font) && frc.equals(other.frc);
+		}
+	}	//	TextKey
+
+	/**
+	 * Derived font key
+	 */
+	private static final class DerivedFontKey
+	{
+		private final String name;
+		private final int style;
+		private final int size;
+
+		private DerivedFontKey(String name, int style, int size)
+		{
+			this.name = name;
+			this.style = style;
+			this.size = size;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(name, style, size);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof DerivedFontKey))
+				return false;
+			DerivedFontKey other = (DerivedFontKey) obj;
+			return style == other.style && size == other.size && name.equals(other.name);
+		}
+	}	//	DerivedFontKey
+
+	/**
+	 * Layout template key, identifies the saved state of print format, table format and item fonts and colors
+	 */
+	private static final class TemplateKey
+	{
+		private final int AD_PrintFormat_ID;
+		private final Timestamp formatUpdated;
+		private final int AD_PrintTableFormat_ID;
+		private final Timestamp tableFormatUpdated;
+		private final int AD_PrintFont_ID;
+		private final int AD_PrintColor_ID;
+		/** AD_PrintFormatItem_ID, AD_PrintFont_ID and AD_PrintColor_ID of items */
+		private final int[] items;
+
+		private TemplateKey(MPrintFormat format, MPrintTableFormat tf)
+		{
+			AD_PrintFormat_ID = format.get_ID();
+			formatUpdated = format.getUpdated();
+			AD_PrintTableFormat_ID = tf.get_ID();
+			tableFormatUpdated = tf.getUpdated();
+			AD_PrintFont_ID = format.getAD_PrintFont_ID();
+			AD_PrintColor_ID = format.getAD_PrintColor_ID();
+			items = new int[format.getItemCount() * 3];
+			for (int i = 0; i < format.getItemCount(); i++)
+			{
+				MPrintFormatItem item = format.getItem(i);
+				items[i * 3] = item.getAD_PrintFormatItem_ID();
+				items[i * 3 + 1] = item.getAD_PrintFont_ID();
+				items[i * 3 + 2] = item.getAD_PrintColor_ID();
+			}
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(AD_PrintFormat_ID, formatUpdated, AD_PrintTableFormat_ID, tableFormatUpdated, AD_PrintFont_ID, AD_PrintColor_ID, Arrays.hashCode(items));
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof TemplateKey))
+				return false;
+			TemplateKey other = (TemplateKey) obj;
+			return AD_PrintFormat_ID == other.AD_PrintFormat_ID && AD_PrintTableFormat_ID == other.AD_PrintTableFormat_ID
+				&& AD_PrintFont_ID == other.AD_PrintFont_ID && AD_PrintColor_ID == other.AD_PrintColor_ID
+				&& Arrays.equals(items, other.items)
+				&& Objects.equals(formatUpdated, other.formatUpdated) && Objects.equals(tableFormatUpdated, other.tableFormatUpdated);
+		}
+	}	//	TemplateKey
+}	//	LayoutCache
@@ -156,6 +156,25 @@ public class LayoutEngine implements Pageable, Printable, Doc
 	 */
 	public LayoutEngine (MPrintFormat format, PrintData data, MQuery query, PrintInfo info ,  String trxName, int windowNo)
 	{
+		this(format, data, query, info, trxName, windowNo, null);
+	}	//	LayoutEngine
+
+	/**
+	 *	Streaming Constructor.<br/>
+	 *  Completed pages are passed to pageListener during layout and their content is released after
+	 *  {@link PageListener#pageCompleted(LayoutEngine, Page)} returns (except pages that reference the page count),
+	 *  so the layout engine can't be used to print or view the report again.
+	 *  @param format Print Format
+	 *  @param data Print Data
+	 *  @param query query for parameter info
+	 *  @param info
+	 *  @param trxName
+	 *  @param windowNo
+	 *  @param pageListener optional listener of completed pages
+	 */
+	public LayoutEngine (MPrintFormat format, PrintData data, MQuery query, PrintInfo info ,  String trxName, int windowNo, PageListener pageListener)
+	{
+		m_pageListener = pageListener;
 		m_windowNo = windowNo;
 		m_TrxName = trxName;
 		if (log.isLoggable(Level.INFO)) log.info(format + " - " + data + " - " + query);
@@ -166,6 +185,27 @@ public class LayoutEngine implements Pageable, Printable, Doc
 		layout();
 	}	//	LayoutEngine
 
+	/**
+	 * Listener of completed pages for streaming layout
+	 */
+	public static interface PageListener
+	{
+		/**
+		 * Page layout is completed.<br/>
+		 * Content of page is released after return, unless {@link Page#isPageCountReferenced()}.
+		 * Page count of pages is only set before {@link #layoutCompleted(LayoutEngine)}.
+		 * @param layout layout engine
+		 * @param page completed page
+		 */
+		public void pageCompleted(LayoutEngine layout, Page page);
+
+		/**
+		 * Layout of all pages is completed, page count is known
+		 * @param layout layout engine
+		 */
+		public void layoutCompleted(LayoutEngine layout);
+	}
+
 	/**	Logger						*/
 	private static CLogger		log = CLogger.getCLogger (LayoutEngine.class);
 	/** Existing Layout				*/
@@ -207,6 +247,10 @@ public class LayoutEngine implements Pageable, Printable, Doc
 	private ArrayList<Page>		m_pages = new ArrayList<Page>();
 	/**	Header&Footer for all pages	*/
 	private HeaderFooter		m_headerFooter;
+	/** Listener of completed pages (streaming layout) */
+	private PageListener		m_pageListener = null;
+	/** Page background image */
+	private Image				m_backgroundImage = null;
 
 	/**	Header Coordinates			*/
 	private Rectangle			m_header = new Rectangle ();
@@ -497,8 +541,16 @@ public class LayoutEngine implements Pageable, Printable, Doc
 			}
 		}
 		//
+		Timestamp now = new Timestamp(System.currentTimeMillis());
+		Env.setContext(m_printCtx, Page.CONTEXT_DATE,
+			DisplayType.getDateFormat(DisplayType.Date, m_format.getLanguage()).format(now));
+		Env.setContext(m_printCtx, Page.CONTEXT_TIME,
+			DisplayType.getDateFormat(DisplayType.DateTime, m_format.getLanguage()).format(now));
+		m_backgroundImage = getBackgroundImage();
+		//
 		m_pageNo = 0;
 		m_pages.clear();
+		m_currPage = null;
 		m_tableElement = null;
 		newPage(true, false);	//	initialize
 		//
@@ -538,14 +590,32 @@ public class LayoutEngine implements Pageable, Printable, Doc
 		//
 		String pageInfo = String.valueOf(m_pages.size()) + getPageInfo(m_pages.size());
 		Env.setContext(m_printCtx, Page.CONTEXT_PAGECOUNT, pageInfo);
-		Timestamp now = new Timestamp(System.currentTimeMillis());
-		Env.setContext(m_printCtx, Page.CONTEXT_DATE,
-			DisplayType.getDateFormat(DisplayType.Date, m_format.getLanguage()).format(now));
-		Env.setContext(m_printCtx, Page.CONTEXT_TIME,
-			DisplayType.getDateFormat(DisplayType.DateTime, m_format.getLanguage()).format(now));
 		
-		//
-		// Page Background Image
+		//	Update Page Info
+		int pages = m_pages.size();
+		for (int i = 0; i < pages; i++)
+		{
+			Page page = m_pages.get(i);
+			int pageNo = page.getPageNo();
+			pageInfo = String.valueOf(pageNo) + getPageInfo(pageNo);
+			page.setPageInfo(pageInfo);
+			page.setPageCount(pages);
+		}
+		if (m_pageListener != null)
+		{
+			firePageCompleted(m_currPage);
+			m_pageListener.layoutCompleted(this);
+		}
+
+		m_hasLayout = true;
+	}	//	layout
+
+	/**
+	 * 	Get page background image (water mark image if document has been printed)
+	 * 	@return image or null
+	 */
+	private Image getBackgroundImage()
+	{
 		Image image = null;
 		MPrintTableFormat tf = m_format.getTableFormat();
 		MTable table = MTable.get(getCtx(), getPrintInfo().getAD_Table_ID());
@@ -563,21 +633,21 @@ public class LayoutEngine implements Pageable, Printable, Doc
 		{
 			image = tf.getImage();
 		}
-		
-		//	Update Page Info
-		int pages = m_pages.size();
-		for (int i = 0; i < pages; i++)
-		{
-			Page page = m_pages.get(i);
-			int pageNo = page.getPageNo();
-			pageInfo = String.valueOf(pageNo) + getPageInfo(pageNo);
-			page.setPageInfo(pageInfo);
-			page.setPageCount(pages);
-			page.setBackgroundImage(image);
-		}
+		return image;
+	}	//	getBackgroundImage
 
-		m_hasLayout = true;
-	}	//	layout
+	/**
+	 * 	Pass completed page to page listener and release its content
+	 * 	@param page
+	 */
+	private void firePageCompleted(Page page)
+	{
+		int pageNo = page.getPageNo();
+		page.setPageInfo(String.valueOf(pageNo) + getPageInfo(pageNo));
+		m_pageListener.pageCompleted(this, page);
+		if (!page.isPageCountReferenced())
+			page.releaseElements();
+	}	//	firePageCompleted
 	
 	/**
 	 * 	Get PrintLayout (Report) Context
@@ -652,8 +722,11 @@ public class LayoutEngine implements Pageable, Printable, Doc
 			return m_pageNo;
 		}
 		
+		if (m_pageListener != null && m_currPage != null)
+			firePageCompleted(m_currPage);
 		m_pageNo++;
 		m_currPage = new Page (m_printCtx, m_pageNo);
+		m_currPage.setBackgroundImage(m_backgroundImage);
 		m_pages.add(m_currPage);
 		//
 		m_position[AREA_HEADER].setLocation(m_header.x, m_header.y);
@@ -1583,20 +1656,20 @@ public class LayoutEngine implements Pageable, Printable, Doc
 	{
 		if (log.isLoggable(Level.INFO)) log.info(format.getName() + " - " + printData.getName());
 		MPrintTableFormat tf = format.getTableFormat();
+		//	Resolved fonts and colors, shared with other layouts of the same format
+		LayoutCache.FormatTemplate template = LayoutCache.getTemplate(format);
+		tf.setStandard_Font(template.getStandardFont());
 		//	Initial Values
 		HashMap<Point,Font> rowColFont = new HashMap<Point,Font>();
-		MPrintFont printFont = MPrintFont.get (format.getAD_PrintFont_ID());
-		rowColFont.put(new Point(TableElement.ALL,TableElement.ALL), printFont.getFont());
-		tf.setStandard_Font(printFont.getFont());
-		rowColFont.put(new Point(TableElement.HEADER_ROW,TableElement.ALL), tf.getHeader_Font());
+		rowColFont.put(new Point(TableElement.ALL,TableElement.ALL), template.getStandardFont());
+		rowColFont.put(new Point(TableElement.HEADER_ROW,TableElement.ALL), template.getHeaderFont());
 		//
 		HashMap<Point,Color> rowColColor = new HashMap<Point,Color>();
-		MPrintColor printColor = MPrintColor.get (getCtx(), format.getAD_PrintColor_ID());
-		rowColColor.put(new Point(TableElement.ALL,TableElement.ALL), printColor.getColor());
-		rowColColor.put(new Point(TableElement.HEADER_ROW,TableElement.ALL), tf.getHeaderFG_Color());
+		rowColColor.put(new Point(TableElement.ALL,TableElement.ALL), template.getStandardColor());
+		rowColColor.put(new Point(TableElement.HEADER_ROW,TableElement.ALL), template.getHeaderFGColor());
 		//
 		HashMap<Point,Color> rowColBackground = new HashMap<Point,Color>();
-		rowColBackground.put(new Point(TableElement.HEADER_ROW,TableElement.ALL), tf.getHeaderBG_Color());
+		rowColBackground.put(new Point(TableElement.HEADER_ROW,TableElement.ALL), template.getHeaderBGColor());
 		//
 		HashMap <Point, MReportLine> rowColReportLine = new HashMap <Point, MReportLine>();
 		//
@@ -1688,16 +1761,12 @@ public class LayoutEngine implements Pageable, Printable, Doc
 				if (columnJustification[col] == null || columnJustification[col].equals(MPrintFormatItem.FIELDALIGNMENTTYPE_Default))
 					columnJustification[col] = MPrintFormatItem.FIELDALIGNMENTTYPE_LeadingLeft;	//	when generated sets correct alignment
 				//	Column Fonts
-				if (item.getAD_PrintFont_ID() != 0 && item.getAD_PrintFont_ID() != format.getAD_PrintFont_ID())
-				{
-					MPrintFont font = MPrintFont.get(item.getAD_PrintFont_ID());
-					rowColFont.put(new Point(TableElement.ALL, col), font.getFont());
-				}
-				if (item.getAD_PrintColor_ID() != 0 && item.getAD_PrintColor_ID() != format.getAD_PrintColor_ID())
-				{
-					MPrintColor color = MPrintColor.get (getCtx(), item.getAD_PrintColor_ID());
-					rowColColor.put(new Point(TableElement.ALL, col), color.getColor());
-				}
+				Font itemFont = template.getItemFont(item);
+				if (itemFont != null)
+					rowColFont.put(new Point(TableElement.ALL, col), itemFont);
+				Color itemColor = template.getItemColor(item);
+				if (itemColor != null)
+					rowColColor.put(new Point(TableElement.ALL, col), itemColor);
 				//
 				if (PrintDataEvaluatee.hasPageLogic(item.getDisplayLogic()))
 				{
@@ -1732,9 +1801,9 @@ public class LayoutEngine implements Pageable, Printable, Doc
 			if (printData.isFunctionRow())
 			{
 				functionRows.add(Integer.valueOf(row));
-				rowColFont.put(new Point(row, TableElement.ALL), tf.getFunct_Font());
-				rowColColor.put(new Point(row, TableElement.ALL), tf.getFunctFG_Color());
-				rowColBackground.put(new Point(row, TableElement.ALL), tf.getFunctBG_Color());
+				rowColFont.put(new Point(row, TableElement.ALL), template.getFunctFont());
+				rowColColor.put(new Point(row, TableElement.ALL), template.getFunctFGColor());
+				rowColBackground.put(new Point(row, TableElement.ALL), template.getFunctBGColor());
 				if (printData.isPageBreak())
 				{
 					pageBreak.add(Integer.valueOf(row));
@@ -1752,16 +1821,9 @@ public class LayoutEngine implements Pageable, Printable, Doc
 				if (levelNo < lastLevelNo)
 					finReportSumRows.add(row);
 
-				if (levelNo != 0)
-				{
-					Font base = printFont.getFont();
-					if (levelNo == 1)
-						rowColFont.put(new Point(row, TableElement.ALL),
-								new Font(base.getName(), Font.ITALIC, base.getSize() - levelNo));
-					else if (levelNo == 2)
-						rowColFont.put(new Point(row, TableElement.ALL),
-								new Font(base.getName(), Font.PLAIN, base.getSize() - levelNo));
-				}
+				Font levelFont = template.getLevelFont(levelNo);
+				if (levelFont != null)
+					rowColFont.put(new Point(row, TableElement.ALL), levelFont);
 
 				lastLevelNo = levelNo;
 			}
@@ -1986,17 +2048,39 @@ public class LayoutEngine implements Pageable, Printable, Doc
 		if (!havePage(pageIndex))
 			return Printable.NO_SUCH_PAGE;
 		//
-		Rectangle r = new Rectangle (0, 0, (int)getPaper().getWidth(true), (int)getPaper().getHeight(true));
 		Page page = getPage(pageIndex+1);
 		//
-		page.paint((Graphics2D)graphics, r, false, m_isCopy);	//	sets context
-		getHeaderFooter().setCurrentPage(page);
-		getHeaderFooter().paint((Graphics2D)graphics, r, false);
-		getHeaderFooter().setCurrentPage(null);
+		printContent((Graphics2D)graphics, page);	//	sets context
+		printHeaderFooter((Graphics2D)graphics, page);
 		//
 		return Printable.PAGE_EXISTS;
 	}	//	print
 
+	/**
+	 * 	Print content of page (without header and footer)
+	 * 	@param g2D graphics
+	 * 	@param page page
+	 */
+	public void printContent (Graphics2D g2D, Page page)
+	{
+		Rectangle r = new Rectangle (0, 0, (int)getPaper().getWidth(true), (int)getPaper().getHeight(true));
+		page.paint(g2D, r, false, m_isCopy);	//	sets context
+	}	//	printContent
+
+	/**
+	 * 	Print header and footer of page
+	 * 	@param g2D graphics
+	 * 	@param page page
+	 */
+	public void printHeaderFooter (Graphics2D g2D, Page page)
+	{
+		Rectangle r = new Rectangle (0, 0, (int)getPaper().getWidth(true), (int)getPaper().getHeight(true));
+		page.updateContext(m_isCopy);
+		getHeaderFooter().setCurrentPage(page);
+		getHeaderFooter().paint(g2D, r, false);
+		getHeaderFooter().setCurrentPage(null);
+	}	//	printHeaderFooter
+
 	/**
 	 * 	Do we have the page
 	 * 	@param pageIndex page index
@@ -148,26 +148,7 @@ public class Page
 	 */
 	public void paint (Graphics2D g2D, Rectangle bounds, boolean isView, boolean isCopy)
 	{
-		m_ctx.put (CONTEXT_PAGE, m_pageInfo);
-		//
-		StringBuilder sb = new StringBuilder();
-		if (m_pageCount != 1)		//	set to "Page 1 of 2"
-			sb.append(Msg.getMsg(m_ctx, "Page")).append(" ")
-				.append(m_pageNo)
-				.append(" ").append(Msg.getMsg(m_ctx, "of")).append(" ")
-				.append(m_pageCount);
-		else
-			sb.append(" ");
-		m_ctx.put(CONTEXT_MULTIPAGE, sb.toString());
-		//
-		sb = new StringBuilder();
-		if (isCopy)					//	set to "(Copy)"
-			sb.append("(")
-				.append(Msg.getMsg(m_ctx, "DocumentCopy"))
-				.append(")");
-		else
-			sb.append(" ");
-		m_ctx.put(CONTEXT_COPY, sb.toString());
+		updateContext(isCopy);
 
 		//	Paint Background
 		g2D.setColor(Color.white);
@@ -199,6 +180,67 @@ public class Page
 		}
 	}	//	paint
 
+	/**
+	 * 	Set page, multi page and copy info of page in context
+	 *  @param isCopy this print is a copy
+	 */
+	protected void updateContext (boolean isCopy)
+	{
+		m_ctx.put (CONTEXT_PAGE, m_pageInfo);
+		//
+		StringBuilder sb = new StringBuilder();
+		if (m_pageCount != 1)		//	set to "Page 1 of 2"
+			sb.append(Msg.getMsg(m_ctx, "Page")).append(" ")
+				.append(m_pageNo)
+				.append(" ").append(Msg.getMsg(m_ctx, "of")).append(" ")
+				.append(m_pageCount);
+		else
+			sb.append(" ");
+		m_ctx.put(CONTEXT_MULTIPAGE, sb.toString());
+		//
+		sb = new StringBuilder();
+		if (isCopy)					//	set to "(Copy)"
+			sb.append("(")
+				.append(Msg.getMsg(m_ctx, "DocumentCopy"))
+				.append(")");
+		else
+			sb.append(" ");
+		m_ctx.put(CONTEXT_COPY, sb.toString());
+	}	//	updateContext
+
+	/**
+	 * 	Is page count referenced by content of page (page count is only known after layout of all pages)
+	 * 	@return true if an element or page logic of page use page count or multi page info
+	 */
+	public boolean isPageCountReferenced()
+	{
+		for (PrintElement e : m_elements)
+		{
+			if (e instanceof StringElement && isPageCountReferenced(((StringElement)e).getOriginalString()))
+				return true;
+			if (isPageCountReferenced(e.getPageLogic()))
+				return true;
+		}
+		return false;
+	}	//	isPageCountReferenced
+
+	/**
+	 * 	@param text
+	 * 	@return true if text reference page count or multi page info
+	 */
+	private boolean isPageCountReferenced(String text)
+	{
+		return text != null && (text.contains(CONTEXT_PAGECOUNT) || text.contains(CONTEXT_MULTIPAGE));
+	}	//	isPageCountReferenced
+
+	/**
+	 * 	Release content of page after it has been rendered (streaming layout)
+	 */
+	protected void releaseElements()
+	{
+		m_elements = new ArrayList<PrintElement>(0);
+	}	//	releaseElements
+
 	/**
 	 * 	Get DrillDown Query
 	 * 	@param relativePoint point to find print element
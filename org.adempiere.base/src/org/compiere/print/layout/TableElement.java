@@ -363,8 +363,7 @@ public class TableElement extends PrintElement
                         if (getReportLine(row, dataCol) != null && getReportLine(row, dataCol).isLineTypeBlankLine())
                         {
                             dimensions.set(dataCol, new Dimension2DImpl());
-                            TextLayout layout = new TextLayout(" ", font, frc);
-                            float height = layout.getAscent() + layout.getDescent() + layout.getLeading();
+                            float height = LayoutCache.getTextSize(" ", font, frc)[1];
                             dimensions.get(dataCol).height = height;
                             dimensions.get(dataCol).roundUp();
                         }
@@ -419,11 +418,9 @@ public class TableElement extends PrintElement
                 //	No Width Limitations
                 if (m_columnMaxWidth[col] == 0 || m_columnMaxWidth[col] == -1)
                 {
-                    TextLayout layout = new TextLayout (string, font, frc);
-                    float width = layout.getAdvance() + 2;	//	buffer
-                    float height = layout.getAscent()
-                        + layout.getDescent()
-                        + layout.getLeading();
+                    float[] size = LayoutCache.getTextSize(string, font, frc);
+                    float width = size[0] + 2;	//	buffer
+                    float height = size[1];
                     if (width > dynMxColumnWidth)
                         m_columnMaxWidth[col] = (int)Math.ceil(dynMxColumnWidth);
                     else if (colWidth < width)
@@ -510,13 +507,13 @@ public class TableElement extends PrintElement
             {
                 Font font = getFont(HEADER_ROW, dataCol);
                 if (!font.isBold())
-                    font = new Font(font.getName(), Font.BOLD, font.getSize());
+                    font = LayoutCache.deriveFont(font, Font.BOLD, font.getSize());
                 //	No Width Limitations
                 if (m_columnMaxWidth[dataCol] == 0 || m_columnMaxWidth[dataCol] == -1 || !m_multiLineHeader)
                 {
-                    TextLayout layout = new TextLayout (string, font, frc);
-                    float width = layout.getAdvance() + 3;	//	buffer
-                    float height = layout.getAscent() + layout.getDescent() + layout.getLeading();
+                    float[] size = LayoutCache.getTextSize(string, font, frc);
+                    float width = size[0] + 3;	//	buffer
+                    float height = size[1];
                     if (width > dynMxColumnWidth)
                         m_columnMaxWidth[dataCol] = (int)Math.ceil(dynMxColumnWidth);
                     else if (colWidth < width)
@@ -0,0 +1,438 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.print.util;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+import org.compiere.print.PrintDataElement;
+import org.compiere.util.KeyNamePair;
+
+/**
+ * In-memory columnar implementation of {@link SerializableMatrix} for report data.<br/>
+ * Each column position is stored as primitive vectors: a code of the element metadata (item, column name, display type,
+ * format, value type) and the value bits (integer, boolean, date, scaled decimal, dictionary code of string or
+ * {@link KeyNamePair}). Values that cannot be encoded and nodes that are not {@link PrintDataElement} are kept as objects.<br/>
+ * {@link PrintDataElement} of a row are only created when the row is made current and written back when the current row
+ * changes if they have been modified.
+ */
+public class ColumnarSerializableMatrix implements SerializableMatrix<Serializable> {
+
+	/** value kinds */
+	private static final byte KIND_NULL = 0;
+	private static final byte KIND_STRING = 1;
+	private static final byte KIND_INTEGER = 2;
+	private static final byte KIND_BOOLEAN = 3;
+	private static final byte KIND_TIMESTAMP = 4;
+	private static final byte KIND_DECIMAL = 5;
+	private static final byte KIND_KEYNAMEPAIR = 6;
+	private static final byte KIND_OBJECT = 7;
+	/** node is not a PrintDataElement */
+	private static final byte KIND_NODE = 8;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** Element metadata dictionary */
+	private final List<Meta> metas = new ArrayList<Meta>();
+	private final HashMap<Meta, Integer> metaCodes = new HashMap<Meta, Integer>();
+	/** String dictionary */
+	private final List<String> strings = new ArrayList<String>();
+	private final HashMap<String, Integer> stringCodes = new HashMap<String, Integer>();
+
+	/** Column vectors, index = node position in row */
+	private final List<Column> columns = new ArrayList<Column>();
+	/** Number of nodes of each row */
+	private int[] rowLengths = new int[INITIAL_CAPACITY];
+	private int capacity = INITIAL_CAPACITY;
+	private int size = 0;
+
+	/** Current row */
+	private int currentRow = -1;
+	/** Nodes of current row */
+	private List<Serializable> currentData = null;
+	/** Current row has not been encoded yet */
+	private boolean currentNew = false;
+	/** Nodes and values of current row as decoded, to detect modification */
+	private Serializable[] decodedNodes = null;
+	private Object[] decodedValues = null;
+
+	/**
+	 * Default constructor
+	 */
+	public ColumnarSerializableMatrix() {
+	}
+
+	@Override
+	public void addRow(List<Serializable> data) {
+		writeBack();
+		if (size == capacity)
+			grow();
+		size++;
+		currentRow = size - 1;
+		currentData = data;
+		currentNew = true;
+		decodedNodes = null;
+		decodedValues = null;
+	}
+
+	@Override
+	public boolean setRowIndex(int row) {
+		if (row < 0 || row >= size)
+			return false;
+		if (row == currentRow)
+			return true;
+		writeBack();
+		decode(row);
+		return true;
+	}
+
+	@Override
+	public boolean setRowNext() {
+		return setRowIndex(currentRow + 1);
+	}
+
+	@Override
+	public int getRowCount() {
+		return size;
+	}
+
+	@Override
+	public int getRowIndex() {
+		return currentRow;
+	}
+
+	@Override
+	public List<Serializable> getRowData() {
+		return currentData;
+	}
+
+	@Override
+	public void setRowData(List<Serializable> data) {
+		if (currentRow < 0)
+			return;
+		currentData = data;
+		currentNew = true;
+	}
+
+	/**
+	 * Encode current row if it is new or has been modified
+	 */
+	private void writeBack() {
+		if (currentRow < 0 || currentData == null)
+			return;
+		if (!currentNew && !isModified())
+			return;
+		encode(currentRow, currentData);
+		currentNew = false;
+	}
+
+	/**
+	 * @return true if nodes of current row are different from the decoded nodes
+	 */
+	private boolean isModified() {
+		if (decodedNodes == null || currentData.size() != decodedNodes.length)
+			return true;
+		for (int i = 0; i < decodedNodes.length; i++) {
+			Serializable node = currentData.get(i);
+			if (node != decodedNodes[i])
+				return true;
+			if (node instanceof PrintDataElement) {
+				PrintDataElement pde = (PrintDataElement) node;
+				if (pde.getValue() != decodedValues[i])
+					return true;
+				Meta meta = metas.get(columns.get(i).meta[currentRow]);
+				if (!meta.matches(pde))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Encode nodes of row into column vectors
+	 * @param row
+	 * @param data
+	 */
+	private void encode(int row, List<Serializable> data) {
+		int length = data.size();
+		while (columns.size() < length)
+			columns.add(new Column(capacity));
+		for (int i = 0; i < length; i++)
+			encodeNode(columns.get(i), row, data.get(i));
+		for (int i = length; i < rowLengths[row] && i < columns.size(); i++) {
+			Column column = columns.get(i);
+			if (column.refs != null)
+				column.refs[row] = null;
+		}
+		rowLengths[row] = length;
+	}
+
+	/**
+	 * Encode node into column
+	 * @param column
+	 * @param row
+	 * @param node
+	 */
+	private void encodeNode(Column column, int row, Serializable node) {
+		if (column.refs != null)
+			column.refs[row] = null;
+		if (!(node instanceof PrintDataElement)) {
+			column.meta[row] = getMetaCode(new Meta(null, KIND_NODE, 0));
+			column.setRef(row, node, capacity);
+			return;
+		}
+		PrintDataElement pde = (PrintDataElement) node;
+		Object value = pde.getValue();
+		byte kind;
+		int scale = 0;
+		long bits = 0;
+		if (value == null) {
+			kind = KIND_NULL;
+		} else if (value.getClass() == String.class) {
+			kind = KIND_STRING;
+			bits = getStringCode((String) value);
+		} else if (value.getClass() == Integer.class) {
+			kind = KIND_INTEGER;
+			bits = ((Integer) value).intValue();
+		} else if (value.getClass() == Boolean.class) {
+			kind = KIND_BOOLEAN;
+			bits = ((Boolean) value).booleanValue() ? 1 : 0;
+		} else if (value.getClass() == Timestamp.class && ((Timestamp) value).getNanos() % 1000000 == 0) {
+			kind = KIND_TIMESTAMP;
+			bits = ((Timestamp) value).getTime();
+		} else if (value.getClass() == BigDecimal.class && ((BigDecimal) value).unscaledValue().bitLength() < 64) {
+			kind = KIND_DECIMAL;
+			scale = ((BigDecimal) value).scale();
+			bits = ((BigDecimal) value).unscaledValue().longValue();
+		} else if (value.getClass() == KeyNamePair.class) {
+			kind = KIND_KEYNAMEPAIR;
+			KeyNamePair pp = (KeyNamePair) value;
+			bits = ((long) pp.getKey() << 32) | (getStringCode(pp.getName()) & 0xffffffffL);
+		} else {
+			kind = KIND_OBJECT;
+			column.setRef(row, (Serializable) value, capacity);
+		}
+		column.meta[row] = getMetaCode(new Meta(pde, kind, scale));
+		column.bits[row] = bits;
+	}
+
+	/**
+	 * Create nodes of row and make it the current row
+	 * @param row
+	 */
+	private void decode(int row) {
+		int length = rowLengths[row];
+		ArrayList<Serializable> data = new ArrayList<Serializable>(length);
+		decodedNodes = new Serializable[length];
+		decodedValues = new Object[length];
+		for (int i = 0; i < length; i++) {
+			Column column = columns.get(i);
+			Meta meta = metas.get(column.meta[row]);
+			Serializable node;
+			if (meta.kind == KIND_NODE) {
+				node = column.refs[row];
+			} else {
+				Serializable value = decodeValue(column, row, meta);
+				node = new PrintDataElement(meta.AD_PrintFormatItem_ID, meta.columnName, value, meta.displayType,
+					meta.isPKey, meta.isPageBreak, meta.formatPattern, meta.foreignColumnName);
+				decodedValues[i] = value;
+			}
+			decodedNodes[i] = node;
+			data.add(node);
+		}
+		currentRow = row;
+		currentData = data;
+		currentNew = false;
+	}
+
+	/**
+	 * @param column
+	 * @param row
+	 * @param meta
+	 * @return value of element
+	 */
+	private Serializable decodeValue(Column column, int row, Meta meta) {
+		long bits = column.bits[row];
+		switch (meta.kind) {
+		case KIND_STRING:
+			return strings.get((int) bits);
+		case KIND_INTEGER:
+			return Integer.valueOf((int) bits);
+		case KIND_BOOLEAN:
+			return Boolean.valueOf(bits == 1);
+		case KIND_TIMESTAMP:
+			return new Timestamp(bits);
+		case KIND_DECIMAL:
+			return BigDecimal.valueOf(bits, meta.scale);
+		case KIND_KEYNAMEPAIR:
+			int code = (int) bits;
+			return new KeyNamePair((int) (bits >> 32), code < 0 ? null : strings.get(code));
+		case KIND_OBJECT:
+			return column.refs[row];
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * @param value
+	 * @return dictionary code of string, -1 for null
+	 */
+	private int getStringCode(String value) {
+		if (value == null)
+			return -1;
+		Integer code = stringCodes.get(value);
+		if (code == null) {
+			code = strings.size();
+			strings.add(value);
+			stringCodes.put(value, code);
+		}
+		return code;
+	}
+
+	/**
+	 * @param meta
+	 * @return dictionary code of metadata
+	 */
+	private int getMetaCode(Meta meta) {
+		Integer code = metaCodes.get(meta);
+		if (code == null) {
+			code = metas.size();
+			metas.add(meta);
+			metaCodes.put(meta, code);
+		}
+		return code;
+	}
+
+	/**
+	 * Grow row capacity of all columns
+	 */
+	private void grow() {
+		capacity = capacity + (capacity >> 1);
+		rowLengths = Arrays.copyOf(rowLengths, capacity);
+		for (Column column : columns)
+			column.grow(capacity);
+	}
+
+	/**
+	 * Vectors of a column position
+	 */
+	private static class Column {
+		private int[] meta;
+		private long[] bits;
+		/** allocated for first object value */
+		private Serializable[] refs;
+
+		private Column(int capacity) {
+			meta = new int[capacity];
+			bits = new long[capacity];
+		}
+
+		private void setRef(int row, Serializable value, int capacity) {
+			if (refs == null)
+				refs = new Serializable[capacity];
+			refs[row] = value;
+		}
+
+		private void grow(int capacity) {
+			meta = Arrays.copyOf(meta, capacity);
+			bits = Arrays.copyOf(bits, capacity);
+			if (refs != null)
+				refs = Arrays.copyOf(refs, capacity);
+		}
+	}
+
+	/**
+	 * Element metadata and value kind, shared by cells
+	 */
+	private static class Meta {
+		private final int AD_PrintFormatItem_ID;
+		private final String columnName;
+		private final int displayType;
+		private final boolean isPKey;
+		private final boolean isPageBreak;
+		private final String formatPattern;
+		private final String foreignColumnName;
+		private final byte kind;
+		private final int scale;
+		private final int hash;
+
+		private Meta(PrintDataElement pde, byte kind, int scale) {
+			if (pde != null) {
+				AD_PrintFormatItem_ID = pde.getAD_PrintFormatItem_ID();
+				columnName = pde.getColumnName();
+				displayType = pde.getDisplayType();
+				isPKey = pde.isPKey();
+				isPageBreak = pde.isPageBreak();
+				formatPattern = pde.getM_formatPattern();
+				foreignColumnName = pde.getForeignColumnName();
+			} else {
+				AD_PrintFormatItem_ID = 0;
+				columnName = null;
+				displayType = 0;
+				isPKey = false;
+				isPageBreak = false;
+				formatPattern = null;
+				foreignColumnName = null;
+			}
+			this.kind = kind;
+			this.scale = scale;
+			hash = Objects.hash(AD_PrintFormatItem_ID, columnName, displayType, isPKey, isPageBreak, formatPattern, foreignColumnName, kind, scale);
+		}
+
+		/**
+		 * @param pde
+		 * @return true if metadata of element is the same
+		 */
+		private boolean matches(PrintDataElement pde) {
+			return AD_PrintFormatItem_ID == pde.getAD_PrintFormatItem_ID() && displayType == pde.getDisplayType()
+				&& isPKey == pde.isPKey() && isPageBreak == pde.isPageBreak()
+				&& Objects.equals(columnName, pde.getColumnName()) && Objects.equals(formatPattern, pde.getM_formatPattern())
+				&& Objects.equals(foreignColumnName, pde.getForeignColumnName());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Meta))
+				return false;
+			Meta other = (Meta) obj;
+			return hash == other.hash && kind == other.kind && scale == other.scale
+				&& AD_PrintFormatItem_ID == other.AD_PrintFormatItem_ID && displayType == other.displayType
+				&& isPKey == other.isPKey && isPageBreak == other.isPageBreak
+				&& Objects.equals(columnName, other.columnName) && Objects.equals(formatPattern, other.formatPattern)
+				&& Objects.equals(foreignColumnName, other.foreignColumnName);
+		}
+	}
+}
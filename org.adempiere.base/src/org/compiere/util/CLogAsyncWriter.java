@@ -0,0 +1,245 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Writer thread of {@link CLogFile} with -Dorg.idempiere.FileLogAsync=true.<br/>
+ * Logging threads only add the record to a lock free queue, the writer thread formats and writes the queued records in
+ * batches and flushes the file after each batch.<br/>
+ * The org.idempiere.FileLogPrefix is resolved with the context of the logging thread and queued with the record.<br/>
+ * When the queue holds more than the capacity, records below WARNING are dropped and counted; the number of dropped
+ * records is written to the log file once the queue has been drained.
+ */
+public class CLogAsyncWriter implements Runnable
+{
+	/** Maximum records written between flush */
+	private static final int BATCH_SIZE = 512;
+	/** Maximum wait of writer thread for new records */
+	private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+	private final CLogFile m_handler;
+	private final int m_capacity;
+	private final ConcurrentLinkedQueue<QueuedRecord> m_queue = new ConcurrentLinkedQueue<QueuedRecord>();
+	/** Number of queued records */
+	private final AtomicInteger m_depth = new AtomicInteger();
+	private final AtomicInteger m_maxDepth = new AtomicInteger();
+	private final AtomicLong m_queued = new AtomicLong();
+	private final AtomicLong m_dropped = new AtomicLong();
+	private final AtomicLong m_written = new AtomicLong();
+	/** Dropped records already reported in log file */
+	private long m_droppedReported = 0;
+	private volatile boolean m_running = true;
+	private final Thread m_thread;
+
+	/**
+	 * Start writer thread
+	 * @param handler file handler
+	 * @param capacity queue capacity
+	 */
+	CLogAsyncWriter(CLogFile handler, int capacity)
+	{
+		m_handler = handler;
+		m_capacity = capacity;
+		m_thread = new Thread(this, "CLogFile-Writer");
+		m_thread.setDaemon(true);
+		m_thread.start();
+	}
+
+	/**
+	 * Queue record
+	 * @param record
+	 * @return false if dropped
+	 */
+	boolean offer(LogRecord record)
+	{
+		boolean important = record.getLevel().intValue() >= Level.WARNING.intValue();
+		int depth = m_depth.incrementAndGet();
+		if (depth > m_capacity && !important)
+		{
+			m_depth.decrementAndGet();
+			m_dropped.incrementAndGet();
+			return false;
+		}
+		//	source class and method are inferred from the stack of the logging thread
+		record.getSourceClassName();
+		//	prefix is parsed with the context of the logging thread
+		m_queue.offer(new QueuedRecord(record, CLogFormatter.resolvePrefix()));
+		m_queued.incrementAndGet();
+		if (depth > m_maxDepth.get())
+			m_maxDepth.accumulateAndGet(depth, Math::max);
+		if (depth == 1 || important)
+			LockSupport.unpark(m_thread);
+		return true;
+	}
+
+	@Override
+	public void run()
+	{
+		while (m_running || !m_queue.isEmpty())
+		{
+			QueuedRecord queued = m_queue.poll();
+			if (queued == null)
+			{
+				reportDropped();
+				LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+				continue;
+			}
+			int count = 0;
+			do
+			{
+				m_depth.decrementAndGet();
+				CLogFormatter.setResolvedPrefix(queued.prefix);
+				m_handler.write(queued.record, false);
+				count++;
+			}
+			while (count < BATCH_SIZE && (queued = m_queue.poll()) != null);
+			m_written.addAndGet(count);
+			m_handler.flushWriter();
+		}
+		reportDropped();
+		m_handler.flushWriter();
+	}
+
+	/**
+	 * Write number of records dropped since last report
+	 */
+	private void reportDropped()
+	{
+		long dropped = m_dropped.get();
+		if (dropped == m_droppedReported)
+			return;
+		LogRecord record = new LogRecord(Level.WARNING, "Log queue full, dropped " + (dropped - m_droppedReported)
+			+ " records (total " + dropped + ", queue capacity " + m_capacity + ")");
+		record.setLoggerName(CLogFile.class.getName());
+		record.setSourceClassName(CLogFile.class.getName());
+		record.setSourceMethodName("publish");
+		m_droppedReported = dropped;
+		CLogFormatter.setResolvedPrefix("");
+		m_handler.write(record, false);
+		m_handler.flushWriter();
+	}
+
+	/**
+	 * Wait until queued records are written
+	 * @param timeoutMillis
+	 */
+	void drain(long timeoutMillis)
+	{
+		if (Thread.currentThread() == m_thread)
+			return;
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		while (m_depth.get() > 0 && m_thread.isAlive() && System.currentTimeMillis() < deadline)
+		{
+			LockSupport.unpark(m_thread);
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+	}
+
+	/**
+	 * Write queued records and stop writer thread
+	 */
+	void stop()
+	{
+		m_running = false;
+		LockSupport.unpark(m_thread);
+		if (Thread.currentThread() == m_thread)
+			return;
+		try
+		{
+			m_thread.join(TimeUnit.SECONDS.toMillis(5));
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return current number of queued records
+	 */
+	public int getQueueSize()
+	{
+		return m_depth.get();
+	}
+
+	/**
+	 * @return highest number of queued records
+	 */
+	public int getMaxQueueSize()
+	{
+		return m_maxDepth.get();
+	}
+
+	/**
+	 * @return number of records queued
+	 */
+	public long getQueuedCount()
+	{
+		return m_queued.get();
+	}
+
+	/**
+	 * @return number of records dropped because the queue was full
+	 */
+	public long getDroppedCount()
+	{
+		return m_dropped.get();
+	}
+
+	/**
+	 * @return number of records written
+	 */
+	public long getWrittenCount()
+	{
+		return m_written.get();
+	}
+
+	/**
+	 * Queued record with prefix resolved on the logging thread
+	 */
+	private static final class QueuedRecord
+	{
+		private final LogRecord record;
+		private final String prefix;
+
+		private QueuedRecord(LogRecord record, String prefix)
+		{
+			this.record = record;
+			this.prefix = prefix;
+		}
+	}	//	QueuedRecord
+
+	@Override
+	public String toString()
+	{
+		return "CLogAsyncWriter[Queue=" + getQueueSize() + "/" + m_capacity + ",Max=" + getMaxQueueSize()
+			+ ",Queued=" + getQueuedCount() + ",Written=" + getWrittenCount() + ",Dropped=" + getDroppedCount() + "]";
+	}
+}	//	CLogAsyncWriter
@@ -19,6 +19,7 @@ package org.compiere.util;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Properties;
 import java.util.Vector;
 import java.util.logging.Handler;
@@ -134,59 +135,49 @@ public class CLogErrorBuffer extends Handler
 	{
 		if (!isLoggable (record))
 			return;
+		boolean addToContext = isAddLogRecordToContext();
+		if (!addToContext && record.getLevel() != Level.SEVERE)
+			return;
 		
 		checkContext();
 
 		@SuppressWarnings("unchecked")
-		LinkedList<LogRecord> m_logs = (LinkedList<LogRecord>) Env.getCtx().get(LOGS_KEY);
+		CLogRingBuffer<LogRecord> m_logs = (CLogRingBuffer<LogRecord>) Env.getCtx().get(LOGS_KEY);
 		if (m_logs == null)
 			return;
 
 		//	Output
-		if (isAddLogRecordToContext())
-		{
-			synchronized (m_logs)
-			{
-				if (m_logs.size() >= LOG_SIZE)
-					m_logs.removeFirst();
-				m_logs.add(record);
-			}
-		}
+		if (addToContext)
+			m_logs.add(record);
 
 		//	We have an error
 		if (record.getLevel() == Level.SEVERE)
 		{
-			if (isAddLogRecordToContext())
+			if (addToContext)
 			{
 				@SuppressWarnings("unchecked")
-				LinkedList<LogRecord> m_errors = (LinkedList<LogRecord>) Env.getCtx().get(ERRORS_KEY);
-				synchronized (m_errors)
-				{
-					if (m_errors.size() >= ERROR_SIZE)
-					{
-						m_errors.removeFirst();
-					}
-					//	Add Error
-					m_errors.add(record);
-				}
+				CLogRingBuffer<LogRecord> m_errors = (CLogRingBuffer<LogRecord>) Env.getCtx().get(ERRORS_KEY);
+				//	Add Error
+				m_errors.add(record);
 			}
 			record.getSourceClassName();	//	forces Class Name eval
 
 			//	Create History
-			if (isAddLogRecordToContext())
+			if (addToContext)
 			{
 				@SuppressWarnings("unchecked")
 				LinkedList<LogRecord[]>	m_history = (LinkedList<LogRecord[]>) Env.getCtx().get(HISTORY_KEY);
 				ArrayList<LogRecord> history = new ArrayList<LogRecord>();
+				List<LogRecord> logs = m_logs.toList();
 				synchronized (m_history)
 				{
 					if (m_history.size() >= ERROR_SIZE)
 					{
 						m_history.removeFirst();
 					}
-					for (int i = m_logs.size()-1; i >= 0; i--)
+					for (int i = logs.size()-1; i >= 0; i--)
 					{
-						LogRecord rec = (LogRecord)m_logs.get(i);
+						LogRecord rec = logs.get(i);
 						if (rec.getLevel() == Level.SEVERE)
 						{
 							if (history.size() == 0)
@@ -340,27 +331,11 @@ public class CLogErrorBuffer extends Handler
 		checkContext();
 
 		@SuppressWarnings("unchecked")
-		LinkedList<LogRecord> m_logs = (LinkedList<LogRecord>) Env.getCtx().get(LOGS_KEY);
+		CLogRingBuffer<LogRecord> m_logs = (CLogRingBuffer<LogRecord>) Env.getCtx().get(LOGS_KEY);
 		@SuppressWarnings("unchecked")
-		LinkedList<LogRecord> m_errors = (LinkedList<LogRecord>) Env.getCtx().get(ERRORS_KEY);
-		LogRecord[] retValue = null;
-		if (errorsOnly)
-		{
-			synchronized (m_errors)
-			{
-				retValue = new LogRecord[m_errors.size()];
-				m_errors.toArray(retValue);
-			}
-		}
-		else
-		{
-			synchronized (m_logs)
-			{
-				retValue = new LogRecord[m_logs.size()];
-				m_logs.toArray(retValue);
-			}
-		}
-		return retValue;
+		CLogRingBuffer<LogRecord> m_errors = (CLogRingBuffer<LogRecord>) Env.getCtx().get(ERRORS_KEY);
+		List<LogRecord> records = errorsOnly ? m_errors.toList() : m_logs.toList();
+		return records.toArray(new LogRecord[records.size()]);
 	}	//	getEvents
 
 	/**
@@ -372,23 +347,18 @@ public class CLogErrorBuffer extends Handler
 		checkContext();
 
 		@SuppressWarnings("unchecked")
-		LinkedList<LogRecord> m_logs = (LinkedList<LogRecord>) Env.getCtx().get(LOGS_KEY);
+		CLogRingBuffer<LogRecord> m_logs = (CLogRingBuffer<LogRecord>) Env.getCtx().get(LOGS_KEY);
 		@SuppressWarnings("unchecked")
-		LinkedList<LogRecord> m_errors = (LinkedList<LogRecord>) Env.getCtx().get(ERRORS_KEY);
+		CLogRingBuffer<LogRecord> m_errors = (CLogRingBuffer<LogRecord>) Env.getCtx().get(ERRORS_KEY);
 		@SuppressWarnings("unchecked")
 		LinkedList<LogRecord[]>	m_history = (LinkedList<LogRecord[]>) Env.getCtx().get(HISTORY_KEY);
-		synchronized (m_errors)
+		m_errors.clear();
+		synchronized (m_history)
 		{
-			m_errors.clear();
 			m_history.clear();
 		}
 		if (!errorsOnly)
-		{
-			synchronized (m_logs)
-			{
-				m_logs.clear();
-			}
-		}
+			m_logs.clear();
 	}	//	resetBuffer
 
 	/**
@@ -407,10 +377,15 @@ public class CLogErrorBuffer extends Handler
 		{
 			@SuppressWarnings("unchecked")
 			LinkedList<LogRecord[]>	m_history = (LinkedList<LogRecord[]>) Env.getCtx().get(HISTORY_KEY);
-			for (int i = 0; i < m_history.size(); i++)
+			List<LogRecord[]> history;
+			synchronized (m_history)
+			{
+				history = new ArrayList<LogRecord[]>(m_history);
+			}
+			for (int i = 0; i < history.size(); i++)
 			{
 				sb.append("-------------------------------\n");
-				LogRecord[] records = (LogRecord[])m_history.get(i);
+				LogRecord[] records = history.get(i);
 				for (int j = 0; j < records.length; j++)
 				{
 					LogRecord record = records[j];
@@ -421,10 +396,9 @@ public class CLogErrorBuffer extends Handler
 		else
 		{
 			@SuppressWarnings("unchecked")
-			LinkedList<LogRecord> m_logs = (LinkedList<LogRecord>) Env.getCtx().get(LOGS_KEY);
-			for (int i = 0; i < m_logs.size(); i++)
+			CLogRingBuffer<LogRecord> m_logs = (CLogRingBuffer<LogRecord>) Env.getCtx().get(LOGS_KEY);
+			for (LogRecord record : m_logs.toList())
 			{
-				LogRecord record = (LogRecord)m_logs.get(i);
 				sb.append(getFormatter().format(record));
 			}
 		}
@@ -442,13 +416,13 @@ public class CLogErrorBuffer extends Handler
 	{
 		if (!Env.getCtx().containsKey(LOGS_KEY))
 		{
-			LinkedList<LogRecord> m_logs = new LinkedList<LogRecord>();
+			CLogRingBuffer<LogRecord> m_logs = new CLogRingBuffer<LogRecord>(LOG_SIZE);
 			Env.getCtx().put(LOGS_KEY, m_logs);
 		}
 
 		if (!Env.getCtx().containsKey(ERRORS_KEY))
 		{
-			LinkedList<LogRecord> m_errors = new LinkedList<LogRecord>();
+			CLogRingBuffer<LogRecord> m_errors = new CLogRingBuffer<LogRecord>(ERROR_SIZE);
 			Env.getCtx().put(ERRORS_KEY, m_errors);
 		}
 
@@ -468,9 +442,9 @@ public class CLogErrorBuffer extends Handler
 		checkContext();
 
 		@SuppressWarnings("unchecked")
-		LinkedList<LogRecord> m_logs = (LinkedList<LogRecord>) Env.getCtx().get(LOGS_KEY);
+		CLogRingBuffer<LogRecord> m_logs = (CLogRingBuffer<LogRecord>) Env.getCtx().get(LOGS_KEY);
 		@SuppressWarnings("unchecked")
-		LinkedList<LogRecord> m_errors = (LinkedList<LogRecord>) Env.getCtx().get(ERRORS_KEY);
+		CLogRingBuffer<LogRecord> m_errors = (CLogRingBuffer<LogRecord>) Env.getCtx().get(ERRORS_KEY);
 		@SuppressWarnings("unchecked")
 		LinkedList<LogRecord[]>	m_history = (LinkedList<LogRecord[]>) Env.getCtx().get(HISTORY_KEY);
 		StringBuilder sb = new StringBuilder ("CLogErrorBuffer[");
@@ -16,16 +16,24 @@
  *****************************************************************************/
 package org.compiere.util;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.Writer;
 import java.sql.Timestamp;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 
+import org.compiere.model.SystemProperties;
+
 /**
- *	Handler that publish log record to server log file
+ *	Handler that publish log record to server log file.<br/>
+ *	With -Dorg.idempiere.FileLogAsync=true, records are written by {@link CLogAsyncWriter}.
+ *	With -Dorg.idempiere.FileLogFormat=json, records are written with {@link CLogJSONFormatter}.
  *
  *  @author Jorg Janke
  *  @version $Id: CLogFile.java,v 1.3 2006/07/30 00:54:35 jjanke Exp $
@@ -46,8 +54,12 @@ public class CLogFile extends Handler
 		else
 			m_idempiereHome = Ini.findAdempiereHome();
 		initialize(m_idempiereHome, createLogDir, isClient);
+		startAsync();
 	}	//	CLogFile
 
+	/** Size of file output buffer	*/
+	private static final int	BUFFER_SIZE = 64 * 1024;
+
 	/**	idempiere Home			*/
 	private String		m_idempiereHome = null;
 	/**	Printed header			*/
@@ -55,12 +67,16 @@ public class CLogFile extends Handler
     /**	Output file				*/
     private File		m_file = null;
     /**	File writer				*/
-    private FileWriter	m_writer = null;
+    private volatile Writer	m_writer = null;
+    /** Async writer thread		*/
+    private volatile CLogAsyncWriter m_async = null;
     /** Current File Name Date	*/
     private String		m_fileNameDate = "";
     /** Record Counter			*/
     private int			m_records = 0;
 	private File m_previousFile;
+	/** Lock of file writer, virtual threads waiting for it do not block their carrier thread */
+	private final ReentrantLock m_lock = new ReentrantLock();
 
 	/**
 	 * 	Initialize
@@ -72,7 +88,7 @@ public class CLogFile extends Handler
 	{
 		//	Close Old File
 		if (m_writer != null)
-			close();
+			closeFile();
 		m_doneHeader = false;
 		//	New File Name
 		if (!createFile(idempiereHome, createLogDir, isClient))
@@ -80,7 +96,7 @@ public class CLogFile extends Handler
 		//	New Writer
 		try
 		{
-			m_writer = new FileWriter (m_file, true);
+			m_writer = new BufferedWriter (new FileWriter (m_file, true), BUFFER_SIZE);
 			m_records = 0;
 		}
 		catch (Exception ex)
@@ -238,7 +254,7 @@ public class CLogFile extends Handler
 			try
 			{
 				m_file = m_previousFile;
-				m_writer = new FileWriter (m_file, true);
+				m_writer = new BufferedWriter (new FileWriter (m_file, true), BUFFER_SIZE);
 				m_records = 0;
 			}
 			catch (Exception ex)
@@ -248,7 +264,26 @@ public class CLogFile extends Handler
 				m_file = null;
 			}
 		}
+		startAsync();
 	}
+
+	/**
+	 * 	Start async writer thread if enabled by -Dorg.idempiere.FileLogAsync=true
+	 */
+	private synchronized void startAsync()
+	{
+		if (m_async == null && m_writer != null && SystemProperties.isFileLogAsync())
+			m_async = new CLogAsyncWriter(this, SystemProperties.getFileLogQueueSize());
+	}	//	startAsync
+
+	/**
+	 * 	Get async writer (queue statistics)
+	 *	@return async writer or null if records are written by the logging thread
+	 */
+	public CLogAsyncWriter getAsyncWriter()
+	{
+		return m_async;
+	}	//	getAsyncWriter
 	
 	/**
 	 * 	Get File Name
@@ -288,71 +323,125 @@ public class CLogFile extends Handler
 		super.setLevel (newLevel);
 	}	//	setLevel
 
+	/**
+	 * 	Set Formatter, {@link CLogFormatter} is replaced by {@link CLogJSONFormatter} with -Dorg.idempiere.FileLogFormat=json
+	 *	@param newFormatter formatter
+	 *	@throws java.lang.SecurityException
+	 */
+	@Override
+	public synchronized void setFormatter (Formatter newFormatter)
+		throws SecurityException
+	{
+		if (newFormatter instanceof CLogFormatter && SystemProperties.isFileLogJSON())
+			newFormatter = CLogJSONFormatter.get();
+		super.setFormatter (newFormatter);
+	}	//	setFormatter
+
 	/**
 	 * 	Publish log record
 	 *	@see java.util.logging.Handler#publish(java.util.logging.LogRecord)
 	 *	@param record log record
 	 */
 	@Override
-	public synchronized void publish (LogRecord record)
+	public void publish (LogRecord record)
 	{
 		if (!isLoggable (record) || m_writer == null)
 			return;
 
-		rotateLog(record.getMillis());
+		CLogAsyncWriter async = m_async;
+		if (async != null)
+			async.offer(record);
+		else
+			write(record, true);
+	}	//	publish
 
-		//	Format
-		String msg = null;
-		try
-		{
-			msg = getFormatter().format (record);
-		}
-		catch (Exception ex)
-		{
-			reportError ("formatting", ex, ErrorManager.FORMAT_FAILURE);
-			return;
-		}
-		//	Output
+	/**
+	 * 	Write log record to file
+	 *	@param record log record
+	 *	@param flush true to flush warnings, errors and every 10 records
+	 */
+	void write (LogRecord record, boolean flush)
+	{
+		m_lock.lock();
 		try
 		{
-			if (!m_doneHeader)
+			if (m_writer == null)
+				return;
+
+			rotateLog(record.getMillis());
+			if (m_writer == null)
+				return;
+
+			//	Format
+			String msg = null;
+			try
 			{
-				m_writer.write (getFormatter().getHead (this));
-				m_doneHeader = true;
+				msg = getFormatter().format (record);
+			}
+			catch (Exception ex)
+			{
+				reportError ("formatting", ex, ErrorManager.FORMAT_FAILURE);
+				return;
+			}
+			//	Output
+			try
+			{
+				if (!m_doneHeader)
+				{
+					m_writer.write (getFormatter().getHead (this));
+					m_doneHeader = true;
+				}
+				//
+				m_writer.write (msg);
+				m_records++;
+				//
+				if (flush &&
+					(record.getLevel() == Level.SEVERE
+					|| record.getLevel() == Level.WARNING
+					|| record.getLevel() == Level.OFF
+					||	m_records % 10 == 0))	//	flush every 10 records
+					flushWriter();
+			}
+			catch (Exception ex)
+			{
+				reportError ("writing", ex, ErrorManager.WRITE_FAILURE);
 			}
-			//
-			m_writer.write (msg);
-			m_records++;
-			//
-			if (record.getLevel() == Level.SEVERE
-				|| record.getLevel() == Level.WARNING
-				|| record.getLevel() == Level.OFF
-				||	m_records % 10 == 0)	//	flush every 10 records
-				flush();
 		}
-		catch (Exception ex)
+		finally
 		{
-			reportError ("writing", ex, ErrorManager.WRITE_FAILURE);
+			m_lock.unlock();
 		}
-	}	//	publish
+	}	//	write
 
 	/**
-	 * 	Flush output
+	 * 	Flush output, wait for queued records to be written if async
 	 *	@see java.util.logging.Handler#flush()
 	 */
 	@Override
 	public void flush ()
+	{
+		CLogAsyncWriter async = m_async;
+		if (async != null)
+			async.drain(1000);
+		flushWriter();
+	}	//	flush
+
+	/**
+	 * 	Flush file writer
+	 */
+	void flushWriter ()
 	{
 		try
 		{
-			if (m_writer != null)
-				m_writer.flush();
+			Writer writer = m_writer;
+			if (writer != null)
+				writer.flush();
 		}
 		catch (Exception ex)
 		{
 			reportError ("flush", ex, ErrorManager.FLUSH_FAILURE);
 		}
-	}	//	flush
+	}	//	flushWriter
 
 	/**
 	 * 	Close log file
@@ -360,38 +449,60 @@ public class CLogFile extends Handler
 	 *	@throws java.lang.SecurityException
 	 */
 	@Override	
-	public synchronized void close () throws SecurityException
+	public void close () throws SecurityException
 	{
-		if (m_writer == null)
-			return;
-
-		//	Write Tail
-		try
-		{
-			if (!m_doneHeader)
-				m_writer.write (getFormatter().getHead(this));
-			//
-			m_writer.write (getFormatter().getTail(this));
-		}
-		catch (Exception ex)
+		CLogAsyncWriter async = m_async;
+		if (async != null)
 		{
-			reportError ("tail", ex, ErrorManager.WRITE_FAILURE);
+			m_async = null;
+			async.stop();
 		}
-		//
-		flush();
-		//	Close
+		closeFile();
+	}	//	close
+
+	/**
+	 * 	Write tail and close log file
+	 */
+	private void closeFile ()
+	{
+		m_lock.lock();
 		try
 		{
-			m_writer.close();
+			if (m_writer == null)
+				return;
+
+			//	Write Tail
+			try
+			{
+				if (!m_doneHeader)
+					m_writer.write (getFormatter().getHead(this));
+				//
+				m_writer.write (getFormatter().getTail(this));
+			}
+			catch (Exception ex)
+			{
+				reportError ("tail", ex, ErrorManager.WRITE_FAILURE);
+			}
+			//
+			flushWriter();
+			//	Close
+			try
+			{
+				m_writer.close();
+			}
+			catch (Exception ex)
+			{
+				reportError ("close", ex, ErrorManager.CLOSE_FAILURE);
+			}
+			m_writer = null;
+			m_previousFile = m_file;
+			m_file = null;		
 		}
-		catch (Exception ex)
+		finally
 		{
-			reportError ("close", ex, ErrorManager.CLOSE_FAILURE);
+			m_lock.unlock();
 		}
-		m_writer = null;
-		m_previousFile = m_file;
-		m_file = null;		
-	}	//	close
+	}	//	closeFile
 
 	/**
 	 * 	String Representation
@@ -401,8 +512,10 @@ public class CLogFile extends Handler
 	public String toString ()
 	{
 		StringBuilder sb = new StringBuilder ("CLogFile[");
-		sb.append(getFileName()).append(",Level=").append(getLevel())
-			.append ("]");
+		sb.append(getFileName()).append(",Level=").append(getLevel());
+		if (m_async != null)
+			sb.append(",").append(m_async);
+		sb.append ("]");
 		return sb.toString ();
 	}	//	toString
 
@@ -313,11 +313,36 @@ public class CLogFormatter extends Formatter
         	fillExceptionTrace(sb, "caused by: ", cause);
     }	//	fillExceptionTrace
 
+	/** Prefix resolved on the logging thread for the record written by {@link CLogAsyncWriter} */
+	private static final ThreadLocal<String> s_resolvedPrefix = new ThreadLocal<String>();
+
+	/**
+	 * Set prefix resolved on the logging thread for the records formatted by the current (writer) thread
+	 * @param prefix resolved prefix, null to resolve with context of current thread
+	 */
+	static void setResolvedPrefix(String prefix)
+	{
+		if (prefix == null)
+			s_resolvedPrefix.remove();
+		else
+			s_resolvedPrefix.set(prefix);
+	}
+
+	/**
+	 * Get the Prefix to write in file log
+	 * @return prefix resolved on the logging thread or {@link #resolvePrefix()}
+	 */
+	static String getPrefix()
+	{
+		String prefix = s_resolvedPrefix.get();
+		return prefix != null ? prefix : resolvePrefix();
+	}
+
 	/**
-	 * Get the Prefix to write in file log from VM variable org.idempiere.FileLogPrefix
+	 * Resolve the Prefix to write in file log from VM variable org.idempiere.FileLogPrefix with context of current thread
 	 * @return log prefix
 	 */
-	private String getPrefix()
+	static String resolvePrefix()
 	{
 		String prefix = null;
 		try
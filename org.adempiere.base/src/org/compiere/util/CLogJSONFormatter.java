@@ -0,0 +1,138 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.time.Instant;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Log formatter with one JSON object per line (time, level, logger, thread, prefix, source, message, parameters, exception).<br/>
+ * Used by {@link CLogFile} with -Dorg.idempiere.FileLogFormat=json.
+ */
+public class CLogJSONFormatter extends Formatter
+{
+	/** Singleton */
+	private static final CLogJSONFormatter s_formatter = new CLogJSONFormatter();
+
+	/**
+	 * @return singleton
+	 */
+	public static CLogJSONFormatter get()
+	{
+		return s_formatter;
+	}
+
+	private CLogJSONFormatter()
+	{
+		super();
+	}
+
+	@Override
+	public String format(LogRecord record)
+	{
+		StringBuilder sb = new StringBuilder(256);
+		sb.append("{\"time\":");
+		quote(sb, Instant.ofEpochMilli(record.getMillis() == 0 ? System.currentTimeMillis() : record.getMillis()).toString());
+		sb.append(",\"level\":");
+		quote(sb, record.getLevel().getName());
+		sb.append(",\"logger\":");
+		quote(sb, record.getLoggerName());
+		sb.append(",\"thread\":").append(record.getLongThreadID());
+		String prefix = CLogFormatter.getPrefix();
+		if (!prefix.isEmpty())
+		{
+			sb.append(",\"prefix\":");
+			quote(sb, prefix);
+		}
+		sb.append(",\"source\":");
+		quote(sb, CLogFormatter.getClassMethod(record));
+		sb.append(",\"message\":");
+		quote(sb, record.getMessage());
+		Object[] parameters = record.getParameters();
+		if (parameters != null && parameters.length > 0)
+		{
+			sb.append(",\"parameters\":[");
+			for (int i = 0; i < parameters.length; i++)
+			{
+				if (i > 0)
+					sb.append(',');
+				quote(sb, parameters[i] != null ? parameters[i].toString() : null);
+			}
+			sb.append(']');
+		}
+		String trace = CLogFormatter.getExceptionTrace(record);
+		if (trace != null)
+		{
+			sb.append(",\"exception\":");
+			quote(sb, trace);
+		}
+		sb.append('}').append(CLogFormatter.NL);
+		return sb.toString();
+	}
+
+	@Override
+	public String getHead(Handler h)
+	{
+		return "";
+	}
+
+	@Override
+	public String getTail(Handler h)
+	{
+		return "";
+	}
+
+	/**
+	 * Append JSON string value
+	 * @param sb
+	 * @param value
+	 */
+	private static void quote(StringBuilder sb, String value)
+	{
+		if (value == null)
+		{
+			sb.append("null");
+			return;
+		}
+		sb.append('"');
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			switch (c)
+			{
+			case '"': sb.append("\\\""); break;
+			case '\\': sb.append("\\\\"); break;
+			case '\n': sb.append("\\n"); break;
+			case '\r': sb.append("\\r"); break;
+			case '\t': sb.append("\\t"); break;
+			default:
+				if (c < 0x20)
+					sb.append(String.format("\\u%04x", (int) c));
+				else
+					sb.append(c);
+			}
+		}
+		sb.append('"');
+	}
+}	//	CLogJSONFormatter
@@ -0,0 +1,96 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed size buffer of the most recent elements, the oldest element is overwritten when full.<br/>
+ * Add is lock free, a snapshot taken while other threads add may miss elements being overwritten.
+ * @param <T> element type
+ */
+public class CLogRingBuffer<T> implements Serializable
+{
+	private static final long serialVersionUID = 4528371956034215867L;
+
+	private final AtomicReferenceArray<T> m_elements;
+	/** Number of elements added */
+	private final AtomicLong m_next = new AtomicLong();
+	/** Index of first element after clear */
+	private volatile long m_start = 0;
+
+	/**
+	 * @param capacity maximum number of elements
+	 */
+	public CLogRingBuffer(int capacity)
+	{
+		m_elements = new AtomicReferenceArray<T>(capacity);
+	}
+
+	/**
+	 * Add element, overwrite oldest element if full
+	 * @param element
+	 */
+	public void add(T element)
+	{
+		long index = m_next.getAndIncrement();
+		m_elements.set((int) (index % m_elements.length()), element);
+	}
+
+	/**
+	 * @return elements, oldest first
+	 */
+	public List<T> toList()
+	{
+		long end = m_next.get();
+		long start = Math.max(m_start, end - m_elements.length());
+		List<T> list = new ArrayList<T>((int) (end - start));
+		for (long i = start; i < end; i++)
+		{
+			T element = m_elements.get((int) (i % m_elements.length()));
+			if (element != null)
+				list.add(element);
+		}
+		return list;
+	}
+
+	/**
+	 * @return number of elements
+	 */
+	public int size()
+	{
+		long end = m_next.get();
+		return (int) (end - Math.max(m_start, end - m_elements.length()));
+	}
+
+	/**
+	 * Remove all elements
+	 */
+	public void clear()
+	{
+		m_start = m_next.get();
+	}
+}	//	CLogRingBuffer
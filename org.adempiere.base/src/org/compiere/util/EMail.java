@@ -40,7 +40,6 @@ import javax.mail.MessagingException;
 import javax.mail.Multipart;
 import javax.mail.SendFailedException;
 import javax.mail.Session;
-import javax.mail.Transport;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
@@ -240,6 +239,8 @@ public final class EMail implements Serializable
 
 	/** Set it to true if you need to use the SMTP defined at tenant level - otherwise will try to use a SMTP from AD_SMTP table */
 	private boolean m_forceUseTenantSmtp = false; 
+	/** Queue message in {@link EMailOutbox}, null to use {@link MSysConfig#MAIL_OUTBOX_ENABLED} */
+	private Boolean m_useOutbox = null;
 
 	/**
 	 *	Send Mail
@@ -266,7 +267,9 @@ public final class EMail implements Serializable
 	}
 
 	/**
-	 *	Send Mail
+	 *	Send Mail.<br/>
+	 *	With outbox, the message is queued and sent by a background thread (OK means queued),
+	 *	except if throwException is true.
 	 *	@return OK or error message
 	 * @throws Exception 
 	 */
@@ -367,7 +370,7 @@ public final class EMail implements Serializable
 			return e.toString();
 		}
 
-		Transport t = null;
+		EMailTransportPool.Connection connection = null;
 		try
 		{
 			m_msg = new SMTPMessage(session);
@@ -432,20 +435,25 @@ public final class EMail implements Serializable
 			//
 			setContent();
 			m_msg.saveChanges();
-			t = session.getTransport("smtp");
-			if (m_auth != null) {
-				t.connect(m_smtpHost, m_smtpPort, m_auth.getPasswordAuthentication().getUserName(), m_auth.getPasswordAuthentication().getPassword());
-			} else {
-				t.connect();
+			if (!throwException && isUseOutbox())
+			{
+				int AD_MailOutbox_ID = EMailOutbox.get().add(m_msg, session, m_smtpHost, m_smtpPort, m_auth, Env.getAD_Client_ID(m_ctx));
+				if (log.isLoggable(Level.FINE)) log.fine("Queued - MessageID=" + m_msg.getMessageID() + ", AD_MailOutbox_ID=" + AD_MailOutbox_ID);
 			}
-			ClassLoader tcl = Thread.currentThread().getContextClassLoader();
-			try {
-				Thread.currentThread().setContextClassLoader(javax.mail.Session.class.getClassLoader());
-				t.sendMessage(m_msg, m_msg.getAllRecipients());
-			} finally {
-				Thread.currentThread().setContextClassLoader(tcl);
+			else
+			{
+				connection = EMailTransportPool.getConnection(session, m_smtpHost, m_smtpPort, m_auth);
+				ClassLoader tcl = Thread.currentThread().getContextClassLoader();
+				try {
+					Thread.currentThread().setContextClassLoader(javax.mail.Session.class.getClassLoader());
+					connection.getTransport().sendMessage(m_msg, m_msg.getAllRecipients());
+				} finally {
+					Thread.currentThread().setContextClassLoader(tcl);
+				}
+				connection.release();
+				connection = null;
+				if (log.isLoggable(Level.FINE)) log.fine("Success - MessageID=" + m_msg.getMessageID());
 			}
-			if (log.isLoggable(Level.FINE)) log.fine("Success - MessageID=" + m_msg.getMessageID());
 		}
 		catch (MessagingException me)
 		{
@@ -544,13 +552,10 @@ public final class EMail implements Serializable
 		}
 		finally
 		{
-			if(t != null) 
+			if (connection != null)
 			{
-				try {
-					t.close();					
-				} catch (Exception e) {
-				}
-				t = null;
+				connection.close();
+				connection = null;
 			}
 		}
 		//
@@ -1299,4 +1304,21 @@ public final class EMail implements Serializable
 	public void setForTenantSmtp(boolean forceTenantSmtp) {
 		m_forceUseTenantSmtp = forceTenantSmtp;	
 	}
+
+	/**
+	 * Set if message is queued in {@link EMailOutbox} instead of sent on the calling thread
+	 * @param useOutbox
+	 */
+	public void setUseOutbox(boolean useOutbox) {
+		m_useOutbox = useOutbox;
+	}
+
+	/**
+	 * @return true if message is queued in {@link EMailOutbox}
+	 */
+	public boolean isUseOutbox() {
+		if (m_useOutbox != null)
+			return m_useOutbox;
+		return DB.isConnected() && MSysConfig.getBooleanValue(MSysConfig.MAIL_OUTBOX_ENABLED, false, Env.getAD_Client_ID(m_ctx));
+	}
 }	//	EMail
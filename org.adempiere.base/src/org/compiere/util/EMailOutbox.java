@@ -0,0 +1,504 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+import javax.mail.MessagingException;
+import javax.mail.SendFailedException;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.adempiere.util.ServerContext;
+import org.compiere.model.I_AD_MailOutbox;
+import org.compiere.model.MSysConfig;
+
+/**
+ * Durable outbox of emails, sent by a background thread.<br/>
+ * Each message is inserted into the mail outbox table (AD_MailOutbox) as RFC 822 content with its SMTP settings,
+ * password encrypted. A server runs the sender thread once it queued a message or found waiting messages on start
+ * ({@link #recover()}).<br/>
+ * The sender claims due messages with SELECT FOR UPDATE SKIP LOCKED in its transaction and removes the sent messages
+ * in the same transaction, so with several servers a message is sent by one of them, and the messages of a server that
+ * stops before commit are sent by another one. Delivery is at least once: the messages of a batch are sent again if
+ * its transaction does not commit.<br/>
+ * Due messages are sent in batches, one pooled connection per SMTP server ({@link EMailTransportPool}).
+ * A failed message is retried with exponential backoff up to {@link MSysConfig#MAIL_OUTBOX_MAX_ATTEMPTS};
+ * rejected and exhausted messages are kept in the table with IsError=Y and the error in Result.
+ */
+public final class EMailOutbox
+{
+	/** Maximum number of messages sent in a batch */
+	private static final int BATCH_SIZE = 100;
+	/** Delay before first retry, doubled on each attempt */
+	private static final long RETRY_DELAY_MILLIS = 30 * 1000;
+	/** Maximum delay between retries */
+	private static final long MAX_RETRY_DELAY_MILLIS = 60 * 60 * 1000;
+	/** Maximum wait of sender thread for due messages queued by other servers or retries */
+	private static final long POLL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private static final String USER = "User";
+	private static final String PASSWORD = "Password";
+
+	private static final String INSERT_SQL = "INSERT INTO AD_MailOutbox (AD_MailOutbox_ID,AD_MailOutbox_UU,AD_Client_ID,AD_Org_ID,"
+		+ "IsActive,Created,CreatedBy,Updated,UpdatedBy,SMTPHost,SMTPPort,MailProperties,BinaryData,RetryCount,DateNextRun,IsError)"
+		+ " VALUES (?,?,?,0,'Y',getDate(),?,getDate(),?,?,?,?,?,0,getDate(),'N')";
+	private static final String CLAIM_SQL = "SELECT AD_MailOutbox_ID,AD_Client_ID,SMTPHost,SMTPPort,MailProperties,BinaryData,RetryCount"
+		+ " FROM AD_MailOutbox WHERE IsActive='Y' AND IsError='N' AND DateNextRun<=getDate()"
+		+ " ORDER BY DateNextRun,AD_MailOutbox_ID FOR UPDATE SKIP LOCKED";
+	private static final String WAITING_SQL = "SELECT COUNT(*) FROM AD_MailOutbox WHERE IsActive='Y' AND IsError='N'";
+
+	/**	Logger			*/
+	private static final CLogger log = CLogger.getCLogger(EMailOutbox.class);
+
+	private static EMailOutbox s_outbox = null;
+
+	/**
+	 * Get outbox, started on first call
+	 * @return outbox
+	 */
+	public static synchronized EMailOutbox get()
+	{
+		if (s_outbox == null)
+		{
+			s_outbox = new EMailOutbox();
+			s_outbox.start();
+		}
+		return s_outbox;
+	}
+
+	/**
+	 * Start outbox if messages are waiting, e.g. queued by a server that is no longer running, called at server start
+	 */
+	public static void recover()
+	{
+		int count = DB.getSQLValueEx(null, WAITING_SQL);
+		if (count > 0)
+		{
+			if (log.isLoggable(Level.INFO)) log.info("Waiting in outbox #" + count);
+			get();
+		}
+	}
+
+	private volatile Thread m_sender = null;
+
+	private final AtomicLong m_queuedCount = new AtomicLong();
+	private final AtomicLong m_sentCount = new AtomicLong();
+	private final AtomicLong m_retryCount = new AtomicLong();
+	private final AtomicLong m_failedCount = new AtomicLong();
+	private final AtomicLong m_sendNanos = new AtomicLong();
+
+	/**
+	 * Outbox of AD_MailOutbox table, see {@link #get()}
+	 */
+	public EMailOutbox()
+	{
+	}
+
+	/**
+	 * Queue message for sending
+	 * @param msg message, content is written to the outbox
+	 * @param session session of message, mail.* properties are kept for sending
+	 * @param host SMTP host
+	 * @param port SMTP port
+	 * @param auth optional authenticator
+	 * @param AD_Client_ID
+	 * @return AD_MailOutbox_ID
+	 * @throws IOException
+	 * @throws MessagingException
+	 */
+	public int add(MimeMessage msg, Session session, String host, int port, EMailAuthenticator auth, int AD_Client_ID)
+		throws IOException, MessagingException
+	{
+		Properties info = new Properties();
+		for (String name : session.getProperties().stringPropertyNames())
+		{
+			if (name.startsWith("mail."))
+				info.setProperty(name, session.getProperty(name));
+		}
+		if (auth != null && auth.getPasswordAuthentication().getPassword() != null)
+		{
+			info.setProperty(USER, auth.getPasswordAuthentication().getUserName());
+			info.setProperty(PASSWORD, SecureEngine.encrypt(auth.getPasswordAuthentication().getPassword(), AD_Client_ID));
+		}
+		StringWriter properties = new StringWriter();
+		info.store(properties, null);
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		msg.writeTo(content);
+
+		int AD_MailOutbox_ID = DB.getNextID(AD_Client_ID, I_AD_MailOutbox.Table_Name, null);
+		if (AD_MailOutbox_ID <= 0)
+			throw new IOException("No next ID for " + I_AD_MailOutbox.Table_Name);
+		int AD_User_ID = Env.getAD_User_ID(Env.getCtx());
+		DB.executeUpdateEx(INSERT_SQL, new Object[] {AD_MailOutbox_ID, UUID.randomUUID().toString(), AD_Client_ID,
+			AD_User_ID, AD_User_ID, host, port, properties.toString(), content.toByteArray()}, null);
+		m_queuedCount.incrementAndGet();
+		Thread sender = m_sender;
+		if (sender != null)
+			LockSupport.unpark(sender);
+		return AD_MailOutbox_ID;
+	}
+
+	/**
+	 * Start sender thread, sending the due messages of the outbox table
+	 */
+	public synchronized void start()
+	{
+		if (m_sender != null)
+			return;
+		m_sender = new Thread(this::run, "EMailOutbox-Sender");
+		m_sender.setDaemon(true);
+		m_sender.setContextClassLoader(Session.class.getClassLoader());
+		m_sender.start();
+	}
+
+	/**
+	 * Stop sender thread, waiting messages are sent on next start or by another server
+	 */
+	public synchronized void stop()
+	{
+		if (m_sender == null)
+			return;
+		m_sender.interrupt();
+		m_sender = null;
+	}
+
+	/**
+	 * Sender loop
+	 */
+	private void run()
+	{
+		Properties ctx = new Properties();
+		Env.setContext(ctx, Env.AD_CLIENT_ID, 0);
+		ServerContext.setCurrentInstance(ctx);
+		try
+		{
+			while (!Thread.currentThread().isInterrupted())
+			{
+				//	a full batch is followed by the next one, otherwise wait for new or due messages
+				if (sendBatch() < BATCH_SIZE)
+					LockSupport.parkNanos(this, POLL_NANOS);
+			}
+		}
+		finally
+		{
+			ServerContext.dispose();
+		}
+	}
+
+	/**
+	 * Claim due messages and send them, sent messages are deleted and failed ones updated in the same transaction
+	 * @return number of claimed messages
+	 */
+	private int sendBatch()
+	{
+		Trx trx = Trx.get(Trx.createTrxName("MailOutbox"), true);
+		trx.setDisplayName(getClass().getName() + "_sendBatch");
+		try
+		{
+			List<Entry> batch = claim(trx.getTrxName());
+			if (batch.isEmpty())
+				return 0;
+			Map<String, List<Entry>> servers = new LinkedHashMap<String, List<Entry>>();
+			for (Entry entry : batch)
+				servers.computeIfAbsent(entry.getServerKey(), k -> new ArrayList<Entry>()).add(entry);
+			for (List<Entry> entries : servers.values())
+				send(entries, trx.getTrxName());
+			trx.commit(true);
+			return batch.size();
+		}
+		catch (Exception e)
+		{
+			trx.rollback();
+			log.log(Level.SEVERE, "Outbox batch not completed", e);
+			return 0;
+		}
+		finally
+		{
+			trx.close();
+		}
+	}
+
+	/**
+	 * Lock due messages not locked by another sender
+	 * @param trxName
+	 * @return claimed messages
+	 * @throws SQLException
+	 * @throws IOException
+	 */
+	private List<Entry> claim(String trxName) throws SQLException, IOException
+	{
+		List<Entry> batch = new ArrayList<Entry>();
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		try
+		{
+			pstmt = DB.prepareStatement(CLAIM_SQL, trxName);
+			pstmt.setMaxRows(BATCH_SIZE);
+			rs = pstmt.executeQuery();
+			while (rs.next())
+			{
+				Properties info = new Properties();
+				String properties = rs.getString(5);
+				if (properties != null)
+					info.load(new StringReader(properties));
+				batch.add(new Entry(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getInt(4), info, rs.getBytes(6), rs.getInt(7)));
+			}
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+		}
+		return batch;
+	}
+
+	/**
+	 * Send messages of the same server through one connection
+	 * @param entries
+	 * @param trxName transaction of batch
+	 */
+	private void send(List<Entry> entries, String trxName)
+	{
+		Entry first = entries.get(0);
+		Properties props = new Properties();
+		props.putAll(System.getProperties());
+		for (String name : first.info.stringPropertyNames())
+		{
+			if (name.startsWith("mail."))
+				props.setProperty(name, first.info.getProperty(name));
+		}
+		Session session = Session.getInstance(props);
+		EMailTransportPool.Connection connection = null;
+		try
+		{
+			EMailAuthenticator auth = null;
+			String user = first.info.getProperty(USER);
+			if (user != null)
+				auth = new EMailAuthenticator(user, SecureEngine.decrypt(first.info.getProperty(PASSWORD), first.AD_Client_ID));
+			connection = EMailTransportPool.getConnection(session, first.host, first.port, auth);
+		}
+		catch (Exception e)
+		{
+			for (Entry entry : entries)
+				retry(entry, e, trxName);
+			return;
+		}
+
+		boolean connected = true;
+		try
+		{
+			for (Entry entry : entries)
+			{
+				//	left due, sent with the next batch
+				if (!connected)
+					continue;
+				long start = System.nanoTime();
+				try
+				{
+					MimeMessage msg = new MimeMessage(session, new ByteArrayInputStream(entry.content));
+					connection.getTransport().sendMessage(msg, msg.getAllRecipients());
+					m_sendNanos.addAndGet(System.nanoTime() - start);
+					m_sentCount.incrementAndGet();
+					DB.executeUpdateEx("DELETE FROM AD_MailOutbox WHERE AD_MailOutbox_ID=?", new Object[] {entry.AD_MailOutbox_ID}, trxName);
+				}
+				catch (SendFailedException e)
+				{
+					//	rejected recipients, not retried
+					fail(entry, e, trxName);
+				}
+				catch (MessagingException e)
+				{
+					retry(entry, e, trxName);
+					connected = connection.getTransport().isConnected();
+				}
+			}
+		}
+		finally
+		{
+			if (connected)
+				connection.release();
+			else
+				connection.close();
+		}
+	}
+
+	/**
+	 * Schedule next attempt of message, or mark it as error after maximum attempts
+	 * @param entry
+	 * @param e error of last attempt
+	 * @param trxName transaction of batch
+	 */
+	private void retry(Entry entry, Exception e, String trxName)
+	{
+		int attempts = entry.attempts + 1;
+		int maxAttempts = MSysConfig.getIntValue(MSysConfig.MAIL_OUTBOX_MAX_ATTEMPTS, 5, entry.AD_Client_ID);
+		if (attempts >= maxAttempts)
+		{
+			fail(entry, e, trxName);
+			return;
+		}
+		log.warning("AD_MailOutbox_ID=" + entry.AD_MailOutbox_ID + " attempt #" + attempts + ": " + e.getLocalizedMessage());
+		Timestamp nextAttempt = new Timestamp(System.currentTimeMillis()
+			+ Math.min(RETRY_DELAY_MILLIS << Math.min(attempts - 1, 20), MAX_RETRY_DELAY_MILLIS));
+		DB.executeUpdateEx("UPDATE AD_MailOutbox SET RetryCount=?,DateNextRun=?,Result=?,Updated=getDate() WHERE AD_MailOutbox_ID=?",
+			new Object[] {attempts, nextAttempt, getResult(e), entry.AD_MailOutbox_ID}, trxName);
+		m_retryCount.incrementAndGet();
+	}
+
+	/**
+	 * Mark message as error, it is kept in the outbox table and not sent again
+	 * @param entry
+	 * @param e error
+	 * @param trxName transaction of batch
+	 */
+	private void fail(Entry entry, Exception e, String trxName)
+	{
+		log.log(Level.SEVERE, "AD_MailOutbox_ID=" + entry.AD_MailOutbox_ID + " not sent: " + e.getLocalizedMessage());
+		DB.executeUpdateEx("UPDATE AD_MailOutbox SET IsError='Y',RetryCount=?,Result=?,Updated=getDate() WHERE AD_MailOutbox_ID=?",
+			new Object[] {entry.attempts + 1, getResult(e), entry.AD_MailOutbox_ID}, trxName);
+		m_failedCount.incrementAndGet();
+	}
+
+	/**
+	 * @param e
+	 * @return error message for Result column
+	 */
+	private String getResult(Exception e)
+	{
+		String result = e.getLocalizedMessage();
+		if (Util.isEmpty(result))
+			result = e.toString();
+		return result.length() > 2000 ? result.substring(0, 2000) : result;
+	}
+
+	/**
+	 * @return number of messages waiting to be sent in the outbox table
+	 */
+	public int getQueueSize()
+	{
+		return DB.getSQLValueEx(null, WAITING_SQL);
+	}
+
+	/**
+	 * @return number of messages queued since start
+	 */
+	public long getQueuedCount()
+	{
+		return m_queuedCount.get();
+	}
+
+	/**
+	 * @return number of messages sent since start
+	 */
+	public long getSentCount()
+	{
+		return m_sentCount.get();
+	}
+
+	/**
+	 * @return number of retries since start
+	 */
+	public long getRetryCount()
+	{
+		return m_retryCount.get();
+	}
+
+	/**
+	 * @return number of messages marked as error since start
+	 */
+	public long getFailedCount()
+	{
+		return m_failedCount.get();
+	}
+
+	/**
+	 * @return average time to send a message in milliseconds
+	 */
+	public double getAverageSendMillis()
+	{
+		long sent = m_sentCount.get();
+		return sent > 0 ? m_sendNanos.get() / 1000000d / sent : 0;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "EMailOutbox["
+			+ "Queue=" + getQueueSize()
+			+ ",Queued=" + getQueuedCount()
+			+ ",Sent=" + getSentCount()
+			+ ",Retries=" + getRetryCount()
+			+ ",Failed=" + getFailedCount()
+			+ ",AvgSendMillis=" + Math.round(getAverageSendMillis())
+			+ ",Connections=" + EMailTransportPool.getConnectCount()
+			+ ",Reused=" + EMailTransportPool.getReuseCount()
+			+ "]";
+	}
+
+	/**
+	 * Claimed message
+	 */
+	private static class Entry
+	{
+		private final int AD_MailOutbox_ID;
+		private final int AD_Client_ID;
+		private final String host;
+		private final int port;
+		private final Properties info;
+		private final byte[] content;
+		private final int attempts;
+
+		private Entry(int AD_MailOutbox_ID, int AD_Client_ID, String host, int port, Properties info, byte[] content, int attempts)
+		{
+			this.AD_MailOutbox_ID = AD_MailOutbox_ID;
+			this.AD_Client_ID = AD_Client_ID;
+			this.host = host;
+			this.port = port;
+			this.info = info;
+			this.content = content;
+			this.attempts = attempts;
+		}
+
+		private String getServerKey()
+		{
+			return host + ":" + port + ":" + info.getProperty(USER, "") + ":" + info.getProperty("mail.smtp.starttls.enable");
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.mail.MessagingException;
+import javax.mail.Session;
+import javax.mail.Transport;
+
+import org.compiere.model.MSysConfig;
+
+/**
+ * Pool of connected SMTP transports, per server and user.<br/>
+ * A connection is kept open for {@link MSysConfig#MAIL_SMTP_POOL_IDLE_SECONDS} after use, 0 (default) closes it after each message.
+ */
+public final class EMailTransportPool
+{
+	/** Maximum number of idle connections per server and user */
+	private static final int MAX_IDLE_PER_SERVER = 4;
+
+	/** Idle connections by server key */
+	private static final Map<String, Deque<Connection>> s_idle = new ConcurrentHashMap<String, Deque<Connection>>();
+
+	/** Number of connections opened */
+	private static final AtomicLong s_connectCount = new AtomicLong();
+	/** Number of connections reused */
+	private static final AtomicLong s_reuseCount = new AtomicLong();
+
+	private EMailTransportPool()
+	{
+	}
+
+	/**
+	 * Get idle connection to server or open a new one
+	 * @param session mail session
+	 * @param host SMTP host
+	 * @param port SMTP port
+	 * @param auth optional authenticator
+	 * @return connected transport, {@link Connection#release()} after use or {@link Connection#close()} after error
+	 * @throws MessagingException
+	 */
+	public static Connection getConnection(Session session, String host, int port, EMailAuthenticator auth) throws MessagingException
+	{
+		String key = host + ":" + port + ":" + (auth != null ? auth.getPasswordAuthentication().getUserName() : "")
+			+ ":" + session.getProperty("mail.smtp.starttls.enable");
+		Deque<Connection> idle = s_idle.get(key);
+		if (idle != null)
+		{
+			Connection connection;
+			while ((connection = idle.pollFirst()) != null)
+			{
+				if (!connection.isExpired() && connection.transport.isConnected())
+				{
+					s_reuseCount.incrementAndGet();
+					return connection;
+				}
+				connection.close();
+			}
+		}
+
+		Transport transport = session.getTransport("smtp");
+		if (auth != null)
+			transport.connect(host, port, auth.getPasswordAuthentication().getUserName(), auth.getPasswordAuthentication().getPassword());
+		else
+			transport.connect();
+		s_connectCount.incrementAndGet();
+		return new Connection(key, transport);
+	}
+
+	/**
+	 * Close all idle connections
+	 */
+	public static void closeIdle()
+	{
+		for (Deque<Connection> idle : s_idle.values())
+		{
+			Connection connection;
+			while ((connection = idle.pollFirst()) != null)
+				connection.close();
+		}
+	}
+
+	/**
+	 * @return number of connections opened
+	 */
+	public static long getConnectCount()
+	{
+		return s_connectCount.get();
+	}
+
+	/**
+	 * @return number of connections reused
+	 */
+	public static long getReuseCount()
+	{
+		return s_reuseCount.get();
+	}
+
+	/**
+	 * @return idle time in milliseconds before a connection is closed
+	 */
+	private static long getIdleMillis()
+	{
+		return MSysConfig.getIntValue(MSysConfig.MAIL_SMTP_POOL_IDLE_SECONDS, 0) * 1000L;
+	}
+
+	/**
+	 * Connected SMTP transport
+	 */
+	public static class Connection
+	{
+		private final String key;
+		private final Transport transport;
+		private long lastUsed;
+
+		private Connection(String key, Transport transport)
+		{
+			this.key = key;
+			this.transport = transport;
+		}
+
+		/**
+		 * @return connected transport
+		 */
+		public Transport getTransport()
+		{
+			return transport;
+		}
+
+		/**
+		 * Return connection to pool after successful use, or close it if pool is disabled or full
+		 */
+		public void release()
+		{
+			long idleMillis = getIdleMillis();
+			if (idleMillis <= 0)
+			{
+				close();
+				return;
+			}
+			lastUsed = System.currentTimeMillis();
+			Deque<Connection> idle = s_idle.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<Connection>());
+			if (idle.size() >= MAX_IDLE_PER_SERVER)
+				close();
+			else
+				idle.offerFirst(this);
+		}
+
+		/**
+		 * Close connection
+		 */
+		public void close()
+		{
+			try
+			{
+				transport.close();
+			}
+			catch (Exception e)
+			{
+			}
+		}
+
+		private boolean isExpired()
+		{
+			return System.currentTimeMillis() - lastUsed >= getIdleMillis();
+		}
+	}
+}
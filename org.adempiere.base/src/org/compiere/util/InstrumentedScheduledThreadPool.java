@@ -0,0 +1,161 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.util.Map;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled thread pool with statistics, registered in JMX on creation.<br/>
+ * The queue of a scheduled pool is unbounded, wait time is the delay between the scheduled time and the start of a task.
+ */
+public class InstrumentedScheduledThreadPool extends ScheduledThreadPoolExecutor implements ThreadPoolMXBean
+{
+	private final String name;
+	private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+
+	/**
+	 * @param name pool name, also used as thread name prefix
+	 * @param threads number of threads
+	 */
+	public InstrumentedScheduledThreadPool(String name, int threads)
+	{
+		super(threads, new InstrumentedThreadPool.NamedThreadFactory(name));
+		this.name = name;
+		setRejectedExecutionHandler(new InstrumentedThreadPool.CountingRejectedExecutionHandler(statistics, new ThreadPoolExecutor.AbortPolicy()));
+		ThreadPoolStatistics.register(this);
+	}
+
+	@Override
+	protected void beforeExecute(Thread t, Runnable r)
+	{
+		super.beforeExecute(t, r);
+		statistics.beforeExecute(r instanceof RunnableScheduledFuture<?> future ? -future.getDelay(TimeUnit.NANOSECONDS) : 0);
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t)
+	{
+		super.afterExecute(r, t);
+		statistics.afterExecute(r, t);
+	}
+
+	@Override
+	protected void terminated()
+	{
+		super.terminated();
+		ThreadPoolStatistics.unregister(this);
+	}
+
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+
+	@Override
+	public boolean isVirtual()
+	{
+		return false;
+	}
+
+	@Override
+	public int getQueueSize()
+	{
+		return getQueue().size();
+	}
+
+	@Override
+	public int getQueueCapacity()
+	{
+		return -1;
+	}
+
+	@Override
+	public String getRejectionPolicy()
+	{
+		return InstrumentedThreadPool.POLICY_ABORT;
+	}
+
+	@Override
+	public long getFailedTaskCount()
+	{
+		return statistics.getFailedTaskCount();
+	}
+
+	@Override
+	public long getRejectedTaskCount()
+	{
+		return statistics.getRejectedTaskCount();
+	}
+
+	@Override
+	public long getAverageWaitMillis()
+	{
+		return statistics.getAverageWaitMillis();
+	}
+
+	@Override
+	public long getMaxWaitMillis()
+	{
+		return statistics.getMaxWaitMillis();
+	}
+
+	@Override
+	public long getAverageLatencyMillis()
+	{
+		return statistics.getAverageLatencyMillis();
+	}
+
+	@Override
+	public long getMaxLatencyMillis()
+	{
+		return statistics.getMaxLatencyMillis();
+	}
+
+	@Override
+	public Map<String, Long> getLatencyHistogram()
+	{
+		return statistics.getLatencyHistogram();
+	}
+
+	@Override
+	public String getStatus()
+	{
+		return ThreadPoolStatistics.getStatus(this);
+	}
+
+	@Override
+	public void resetStatistics()
+	{
+		statistics.reset();
+	}
+
+	@Override
+	public String toString()
+	{
+		return name + ": " + getStatus();
+	}
+}
@@ -0,0 +1,371 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.adempiere.util.ServerContext;
+
+/**
+ * Thread pool with bounded queue, rejection policy and statistics, for one class of workload.<br/>
+ * Idle threads are released after one minute. The pool is registered in JMX on creation.<br/>
+ * With virtual threads, the maximum number of threads limits the concurrency of the workload instead of the
+ * number of platform threads.
+ */
+public class InstrumentedThreadPool extends ThreadPoolExecutor implements ThreadPoolMXBean
+{
+	/** Rejection policy: throw RejectedExecutionException */
+	public static final String POLICY_ABORT = "Abort";
+	/** Rejection policy: run the task in the submitting thread, its context is restored after the task */
+	public static final String POLICY_CALLER_RUNS = "CallerRuns";
+	/** Rejection policy: silently drop the task */
+	public static final String POLICY_DISCARD = "Discard";
+
+	private final String name;
+	private final int queueCapacity;
+	private final String rejectionPolicy;
+	private final boolean virtual;
+	private final ThreadPoolStatistics statistics = new ThreadPoolStatistics();
+
+	/**
+	 * @param name pool name, also used as thread name prefix
+	 * @param maxThreads maximum number of threads
+	 * @param queueCapacity maximum number of queued tasks
+	 * @param rejectionPolicy {@link #POLICY_ABORT}, {@link #POLICY_CALLER_RUNS} or {@link #POLICY_DISCARD}
+	 */
+	public InstrumentedThreadPool(String name, int maxThreads, int queueCapacity, String rejectionPolicy)
+	{
+		this(name, maxThreads, queueCapacity, rejectionPolicy, false);
+	}
+
+	/**
+	 * @param name pool name, also used as thread name prefix
+	 * @param maxThreads maximum number of threads
+	 * @param queueCapacity maximum number of queued tasks
+	 * @param rejectionPolicy {@link #POLICY_ABORT}, {@link #POLICY_CALLER_RUNS} or {@link #POLICY_DISCARD}
+	 * @param virtual true to run tasks in virtual threads, ignored if the JVM has no virtual threads
+	 */
+	public InstrumentedThreadPool(String name, int maxThreads, int queueCapacity, String rejectionPolicy, boolean virtual)
+	{
+		this(name, maxThreads, queueCapacity, rejectionPolicy, virtual ? VirtualThreads.newThreadFactory(name + "-") : null);
+	}
+
+	private InstrumentedThreadPool(String name, int maxThreads, int queueCapacity, String rejectionPolicy, ThreadFactory virtualThreadFactory)
+	{
+		super(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity),
+			virtualThreadFactory != null ? virtualThreadFactory : new NamedThreadFactory(name));
+		this.name = name;
+		this.virtual = virtualThreadFactory != null;
+		this.queueCapacity = queueCapacity;
+		if (POLICY_CALLER_RUNS.equalsIgnoreCase(rejectionPolicy))
+			this.rejectionPolicy = POLICY_CALLER_RUNS;
+		else if (POLICY_DISCARD.equalsIgnoreCase(rejectionPolicy))
+			this.rejectionPolicy = POLICY_DISCARD;
+		else
+			this.rejectionPolicy = POLICY_ABORT;
+		allowCoreThreadTimeOut(true);
+		setRejectedExecutionHandler(new CountingRejectedExecutionHandler(statistics, getRejectedExecutionHandler(this.rejectionPolicy)));
+		ThreadPoolStatistics.register(this);
+	}
+
+	/**
+	 * @param policy
+	 * @return handler of rejection policy
+	 */
+	private static RejectedExecutionHandler getRejectedExecutionHandler(String policy)
+	{
+		if (POLICY_CALLER_RUNS.equals(policy))
+			return new ContextCallerRunsPolicy();
+		else if (POLICY_DISCARD.equals(policy))
+			return new ThreadPoolExecutor.DiscardPolicy();
+		return new ThreadPoolExecutor.AbortPolicy();
+	}
+
+	@Override
+	public void execute(Runnable command)
+	{
+		if (command == null)
+			throw new NullPointerException();
+		super.execute(command instanceof Timed ? command : new TimedRunnable(command));
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable)
+	{
+		return new TimedFutureTask<T>(callable);
+	}
+
+	@Override
+	protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value)
+	{
+		return new TimedFutureTask<T>(runnable, value);
+	}
+
+	@Override
+	protected void beforeExecute(Thread t, Runnable r)
+	{
+		super.beforeExecute(t, r);
+		statistics.beforeExecute(r instanceof Timed timed ? System.nanoTime() - timed.getQueuedTime() : 0);
+	}
+
+	@Override
+	protected void afterExecute(Runnable r, Throwable t)
+	{
+		super.afterExecute(r, t);
+		statistics.afterExecute(r, t);
+	}
+
+	@Override
+	protected void terminated()
+	{
+		super.terminated();
+		ThreadPoolStatistics.unregister(this);
+	}
+
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+
+	@Override
+	public boolean isVirtual()
+	{
+		return virtual;
+	}
+
+	@Override
+	public int getQueueSize()
+	{
+		return getQueue().size();
+	}
+
+	@Override
+	public int getQueueCapacity()
+	{
+		return queueCapacity;
+	}
+
+	@Override
+	public String getRejectionPolicy()
+	{
+		return rejectionPolicy;
+	}
+
+	@Override
+	public long getFailedTaskCount()
+	{
+		return statistics.getFailedTaskCount();
+	}
+
+	@Override
+	public long getRejectedTaskCount()
+	{
+		return statistics.getRejectedTaskCount();
+	}
+
+	@Override
+	public long getAverageWaitMillis()
+	{
+		return statistics.getAverageWaitMillis();
+	}
+
+	@Override
+	public long getMaxWaitMillis()
+	{
+		return statistics.getMaxWaitMillis();
+	}
+
+	@Override
+	public long getAverageLatencyMillis()
+	{
+		return statistics.getAverageLatencyMillis();
+	}
+
+	@Override
+	public long getMaxLatencyMillis()
+	{
+		return statistics.getMaxLatencyMillis();
+	}
+
+	@Override
+	public Map<String, Long> getLatencyHistogram()
+	{
+		return statistics.getLatencyHistogram();
+	}
+
+	@Override
+	public String getStatus()
+	{
+		return ThreadPoolStatistics.getStatus(this);
+	}
+
+	@Override
+	public void resetStatistics()
+	{
+		statistics.reset();
+	}
+
+	@Override
+	public String toString()
+	{
+		return name + ": " + getStatus();
+	}
+
+	/**
+	 * Task that knows when it has been queued
+	 */
+	private interface Timed
+	{
+		/**
+		 * @return {@link System#nanoTime()} when the task has been created
+		 */
+		public long getQueuedTime();
+	}
+
+	/**
+	 * Future task of submit
+	 */
+	private static class TimedFutureTask<V> extends FutureTask<V> implements Timed
+	{
+		private final long queued = System.nanoTime();
+
+		private TimedFutureTask(Callable<V> callable)
+		{
+			super(callable);
+		}
+
+		private TimedFutureTask(Runnable runnable, V result)
+		{
+			super(runnable, result);
+		}
+
+		@Override
+		public long getQueuedTime()
+		{
+			return queued;
+		}
+	}
+
+	/**
+	 * Task of execute
+	 */
+	private static class TimedRunnable implements Runnable, Timed
+	{
+		private final long queued = System.nanoTime();
+		private final Runnable task;
+
+		private TimedRunnable(Runnable task)
+		{
+			this.task = task;
+		}
+
+		@Override
+		public void run()
+		{
+			task.run();
+		}
+
+		@Override
+		public long getQueuedTime()
+		{
+			return queued;
+		}
+	}
+
+	/**
+	 * Count rejected tasks before applying the rejection policy
+	 */
+	static class CountingRejectedExecutionHandler implements RejectedExecutionHandler
+	{
+		private final ThreadPoolStatistics statistics;
+		private final RejectedExecutionHandler handler;
+
+		CountingRejectedExecutionHandler(ThreadPoolStatistics statistics, RejectedExecutionHandler handler)
+		{
+			this.statistics = statistics;
+			this.handler = handler;
+		}
+
+		@Override
+		public void rejectedExecution(Runnable r, ThreadPoolExecutor executor)
+		{
+			statistics.rejected();
+			handler.rejectedExecution(r, executor);
+		}
+	}
+
+	/**
+	 * Run rejected task in the submitting thread and restore the context of that thread afterwards,
+	 * as tasks like {@link org.adempiere.util.ContextRunnable} dispose the context of the thread they run in
+	 */
+	static class ContextCallerRunsPolicy implements RejectedExecutionHandler
+	{
+		@Override
+		public void rejectedExecution(Runnable r, ThreadPoolExecutor executor)
+		{
+			if (executor.isShutdown())
+				return;
+			Properties context = ServerContext.getCurrentInstance();
+			try
+			{
+				r.run();
+			}
+			finally
+			{
+				ServerContext.setCurrentInstance(context);
+			}
+		}
+	}
+
+	/**
+	 * Thread factory for threads named [pool name]-[n]
+	 */
+	static class NamedThreadFactory implements ThreadFactory
+	{
+		private final String prefix;
+		private final AtomicInteger count = new AtomicInteger();
+
+		NamedThreadFactory(String name)
+		{
+			this.prefix = name + "-";
+		}
+
+		@Override
+		public Thread newThread(Runnable r)
+		{
+			Thread thread = new Thread(r, prefix + count.incrementAndGet());
+			thread.setDaemon(false);
+			return thread;
+		}
+	}
+}
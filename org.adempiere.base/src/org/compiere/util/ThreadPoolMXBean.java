@@ -0,0 +1,121 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.util.Map;
+
+/**
+ * Management interface of an instrumented thread pool, registered in the platform MBean server
+ * as org.idempiere:type=ThreadPool,name=[pool name].
+ */
+public interface ThreadPoolMXBean
+{
+	/**
+	 * @return pool name
+	 */
+	public String getName();
+
+	/**
+	 * @return true if tasks run in virtual threads
+	 */
+	public boolean isVirtual();
+
+	/**
+	 * @return current number of threads
+	 */
+	public int getPoolSize();
+
+	/**
+	 * @return maximum number of threads
+	 */
+	public int getMaximumPoolSize();
+
+	/**
+	 * @return number of threads executing a task
+	 */
+	public int getActiveCount();
+
+	/**
+	 * @return number of queued tasks
+	 */
+	public int getQueueSize();
+
+	/**
+	 * @return queue capacity, -1 if the queue is unbounded
+	 */
+	public int getQueueCapacity();
+
+	/**
+	 * @return rejection policy of the pool
+	 */
+	public String getRejectionPolicy();
+
+	/**
+	 * @return number of completed tasks
+	 */
+	public long getCompletedTaskCount();
+
+	/**
+	 * @return number of tasks that ended with an exception
+	 */
+	public long getFailedTaskCount();
+
+	/**
+	 * @return number of rejected tasks
+	 */
+	public long getRejectedTaskCount();
+
+	/**
+	 * @return average time (ms) a task waits in the queue before it starts
+	 */
+	public long getAverageWaitMillis();
+
+	/**
+	 * @return maximum time (ms) a task waited in the queue before it started
+	 */
+	public long getMaxWaitMillis();
+
+	/**
+	 * @return average execution time (ms) of a task
+	 */
+	public long getAverageLatencyMillis();
+
+	/**
+	 * @return maximum execution time (ms) of a task
+	 */
+	public long getMaxLatencyMillis();
+
+	/**
+	 * @return number of executed tasks by execution time bucket (upper bound)
+	 */
+	public Map<String, Long> getLatencyHistogram();
+
+	/**
+	 * @return one line summary of the pool statistics
+	 */
+	public String getStatus();
+
+	/**
+	 * Reset the counters and histogram
+	 */
+	public void resetStatistics();
+}
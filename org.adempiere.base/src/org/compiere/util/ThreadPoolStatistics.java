@@ -0,0 +1,259 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Task counters, wait time and execution time histogram of an instrumented thread pool
+ */
+final class ThreadPoolStatistics
+{
+	/** Upper bound (ms) of the execution time buckets, the last bucket has no upper bound */
+	private static final long[] LATENCY_BUCKETS = {10, 50, 100, 500, 1000, 5000, 10000, 60000};
+
+	private static final CLogger log = CLogger.getCLogger(ThreadPoolStatistics.class);
+
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+	private final LongAdder latencyNanos = new LongAdder();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final AtomicLong maxLatencyNanos = new AtomicLong();
+	private final LongAdder[] histogram = new LongAdder[LATENCY_BUCKETS.length + 1];
+
+	/** Start time of the task executed by the current thread */
+	private final ThreadLocal<long[]> startTime = ThreadLocal.withInitial(() -> new long[1]);
+
+	ThreadPoolStatistics()
+	{
+		for (int i = 0; i < histogram.length; i++)
+			histogram[i] = new LongAdder();
+	}
+
+	/**
+	 * Task is about to be executed by the current thread
+	 * @param wait time (ns) the task has waited in the queue
+	 */
+	void beforeExecute(long wait)
+	{
+		if (wait > 0)
+		{
+			waitNanos.add(wait);
+			maxWaitNanos.accumulateAndGet(wait, Math::max);
+		}
+		startTime.get()[0] = System.nanoTime();
+	}
+
+	/**
+	 * Task executed by the current thread has ended
+	 * @param r task
+	 * @param t exception thrown by the task or null
+	 */
+	void afterExecute(Runnable r, Throwable t)
+	{
+		long latency = System.nanoTime() - startTime.get()[0];
+		latencyNanos.add(latency);
+		maxLatencyNanos.accumulateAndGet(latency, Math::max);
+		long ms = TimeUnit.NANOSECONDS.toMillis(latency);
+		int bucket = 0;
+		while (bucket < LATENCY_BUCKETS.length && ms > LATENCY_BUCKETS[bucket])
+			bucket++;
+		histogram[bucket].increment();
+
+		if (t == null && r instanceof Future<?> future && future.isDone())
+		{
+			try
+			{
+				future.get();
+			}
+			catch (CancellationException e)
+			{
+			}
+			catch (ExecutionException e)
+			{
+				t = e.getCause();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (t != null)
+			failed.increment();
+		completed.increment();
+	}
+
+	/**
+	 * Task has been rejected
+	 */
+	void rejected()
+	{
+		rejected.increment();
+	}
+
+	long getCompletedTaskCount()
+	{
+		return completed.sum();
+	}
+
+	long getFailedTaskCount()
+	{
+		return failed.sum();
+	}
+
+	long getRejectedTaskCount()
+	{
+		return rejected.sum();
+	}
+
+	long getAverageWaitMillis()
+	{
+		long count = completed.sum();
+		return count > 0 ? TimeUnit.NANOSECONDS.toMillis(waitNanos.sum() / count) : 0;
+	}
+
+	long getMaxWaitMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+	}
+
+	long getAverageLatencyMillis()
+	{
+		long count = completed.sum();
+		return count > 0 ? TimeUnit.NANOSECONDS.toMillis(latencyNanos.sum() / count) : 0;
+	}
+
+	long getMaxLatencyMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get());
+	}
+
+	Map<String, Long> getLatencyHistogram()
+	{
+		Map<String, Long> map = new LinkedHashMap<String, Long>();
+		for (int i = 0; i < LATENCY_BUCKETS.length; i++)
+			map.put("<=" + LATENCY_BUCKETS[i] + "ms", histogram[i].sum());
+		map.put(">" + LATENCY_BUCKETS[LATENCY_BUCKETS.length - 1] + "ms", histogram[LATENCY_BUCKETS.length].sum());
+		return map;
+	}
+
+	void reset()
+	{
+		completed.reset();
+		failed.reset();
+		rejected.reset();
+		waitNanos.reset();
+		latencyNanos.reset();
+		maxWaitNanos.set(0);
+		maxLatencyNanos.set(0);
+		for (LongAdder adder : histogram)
+			adder.reset();
+	}
+
+	/**
+	 * @param pool
+	 * @return one line summary of pool statistics
+	 */
+	static String getStatus(ThreadPoolMXBean pool)
+	{
+		StringBuilder sb = new StringBuilder()
+			.append("Active=").append(pool.getActiveCount())
+			.append(", Threads=").append(pool.getPoolSize());
+		if (pool.getMaximumPoolSize() != Integer.MAX_VALUE)
+			sb.append("/").append(pool.getMaximumPoolSize());
+		sb.append(", Queue=").append(pool.getQueueSize());
+		if (pool.getQueueCapacity() >= 0)
+			sb.append("/").append(pool.getQueueCapacity());
+		if (pool.isVirtual())
+			sb.append(", Virtual");
+		sb.append(", Completed=").append(pool.getCompletedTaskCount())
+			.append(", Failed=").append(pool.getFailedTaskCount())
+			.append(", Rejected=").append(pool.getRejectedTaskCount())
+			.append(", Wait avg/max=").append(pool.getAverageWaitMillis()).append("/").append(pool.getMaxWaitMillis()).append(" ms")
+			.append(", Latency avg/max=").append(pool.getAverageLatencyMillis()).append("/").append(pool.getMaxLatencyMillis()).append(" ms")
+			.append(", Histogram ").append(pool.getLatencyHistogram());
+		return sb.toString();
+	}
+
+	/**
+	 * @param pool
+	 * @return JMX object name of pool
+	 * @throws Exception
+	 */
+	private static ObjectName getObjectName(ThreadPoolMXBean pool) throws Exception
+	{
+		return new ObjectName("org.idempiere:type=ThreadPool,name=" + ObjectName.quote(pool.getName()));
+	}
+
+	/**
+	 * Register pool in platform MBean server, replacing a pool registered with the same name
+	 * @param pool
+	 */
+	static void register(ThreadPoolMXBean pool)
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = getObjectName(pool);
+			if (server.isRegistered(name))
+				server.unregisterMBean(name);
+			server.registerMBean(pool, name);
+		}
+		catch (Exception e)
+		{
+			log.log(Level.WARNING, "Failed to register thread pool " + pool.getName(), e);
+		}
+	}
+
+	/**
+	 * Unregister pool from platform MBean server
+	 * @param pool
+	 */
+	static void unregister(ThreadPoolMXBean pool)
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = getObjectName(pool);
+			if (server.isRegistered(name))
+				server.unregisterMBean(name);
+		}
+		catch (Exception e)
+		{
+			log.log(Level.WARNING, "Failed to unregister thread pool " + pool.getName(), e);
+		}
+	}
+}
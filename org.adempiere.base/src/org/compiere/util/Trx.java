@@ -29,6 +29,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 
 import org.adempiere.exceptions.AdempiereException;
@@ -195,6 +196,8 @@ public class Trx
 	
 	private	Connection 	m_connection = null;
 	private	String 		m_trxName = null;
+	/** Lock of connection and savepoints, held during JDBC calls */
+	private final ReentrantLock m_lock = new ReentrantLock();
 	private boolean		m_active = false;
 
 	private long m_startTime;
@@ -216,29 +219,37 @@ public class Trx
 	 *  @param createNew if true, create new connection if the trx does not have one created yet
 	 *	@return connection
 	 */
-	public synchronized Connection getConnection(boolean createNew)
+	public Connection getConnection(boolean createNew)
 	{
-		if (log.isLoggable(Level.ALL))log.log(Level.ALL, "Active=" + isActive() + ", Connection=" + m_connection);
-
-		if (m_connection == null)	//	get new Connection
+		m_lock.lock();
+		try
 		{
-			if (createNew)
+			if (log.isLoggable(Level.ALL))log.log(Level.ALL, "Active=" + isActive() + ", Connection=" + m_connection);
+
+			if (m_connection == null)	//	get new Connection
 			{
-				if (!s_cache.containsKey(m_trxName))
+				if (createNew)
 				{
-					new Exception("Illegal to getConnection for Trx that is not register.").printStackTrace();
-					return null;
+					if (!s_cache.containsKey(m_trxName))
+					{
+						new Exception("Illegal to getConnection for Trx that is not register.").printStackTrace();
+						return null;
+					}
+					setConnection(DB.createConnection(false, Connection.TRANSACTION_READ_COMMITTED));
 				}
-				setConnection(DB.createConnection(false, Connection.TRANSACTION_READ_COMMITTED));
+				else
+					return null;
 			}
-			else
-				return null;
+			if (!isActive())
+				start();
+			if (MSysConfig.getBooleanValue(MSysConfig.TRACE_ALL_TRX_CONNECTION_GET, false))
+				trace = new Exception();
+			return m_connection;
+		}
+		finally
+		{
+			m_lock.unlock();
 		}
-		if (!isActive())
-			start();
-		if (MSysConfig.getBooleanValue(MSysConfig.TRACE_ALL_TRX_CONNECTION_GET, false))
-			trace = new Exception();
-		return m_connection;
 	}	//	getConnection
 
 	/**
@@ -321,34 +332,42 @@ public class Trx
 	 *  @param throwException if true, re-throws exception
 	 *	@return true if success, false if failed or transaction already rollback
 	 */
-	public synchronized boolean rollback(boolean throwException) throws SQLException
+	public boolean rollback(boolean throwException) throws SQLException
 	{
-		//local
+		m_lock.lock();
 		try
 		{
-			if (m_connection != null)
+			//local
+			try
 			{
-				m_connection.rollback();
-				Level logLevel = isLocalTrx(m_trxName) ? Level.FINE : Level.INFO; 
-				if (log.isLoggable(logLevel)) log.log(logLevel, "**** " + m_trxName);
-				m_active = false;
-				fireAfterRollbackEvent(true);
-				return true;
+				if (m_connection != null)
+				{
+					m_connection.rollback();
+					Level logLevel = isLocalTrx(m_trxName) ? Level.FINE : Level.INFO; 
+					if (log.isLoggable(logLevel)) log.log(logLevel, "**** " + m_trxName);
+					m_active = false;
+					fireAfterRollbackEvent(true);
+					return true;
+				}
 			}
+			catch (SQLException e)
+			{
+				log.log(Level.SEVERE, m_trxName, e);
+				if (throwException)
+				{
+					m_active = false;
+					fireAfterRollbackEvent(false);
+					throw e;
+				}
+			}		
+			m_active = false;
+			fireAfterRollbackEvent(false);
+			return false;
 		}
-		catch (SQLException e)
+		finally
 		{
-			log.log(Level.SEVERE, m_trxName, e);
-			if (throwException)
-			{
-				m_active = false;
-				fireAfterRollbackEvent(false);
-				throw e;
-			}
-		}		
-		m_active = false;
-		fireAfterRollbackEvent(false);
-		return false;
+			m_lock.unlock();
+		}
 	}	//	rollback
 	
 	/**
@@ -390,6 +409,9 @@ public class Trx
 				m_connection.rollback(savepoint);
 				if (log.isLoggable(Level.INFO)) log.info ("**** " + m_trxName);
 				m_changesMadeByEventListener = false;
+				for(TrxEventListener l : listeners) {
+					l.afterRollback(this, savepoint);
+				}
 				return true;
 			}
 		}
@@ -406,40 +428,63 @@ public class Trx
 	 * @param throwException if true, re-throws exception
 	 * @return true if success
 	 **/
-	public synchronized boolean commit(boolean throwException) throws SQLException
+	public boolean commit(boolean throwException) throws SQLException
 	{
-		//local
+		m_lock.lock();
 		try
 		{
-			if (m_connection != null)
-			{
-				m_connection.commit();
-				if (log.isLoggable(Level.INFO)) log.info ("**** " + m_trxName);
-				m_active = false;
-				fireAfterCommitEvent(true);
-				return true;
-			}
-		}
-		catch (SQLException e)
-		{
-			log.log(Level.SEVERE, m_trxName, e);
-			if (throwException) 
+			//local
+			try
 			{
-				m_active = false;
-				fireAfterCommitEvent(false);
-				throw e;
+				if (m_connection != null)
+				{
+					fireBeforeCommitEvent();
+					m_connection.commit();
+					if (log.isLoggable(Level.INFO)) log.info ("**** " + m_trxName);
+					m_active = false;
+					fireAfterCommitEvent(true);
+					return true;
+				}
 			}
-			else
+			catch (SQLException e)
 			{
-				String msg = DBException.getDefaultDBExceptionMessage(e);
-				log.saveError(msg != null ? msg : e.getLocalizedMessage(), e);
+				log.log(Level.SEVERE, m_trxName, e);
+				if (throwException) 
+				{
+					m_active = false;
+					fireAfterCommitEvent(false);
+					throw e;
+				}
+				else
+				{
+					String msg = DBException.getDefaultDBExceptionMessage(e);
+					log.saveError(msg != null ? msg : e.getLocalizedMessage(), e);
+				}
 			}
+			m_active = false;
+			fireAfterCommitEvent(false);
+			return false;
+		}
+		finally
+		{
+			m_lock.unlock();
 		}
-		m_active = false;
-		fireAfterCommitEvent(false);
-		return false;
 	}	//	commit
 	
+	/**
+	 * Fire before commit event
+	 * @throws SQLException if a listener failed
+	 */
+	private void fireBeforeCommitEvent() throws SQLException {
+		for(TrxEventListener l : listeners) {
+			try {
+				l.beforeCommit(this);
+			} catch (RuntimeException e) {
+				throw new SQLException(e.getLocalizedMessage(), e);
+			}
+		}
+	}
+
 	/**
 	 * Fire after commit event
 	 * @param success
@@ -492,57 +537,65 @@ public class Trx
 	 * 	End Transaction and Close Connection
 	 *	@return true if success
 	 */
-	public synchronized boolean close()
+	public boolean close()
 	{
-		s_cache.remove(getTrxName());
+		m_lock.lock();
+		try
+		{
+			s_cache.remove(getTrxName());
 		
-		//local
-		if (m_connection == null)
-			return true;
+			//local
+			if (m_connection == null)
+				return true;
 		
-		try {
-			if (isActive() && !m_connection.isReadOnly())
-				commit();
-		} catch (SQLException e) {			
-		}
+			try {
+				if (isActive() && !m_connection.isReadOnly())
+					commit();
+			} catch (SQLException e) {			
+			}
 			
-		//	Close Connection
-		try
-		{
-			m_connection.setAutoCommit(true);
-		}
-		catch (SQLException e)
-		{
-		}
-		finally
-		{
-			//ensure connection return to pool with readonly=false
-			try 
+			//	Close Connection
+			try
 			{
-				if (m_connection.isReadOnly())
-				{
-					m_connection.setReadOnly(false);
-				}
+				m_connection.setAutoCommit(true);
 			}
 			catch (SQLException e)
 			{
-				log.log(Level.SEVERE, m_trxName, e);
-			}	
-			try
-			{
-				m_connection.close();
 			}
-			catch (SQLException e)
+			finally
 			{
-				log.log(Level.SEVERE, m_trxName, e);
+				//ensure connection return to pool with readonly=false
+				try 
+				{
+					if (m_connection.isReadOnly())
+					{
+						m_connection.setReadOnly(false);
+					}
+				}
+				catch (SQLException e)
+				{
+					log.log(Level.SEVERE, m_trxName, e);
+				}	
+				try
+				{
+					m_connection.close();
+				}
+				catch (SQLException e)
+				{
+					log.log(Level.SEVERE, m_trxName, e);
+				}
 			}
+			m_connection = null;
+			trace = null;
+			m_active = false;
+			fireAfterCloseEvent();
+			if (log.isLoggable(Level.CONFIG)) log.config(m_trxName);
+			return true;
+		}
+		finally
+		{
+			m_lock.unlock();
 		}
-		m_connection = null;
-		trace = null;
-		m_active = false;
-		fireAfterCloseEvent();
-		if (log.isLoggable(Level.CONFIG)) log.config(m_trxName);
-		return true;
 	}	//	close
 	
 	/**
@@ -560,17 +613,26 @@ public class Trx
 	 * @return Savepoint
 	 * @throws SQLException
 	 */
-	public synchronized Savepoint setSavepoint(String name) throws SQLException {
-		if (m_connection == null) 
-			getConnection();
+	public Savepoint setSavepoint(String name) throws SQLException {
+		m_lock.lock();
+		try
+		{
+			if (m_connection == null) 
+				getConnection();
 		
-		if(m_connection != null) {
-			if (name != null)
-				return m_connection.setSavepoint(name);
-			else
-				return m_connection.setSavepoint();
-		} else {
-			return null;
+			if(m_connection != null) {
+				Savepoint savepoint = name != null ? m_connection.setSavepoint(name) : m_connection.setSavepoint();
+				for(TrxEventListener l : listeners) {
+					l.afterSetSavepoint(this, savepoint);
+				}
+				return savepoint;
+			} else {
+				return null;
+			}
+		}
+		finally
+		{
+			m_lock.unlock();
 		}
 	}
 
@@ -581,8 +643,16 @@ public class Trx
 	 * For workflow engine use, developer usually shouldn't call this method directly.
 	 * @param savepoint
 	 */
-	public synchronized void setLastWFSavepoint(Savepoint savepoint) {
-		m_lastWFSavepoint = savepoint;
+	public void setLastWFSavepoint(Savepoint savepoint) {
+		m_lock.lock();
+		try
+		{
+			m_lastWFSavepoint = savepoint;
+		}
+		finally
+		{
+			m_lock.unlock();
+		}
 	}
 
 	/**
@@ -590,8 +660,16 @@ public class Trx
 	 * For workflow engine use, developer usually shouldn't call this method directly.
 	 * @return last set workflow save point or null
 	 */
-	public synchronized Savepoint getLastWFSavepoint() {
-		return m_lastWFSavepoint;
+	public Savepoint getLastWFSavepoint() {
+		m_lock.lock();
+		try
+		{
+			return m_lastWFSavepoint;
+		}
+		finally
+		{
+			m_lock.unlock();
+		}
 	}
 
 	/**
@@ -600,26 +678,38 @@ public class Trx
 	 * @throws SQLException
 	 * @see {@link Connection#releaseSavepoint(Savepoint)}
 	 */
-	public synchronized void releaseSavepoint(Savepoint savepoint) throws SQLException
+	public void releaseSavepoint(Savepoint savepoint) throws SQLException
 	{
-		if (DB.isOracle())
-		{
-			// Note: As of Oracle Database 10g, releaseSavepoint and
-			// oracleReleaseSavepoint are not supported. If you call either
-			// of the methods, then SQLException is thrown with the message
-			// "Unsupported feature".
-			// -- 4-4 Oracle Database JDBC Developer's Guide and Reference
-			return;
-		}
-		if (m_connection == null) 
+		m_lock.lock();
+		try
 		{
-			getConnection();
+			if (DB.isOracle())
+			{
+				// Note: As of Oracle Database 10g, releaseSavepoint and
+				// oracleReleaseSavepoint are not supported. If you call either
+				// of the methods, then SQLException is thrown with the message
+				// "Unsupported feature".
+				// -- 4-4 Oracle Database JDBC Developer's Guide and Reference
+			}
+			else
+			{
+				if (m_connection == null) 
+				{
+					getConnection();
+				}
+				if(m_connection != null)
+				{
+					m_connection.releaseSavepoint(savepoint);
+				}
+			}
+			for(TrxEventListener l : listeners) {
+				l.afterReleaseSavepoint(this, savepoint);
+			}
 		}
-		if(m_connection != null)
+		finally
 		{
-			m_connection.releaseSavepoint(savepoint);
+			m_lock.unlock();
 		}
-		
 	}
 	
 	/**
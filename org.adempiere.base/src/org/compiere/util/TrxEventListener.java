@@ -13,11 +13,20 @@
  *****************************************************************************/
 package org.compiere.util;
 
+import java.sql.Savepoint;
+
 /**
  * Transaction event listener interface
  * @author hengsin
  */
 public interface TrxEventListener {
+	/**
+	 * Before commit event, changes made by listener are committed with the transaction.<br/>
+	 * Throw exception to abort the commit.
+	 * @param trx
+	 */
+	public default void beforeCommit(Trx trx) {
+	}
 	/**
 	 * After commit event
 	 * @param trx
@@ -30,6 +39,27 @@ public interface TrxEventListener {
 	 * @param success
 	 */
 	public void afterRollback(Trx trx, boolean success);
+	/**
+	 * After set savepoint event
+	 * @param trx
+	 * @param savepoint
+	 */
+	public default void afterSetSavepoint(Trx trx, Savepoint savepoint) {
+	}
+	/**
+	 * After rollback to savepoint event
+	 * @param trx
+	 * @param savepoint
+	 */
+	public default void afterRollback(Trx trx, Savepoint savepoint) {
+	}
+	/**
+	 * After release savepoint event
+	 * @param trx
+	 * @param savepoint
+	 */
+	public default void afterReleaseSavepoint(Trx trx, Savepoint savepoint) {
+	}
 	/**
 	 * After close event
 	 * @param trx
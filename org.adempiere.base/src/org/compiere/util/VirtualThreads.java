@@ -0,0 +1,128 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads (Java 21) while the code base targets Java 17.<br/>
+ * All methods degrade to platform thread behaviour when the running JVM has no virtual threads.
+ */
+public final class VirtualThreads
+{
+	/** Thread.isVirtual() or null */
+	private static final MethodHandle IS_VIRTUAL;
+	/** Thread.ofVirtual() or null */
+	private static final MethodHandle OF_VIRTUAL;
+	/** Thread.Builder.name(String, long) or null */
+	private static final MethodHandle BUILDER_NAME;
+	/** Thread.Builder.factory() or null */
+	private static final MethodHandle BUILDER_FACTORY;
+
+	static
+	{
+		MethodHandle isVirtual = null;
+		MethodHandle ofVirtual = null;
+		MethodHandle builderName = null;
+		MethodHandle builderFactory = null;
+		try
+		{
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+			isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+			ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+			builderName = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class, long.class));
+			builderFactory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+		}
+		catch (ReflectiveOperationException e)
+		{
+			isVirtual = null;
+		}
+		IS_VIRTUAL = isVirtual;
+		OF_VIRTUAL = ofVirtual;
+		BUILDER_NAME = builderName;
+		BUILDER_FACTORY = builderFactory;
+	}
+
+	private VirtualThreads()
+	{
+	}
+
+	/**
+	 * @return true if the running JVM supports virtual threads
+	 */
+	public static boolean isSupported()
+	{
+		return IS_VIRTUAL != null;
+	}
+
+	/**
+	 * @param thread
+	 * @return true if thread is a virtual thread
+	 */
+	public static boolean isVirtual(Thread thread)
+	{
+		if (IS_VIRTUAL == null || thread == null)
+			return false;
+		try
+		{
+			return (boolean) IS_VIRTUAL.invoke(thread);
+		}
+		catch (Throwable e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if the current thread is a virtual thread
+	 */
+	public static boolean isCurrentThreadVirtual()
+	{
+		return isVirtual(Thread.currentThread());
+	}
+
+	/**
+	 * Get factory of virtual threads named [prefix][n]
+	 * @param prefix thread name prefix
+	 * @return thread factory or null if virtual threads are not supported
+	 */
+	public static ThreadFactory newThreadFactory(String prefix)
+	{
+		if (IS_VIRTUAL == null)
+			return null;
+		try
+		{
+			Object builder = OF_VIRTUAL.invoke();
+			builder = BUILDER_NAME.invoke(builder, prefix, 1L);
+			return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+		}
+		catch (Throwable e)
+		{
+			return null;
+		}
+	}
+}
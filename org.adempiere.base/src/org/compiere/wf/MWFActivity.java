@@ -87,7 +87,7 @@ public class MWFActivity extends X_AD_WF_Activity implements Runnable
 	 */
 	private static final long serialVersionUID = 7274149891086011624L;
 
-	private static final String CURRENT_WORKFLOW_PROCESS_INFO_ATTR = "Workflow.ProcessInfo";
+	static final String CURRENT_WORKFLOW_PROCESS_INFO_ATTR = "Workflow.ProcessInfo";
 	
 	/**
 	 * 	Get Activities for table/record
@@ -1967,6 +1967,20 @@ public class MWFActivity extends X_AD_WF_Activity implements Runnable
 		return m_po.getPdfAttachment();
 	}	//	getPdfAttachment
 
+	/**
+	 * 	After Save
+	 *	@param newRecord new
+	 *	@param success success
+	 *	@return success
+	 */
+	@Override
+	protected boolean afterSave (boolean newRecord, boolean success)
+	{
+		if (success && WFActivityDueIndex.isEnabled(getAD_Client_ID()))
+			WFActivityDueIndex.update(this);
+		return success;
+	}	//	afterSave
+
 	/**
 	 * 	String Representation
 	 *	@return info
@@ -211,10 +211,24 @@ public class MWFNodeNext extends X_AD_WF_NodeNext implements ImmutablePOSupport
 	 *	@return true if valid
 	 */
 	public boolean isValidFor (MWFActivity activity)
+	{
+		if (isUnconditional())
+		{
+			if (log.isLoggable(Level.FINE)) log.fine("#0 " + toString());
+			return true;
+		}
+		return isValidFor(activity.getPO());
+	}	//	isValidFor
+
+	/**
+	 * 	Is this a Valid Transition For document
+	 * 	@param po document of workflow process
+	 *	@return true if valid
+	 */
+	public boolean isValidFor (PO po)
 	{
 		if (isStdUserWorkflow())
 		{
-			PO po = activity.getPO();
 			if (po instanceof DocAction)
 			{
 				DocAction da = (DocAction)po;
@@ -247,13 +261,13 @@ public class MWFNodeNext extends X_AD_WF_NodeNext implements ImmutablePOSupport
 			return true;
 		}
 		//	First condition always AND
-		boolean ok = m_conditions[0].evaluate(activity);
+		boolean ok = m_conditions[0].evaluate(po);
 		for (int i = 1; i < m_conditions.length; i++)
 		{
 			if (m_conditions[i].isOr())
-				ok = ok || m_conditions[i].evaluate(activity);
+				ok = ok || m_conditions[i].evaluate(po);
 			else
-				ok = ok && m_conditions[i].evaluate(activity);
+				ok = ok && m_conditions[i].evaluate(po);
 		}	//	for all conditions
 		if (log.isLoggable(Level.FINE)) log.fine("isValidFor (" + ok + ") " + toString());
 		return ok;
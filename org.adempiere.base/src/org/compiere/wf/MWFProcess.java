@@ -217,6 +217,18 @@ public class MWFProcess extends X_AD_WF_Process
 		return m_state.getActionOptions();
 	}	//	getActionOptions
 	
+	/**
+	 * 	Set Process State without saving, for a process run without activities (see {@link MWorkflow#start(ProcessInfo, String)})
+	 *	@param WFState
+	 */
+	void setDirectWFState (String WFState)
+	{
+		super.setWFState (WFState);
+		m_state = new StateEngine (getWFState());
+		if (m_state.isClosed())
+			setProcessed(true);
+	}	//	setDirectWFState
+
 	/**
 	 * 	Set Process State and update Actions
 	 *	@param WFState
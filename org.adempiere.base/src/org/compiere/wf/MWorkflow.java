@@ -19,6 +19,7 @@ package org.compiere.wf;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -35,6 +36,7 @@ import org.compiere.model.MColumn;
 import org.compiere.model.MMenu;
 import org.compiere.model.MProduct;
 import org.compiere.model.MRole;
+import org.compiere.model.MSysConfig;
 import org.compiere.model.MTable;
 import org.compiere.model.PO;
 import org.compiere.model.Query;
@@ -51,6 +53,7 @@ import org.compiere.util.KeyNamePair;
 import org.compiere.util.Msg;
 import org.compiere.util.Trx;
 import org.compiere.util.Util;
+import org.compiere.util.ValueNamePair;
 import org.idempiere.cache.ImmutablePOSupport;
 import org.idempiere.cache.ImmutablePOCache;
 
@@ -760,6 +763,8 @@ public class MWorkflow extends X_AD_Workflow implements ImmutablePOSupport
 	 */
 	public MWFProcess start (ProcessInfo pi, String trxName)
 	{
+		if (isDirectDocumentProcess(pi))
+			return startDirect(pi, trxName);
 		MWFProcess retValue = null;
 		Trx localTrx = null;
 		if (trxName == null)
@@ -814,6 +819,226 @@ public class MWorkflow extends X_AD_Workflow implements ImmutablePOSupport
 		return retValue;
 	}	//	MWFProcess
 
+	/**
+	 * 	Can the workflow run without persistent process and activities.<br/>
+	 * 	True for a document process workflow when enabled by {@link MSysConfig#WORKFLOW_DIRECT_DOC_ACTION}
+	 * 	and all nodes are document actions or waits of 0 minutes, with XOR split and join.
+	 * 	@param pi process info
+	 * 	@return true if {@link #startDirect(ProcessInfo, String)} can be used
+	 */
+	private boolean isDirectDocumentProcess (ProcessInfo pi)
+	{
+		if (!WORKFLOWTYPE_DocumentProcess.equals(getWorkflowType()) || getAD_Table_ID() == 0 || pi.getRecord_ID() <= 0)
+			return false;
+		int AD_Client_ID = pi.getPO() != null ? pi.getPO().getAD_Client_ID() : Env.getAD_Client_ID(getCtx());
+		if (!MSysConfig.getBooleanValue(MSysConfig.WORKFLOW_DIRECT_DOC_ACTION, false, AD_Client_ID))
+			return false;
+		MWFNode[] nodes = getNodes(false, AD_Client_ID);
+		if (nodes.length == 0)
+			return false;
+		for (MWFNode node : nodes)
+		{
+			if (MWFNode.ACTION_DocumentAction.equals(node.getAction()))
+			{
+				if (Util.isEmpty(node.getDocAction()))
+					return false;
+			}
+			else if (!MWFNode.ACTION_WaitSleep.equals(node.getAction()) || node.getWaitTime() != 0)
+				return false;
+			if (MWFNode.SPLITELEMENT_AND.equals(node.getSplitElement()) || MWFNode.JOINELEMENT_AND.equals(node.getJoinElement()))
+				return false;
+		}
+		return true;
+	}	//	isDirectDocumentProcess
+
+	/**
+	 * 	Run document process workflow in memory, following the same transitions as the workflow engine.<br/>
+	 * 	No activity and event audit is saved, the process is only saved (processed, with the path of nodes)
+	 * 	if {@link MSysConfig#WORKFLOW_DIRECT_DOC_ACTION_AUDIT} is Y.
+	 * 	@param pi process info
+	 * 	@param trxName
+	 * 	@return process (not saved if no audit)
+	 */
+	private MWFProcess startDirect (ProcessInfo pi, String trxName)
+	{
+		Trx localTrx = null;
+		if (trxName == null)
+		{
+			localTrx = Trx.get(Trx.createTrxName("WFD"), true);
+			localTrx.setDisplayName(getClass().getName()+"_startDirect");
+		}
+		//	create transaction if it doesn't exist yet, like the activity of the workflow engine
+		Trx trx = localTrx != null ? localTrx : Trx.get(trxName, true);
+		MWFProcess process = null;
+		Savepoint savepoint = null;
+		String docStatus = null;
+		StringBuilder path = new StringBuilder();
+		try
+		{
+			process = new MWFProcess (this, pi, trx.getTrxName());
+			if (process.getState().isClosed())
+			{
+				pi.setSummary(process.getTextMsg(), true);
+				return process;
+			}
+			PO po = process.getPO();
+			if (!(po instanceof DocAction))
+				throw new IllegalStateException("Persistent Object not DocAction - " + po.getClass().getName());
+			DocAction doc = (DocAction)po;
+			if (localTrx == null)
+			{
+				savepoint = trx.getLastWFSavepoint();
+				if (savepoint == null)
+				{
+					savepoint = trx.setSavepoint(null);
+					trx.setLastWFSavepoint(savepoint);
+				}
+			}
+			if (pi != null)
+				Env.getCtx().put(MWFActivity.CURRENT_WORKFLOW_PROCESS_INFO_ATTR, pi);
+			process.setDirectWFState(StateEngine.STATE_Running);
+			pi.setSummary(Msg.getMsg(getCtx(), "Processing"));
+
+			MWFNode node = getNode(getAD_WF_Node_ID());
+			int steps = 0;
+			while (node != null)
+			{
+				if (++steps > getNodeCount() * 2)
+					throw new IllegalStateException("Workflow loop - " + node);
+				if (path.length() > 0)
+					path.append(" -> ");
+				path.append(node.getName());
+				if (MWFNode.ACTION_DocumentAction.equals(node.getAction()))
+				{
+					po.set_TrxName(trx.getTrxName());
+					boolean success = doc.processIt(node.getDocAction());
+					String processMsg = doc.getProcessMsg();
+					if (DocAction.ACTION_Prepare.equals(node.getDocAction())
+						|| DocAction.ACTION_Complete.equals(node.getDocAction())
+						|| success)
+						docStatus = doc.getDocStatus();
+					if (!po.save())
+					{
+						success = false;
+						docStatus = null;
+						processMsg = "SaveError";
+						ValueNamePair ppE = CLogger.retrieveError();
+						if (ppE != null)
+							processMsg = ppE.getName();
+					}
+					if (!success)
+					{
+						if (Util.isEmpty(processMsg))
+							processMsg = "PerformWork Error - " + node.toStringX() + " - DocStatus=" + doc.getDocStatus();
+						throw new Exception(processMsg);
+					}
+					process.setProcessMsg(processMsg);
+					process.setTextMsg(doc.getSummary());
+				}
+				//	first valid transition (XOR)
+				MWFNode next = null;
+				for (MWFNodeNext transition : node.getTransitions(po.getAD_Client_ID()))
+				{
+					if (transition.isValidFor(po))
+					{
+						next = getNode(transition.getAD_WF_Next_ID());
+						break;
+					}
+				}
+				node = next;
+			}
+			process.setDirectWFState(StateEngine.STATE_Completed);
+			if (isDirectAudit(po.getAD_Client_ID()))
+				saveDirectAudit(process, path);
+			if (localTrx != null)
+			{
+				try {
+					localTrx.commit(true);
+				} catch (Exception e) {
+					// If we have a DocStatus, change it to Invalid, and throw the exception to the next level
+					if (docStatus != null)
+						docStatus = DocAction.STATUS_Invalid;
+					throw e;
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			log.log(Level.WARNING, getName(), e);
+			String processMsg = e.getLocalizedMessage();
+			if (Util.isEmpty(processMsg))
+				processMsg = e.getMessage();
+			try
+			{
+				if (localTrx != null)
+					localTrx.rollback();
+				else if (savepoint != null)
+				{
+					trx.rollback(savepoint);
+					trx.setLastWFSavepoint(null);
+				}
+				if (process != null)
+				{
+					process.setProcessMsg(processMsg);
+					process.setDirectWFState(StateEngine.STATE_Terminated);
+					PO po = process.getPO();
+					if (po instanceof DocAction && docStatus != null)
+					{
+						po.load(trx.getTrxName());
+						((DocAction)po).setDocStatus(docStatus);
+						po.saveEx();
+					}
+					if (isDirectAudit(process.getAD_Client_ID()))
+						saveDirectAudit(process, path);
+					if (localTrx != null)
+						localTrx.commit(true);
+				}
+			}
+			catch (Exception ex)
+			{
+				log.log(Level.SEVERE, ex.getMessage(), ex);
+			}
+			if (process == null)
+			{
+				pi.setSummary(processMsg, true);
+				return null;
+			}
+		}
+		finally
+		{
+			if (localTrx != null)
+				localTrx.close();
+			Env.getCtx().remove(MWFActivity.CURRENT_WORKFLOW_PROCESS_INFO_ATTR);
+		}
+
+		String summary = process.getProcessMsg();
+		StateEngine state = process.getState();
+		if (summary == null || summary.trim().length() == 0)
+			summary = state.toString();
+		pi.setSummary(summary, state.isTerminated() || state.isAborted());
+		return process;
+	}	//	startDirect
+
+	/**
+	 * 	@param AD_Client_ID
+	 * 	@return true if direct workflow process is saved
+	 */
+	private boolean isDirectAudit (int AD_Client_ID)
+	{
+		return MSysConfig.getBooleanValue(MSysConfig.WORKFLOW_DIRECT_DOC_ACTION_AUDIT, true, AD_Client_ID);
+	}	//	isDirectAudit
+
+	/**
+	 * 	Save direct workflow process as single record with the path of nodes
+	 * 	@param process
+	 * 	@param path
+	 */
+	private void saveDirectAudit (MWFProcess process, StringBuilder path)
+	{
+		process.setTextMsg(path.toString());
+		process.saveEx();
+	}	//	saveDirectAudit
+
 	/**
 	 * 	Start Workflow and Wait for completion.
 	 * 	@param pi process info with Record_ID record for the workflow
@@ -0,0 +1,302 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.compiere.wf;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+
+import org.compiere.model.MSysConfig;
+import org.compiere.process.StateEngine;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+
+/**
+ * Time ordered index of suspended workflow activities by due time of wakeup, end wait alert and dynamic priority change.<br/>
+ * Fed from activity save when {@link MSysConfig#WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES} is set, so that the workflow
+ * processor only loads activities that are due instead of scanning AD_WF_Activity on each run.<br/>
+ * Entries are hints: the processor re-checks the activity in DB, and its periodic full scan
+ * ({@link #load()}) covers activities saved by another server.
+ */
+public final class WFActivityDueIndex
+{
+	/** Due event of an activity */
+	public enum Type
+	{
+		/** End of sleep node */
+		Wakeup,
+		/** End wait time reached, not alerted yet */
+		EndWait,
+		/** Next dynamic priority change */
+		DynPriority
+	}
+
+	/**	Logger			*/
+	private static final CLogger log = CLogger.getCLogger(WFActivityDueIndex.class);
+
+	/** Entries ordered by due time */
+	private static final ConcurrentSkipListSet<Entry> s_entries = new ConcurrentSkipListSet<Entry>();
+	/** Current entry by type and activity */
+	private static final Map<String, Entry> s_current = new ConcurrentHashMap<String, Entry>();
+
+	private WFActivityDueIndex()
+	{
+	}
+
+	/**
+	 * @param AD_Client_ID
+	 * @return true if activities are indexed for client
+	 */
+	public static boolean isEnabled(int AD_Client_ID)
+	{
+		return MSysConfig.getIntValue(MSysConfig.WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES, 0, AD_Client_ID) > 0;
+	}
+
+	/**
+	 * Update due events of saved activity
+	 * @param activity
+	 */
+	public static void update(MWFActivity activity)
+	{
+		if (activity.isProcessed() || !StateEngine.STATE_Suspended.equals(activity.getWFState()))
+		{
+			for (Type type : Type.values())
+				remove(type, activity.getAD_WF_Activity_ID());
+			return;
+		}
+		update(activity.getAD_WF_Activity_ID(), activity.getAD_Client_ID(), activity.getAD_Workflow_ID(), activity.getAD_WF_Node_ID(),
+			activity.getEndWaitTime(), activity.getDateLastAlert(), activity.getCreated());
+	}
+
+	/**
+	 * Update due events of suspended activity
+	 * @param AD_WF_Activity_ID
+	 * @param AD_Client_ID
+	 * @param AD_Workflow_ID
+	 * @param AD_WF_Node_ID
+	 * @param endWaitTime
+	 * @param dateLastAlert
+	 * @param created
+	 */
+	private static void update(int AD_WF_Activity_ID, int AD_Client_ID, int AD_Workflow_ID, int AD_WF_Node_ID,
+		Timestamp endWaitTime, Timestamp dateLastAlert, Timestamp created)
+	{
+		MWFNode node = MWFNode.get(AD_WF_Node_ID);
+		if (node == null)
+			return;
+		boolean sleep = MWFNode.ACTION_WaitSleep.equals(node.getAction());
+		if (endWaitTime != null && sleep)
+			put(Type.Wakeup, AD_WF_Activity_ID, AD_Client_ID, AD_Workflow_ID, endWaitTime.getTime());
+		else
+			remove(Type.Wakeup, AD_WF_Activity_ID);
+		//	reminders of alerted activities are left to the full scan
+		if (endWaitTime != null && !sleep && dateLastAlert == null)
+			put(Type.EndWait, AD_WF_Activity_ID, AD_Client_ID, AD_Workflow_ID, endWaitTime.getTime());
+		else
+			remove(Type.EndWait, AD_WF_Activity_ID);
+
+		long unitMillis = getDynPriorityUnitMillis(node);
+		if (unitMillis > 0 && created != null)
+		{
+			long elapsed = Math.max(System.currentTimeMillis() - created.getTime(), 0);
+			put(Type.DynPriority, AD_WF_Activity_ID, AD_Client_ID, AD_Workflow_ID, created.getTime() + (elapsed / unitMillis + 1) * unitMillis);
+		}
+		else
+			remove(Type.DynPriority, AD_WF_Activity_ID);
+	}
+
+	/**
+	 * @param node
+	 * @return milliseconds between dynamic priority changes, 0 if node has no dynamic priority
+	 */
+	private static long getDynPriorityUnitMillis(MWFNode node)
+	{
+		if (node.getDynPriorityChange() == null || node.getDynPriorityChange().signum() == 0)
+			return 0;
+		if (MWFNode.DYNPRIORITYUNIT_Minute.equals(node.getDynPriorityUnit()))
+			return 60 * 1000L;
+		if (MWFNode.DYNPRIORITYUNIT_Hour.equals(node.getDynPriorityUnit()))
+			return 3600 * 1000L;
+		if (MWFNode.DYNPRIORITYUNIT_Day.equals(node.getDynPriorityUnit()))
+			return 86400 * 1000L;
+		return 0;
+	}
+
+	private static void put(Type type, int AD_WF_Activity_ID, int AD_Client_ID, int AD_Workflow_ID, long due)
+	{
+		Entry entry = new Entry(type, AD_WF_Activity_ID, AD_Client_ID, AD_Workflow_ID, due);
+		Entry previous = s_current.put(entry.getKey(), entry);
+		if (previous != null)
+			s_entries.remove(previous);
+		s_entries.add(entry);
+	}
+
+	private static void remove(Type type, int AD_WF_Activity_ID)
+	{
+		Entry previous = s_current.remove(type.name() + AD_WF_Activity_ID);
+		if (previous != null)
+			s_entries.remove(previous);
+	}
+
+	/**
+	 * Remove and return activities that are due
+	 * @param type
+	 * @param filter entries of the caller, others are kept
+	 * @param maxCount maximum number of activities
+	 * @return AD_WF_Activity_ID list
+	 */
+	public static List<Integer> pollDue(Type type, Predicate<Entry> filter, int maxCount)
+	{
+		List<Integer> list = new ArrayList<Integer>();
+		long now = System.currentTimeMillis();
+		Iterator<Entry> it = s_entries.iterator();
+		while (it.hasNext() && list.size() < maxCount)
+		{
+			Entry entry = it.next();
+			if (entry.due > now)
+				break;
+			if (entry.type != type || !filter.test(entry))
+				continue;
+			if (s_entries.remove(entry))
+			{
+				s_current.remove(entry.getKey(), entry);
+				list.add(entry.AD_WF_Activity_ID);
+			}
+		}
+		return list;
+	}
+
+	/**
+	 * Load all suspended activities
+	 */
+	public static void load()
+	{
+		String sql = "SELECT AD_WF_Activity_ID, AD_Client_ID, AD_Workflow_ID, AD_WF_Node_ID, EndWaitTime, DateLastAlert, Created "
+			+ "FROM AD_WF_Activity "
+			+ "WHERE Processed='N' AND WFState='OS'";
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		int count = 0;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, null);
+			rs = pstmt.executeQuery();
+			while (rs.next())
+			{
+				update(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getTimestamp(5), rs.getTimestamp(6), rs.getTimestamp(7));
+				count++;
+			}
+		}
+		catch (Exception e)
+		{
+			log.log(Level.SEVERE, sql, e);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+			rs = null;
+			pstmt = null;
+		}
+		if (log.isLoggable(Level.FINE)) log.fine("#" + count + ", Entries=" + s_entries.size());
+	}
+
+	/**
+	 * @return number of indexed due events
+	 */
+	public static int size()
+	{
+		return s_entries.size();
+	}
+
+	/**
+	 * Due event of an activity
+	 */
+	public static class Entry implements Comparable<Entry>
+	{
+		private final Type type;
+		private final int AD_WF_Activity_ID;
+		private final int AD_Client_ID;
+		private final int AD_Workflow_ID;
+		private final long due;
+
+		private Entry(Type type, int AD_WF_Activity_ID, int AD_Client_ID, int AD_Workflow_ID, long due)
+		{
+			this.type = type;
+			this.AD_WF_Activity_ID = AD_WF_Activity_ID;
+			this.AD_Client_ID = AD_Client_ID;
+			this.AD_Workflow_ID = AD_Workflow_ID;
+			this.due = due;
+		}
+
+		private String getKey()
+		{
+			return type.name() + AD_WF_Activity_ID;
+		}
+
+		/**
+		 * @return AD_Client_ID of activity
+		 */
+		public int getAD_Client_ID()
+		{
+			return AD_Client_ID;
+		}
+
+		/**
+		 * @return AD_Workflow_ID of activity
+		 */
+		public int getAD_Workflow_ID()
+		{
+			return AD_Workflow_ID;
+		}
+
+		@Override
+		public int compareTo(Entry o)
+		{
+			int c = Long.compare(due, o.due);
+			if (c == 0)
+				c = type.compareTo(o.type);
+			if (c == 0)
+				c = Integer.compare(AD_WF_Activity_ID, o.AD_WF_Activity_ID);
+			return c;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			return obj instanceof Entry && compareTo((Entry) obj) == 0;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Long.hashCode(due) * 31 + AD_WF_Activity_ID;
+		}
+	}
+}
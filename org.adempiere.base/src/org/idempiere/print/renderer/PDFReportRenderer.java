@@ -76,7 +76,10 @@ public class PDFReportRenderer implements IReportRenderer<PDFReportRendererConfi
 				os = new FileOutputStream(configuration.getOutputFile());
 			else
 				os = configuration.getOutputStream();
-			Document.writePDF(reportEngine.getLayout().getPageable(false), os);
+			if (reportEngine.isStreamingLayout())
+				reportEngine.createLayout(new Document.PDFPageWriter(os));
+			else
+				Document.writePDF(reportEngine.getLayout().getPageable(false), os);
 			if (configuration.getOutputFile() != null)
 				ArchiveEngine.get().archive(configuration.getOutputFile(), reportEngine.getPrintInfo());
 		}
@@ -20,8 +20,10 @@ import org.adempiere.pipo2.PackIn;
 import org.adempiere.pipo2.Zipper;
 import org.compiere.model.MAttachment;
 import org.compiere.model.MSysConfig;
+import org.compiere.model.X_AD_Package_Imp;
 import org.compiere.model.X_AD_Package_Imp_Proc;
 import org.compiere.util.CLogger;
+import org.compiere.util.DB;
 import org.compiere.util.Env;
 import org.compiere.util.Trx;
 import org.osgi.framework.BundleContext;
@@ -34,7 +36,8 @@ public class PipoDictionaryService implements IDictionaryService {
 		super();
 	}
 
-	X_AD_Package_Imp_Proc adPackageImp = null;
+	/** Package import of the last merge of current thread (the service is shared by the pack in threads) */
+	private final ThreadLocal<X_AD_Package_Imp_Proc> lastPackageImp = new ThreadLocal<X_AD_Package_Imp_Proc>();
 
 	@Override
 	public void merge(BundleContext context, File packageFile) throws Exception {
@@ -51,6 +54,8 @@ public class PipoDictionaryService implements IDictionaryService {
 			symbolicName = context.getBundle().getSymbolicName();
 		String trxName = null;
 		PackIn packIn = null;
+		X_AD_Package_Imp_Proc adPackageImp = null;
+		lastPackageImp.remove();
 		try {
 			trxName = Trx.createTrxName("PipoDS");
 			Trx.get(trxName, true).setDisplayName(getClass().getName()+"_merge");
@@ -90,7 +95,19 @@ public class PipoDictionaryService implements IDictionaryService {
 			packIn.getNotifier().setFileName(packageFile.getName());
 			packIn.getNotifier().setPluginName(symbolicName + " v" + packageVersion);
 
+			String digest = PackIn.getDigest(packageFile);
+			if (MSysConfig.getBooleanValue(MSysConfig.TWOPACK_SKIP_UNCHANGED, true)) {
+				X_AD_Package_Imp_Proc skipped = skipUnchanged(packIn, packageVersion, digest);
+				if (skipped != null) {
+					lastPackageImp.set(skipped);
+					packIn = null;	// nothing to notify
+					return;
+				}
+			}
+
 			adPackageImp = new X_AD_Package_Imp_Proc(Env.getCtx(), 0, null);
+			adPackageImp.setPK_Digest(digest);
+			lastPackageImp.set(adPackageImp);
 			if (logger.isLoggable(Level.INFO)) logger.info("zipFilepath->" + packageFile);
 			String parentDir = Zipper.getParentDir(packageFile);
 			File targetDir = new File(System.getProperty("java.io.tmpdir"));
@@ -115,9 +132,12 @@ public class PipoDictionaryService implements IDictionaryService {
 			if (logger.isLoggable(Level.INFO)) logger.info("commit " + trxName);
 		} catch (Exception e) {
 			Trx.get(trxName, false).rollback();
-			adPackageImp.setP_Msg(e.getLocalizedMessage());
-			packIn.getNotifier().addFailureLine(e.getLocalizedMessage());
-			packIn.setSuccess(false);
+			if (adPackageImp != null)
+				adPackageImp.setP_Msg(e.getLocalizedMessage());
+			if (packIn != null) {
+				packIn.getNotifier().addFailureLine(e.getLocalizedMessage());
+				packIn.setSuccess(false);
+			}
 			logger.log(Level.SEVERE, "importXML:", e);
 			throw e;
 		} finally {
@@ -137,14 +157,54 @@ public class PipoDictionaryService implements IDictionaryService {
 					attachment.save(); // ignoring exceptions
 				}
 			}
-			packIn.getNotifier().notifyRecipient();
+			if (packIn != null)
+				packIn.getNotifier().notifyRecipient();
 		}
 
 	}
 
+	/**
+	 * Record the package as installed without import if a package file with the same digest has been imported
+	 * successfully in the current tenant
+	 * @param packIn
+	 * @param packageVersion
+	 * @param digest
+	 * @return package import process recorded for the skipped package, null if package must be imported
+	 */
+	private X_AD_Package_Imp_Proc skipUnchanged(PackIn packIn, String packageVersion, String digest) {
+		int AD_Client_ID = Env.getAD_Client_ID(Env.getCtx());
+		int previous_ID = DB.getSQLValueEx(null, "SELECT MAX(p.AD_Package_Imp_Proc_ID) FROM AD_Package_Imp_Proc p "
+				+ "WHERE p.PK_Digest=? AND p.AD_Client_ID=? AND EXISTS (SELECT 1 FROM AD_Package_Imp i "
+				+ "WHERE i.AD_Package_Imp_Proc_ID=p.AD_Package_Imp_Proc_ID AND i.PK_Status='Completed successfully')",
+				digest, AD_Client_ID);
+		if (previous_ID <= 0)
+			return null;
+
+		String msg = "Skipped, identical to package import " + previous_ID;
+		X_AD_Package_Imp_Proc proc = new X_AD_Package_Imp_Proc(Env.getCtx(), 0, null);
+		proc.setName(packIn.getPackageName());
+		proc.setAD_Package_Source_Type("File");
+		proc.setPK_Digest(digest);
+		proc.setDateProcessed(new Timestamp(System.currentTimeMillis()));
+		proc.setP_Msg(msg);
+		proc.saveEx();
+
+		X_AD_Package_Imp imp = new X_AD_Package_Imp(Env.getCtx(), 0, null);
+		imp.setAD_Package_Imp_Proc_ID(proc.getAD_Package_Imp_Proc_ID());
+		imp.setName(packIn.getPackageName());
+		if (packageVersion != null)
+			imp.setPK_Version(packageVersion);
+		imp.setPK_Status("Completed successfully");
+		imp.setDescription(msg);
+		imp.setProcessed(true);
+		imp.saveEx();
+		logger.warning(packIn.getPackageName() + " " + packageVersion + ": " + msg);
+		return proc;
+	}
+
 	@Override
 	public X_AD_Package_Imp_Proc getAD_Package_Imp_Proc() {
-		return adPackageImp;
+		return lastPackageImp.get();
 	};
 
 }
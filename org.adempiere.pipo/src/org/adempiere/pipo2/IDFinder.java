@@ -22,9 +22,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 import org.adempiere.pipo2.exception.DatabaseAccessException;
@@ -39,7 +40,9 @@ import org.compiere.util.DisplayType;
 import org.compiere.util.Env;
 
 /**
- * Utility class for the looking up of record id.
+ * Utility class for the looking up of record id.<br/>
+ * Found ids are cached for the pack in running in the current thread (see {@link #openCache()}), the cache is
+ * bounded to {@link #MAX_CACHE_SIZE} entries (least recently used are removed).
  * @author Low Heng Sin
  *
  */
@@ -47,7 +50,131 @@ public class IDFinder {
 
 	private static final CLogger log = CLogger.getCLogger(IDFinder.class);
 
-	private static Map<String, Object>idCache = new ConcurrentHashMap<String, Object>(); 
+	/** Maximum number of cached ids of a pack in */
+	public static final int MAX_CACHE_SIZE = 10000;
+
+	/** Maximum number of values of one prefetch query */
+	private static final int PREFETCH_BATCH_SIZE = 500;
+
+	/** Cache of pack in running in current thread */
+	private static final ThreadLocal<Map<String, Object>> idCache = new ThreadLocal<Map<String, Object>>();
+
+	/**
+	 * Open id cache for the pack in of current thread
+	 * @return true if opened, false if current thread already has a cache
+	 */
+	public static boolean openCache() {
+		if (idCache.get() != null)
+			return false;
+		idCache.set(new LinkedHashMap<String, Object>(1024, 0.75f, true) {
+			private static final long serialVersionUID = 3216178062624937512L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+				return size() > MAX_CACHE_SIZE;
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Close id cache of current thread
+	 */
+	public static void closeCache() {
+		idCache.remove();
+	}
+
+	/**
+	 * @param key
+	 * @return cached id or null
+	 */
+	private static Object getCached(String key) {
+		Map<String, Object> cache = idCache.get();
+		return cache != null ? cache.get(key) : null;
+	}
+
+	/**
+	 * @param key
+	 * @param id
+	 */
+	private static void putCached(String key, Object id) {
+		Map<String, Object> cache = idCache.get();
+		if (cache != null && id != null)
+			cache.put(key, id);
+	}
+
+	/**
+	 * @param tableName
+	 * @param columnName
+	 * @param value
+	 * @param AD_Client_ID
+	 * @return cache key of {@link #findIdByColumn(String, String, Object, int, boolean, String)}
+	 */
+	private static String getColumnKey(String tableName, String columnName, Object value, int AD_Client_ID) {
+		StringBuilder key = new StringBuilder();
+		key.append(tableName)
+			.append(".")
+			.append(columnName)
+			.append("=")
+			.append(value.toString())
+			.append(" AND AD_Client_ID=").append(AD_Client_ID);
+		return key.toString();
+	}
+
+	/**
+	 * Load ids of UUIDs into the cache of current thread, with one query for up to {@link #PREFETCH_BATCH_SIZE} UUIDs.<br/>
+	 * Same result as {@link #findIdByColumn(String, String, Object, int, String)} with the UUID column; UUIDs not
+	 * found are not cached.
+	 * @param tableName
+	 * @param uuids
+	 * @param AD_Client_ID
+	 * @param trxName
+	 * @return number of ids found
+	 */
+	public static int prefetchIdsByUUID(String tableName, Collection<String> uuids, int AD_Client_ID, String trxName) {
+		if (idCache.get() == null || uuids.isEmpty())
+			return 0;
+		MTable table = MTable.get(Env.getCtx(), tableName, trxName);
+		if (table == null || table.get_ID() == 0)
+			return 0;
+		String uuidColumn = PO.getUUIDColumnName(tableName);
+		if (table.getColumn(uuidColumn) == null)
+			return 0;
+		String keycol = table.isUUIDKeyTable() ? uuidColumn : tableName + "_ID";
+
+		int found = 0;
+		List<String> values = new ArrayList<String>(uuids);
+		for (int start = 0; start < values.size(); start += PREFETCH_BATCH_SIZE) {
+			List<String> batch = values.subList(start, Math.min(start + PREFETCH_BATCH_SIZE, values.size()));
+			StringBuilder sql = new StringBuilder("SELECT ")
+				.append(keycol).append(",").append(uuidColumn)
+				.append(" FROM ").append(tableName)
+				.append(" WHERE AD_Client_ID IN (0, ?) AND ").append(uuidColumn).append(" IN (")
+				.append("?,".repeat(batch.size() - 1)).append("?)")
+				.append(" ORDER BY AD_Client_ID DESC, ").append(keycol);
+			PreparedStatement pstmt = null;
+			ResultSet rs = null;
+			try {
+				pstmt = DB.prepareStatement(sql.toString(), trxName);
+				pstmt.setInt(1, AD_Client_ID);
+				for (int i = 0; i < batch.size(); i++)
+					pstmt.setString(i + 2, batch.get(i));
+				rs = pstmt.executeQuery();
+				while (rs.next()) {
+					String key = getColumnKey(tableName, uuidColumn, rs.getString(2), AD_Client_ID);
+					if (getCached(key) != null)
+						continue;	// first row has precedence, as in findIdByColumn
+					putCached(key, table.isUUIDKeyTable() ? rs.getString(1) : Integer.valueOf(rs.getInt(1)));
+					found++;
+				}
+			} catch (Exception e) {
+				throw new DatabaseAccessException(e);
+			} finally {
+				DB.close(rs, pstmt);
+			}
+		}
+		if (log.isLoggable(Level.FINE)) log.fine(tableName + " #" + found + "/" + uuids.size());
+		return found;
+	}
 
 	/**
 	 * Get ID from column value for a table.
@@ -64,17 +191,12 @@ public class IDFinder {
 			return null;
 
 		//construct cache key
-		StringBuilder key = new StringBuilder();
-		key.append(tableName)
-			.append(".")
-			.append(columnName)
-			.append("=")
-			.append(value.toString())
-			.append(" AND AD_Client_ID=").append(AD_Client_ID);
+		String key = getColumnKey(tableName, columnName, value, AD_Client_ID);
 
 		//check cache
-		if (idCache.containsKey(key.toString()))
-			return idCache.get(key.toString());
+		Object cached = getCached(key);
+		if (cached != null)
+			return cached;
 
 		Object id = null;
 
@@ -179,8 +301,7 @@ public class IDFinder {
 		}
 
 		//update cache
-		if (id != null)
-			idCache.put(key.toString(), id);
+		putCached(key.toString(), id);
 
 		return id;
 	}
@@ -210,8 +331,9 @@ public class IDFinder {
 			.append(nameMaster);
 
 		//check cache
-		if (idCache.containsKey(key.toString()))
-			return idCache.get(key.toString());
+		Object cached = getCached(key.toString());
+		if (cached != null)
+			return cached;
 
 		Object id = null;
 		MTable tableMaster = MTable.get(Env.getCtx(), tableNameMaster, trxName);
@@ -264,8 +386,7 @@ public class IDFinder {
 		}
 
 		//update cache
-		if (id != null)
-			idCache.put(key.toString(), id);
+		putCached(key.toString(), id);
 
 		return id;
 	}
@@ -300,8 +421,9 @@ public class IDFinder {
 		//check cache
 		String key = tableName + "." + columnName + "=" + name + tableNameMaster + "=" + masterID;
 
-		if (idCache.containsKey(key))
-			return idCache.get(key);
+		Object cached = getCached(key);
+		if (cached != null)
+			return cached;
 
 		Object id = null;
 
@@ -363,8 +485,7 @@ public class IDFinder {
 		}
 
 		//update cache
-		if (id != null)
-			idCache.put(key, id);
+		putCached(key, id);
 
 		return id;
 	}
@@ -392,8 +513,9 @@ public class IDFinder {
 			.append(masterID);
 
 		//check cache
-		if (idCache.containsKey(key.toString()))
-			return idCache.get(key.toString());
+		Object cached = getCached(key.toString());
+		if (cached != null)
+			return cached;
 
 		Object id = null;
 		MTable table = MTable.get(Env.getCtx(), tableName, trxName);
@@ -438,8 +560,7 @@ public class IDFinder {
 		}
 
 		//update cache
-		if (id != null)
-			idCache.put(key.toString(), id);
+		putCached(key.toString(), id);
 
 		return id;
 	}
@@ -462,8 +583,9 @@ public class IDFinder {
 			key.append(" AND AD_Client_ID=").append(AD_Client_ID);
 
 		//check cache
-		if (idCache.containsKey(key.toString()))
-			return idCache.get(key.toString());
+		Object cached = getCached(key.toString());
+		if (cached != null)
+			return cached;
 
 		Object id = null;
 		MTable table = MTable.get(Env.getCtx(), tableName, trxName);
@@ -498,13 +620,17 @@ public class IDFinder {
 		}
 
 		//update cache
-		if (id != null)
-			idCache.put(key.toString(), id);
+		putCached(key.toString(), id);
 
 		return id;
 	}
 	
+	/**
+	 * Clear id cache of current thread
+	 */
 	public static void clearIDCache() {
-		idCache.clear();
+		Map<String, Object> cache = idCache.get();
+		if (cache != null)
+			cache.clear();
 	}
 }
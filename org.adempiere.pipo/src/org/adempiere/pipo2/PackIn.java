@@ -24,12 +24,16 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -43,7 +47,10 @@ import org.compiere.model.PO;
 import org.compiere.model.X_AD_Package_Imp_Detail;
 import org.compiere.model.X_AD_Package_Imp_Proc;
 import org.compiere.util.CLogger;
+import org.compiere.util.Env;
 import org.compiere.util.Trx;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * IntPackIn Tool.
@@ -131,14 +138,86 @@ public class PackIn {
 			if (log.isLoggable(Level.INFO)) log.info("importXML:" + msg);
 			return msg;
 		}
-		try (FileInputStream input = new FileInputStream(in)) {
-			return importXML(input, ctx, trxName);
+		boolean cacheOpened = IDFinder.openCache();
+		try {
+			if (Env.getAD_Client_ID(ctx) == 0)
+				prefetchReferences(in, trxName);
+			try (FileInputStream input = new FileInputStream(in)) {
+				return importXML(input, ctx, trxName);
+			}
 		} catch (Exception e) {
 			log.log(Level.SEVERE, "importXML:", e);
 			throw e;
+		} finally {
+			if (cacheOpened)
+				IDFinder.closeCache();
 		}
 	}
 
+	/**
+	 * Resolve the UUID references of a pack in file with one query per table and batch of UUIDs,
+	 * instead of one query per reference during import
+	 * @param in pack in xml file
+	 * @param trxName
+	 */
+	private void prefetchReferences(File in, String trxName) {
+		Map<String, Set<String>> references = new HashMap<String, Set<String>>();
+		try (InputStream input = new BufferedInputStream(new FileInputStream(in))) {
+			SAXParserFactory.newInstance().newSAXParser().parse(input, new DefaultHandler() {
+				private String referenceKey = null;
+				private StringBuilder value = new StringBuilder();
+
+				@Override
+				public void startElement(String uri, String localName, String qName, Attributes atts) {
+					if ("uuid".equals(atts.getValue("reference")) && atts.getValue("reference-key") != null) {
+						referenceKey = atts.getValue("reference-key");
+						value.setLength(0);
+					} else {
+						referenceKey = null;
+					}
+				}
+
+				@Override
+				public void characters(char[] ch, int start, int length) {
+					if (referenceKey != null)
+						value.append(ch, start, length);
+				}
+
+				@Override
+				public void endElement(String uri, String localName, String qName) {
+					if (referenceKey != null) {
+						String uuid = value.toString().trim();
+						if (uuid.length() > 0)
+							references.computeIfAbsent(referenceKey, k -> new LinkedHashSet<String>()).add(uuid);
+						referenceKey = null;
+					}
+				}
+			});
+			for (Map.Entry<String, Set<String>> entry : references.entrySet())
+				IDFinder.prefetchIdsByUUID(entry.getKey(), entry.getValue(), 0, trxName);
+		} catch (Exception e) {
+			// references are resolved one by one during import
+			log.log(Level.WARNING, "Failed to prefetch references of " + in.getName(), e);
+		}
+	}
+
+	/**
+	 * Get digest of a package file
+	 * @param file
+	 * @return hex SHA-256 digest
+	 * @throws Exception
+	 */
+	public static String getDigest(File file) throws Exception {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		try (InputStream input = new FileInputStream(file)) {
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1)
+				digest.update(buffer, 0, read);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
 	public void addImportDetail(X_AD_Package_Imp_Detail importDetail) {
 		importDetails.add(importDetail);
 	}
@@ -151,10 +230,9 @@ public class PackIn {
 	 * @return status message
 	 */
 	public String importXML(InputStream input, Properties ctx, String trxName) {
+		boolean cacheOpened = IDFinder.openCache();
 		try {
 			log.info("starting");
-			// clear cache of previous runs
-			IDFinder.clearIDCache();
 			importDetails = new ArrayList<X_AD_Package_Imp_Detail>();
 
 			PackInHandler handler = new PackInHandler();
@@ -185,6 +263,9 @@ public class PackIn {
 		} catch (Exception e) {
 			log.log(Level.SEVERE, "importXML:", e);
 			throw new RuntimeException(e.getLocalizedMessage(), e);
+		} finally {
+			if (cacheOpened)
+				IDFinder.closeCache();
 		}
 	}
 
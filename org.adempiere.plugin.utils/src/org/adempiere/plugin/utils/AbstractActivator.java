@@ -203,19 +203,19 @@ public abstract class AbstractActivator implements BundleActivator, ServiceTrack
 		m_processUI  = processUI;
 	};
 
-	protected void statusUpdate(String message) {
+	protected synchronized void statusUpdate(String message) {
 		logger.warning(message);
 		if (m_processUI != null)
 			m_processUI.statusUpdate(message);
 	}
 
-	public void addLog(Level level, String msg) {
+	public synchronized void addLog(Level level, String msg) {
 		logger.log(level, msg);
 		if (m_processInfo != null)
 			m_processInfo.addLog(0, null, null, msg.replaceAll("\\n", "<br>"));
 	}
 
-	public void setSummary(Level level, String msg) {
+	public synchronized void setSummary(Level level, String msg) {
 		logger.log(level, msg);
 		if (m_processInfo != null)
 			m_processInfo.setSummary(msg);
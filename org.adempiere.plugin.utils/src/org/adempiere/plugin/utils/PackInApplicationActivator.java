@@ -19,11 +19,16 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import org.adempiere.util.ServerContext;
@@ -46,7 +51,8 @@ public class PackInApplicationActivator extends AbstractActivator{
 
 	protected final static CLogger logger = CLogger.getCLogger(PackInApplicationActivator.class.getName());
 	private List<File> filesToProcess = new ArrayList<>();
-	private File currentFile;
+	/** File processed by current thread */
+	private final ThreadLocal<File> currentFile = new ThreadLocal<>();
 
 	public void automaticPackin(int timeout, String folders, boolean fromService) {
 		if (fromService) {
@@ -111,20 +117,38 @@ public class PackInApplicationActivator extends AbstractActivator{
 					localSession.setWebSession("PackInApplicationActivator");
 					localSession.saveEx();
 				}
-				for(File zipFile : fileArray) {
-					currentFile = zipFile;
-					if (!packIn(zipFile)) {
+				// not more threads than processors, each pack in holds a database connection
+				int maxThreads = Math.min(MSysConfig.getIntValue(MSysConfig.AUTOMATIC_PACKIN_PARALLEL_THREADS, 1),
+						Runtime.getRuntime().availableProcessors());
+				int index = 0;
+				while (index < fileArray.length) {
+					List<File> group = getIndependentFiles(fileArray, index, maxThreads);
+					index += group.size();
+					List<File> failed;
+					if (group.size() == 1) {
+						currentFile.set(group.get(0));
+						failed = packIn(group.get(0)) ? List.of() : group;
+					} else {
+						failed = packInParallel(group, maxThreads);
+					}
+					for (File zipFile : group) {
+						if (failed.contains(zipFile))
+							continue;
+						addLog(Level.INFO, "Successful application of " + zipFile);
+						filesToProcess.remove(zipFile);
+					}
+					if (!failed.isEmpty()) {
 						// stop processing further packages if one fail
-						String msg = "Failed application of " + zipFile;
-						addLog(Level.WARNING, msg);
-						if (getProcessInfo() != null) {
-							getProcessInfo().setError(true);
-							getProcessInfo().setSummary("@Error@ " + msg);
+						for (File zipFile : failed) {
+							String msg = "Failed application of " + zipFile;
+							addLog(Level.WARNING, msg);
+							if (getProcessInfo() != null) {
+								getProcessInfo().setError(true);
+								getProcessInfo().setSummary("@Error@ " + msg);
+							}
 						}
 						break;
 					}
-					addLog(Level.INFO, "Successful application of " + zipFile);
-					filesToProcess.remove(zipFile);
 				}
 			} else {
 				addLog(Level.WARNING, "Could not acquire the DB lock to automatically install the packins");
@@ -134,6 +158,7 @@ public class PackInApplicationActivator extends AbstractActivator{
 			e.printStackTrace();
 			addLog(Level.WARNING, e.getLocalizedMessage());
 		} finally {
+			currentFile.remove();
 			releaseLock();
 			if (localSession != null)
 				localSession.logout();
@@ -148,6 +173,89 @@ public class PackInApplicationActivator extends AbstractActivator{
 		}
 	}
 	
+	/**
+	 * Get files, starting at index, that can be applied in parallel: consecutive files of different single tenants.<br/>
+	 * System and ALL-CLIENTS files are always applied alone.
+	 * @param files files ordered by name
+	 * @param index
+	 * @param maxThreads
+	 * @return files to apply together, at least the file at index
+	 */
+	private List<File> getIndependentFiles(File[] files, int index, int maxThreads) {
+		List<File> group = new ArrayList<File>();
+		group.add(files[index]);
+		Set<String> clientValues = new HashSet<String>();
+		String clientValue = getTenantClientValue(files[index]);
+		if (clientValue == null)
+			return group;
+		clientValues.add(clientValue);
+		for (int i = index + 1; i < files.length && group.size() < maxThreads; i++) {
+			clientValue = getTenantClientValue(files[i]);
+			if (clientValue == null || !clientValues.add(clientValue))
+				break;
+			group.add(files[i]);
+		}
+		return group;
+	}
+
+	/**
+	 * @param file
+	 * @return client value of a file for a single non-system tenant, null otherwise
+	 */
+	private String getTenantClientValue(File file) {
+		String[] parts = file.getName().split("_");
+		if (parts.length < 2 || parts[1].startsWith("ALL-CLIENTS"))
+			return null;
+		int[] clientIDs = getClientIDs(parts[1]);
+		if (clientIDs.length != 1 || clientIDs[0] == 0)
+			return null;
+		return parts[1];
+	}
+
+	/**
+	 * Apply files of different tenants in parallel, each in its own thread and context
+	 * @param files
+	 * @param maxThreads maximum number of files applied at the same time
+	 * @return files that failed
+	 */
+	private List<File> packInParallel(List<File> files, int maxThreads) {
+		Properties parentCtx = Env.getCtx();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(files.size(), maxThreads)));
+		List<File> failed = new ArrayList<File>();
+		try {
+			List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+			for (File file : files) {
+				futures.add(executor.submit(() -> {
+					ClassLoader cl = Thread.currentThread().getContextClassLoader();
+					try {
+						Thread.currentThread().setContextClassLoader(PackInApplicationActivator.class.getClassLoader());
+						Properties ctx = new Properties();
+						ctx.putAll(parentCtx);
+						ServerContext.setCurrentInstance(ctx);
+						currentFile.set(file);
+						return packIn(file);
+					} finally {
+						currentFile.remove();
+						ServerContext.dispose();
+						Thread.currentThread().setContextClassLoader(cl);
+					}
+				}));
+			}
+			for (int i = 0; i < files.size(); i++) {
+				try {
+					if (!futures.get(i).get())
+						failed.add(files.get(i));
+				} catch (Exception e) {
+					logger.log(Level.WARNING, "Pack in failed.", e);
+					failed.add(files.get(i));
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+		return failed;
+	}
+
 	private boolean packIn(File packinFile) {
 		if (packinFile != null) {
 			String fileName = packinFile.getName();
@@ -328,12 +436,14 @@ public class PackInApplicationActivator extends AbstractActivator{
 	private void verifyInstalledPackages() {
 		Iterator<File> iterator = filesToProcess.iterator();
 		while(iterator.hasNext()){
-			currentFile = iterator.next();
+			File file = iterator.next();
+			currentFile.set(file);
 			if (installedPackage(null)) {
-				logger.log(Level.INFO, currentFile.getName() + " already installed. Removing it from the list...");
+				logger.log(Level.INFO, file.getName() + " already installed. Removing it from the list...");
 				iterator.remove();
 			}
 		}
+		currentFile.remove();
 	}
 	
 	private int[] getClientIDs(String clientValue) {
@@ -346,8 +456,9 @@ public class PackInApplicationActivator extends AbstractActivator{
 
 	@Override
 	public String getName() {
-		if (currentFile != null)
-			return currentFile.getName();
+		File file = currentFile.get();
+		if (file != null)
+			return file.getName();
 		else
 			return "";
 	}
@@ -30,9 +30,14 @@
 
 package org.adempiere.server.rpl.imp;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Properties;
 import java.util.logging.Level;
+import java.util.zip.GZIPInputStream;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.JMSException;
 import javax.jms.Message;
@@ -44,9 +49,11 @@ import javax.jms.Topic;
 
 import org.adempiere.process.rpl.imp.ImportHelper;
 import org.adempiere.process.rpl.XMLHelper;
+import org.adempiere.process.rpl.exp.TopicExportProcessor;
 import org.apache.activemq.ActiveMQConnectionFactory;
 import org.compiere.server.ReplicationProcessor;
 import org.compiere.util.CLogger;
+import org.compiere.util.Trx;
 import org.compiere.model.MIMPProcessorLog;
 import org.w3c.dom.Document;
 
@@ -275,22 +282,31 @@ public class TopicListener implements MessageListener {
 	 * 
 	 */
 	public void onMessage(Message message) {
-		if ( message instanceof TextMessage ) {
+		if ( message instanceof TextMessage || message instanceof BytesMessage ) {
 			
+			Trx batchTrx = null;
 			try {
-				TextMessage txtMessage = (TextMessage) message;
-				
-				String text = txtMessage.getText();
+				String text = getText(message);
 				if (log.isLoggable(Level.FINEST)) log.finest("Received message: \n" + text );
 
 				Document documentToBeImported = XMLHelper.createDocumentFromString( text );
+				List<Document> documents = XMLHelper.readBatch(documentToBeImported);
 				StringBuffer result = new StringBuffer();
 				
 				ImportHelper impHelper = new ImportHelper( ctx );
 
-				impHelper.importXMLDocument(result, documentToBeImported, trxName );
+				// Import all documents of a batch in one transaction
+				String importTrxName = trxName;
+				if (importTrxName == null && documents.size() > 1) {
+					batchTrx = Trx.get(Trx.createTrxName("TopicListener"), true);
+					importTrxName = batchTrx.getTrxName();
+				}
+				for (Document document : documents)
+					impHelper.importXMLDocument(result, document, importTrxName );
+				if (batchTrx != null)
+					batchTrx.commit(true);
 				
-				log.finest("Message processed ...");
+				if (log.isLoggable(Level.FINEST)) log.finest("Message processed ... " + documents.size() + " documents");
 				
 				if(replicationProcessor != null)
 				{	
@@ -311,6 +327,8 @@ public class TopicListener implements MessageListener {
 			catch (Exception e) 
 			{
 				if (log.isLoggable(Level.FINEST)) log.finest("Rollback = " + e.toString());
+				if (batchTrx != null)
+					batchTrx.rollback();
 				try 
 				{
 					session.rollback();
@@ -330,12 +348,37 @@ public class TopicListener implements MessageListener {
 				e.printStackTrace();
 				
 			}
+			finally
+			{
+				if (batchTrx != null)
+					batchTrx.close();
+			}
 
 		} else {
 			log.finest("Received NO TEXT Message: " );
 		}
 	}
 
+	/**
+	 * Get text of text message or of bytes message (UTF-8, gzip compressed if ContentEncoding=gzip)
+	 * @param message
+	 * @return text
+	 * @throws Exception
+	 */
+	private String getText(Message message) throws Exception {
+		if (message instanceof TextMessage)
+			return ((TextMessage) message).getText();
+
+		BytesMessage bytesMessage = (BytesMessage) message;
+		byte[] bytes = new byte[(int) bytesMessage.getBodyLength()];
+		bytesMessage.readBytes(bytes);
+		if (!TopicExportProcessor.CONTENT_ENCODING_GZIP.equals(bytesMessage.getStringProperty(TopicExportProcessor.PROPERTY_CONTENT_ENCODING)))
+			return new String(bytes, "UTF-8");
+		try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return new String(is.readAllBytes(), "UTF-8");
+		}
+	}
+
 	public void setUrl(String url) {
 		this.url = url;
 	}
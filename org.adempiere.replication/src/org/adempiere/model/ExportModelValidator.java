@@ -35,6 +35,7 @@ import java.util.List;
 import java.util.logging.Level;
 
 import org.adempiere.process.rpl.exp.ExportHelper;
+import org.adempiere.process.rpl.exp.ReplicationOutbox;
 import org.compiere.model.MClient;
 import org.compiere.model.MOrg;
 import org.compiere.model.MReplicationStrategy;
@@ -100,6 +101,7 @@ public class ExportModelValidator implements ModelValidator {
 			m_AD_Client_ID = client.getAD_Client_ID();
 			if (log.isLoggable(Level.INFO)) log.info(client.toString());
 			loadReplicationStrategy(engine);
+			ReplicationOutbox.recover(m_AD_Client_ID);
 		} else {
 			log.warning("Export Model Validator cannot be used as a global validator, it needs to be defined in a per-tenant basis");
 			return;
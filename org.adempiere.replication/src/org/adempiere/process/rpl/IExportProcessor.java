@@ -29,6 +29,7 @@
 
 package org.adempiere.process.rpl;
 
+import java.util.List;
 import java.util.Properties;
 
 import org.compiere.model.MEXPProcessor;
@@ -42,5 +43,20 @@ public interface IExportProcessor {
 	
 	public void process(Properties ctx, MEXPProcessor expProcessor, Document document, Trx trx) 
 			throws Exception;
+
+	/**
+	 * Export a batch of documents, in order.<br/>
+	 * Default implementation export each document with {@link #process(Properties, MEXPProcessor, Document, Trx)}.
+	 * @param ctx
+	 * @param expProcessor
+	 * @param documents
+	 * @param trx
+	 * @throws Exception
+	 */
+	public default void process(Properties ctx, MEXPProcessor expProcessor, List<Document> documents, Trx trx)
+			throws Exception {
+		for (Document document : documents)
+			process(ctx, expProcessor, document, trx);
+	}
 	
 }
@@ -30,11 +30,18 @@ package org.adempiere.process.rpl;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
@@ -42,6 +49,7 @@ import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.InputSource;
@@ -55,6 +63,9 @@ import org.xml.sax.SAXException;
  */
 public class XMLHelper {
 
+	/** Root element of a batch of replication documents */
+	public static final String BATCH_ELEMENT = "ReplicationBatch";
+
 	private static XPath xPath = XPathFactory.newInstance().newXPath();
 
 	public static Element getElement(String xPathExpression, Node node)
@@ -137,4 +148,94 @@ public class XMLHelper {
 		return document;
 	}
 	
+	/**
+	 * Write documents as one batch document (root element {@link #BATCH_ELEMENT} with the root element of each document)
+	 * @param documents
+	 * @param os
+	 * @throws XMLStreamException
+	 */
+	public static void writeBatch(List<Document> documents, OutputStream os) throws XMLStreamException {
+		XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(os, "UTF-8");
+		writer.writeStartDocument("UTF-8", "1.0");
+		writer.writeStartElement(BATCH_ELEMENT);
+		writer.writeAttribute("Count", String.valueOf(documents.size()));
+		for (Document document : documents)
+			writeNode(writer, document.getDocumentElement());
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.flush();
+	}
+
+	/**
+	 * @param document
+	 * @return XML text of document
+	 * @throws XMLStreamException
+	 */
+	public static String toString(Document document) throws XMLStreamException {
+		StringWriter out = new StringWriter();
+		XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out);
+		writer.writeStartDocument("UTF-8", "1.0");
+		writeNode(writer, document.getDocumentElement());
+		writer.writeEndDocument();
+		writer.flush();
+		return out.toString();
+	}
+
+	/**
+	 * Write DOM node and its children
+	 * @param writer
+	 * @param node
+	 * @throws XMLStreamException
+	 */
+	private static void writeNode(XMLStreamWriter writer, Node node) throws XMLStreamException {
+		switch (node.getNodeType()) {
+		case Node.ELEMENT_NODE:
+			writer.writeStartElement(node.getNodeName());
+			NamedNodeMap attributes = node.getAttributes();
+			for (int i = 0; i < attributes.getLength(); i++) {
+				Node attribute = attributes.item(i);
+				writer.writeAttribute(attribute.getNodeName(), attribute.getNodeValue());
+			}
+			for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling())
+				writeNode(writer, child);
+			writer.writeEndElement();
+			break;
+		case Node.TEXT_NODE:
+			writer.writeCharacters(node.getNodeValue());
+			break;
+		case Node.CDATA_SECTION_NODE:
+			writer.writeCData(node.getNodeValue());
+			break;
+		case Node.COMMENT_NODE:
+			writer.writeComment(node.getNodeValue());
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Split a batch document into its documents
+	 * @param document batch or single document
+	 * @return documents of batch, or the document itself if it is not a batch
+	 * @throws ParserConfigurationException
+	 */
+	public static List<Document> readBatch(Document document) throws ParserConfigurationException {
+		List<Document> documents = new ArrayList<Document>();
+		Element root = document.getDocumentElement();
+		if (root == null || !BATCH_ELEMENT.equals(root.getNodeName())) {
+			documents.add(document);
+			return documents;
+		}
+		DocumentBuilder documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+		for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child.getNodeType() != Node.ELEMENT_NODE)
+				continue;
+			Document single = documentBuilder.newDocument();
+			single.appendChild(single.importNode(child, true));
+			documents.add(single);
+		}
+		return documents;
+	}
+
 }
@@ -172,7 +172,10 @@ public class ExportHelper {
 			Class<?> clazz = Class.forName(javaClass);
 			IExportProcessor exportProcessor = (IExportProcessor)clazz.getDeclaredConstructor().newInstance();
 
-			exportProcessor.process(po.getCtx(), mExportProcessor, outDocument, Trx.get( po.get_TrxName(), false ));
+			if (ReplicationOutbox.isEnabled(m_AD_Client_ID))
+				ReplicationOutbox.add(po.getCtx(), mExportProcessor.getEXP_Processor_ID(), outDocument, po.get_TrxName());
+			else
+				exportProcessor.process(po.getCtx(), mExportProcessor, outDocument, Trx.get( po.get_TrxName(), false ));
 
 		} catch (Exception e) {
 			log.severe(e.toString());
@@ -0,0 +1,386 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.adempiere.process.rpl.exp;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.process.rpl.IExportProcessor;
+import org.adempiere.process.rpl.XMLHelper;
+import org.adempiere.util.ServerContext;
+import org.compiere.Adempiere;
+import org.compiere.model.MEXPProcessor;
+import org.compiere.model.MEXPProcessorType;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.Query;
+import org.compiere.model.X_EXP_Outbox;
+import org.compiere.util.CLogger;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Trx;
+import org.compiere.util.TrxEventListener;
+import org.compiere.util.Util;
+import org.w3c.dom.Document;
+
+/**
+ * Outbox of replication export documents.<br/>
+ * Enabled by {@link MSysConfig#REPLICATION_OUTBOX}. The export document is written to the EXP_Outbox table in the
+ * transaction of the record, it is committed or rolled back with the record. After commit, the publisher of the export
+ * processor is notified. Documents are published by one publisher per export processor, in order of EXP_Outbox_ID, in
+ * batches of up to {@link MSysConfig#REPLICATION_OUTBOX_BATCH_SIZE} documents (see
+ * {@link IExportProcessor#process(Properties, MEXPProcessor, List, Trx)}) and deleted in the same transaction. The
+ * publisher locks the export processor record while publishing, only one server of a cluster publishes the documents of
+ * an export processor at a time.<br/>
+ * A batch that fails is retried with an increasing delay, documents after it wait so that the order is kept. Documents
+ * that failed {@link MSysConfig#REPLICATION_OUTBOX_MAX_RETRIES} times are deactivated and skipped; to publish them again,
+ * activate them and reset RetryCount. Documents left in the outbox (e.g. by a server shutdown) are published at start
+ * of the server ({@link #recover(int)}) or with the next document of their export processor.<br/>
+ * Saving a replicated record fails when {@link MSysConfig#REPLICATION_OUTBOX_MAX_SIZE} active documents of its export
+ * processor are waiting in the outbox.<br/>
+ * EXP_Outbox_ID is assigned when the record is saved, a document of a transaction that commits later than a transaction
+ * that saved after it can be published after the documents of that transaction.
+ */
+public class ReplicationOutbox implements TrxEventListener
+{
+	/** Outbox of transactions (trxName:outbox) */
+	private static final Map<String, ReplicationOutbox> s_outboxes = new ConcurrentHashMap<String, ReplicationOutbox>();
+
+	/** Publisher of export processors (EXP_Processor_ID:publisher) */
+	private static final Map<Integer, Publisher> s_publishers = new ConcurrentHashMap<Integer, Publisher>();
+
+	/** Logger */
+	private static final CLogger s_log = CLogger.getCLogger(ReplicationOutbox.class);
+
+	/** Delay of first retry of a failed batch (ms) */
+	private static final long RETRY_DELAY_MIN = 1000;
+	/** Maximum delay of retry of a failed batch (ms) */
+	private static final long RETRY_DELAY_MAX = 60000;
+
+	/**
+	 * Is replication outbox enabled
+	 * @param AD_Client_ID
+	 * @return true if enabled
+	 */
+	public static boolean isEnabled(int AD_Client_ID)
+	{
+		return MSysConfig.getBooleanValue(MSysConfig.REPLICATION_OUTBOX, false, AD_Client_ID);
+	}	//	isEnabled
+
+	/**
+	 * Write export document to the outbox in transaction, publishing starts after commit
+	 * (or now if there is no active transaction)
+	 * @param ctx
+	 * @param EXP_Processor_ID
+	 * @param document
+	 * @param trxName
+	 * @throws Exception if the outbox is full or the document cannot be written
+	 */
+	public static void add(Properties ctx, int EXP_Processor_ID, Document document, String trxName) throws Exception
+	{
+		Trx trx = Util.isEmpty(trxName, true) ? null : Trx.get(trxName, false);
+		ReplicationOutbox outbox = null;
+		if (trx != null)
+		{
+			outbox = s_outboxes.computeIfAbsent(trxName, k -> {
+				ReplicationOutbox o = new ReplicationOutbox(ctx, trxName);
+				trx.addTrxEventListener(o);
+				return o;
+			});
+		}
+		if (outbox == null || outbox.m_processors.add(EXP_Processor_ID))
+			checkSize(ctx, EXP_Processor_ID, trxName);
+
+		X_EXP_Outbox entry = new X_EXP_Outbox(ctx, 0, trx != null ? trxName : null);
+		entry.setEXP_Processor_ID(EXP_Processor_ID);
+		entry.setExportXML(XMLHelper.toString(document));
+		entry.saveEx();
+		if (outbox == null)
+			getPublisher(ctx, EXP_Processor_ID).schedule(0);
+		else if (s_log.isLoggable(Level.FINE))
+			s_log.fine(trxName + " - EXP_Processor_ID=" + EXP_Processor_ID + " EXP_Outbox_ID=" + entry.getEXP_Outbox_ID());
+	}	//	add
+
+	/**
+	 * Check maximum size of outbox of export processor
+	 * @param ctx
+	 * @param EXP_Processor_ID
+	 * @param trxName
+	 */
+	private static void checkSize(Properties ctx, int EXP_Processor_ID, String trxName)
+	{
+		int maxSize = MSysConfig.getIntValue(MSysConfig.REPLICATION_OUTBOX_MAX_SIZE, 100000, Env.getAD_Client_ID(ctx));
+		if (maxSize <= 0)
+			return;
+		int size = DB.getSQLValueEx(trxName, "SELECT COUNT(*) FROM EXP_Outbox WHERE EXP_Processor_ID=? AND IsActive='Y'", EXP_Processor_ID);
+		if (size >= maxSize)
+			throw new AdempiereException("Replication outbox of EXP_Processor_ID=" + EXP_Processor_ID + " is full (" + size + " documents)");
+	}	//	checkSize
+
+	/**
+	 * Publish documents left in the outbox of a tenant
+	 * @param AD_Client_ID
+	 */
+	public static void recover(int AD_Client_ID)
+	{
+		if (!isEnabled(AD_Client_ID))
+			return;
+		int[] ids = DB.getIDsEx(null, "SELECT DISTINCT EXP_Processor_ID FROM EXP_Outbox WHERE AD_Client_ID=? AND IsActive='Y'", AD_Client_ID);
+		if (ids.length == 0)
+			return;
+		Properties ctx = new Properties();
+		Env.setContext(ctx, Env.AD_CLIENT_ID, AD_Client_ID);
+		for (int EXP_Processor_ID : ids)
+			getPublisher(ctx, EXP_Processor_ID).schedule(0);
+		if (s_log.isLoggable(Level.INFO)) s_log.info("AD_Client_ID=" + AD_Client_ID + " - publish outbox of " + ids.length + " export processors");
+	}	//	recover
+
+	/**
+	 * Get publisher of export processor
+	 * @param ctx
+	 * @param EXP_Processor_ID
+	 * @return publisher
+	 */
+	private static Publisher getPublisher(Properties ctx, int EXP_Processor_ID)
+	{
+		return s_publishers.computeIfAbsent(EXP_Processor_ID, k -> new Publisher(ctx, EXP_Processor_ID));
+	}	//	getPublisher
+
+	/** Transaction name */
+	private final String m_trxName;
+	/** Context of first document */
+	private final Properties m_ctx;
+	/** Export processors with documents in transaction */
+	private final Set<Integer> m_processors = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param ctx
+	 * @param trxName
+	 */
+	private ReplicationOutbox(Properties ctx, String trxName)
+	{
+		m_ctx = ctx;
+		m_trxName = trxName;
+	}
+
+	@Override
+	public void afterCommit(Trx trx, boolean success)
+	{
+		if (success)
+		{
+			for (int EXP_Processor_ID : new HashSet<Integer>(m_processors))
+				getPublisher(m_ctx, EXP_Processor_ID).schedule(0);
+		}
+		m_processors.clear();
+	}
+
+	@Override
+	public void afterRollback(Trx trx, boolean success)
+	{
+		m_processors.clear();
+	}
+
+	@Override
+	public void afterClose(Trx trx)
+	{
+		s_outboxes.remove(m_trxName);
+		trx.removeTrxEventListener(this);
+	}
+
+	/**
+	 * Publish documents of an export processor in order, one batch at a time, with the Adempiere thread pool
+	 */
+	private static class Publisher implements Runnable
+	{
+		/** Export processor */
+		private final int m_EXP_Processor_ID;
+		/** Context of publishing */
+		private final Properties m_ctx;
+		/** true if publishing is scheduled or running */
+		private final AtomicBoolean m_scheduled = new AtomicBoolean(false);
+		/** true if documents have been added while publishing is running */
+		private final AtomicBoolean m_pending = new AtomicBoolean(false);
+		/** Number of consecutive failures */
+		private int m_failures = 0;
+
+		/**
+		 * @param ctx
+		 * @param EXP_Processor_ID
+		 */
+		private Publisher(Properties ctx, int EXP_Processor_ID)
+		{
+			m_EXP_Processor_ID = EXP_Processor_ID;
+			m_ctx = new Properties();
+			Env.setContext(m_ctx, Env.AD_CLIENT_ID, Env.getAD_Client_ID(ctx));
+			Env.setContext(m_ctx, Env.AD_ORG_ID, Env.getAD_Org_ID(ctx));
+			Env.setContext(m_ctx, Env.AD_USER_ID, Env.getAD_User_ID(ctx));
+			Env.setContext(m_ctx, Env.AD_ROLE_ID, Env.getAD_Role_ID(ctx));
+			Env.setContext(m_ctx, Env.LANGUAGE, Env.getContext(ctx, Env.LANGUAGE));
+		}
+
+		/**
+		 * Schedule publishing if not scheduled or running
+		 * @param delay ms
+		 */
+		private void schedule(long delay)
+		{
+			m_pending.set(true);
+			if (m_scheduled.compareAndSet(false, true))
+				Adempiere.getThreadPoolExecutor().schedule(this, delay, TimeUnit.MILLISECONDS);
+		}	//	schedule
+
+		@Override
+		public void run()
+		{
+			long retryDelay = 0;
+			try
+			{
+				m_pending.set(false);
+				ServerContext.setCurrentInstance(m_ctx);
+				int AD_Client_ID = Env.getAD_Client_ID(m_ctx);
+				int batchSize = MSysConfig.getIntValue(MSysConfig.REPLICATION_OUTBOX_BATCH_SIZE, 100, AD_Client_ID);
+				if (batchSize < 1)
+					batchSize = 1;
+				int maxRetries = MSysConfig.getIntValue(MSysConfig.REPLICATION_OUTBOX_MAX_RETRIES, 100, AD_Client_ID);
+				while (true)
+				{
+					List<X_EXP_Outbox> batch = new ArrayList<X_EXP_Outbox>();
+					try
+					{
+						int count = publish(batchSize, batch);
+						m_failures = 0;
+						if (count < batchSize)
+							break;
+					}
+					catch (Exception e)
+					{
+						m_failures++;
+						retryDelay = Math.min(RETRY_DELAY_MIN << Math.min(m_failures - 1, 16), RETRY_DELAY_MAX);
+						s_log.log(Level.SEVERE, "EXP_Processor_ID=" + m_EXP_Processor_ID + " - failed to publish "
+							+ batch.size() + " documents, retry in " + retryDelay + "ms", e);
+						failed(batch, maxRetries);
+						break;
+					}
+				}
+			}
+			finally
+			{
+				ServerContext.dispose();
+				m_scheduled.set(false);
+			}
+			if (retryDelay > 0)
+				schedule(retryDelay);
+			else if (m_pending.get())
+				schedule(0);
+		}
+
+		/**
+		 * Publish next batch of outbox with export processor and delete it
+		 * @param batchSize
+		 * @param batch documents of batch, filled by this method
+		 * @return number of documents published
+		 * @throws Exception
+		 */
+		private int publish(int batchSize, List<X_EXP_Outbox> batch) throws Exception
+		{
+			Trx trx = Trx.get(Trx.createTrxName("ReplicationOutbox"), true);
+			trx.setDisplayName(getClass().getName()+"_publish");
+			try
+			{
+				// one publisher of export processor at a time, also between servers
+				DB.getSQLValueEx(trx.getTrxName(), "SELECT EXP_Processor_ID FROM EXP_Processor WHERE EXP_Processor_ID=? FOR UPDATE", m_EXP_Processor_ID);
+				batch.addAll(new Query(m_ctx, X_EXP_Outbox.Table_Name, "EXP_Processor_ID=?", trx.getTrxName())
+					.setOnlyActiveRecords(true)
+					.setParameters(m_EXP_Processor_ID)
+					.setOrderBy(X_EXP_Outbox.COLUMNNAME_EXP_Outbox_ID)
+					.setPageSize(batchSize)
+					.<X_EXP_Outbox>list());
+				if (batch.isEmpty())
+					return 0;
+
+				List<Document> documents = new ArrayList<Document>(batch.size());
+				for (X_EXP_Outbox entry : batch)
+					documents.add(XMLHelper.createDocumentFromString(entry.getExportXML()));
+				MEXPProcessor processor = new MEXPProcessor(m_ctx, m_EXP_Processor_ID, trx.getTrxName());
+				MEXPProcessorType processorType = new MEXPProcessorType(m_ctx, processor.getEXP_Processor_Type_ID(), trx.getTrxName());
+				Class<?> clazz = Class.forName(processorType.getJavaClass());
+				IExportProcessor exportProcessor = (IExportProcessor)clazz.getDeclaredConstructor().newInstance();
+				exportProcessor.process(m_ctx, processor, documents, trx);
+				for (X_EXP_Outbox entry : batch)
+					entry.deleteEx(true);
+				trx.commit(true);
+				if (s_log.isLoggable(Level.FINE)) s_log.fine("EXP_Processor_ID=" + m_EXP_Processor_ID + " - published " + batch.size() + " documents");
+				return batch.size();
+			}
+			catch (Exception e)
+			{
+				trx.rollback();
+				throw e;
+			}
+			finally
+			{
+				trx.close();
+			}
+		}	//	publish
+
+		/**
+		 * Increase RetryCount of documents of failed batch, deactivate documents that reached the maximum number of retries
+		 * @param batch
+		 * @param maxRetries
+		 */
+		private void failed(List<X_EXP_Outbox> batch, int maxRetries)
+		{
+			if (batch.isEmpty())
+				return;
+			StringBuilder ids = new StringBuilder();
+			for (X_EXP_Outbox entry : batch)
+			{
+				if (ids.length() > 0)
+					ids.append(",");
+				ids.append(entry.getEXP_Outbox_ID());
+			}
+			try
+			{
+				DB.executeUpdateEx("UPDATE EXP_Outbox SET RetryCount=RetryCount+1, Updated=getDate() WHERE EXP_Outbox_ID IN (" + ids + ")", null);
+				if (maxRetries > 0)
+				{
+					int no = DB.executeUpdateEx("UPDATE EXP_Outbox SET IsActive='N' WHERE RetryCount>=? AND EXP_Outbox_ID IN (" + ids + ")",
+						new Object[] {maxRetries}, null);
+					if (no > 0)
+						s_log.severe("EXP_Processor_ID=" + m_EXP_Processor_ID + " - " + no + " documents deactivated after " + maxRetries + " failed attempts");
+				}
+			}
+			catch (Exception e)
+			{
+				s_log.log(Level.SEVERE, "EXP_Processor_ID=" + m_EXP_Processor_ID + " - cannot update RetryCount", e);
+			}
+		}	//	failed
+	}	//	Publisher
+}	//	ReplicationOutbox
@@ -29,18 +29,23 @@
 ***********************************************************************/
 package org.adempiere.process.rpl.exp;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.List;
 import java.util.Properties;
 import java.util.logging.Level;
+import java.util.zip.GZIPOutputStream;
 
+import javax.jms.BytesMessage;
 import javax.jms.Connection;
 import javax.jms.DeliveryMode;
 import javax.jms.Destination;
 import javax.jms.JMSException;
+import javax.jms.Message;
 import javax.jms.MessageProducer;
 import javax.jms.Session;
-import javax.jms.TextMessage;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
@@ -50,6 +55,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.adempiere.process.rpl.IExportProcessor;
+import org.adempiere.process.rpl.XMLHelper;
 import org.apache.activemq.ActiveMQConnectionFactory;
 import org.compiere.model.MEXPProcessor;
 import org.compiere.model.X_EXP_ProcessorParameter;
@@ -70,6 +76,11 @@ public class TopicExportProcessor implements IExportProcessor {
 
 	/**	Logger	*/
 	protected static final CLogger	log = CLogger.getCLogger (TopicExportProcessor.class);
+
+	/** Message property with the content encoding of a compressed message */
+	public static final String PROPERTY_CONTENT_ENCODING = "ContentEncoding";
+	/** Content encoding of a compressed message */
+	public static final String CONTENT_ENCODING_GZIP = "gzip";
 	
 	/**
 	 * 
@@ -77,54 +88,7 @@ public class TopicExportProcessor implements IExportProcessor {
 	public void process(Properties ctx, MEXPProcessor expProcessor, Document document, Trx trx) 
 			throws Exception 
 	{
-		String host 	      = expProcessor.getHost();
-		int port 		      = expProcessor.getPort();
-		String account 	      = expProcessor.getAccount();
-		String password       = expProcessor.getPasswordInfo();
-		String protocol       = null;
-        String topicName      = "";
-        String clientID       = null;
-        String timeToLiveStr  = null;
-        int timeToLive        = 10000;
-        boolean isDeliveryModePersistent = true;
-        
-        // Read all processor parameters and set them!        
-        X_EXP_ProcessorParameter[] processorParameters = expProcessor.getEXP_ProcessorParameters(trx.getTrxName());
-        if (processorParameters != null && processorParameters.length > 0) {
-        	for (int i = 0; i < processorParameters.length; i++) {
-        		if (log.isLoggable(Level.INFO)) {
-        			log.info("ProcesParameter          Value = " + processorParameters[i].getValue());
-        			log.info("ProcesParameter ParameterValue = " + processorParameters[i].getParameterValue());
-        		}
-        		if (processorParameters[i].getValue().equals("topicName")) {
-        			topicName = processorParameters[i].getParameterValue();
-        		} else if (processorParameters[i].getValue().equals("protocol")) {
-        			protocol = processorParameters[i].getParameterValue();
-        		} else if (processorParameters[i].getValue().equals("clientID")) {
-        			clientID = processorParameters[i].getParameterValue();
-        		} else if (processorParameters[i].getValue().equals("timeToLive")) {
-        			timeToLiveStr = processorParameters[i].getParameterValue();
-        			timeToLive = Integer.parseInt( timeToLiveStr );
-        		} else if (processorParameters[i].getValue().equals("isDeliveryModePersistent")) {
-        			isDeliveryModePersistent = Boolean.parseBoolean( processorParameters[i].getParameterValue() );
-        		} else {
-        			// Some other mandatory parameter here
-        		}
-        	}
-        }
-        
-        if (topicName == null || topicName.length() == 0) {
-        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'topicName'!");
-        }
-        if (protocol == null || protocol.length() == 0) {
-        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'protocol'!");
-        }
-        if (clientID == null || clientID.length() == 0) {
-        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'clientID'!");
-        }
-        if (timeToLiveStr == null || timeToLiveStr.length() == 0) {
-        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'timeToLive'!");
-        }
+		JMSParameters parameters = new JMSParameters(expProcessor, trx);
         
 		// Construct Transformer Factory and Transformer
         TransformerFactory tranFactory = TransformerFactory.newInstance();
@@ -141,17 +105,120 @@ public class TopicExportProcessor implements IExportProcessor {
         Result dest2 = new StreamResult(writer);
         aTransformer.transform(src, dest2);
         
-        sendJMSMessage(host, port, writer.toString(), protocol, topicName, clientID, account, password, timeToLive, isDeliveryModePersistent);
-		
+        String msg = writer.toString();
+        sendJMSMessage(parameters, session -> session.createTextMessage(msg));
+	}
+
+	/**
+	 * Send documents as one {@link XMLHelper#BATCH_ELEMENT} message.<br/>
+	 * With EXP_ProcessorParameter compress=true, the message is a gzip compressed BytesMessage.
+	 */
+	@Override
+	public void process(Properties ctx, MEXPProcessor expProcessor, List<Document> documents, Trx trx)
+			throws Exception
+	{
+		if (documents.isEmpty())
+			return;
+		JMSParameters parameters = new JMSParameters(expProcessor, trx);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream os = parameters.compress ? new GZIPOutputStream(bytes) : bytes) {
+			XMLHelper.writeBatch(documents, os);
+		}
+
+		if (parameters.compress) {
+			sendJMSMessage(parameters, session -> {
+				BytesMessage message = session.createBytesMessage();
+				message.writeBytes(bytes.toByteArray());
+				message.setStringProperty(PROPERTY_CONTENT_ENCODING, CONTENT_ENCODING_GZIP);
+				return message;
+			});
+		} else {
+			String msg = bytes.toString("UTF-8");
+			sendJMSMessage(parameters, session -> session.createTextMessage(msg));
+		}
+		if (log.isLoggable(Level.FINE)) log.fine("Batch of " + documents.size() + " documents, " + bytes.size() + " bytes");
+	}
+
+	/**
+	 * Create message for a JMS session
+	 */
+	@FunctionalInterface
+	private static interface MessageCreator {
+		Message create(Session session) throws JMSException;
+	}
+
+	/**
+	 * Connection parameters from EXP_Processor and EXP_ProcessorParameter
+	 */
+	private static class JMSParameters {
+		String host;
+		int port;
+		String account;
+		String password;
+		String protocol = null;
+		String topicName = "";
+		String clientID = null;
+		int timeToLive = 10000;
+		boolean isDeliveryModePersistent = true;
+		boolean compress = false;
+
+		JMSParameters(MEXPProcessor expProcessor, Trx trx) throws Exception {
+			host = expProcessor.getHost();
+			port = expProcessor.getPort();
+			account = expProcessor.getAccount();
+			password = expProcessor.getPasswordInfo();
+			String timeToLiveStr = null;
+
+	        // Read all processor parameters and set them!        
+	        X_EXP_ProcessorParameter[] processorParameters = expProcessor.getEXP_ProcessorParameters(trx != null ? trx.getTrxName() : null);
+	        if (processorParameters != null && processorParameters.length > 0) {
+	        	for (int i = 0; i < processorParameters.length; i++) {
+	        		if (log.isLoggable(Level.INFO)) {
+	        			log.info("ProcesParameter          Value = " + processorParameters[i].getValue());
+	        			log.info("ProcesParameter ParameterValue = " + processorParameters[i].getParameterValue());
+	        		}
+	        		if (processorParameters[i].getValue().equals("topicName")) {
+	        			topicName = processorParameters[i].getParameterValue();
+	        		} else if (processorParameters[i].getValue().equals("protocol")) {
+	        			protocol = processorParameters[i].getParameterValue();
+	        		} else if (processorParameters[i].getValue().equals("clientID")) {
+	        			clientID = processorParameters[i].getParameterValue();
+	        		} else if (processorParameters[i].getValue().equals("timeToLive")) {
+	        			timeToLiveStr = processorParameters[i].getParameterValue();
+	        			timeToLive = Integer.parseInt( timeToLiveStr );
+	        		} else if (processorParameters[i].getValue().equals("isDeliveryModePersistent")) {
+	        			isDeliveryModePersistent = Boolean.parseBoolean( processorParameters[i].getParameterValue() );
+	        		} else if (processorParameters[i].getValue().equals("compress")) {
+	        			compress = Boolean.parseBoolean( processorParameters[i].getParameterValue() );
+	        		} else {
+	        			// Some other mandatory parameter here
+	        		}
+	        	}
+	        }
+	        
+	        if (topicName == null || topicName.length() == 0) {
+	        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'topicName'!");
+	        }
+	        if (protocol == null || protocol.length() == 0) {
+	        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'protocol'!");
+	        }
+	        if (clientID == null || clientID.length() == 0) {
+	        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'clientID'!");
+	        }
+	        if (timeToLiveStr == null || timeToLiveStr.length() == 0) {
+	        	throw new Exception("Missing "+X_EXP_ProcessorParameter.Table_Name+" with key 'timeToLive'!");
+	        }
+		}
 	}
 
-	private void sendJMSMessage(String host, int port, String msg, String protocol, String topicName
-			, String clientID, String userName, String password, int timeToLive
-			, boolean isDeliveryModePersistent) throws JMSException 
+	private void sendJMSMessage(JMSParameters parameters, MessageCreator messageCreator) throws JMSException 
 	{
+		String userName = parameters.account;
+		String password = parameters.password;
 		// Create a ConnectionFactory
 		// network protocol (tcp, ...) set as EXP_ProcessorParameter
-		ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(protocol + "://" + host + ":" + port);
+		ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(parameters.protocol + "://" + parameters.host + ":" + parameters.port);
 		
 		Connection connection = null;
 		Session session = null;
@@ -170,12 +237,12 @@ public class TopicExportProcessor implements IExportProcessor {
 			session = connection.createSession(true, Session.AUTO_ACKNOWLEDGE); //TODO - Trifon could be EXP_ProcessorParameter
 
 			// Create the destination (Topic or Queue)
-			Destination destination = session.createTopic(topicName);
+			Destination destination = session.createTopic(parameters.topicName);
 			
 			// Create a MessageProducer from the Session to the Topic or Queue
 			MessageProducer producer = session.createProducer( destination );
-			producer.setTimeToLive( timeToLive ); // EXP_ProcessorParameter
-			if ( isDeliveryModePersistent ) {
+			producer.setTimeToLive( parameters.timeToLive ); // EXP_ProcessorParameter
+			if ( parameters.isDeliveryModePersistent ) {
 				producer.setDeliveryMode( DeliveryMode.PERSISTENT ); // EXP_ProcessorParameter	
 			} else {
 				producer.setDeliveryMode( DeliveryMode.NON_PERSISTENT ); // EXP_ProcessorParameter
@@ -187,7 +254,7 @@ public class TopicExportProcessor implements IExportProcessor {
 			//producer.send(anotherDestination, message);
 			
 			// Create a message
-			TextMessage message = session.createTextMessage( msg );
+			Message message = messageCreator.create(session);
 			
 			// Tell the producer to send the message
 			try
@@ -23,7 +23,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -730,13 +731,14 @@ public class AdempiereServerMgr implements ServiceTrackerCustomizer<IServerFacto
 	}	//	getStartTime
 
 	/**
-	 * Controller for background server thread 
+	 * Controller for background server thread.<br/>
+	 * The shared scheduled thread pool only triggers the server, which runs in the {@link Adempiere#THREAD_POOL_SERVER} pool. 
 	 */
 	private class LocalServerController implements Runnable
 	{
 
 		protected AdempiereServer server;
-		protected volatile ScheduledFuture<?> scheduleFuture;
+		protected volatile Future<?> scheduleFuture;
 		protected AtomicBoolean stop;
 
 		private LocalServerController(AdempiereServer server) {
@@ -755,7 +757,15 @@ public class AdempiereServerMgr implements ServiceTrackerCustomizer<IServerFacto
 		 */
 		public void start() {
 			stop.set(false);
-			scheduleFuture = Adempiere.getThreadPoolExecutor().schedule(this, server.getInitialNap() * 1000 + server.getSleepMS(), TimeUnit.MILLISECONDS);
+			schedule(server.getInitialNap() * 1000 + server.getSleepMS());
+		}
+
+		/**
+		 * Schedule next run
+		 * @param delayMS
+		 */
+		private synchronized void schedule(long delayMS) {
+			scheduleFuture = Adempiere.getThreadPoolExecutor().schedule(this, delayMS, TimeUnit.MILLISECONDS);
 		}
 
 		/**
@@ -776,11 +786,35 @@ public class AdempiereServerMgr implements ServiceTrackerCustomizer<IServerFacto
 				return;
 			}
 			
+			//lock until scheduleFuture is set, runServer replaces it with the next schedule
+			synchronized (this) {
+				try {
+					scheduleFuture = Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_SERVER).submit(this::runServer);
+				} catch (RejectedExecutionException e) {
+					//server thread pool is full, try again after one minute
+					log.warning(server.getName() + ": " + e.getLocalizedMessage());
+					schedule(60 * 1000);
+				}
+			}
+		}
+
+		/**
+		 * Run server and schedule next run
+		 */
+		private void runServer() {
+			//wait for run to release the lock
+			synchronized (this) {
+				if (stop.get()) {
+					scheduleFuture = null;
+					return;
+				}
+			}
+			
 			if (server.isSleeping()) {
 				server.run();
 				if (!isInterrupted() && !stop.get()) {
 					if (server.getSleepMS() != 0) {
-						scheduleFuture = Adempiere.getThreadPoolExecutor().schedule(this, server.getSleepMS(), TimeUnit.MILLISECONDS);
+						schedule(server.getSleepMS());
 					} else {
 						scheduleFuture = null;
 					}
@@ -789,7 +823,7 @@ public class AdempiereServerMgr implements ServiceTrackerCustomizer<IServerFacto
 				}
 			}  else {
 				//server busy, try again after one minute
-				scheduleFuture = Adempiere.getThreadPoolExecutor().schedule(this, 60 * 1000, TimeUnit.MILLISECONDS);
+				schedule(60 * 1000);
 			}
 		}
 		
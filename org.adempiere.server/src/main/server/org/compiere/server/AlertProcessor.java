@@ -24,9 +24,23 @@ import java.sql.Timestamp;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import org.adempiere.impexp.ArrayExcelExporter;
+import org.adempiere.impexp.ResultSetCSVExporter;
+import org.adempiere.impexp.ResultSetExcelExporter;
+import org.adempiere.util.ServerContext;
+import org.compiere.Adempiere;
 import org.compiere.model.MAlert;
 import org.compiere.model.MAlertProcessor;
 import org.compiere.model.MAlertProcessorLog;
@@ -81,6 +95,11 @@ public class AlertProcessor extends AdempiereServer
 	protected StringBuffer 		m_errors = new StringBuffer();
 	/** Client info					*/
 	protected MClient 			m_client = null;
+	/** Query timeout in seconds	*/
+	protected int				m_queryTimeout = 0;
+
+	/** Fetch size of cursor for streaming attachments */
+	private static final int STREAMING_FETCH_SIZE = 1000;
 
 	/**
 	 * 	Work
@@ -90,21 +109,24 @@ public class AlertProcessor extends AdempiereServer
 		m_summary = new StringBuffer();
 		m_errors = new StringBuffer();
 		//
-		int count = 0;
 		int countError = 0;
 		MAlert[] alerts = m_model.getAlerts(false);
-		for (int i = 0; i < alerts.length; i++)
+		int threads = MSysConfig.getIntValue(MSysConfig.ALERT_PROCESSOR_THREADS, 1, m_model.getAD_Client_ID());
+		int timeout = MSysConfig.getIntValue(MSysConfig.ALERT_PROCESSOR_TIMEOUT_SECONDS, 0, m_model.getAD_Client_ID());
+		m_queryTimeout = Math.max(timeout, 0);
+		if ((threads > 1 || timeout > 0) && alerts.length > 0)
 		{
-			Language language = Env.getLanguage(getCtx());
-			// Try to get the language of the client's alert
-			MClient client = MClient.get(getCtx(), alerts[i].getAD_Client_ID());
-			if (client.getLanguage() != null)
-				language = client.getLanguage();
-
-			if (!processAlert(alerts[i], language))
-				countError++;
-			count++;
+			countError = processAlerts(alerts, Math.max(threads, 1), timeout);
 		}
+		else
+		{
+			for (int i = 0; i < alerts.length; i++)
+			{
+				if (!processAlert(alerts[i], getLanguage(alerts[i])))
+					countError++;
+			}
+		}
+		int count = alerts.length;
 		//
 		String summary = "Total=" + count;
 		if (countError > 0)
@@ -122,6 +144,139 @@ public class AlertProcessor extends AdempiereServer
 		pLog.saveEx();
 	}	//	doWork
 
+	/**
+	 * Get report language of alert
+	 * @param alert
+	 * @return language of the alert's client, or of context
+	 */
+	private Language getLanguage(MAlert alert)
+	{
+		Language language = Env.getLanguage(getCtx());
+		// Try to get the language of the client's alert
+		MClient client = MClient.get(getCtx(), alert.getAD_Client_ID());
+		if (client.getLanguage() != null)
+			language = client.getLanguage();
+		return language;
+	}
+
+	/**
+	 * Process independent alerts concurrently in the {@link Adempiere#THREAD_POOL_SERVER} thread pool.<br/>
+	 * An alert running longer than timeout is cancelled (interrupted, no notification is sent) and counted as not processed.
+	 * @param alerts
+	 * @param threads maximum number of alerts processed at the same time
+	 * @param timeout timeout of an alert in seconds, 0 for no timeout
+	 * @return number of alerts not processed
+	 */
+	protected int processAlerts(MAlert[] alerts, int threads, int timeout)
+	{
+		int countError = 0;
+		ThreadPoolExecutor executor = Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_SERVER);
+		Semaphore running = new Semaphore(Math.min(threads, alerts.length));
+		List<AlertTask> tasks = new ArrayList<AlertTask>();
+		try
+		{
+			for (MAlert alert : alerts)
+			{
+				AlertTask task = new AlertTask(alert, getLanguage(alert), timeout, running);
+				tasks.add(task);
+				running.acquire();
+				try
+				{
+					executor.execute(task);
+				}
+				catch (RejectedExecutionException e)
+				{
+					task.run();
+				}
+			}
+			for (AlertTask task : tasks)
+			{
+				try
+				{
+					if (!task.get())
+						countError++;
+				}
+				catch (CancellationException e)
+				{
+					log.warning(task.alert.getName() + " timeout after " + timeout + "s");
+					m_errors.append(task.alert.getName() + ": Timeout=" + timeout + "s ");
+					countError++;
+				}
+				catch (ExecutionException e)
+				{
+					log.log(Level.SEVERE, task.alert.getName(), e.getCause());
+					m_errors.append(task.alert.getName() + ": " + e.getCause().getLocalizedMessage() + " ");
+					countError++;
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			for (AlertTask task : tasks)
+				task.cancel(true);
+		}
+		return countError;
+	}
+
+	/**
+	 * Process an alert with a copy of the processor context, cancelled after timeout
+	 */
+	private class AlertTask extends FutureTask<Boolean>
+	{
+		private final MAlert alert;
+		private final int timeout;
+		/** Permit of running alerts, released when the task ends */
+		private final Semaphore running;
+
+		private AlertTask(MAlert alert, Language language, int timeout, Semaphore running)
+		{
+			this(alert, language, timeout, running, ServerContext.getCurrentInstance());
+		}
+
+		private AlertTask(MAlert alert, Language language, int timeout, Semaphore running, Properties context)
+		{
+			super(() -> {
+				Properties ctx = new Properties();
+				ctx.putAll(context);
+				ServerContext.setCurrentInstance(ctx);
+				try
+				{
+					return processAlert(alert, language);
+				}
+				finally
+				{
+					ServerContext.dispose();
+				}
+			});
+			this.alert = alert;
+			this.timeout = timeout;
+			this.running = running;
+		}
+
+		@Override
+		public void run()
+		{
+			// timeout starts when the alert is started, not when it is queued
+			ScheduledFuture<?> watchdog = timeout > 0
+				? Adempiere.getThreadPoolExecutor().schedule(() -> cancel(true), timeout, TimeUnit.SECONDS)
+				: null;
+			try
+			{
+				super.run();
+			}
+			finally
+			{
+				if (watchdog != null)
+					watchdog.cancel(false);
+				// clear interrupt of cancel, the thread may be the caller's thread
+				if (isCancelled())
+					Thread.interrupted();
+				running.release();
+			}
+		}
+	}
+
 	/**
 	 * 	Process Alert
 	 *	@param alert alert
@@ -176,7 +331,10 @@ public class AlertProcessor extends AdempiereServer
 			try
 			{
 				String text = null;
-				if (MSysConfig.getBooleanValue(MSysConfig.ALERT_SEND_ATTACHMENT_AS_XLS, true, alert.getAD_Client_ID()))
+				boolean isXLS = MSysConfig.getBooleanValue(MSysConfig.ALERT_SEND_ATTACHMENT_AS_XLS, true, alert.getAD_Client_ID());
+				if (MSysConfig.getBooleanValue(MSysConfig.ALERT_STREAMING_ATTACHMENT, false, alert.getAD_Client_ID()))
+					text = getStreamingReport(rule, sql, language, isXLS ? "xlsx" : "csv", attachments);
+				else if (isXLS)
 					text = getExcelReport(rule, sql, language, null, attachments);
 				else
 					text = getPlainTextReport(rule, sql, null, attachments);
@@ -226,7 +384,7 @@ public class AlertProcessor extends AdempiereServer
 		//	Nothing to report
 		if (!processed)
 		{
-			m_summary.append(alert.getName()).append("=No Result - ");
+			m_summary.append(alert.getName() + "=No Result - ");
 			return true;
 		}
 		
@@ -237,11 +395,17 @@ public class AlertProcessor extends AdempiereServer
 		message.append(Msg.translate(language, "Date")).append(" : ")
 				.append(df.format(new Timestamp(System.currentTimeMillis())));
 		
-		Collection<Integer> users = alert.getRecipientUsers();
-		// parse variables from Client, then from System
-		String alertSubject = Env.parseVariable(alert.getAlertSubject(), client, null, true);
-		alertSubject = Env.parseVariable(alertSubject, system, null, true);
-		int countMail = notifyUsers(users, alertSubject, message.toString(), attachments, alert);
+		// cancelled after timeout, nothing is sent and the alert is reported as not processed
+		int countMail = 0;
+		boolean cancelled = Thread.currentThread().isInterrupted();
+		if (!cancelled)
+		{
+			Collection<Integer> users = alert.getRecipientUsers();
+			// parse variables from Client, then from System
+			String alertSubject = Env.parseVariable(alert.getAlertSubject(), client, null, true);
+			alertSubject = Env.parseVariable(alertSubject, system, null, true);
+			countMail = notifyUsers(users, alertSubject, message.toString(), attachments, alert);
+		}
 		
 		// IDEMPIERE-2864
 		for(File attachment : attachments)
@@ -249,8 +413,10 @@ public class AlertProcessor extends AdempiereServer
 			if(attachment.exists() && !attachment.delete())
 				attachment.deleteOnExit();
 		}
+		if (cancelled)
+			return false;
 		
-		m_summary.append(alert.getName()).append(" (EMails+Notes=").append(countMail).append(") - ");
+		m_summary.append(alert.getName() + " (EMails+Notes=" + countMail + ") - ");
 		return valid;
 	}	//	processAlert
 	
@@ -267,6 +433,9 @@ public class AlertProcessor extends AdempiereServer
 	{
 		int countMail = 0;
 		for (int user_id : users) {
+			// cancelled after timeout
+			if (Thread.currentThread().isInterrupted())
+				break;
 			MUser user = MUser.get(getCtx(), user_id);
 			if (user.isNotificationEMail()) {
 				String messageHTML = message.replaceAll(Env.NL, "<br>");
@@ -327,6 +496,8 @@ public class AlertProcessor extends AdempiereServer
 		try
 		{
 			pstmt = DB.prepareNormalReadReplicaStatement(sql, trxName);
+			if (m_queryTimeout > 0)
+				pstmt.setQueryTimeout(m_queryTimeout);
 			rs = pstmt.executeQuery ();
 			ResultSetMetaData meta = rs.getMetaData();
 			boolean isFirstRow = true;
@@ -390,6 +561,8 @@ public class AlertProcessor extends AdempiereServer
 		try
 		{
 			pstmt = DB.prepareNormalReadReplicaStatement(sql, trxName);
+			if (m_queryTimeout > 0)
+				pstmt.setQueryTimeout(m_queryTimeout);
 			rs = pstmt.executeQuery ();
 			ResultSetMetaData meta = rs.getMetaData();
 			while (rs.next ())
@@ -452,6 +625,78 @@ public class AlertProcessor extends AdempiereServer
 		return msg;
 	}
 	
+	/**
+	 * Get report attachment with rows written from the cursor to the file, memory doesn't grow with the number of rows
+	 * @param rule
+	 * @param sql
+	 * @param language
+	 * @param extension xlsx or csv
+	 * @param attachments
+	 * @return summary message to be added into mail content, null if no rows selected
+	 * @throws Exception
+	 */
+	protected String getStreamingReport(MAlertRule rule, String sql, Language language, String extension, Collection<File> attachments)
+	throws Exception
+	{
+		File file = rule.createReportFile(extension);
+		int rows = 0;
+		// fetch size is only honoured by PostgreSQL driver within a transaction
+		Trx trx = Trx.get(Trx.createTrxName("AP_SR"), true);
+		trx.setDisplayName(getClass().getName()+"_"+m_model.getName()+"_getStreamingReport");
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		Exception error = null;
+		try
+		{
+			pstmt = DB.prepareStatement(sql, trx.getTrxName());
+			pstmt.setFetchSize(STREAMING_FETCH_SIZE);
+			if (m_queryTimeout > 0)
+				pstmt.setQueryTimeout(m_queryTimeout);
+			rs = pstmt.executeQuery ();
+			if ("csv".equals(extension))
+			{
+				ResultSetCSVExporter exporter = new ResultSetCSVExporter(rs);
+				exporter.export(file);
+				rows = exporter.getExportedRowCount();
+			}
+			else
+			{
+				ResultSetExcelExporter exporter = new ResultSetExcelExporter(getCtx(), rs);
+				exporter.export(file, language, false);
+				rows = exporter.getExportedRowCount();
+			}
+		}
+		catch (Throwable e)
+		{
+			log.log(Level.SEVERE, sql, e);
+			if (e instanceof Exception)
+				error = (Exception)e;
+			else
+				error = new Exception(e.getMessage(), e);
+		}
+		finally
+		{
+			DB.close(rs, pstmt);
+			rs = null; pstmt = null;
+			trx.rollback();
+			trx.close();
+		}
+
+		if (error != null || rows == 0)
+		{
+			if (file.exists() && !file.delete())
+				file.deleteOnExit();
+			//	Error occurred
+			if (error != null)
+				throw new Exception ("(" + sql + ") " + Env.NL 
+					+ error.getLocalizedMessage());
+			return null;
+		}
+		attachments.add(file);
+		String msg = rule.getName() + " (" + Msg.translate(language, "SeeAttachment") + " " + file.getName() + ")" + Env.NL;
+		return msg;
+	}
+
 	/**
 	 * 	Get Server Info
 	 *	@return info
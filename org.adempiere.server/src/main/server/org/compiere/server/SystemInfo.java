@@ -32,6 +32,8 @@ import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
 import java.lang.management.ThreadMXBean;
 import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -44,6 +46,7 @@ import org.compiere.model.MSession;
 import org.compiere.util.CLogMgt;
 import org.compiere.util.CMemoryUsage;
 import org.compiere.util.Ini;
+import org.compiere.util.ThreadPoolMXBean;
 import org.idempiere.distributed.IClusterMember;
 import org.idempiere.distributed.IClusterService;
 import org.idempiere.server.cluster.ClusterServerMgr;
@@ -76,6 +79,7 @@ public class SystemInfo implements Serializable {
 	private int daemonThreadCount;
 	private long totalStartedThreadCount;
 	private TrxInfo[] trxInfos;
+	private LinkedHashMap<String, String> threadPoolStatus;
 	private Level logLevel;
 	private String currentLogFile;
 	private LogFileInfo[] logFileInfos;
@@ -208,6 +212,13 @@ public class SystemInfo implements Serializable {
 		return trxInfos;
 	}
 
+	/**
+	 * @return status of thread pools by pool name
+	 */
+	public Map<String, String> getThreadPoolStatus() {
+		return threadPoolStatus;
+	}
+
 	/**
 	 * @return the logLevel
 	 */
@@ -271,6 +282,9 @@ public class SystemInfo implements Serializable {
 		si.daemonThreadCount = th.getDaemonThreadCount();
 		si.totalStartedThreadCount = th.getTotalStartedThreadCount();
 		si.trxInfos = TrxInfo.getOpenTransactions();
+		si.threadPoolStatus = new LinkedHashMap<String, String>();
+		for (ThreadPoolMXBean pool : Adempiere.getThreadPools())
+			si.threadPoolStatus.put(pool.getName(), pool.getStatus());
 		si.logLevel = CLogMgt.getLevel();
 		si.currentLogFile = LogFileInfo.getCurrentLogFile();
 		si.logFileInfos = LogFileInfo.getLogFileInfos();
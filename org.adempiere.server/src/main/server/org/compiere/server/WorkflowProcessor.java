@@ -22,12 +22,18 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 import java.util.logging.Level;
 
 import org.compiere.model.MClient;
 import org.compiere.model.MOrgInfo;
+import org.compiere.model.MSysConfig;
 import org.compiere.model.MUserRoles;
 import org.compiere.model.PO;
+import org.compiere.model.Query;
 import org.compiere.process.DocAction;
 import org.compiere.process.StateEngine;
 import org.compiere.util.DB;
@@ -37,8 +43,10 @@ import org.compiere.wf.MWFActivity;
 import org.compiere.wf.MWFNode;
 import org.compiere.wf.MWFProcess;
 import org.compiere.wf.MWFResponsible;
+import org.compiere.wf.MWorkflow;
 import org.compiere.wf.MWorkflowProcessor;
 import org.compiere.wf.MWorkflowProcessorLog;
+import org.compiere.wf.WFActivityDueIndex;
 
 
 /**
@@ -66,6 +74,11 @@ public class WorkflowProcessor extends AdempiereServer
 	protected StringBuffer 		m_summary = new StringBuffer();
 	/** Client onfo					*/
 	protected MClient 			m_client = null;
+	/** Time of last full scan		*/
+	private long				m_lastFullScan = 0;
+
+	/** Number of due activities loaded per query */
+	private static final int DUE_BATCH_SIZE = 100;
 	
 	/**
 	 * 	Work
@@ -74,9 +87,24 @@ public class WorkflowProcessor extends AdempiereServer
 	{
 		m_summary = new StringBuffer();
 		//
-		wakeup();
-		dynamicPriority();
-		sendAlerts();
+		int fullScanMinutes = MSysConfig.getIntValue(MSysConfig.WORKFLOW_PROCESSOR_FULL_SCAN_MINUTES, 0, m_model.getAD_Client_ID());
+		long now = System.currentTimeMillis();
+		if (fullScanMinutes <= 0 || now - m_lastFullScan >= fullScanMinutes * 60000L)
+		{
+			//	load before scan, activities saved by the scan update the index
+			if (fullScanMinutes > 0)
+			{
+				WFActivityDueIndex.load();
+				m_lastFullScan = now;
+			}
+			wakeup();
+			dynamicPriority();
+			sendAlerts();
+		}
+		else
+		{
+			processDue();
+		}
 		//
 		int no = m_model.deleteLog();
 		m_summary.append("Logs deleted=").append(no);
@@ -114,11 +142,8 @@ public class WorkflowProcessor extends AdempiereServer
 			while (rs.next ())
 			{
 				MWFActivity activity = new MWFActivity (getCtx(), rs, null);
-				activity.setWFState (StateEngine.STATE_Completed);
-				// saves and calls MWFProcess.checkActivities();
+				wakeup(activity);
 				count++;
-				MWFProcess wfpr = new MWFProcess(activity.getCtx(), activity.getAD_WF_Process_ID(), activity.get_TrxName());
-				wfpr.checkCloseActivities(activity.get_TrxName());
 			}
 		}
 		catch (Exception e)
@@ -133,6 +158,18 @@ public class WorkflowProcessor extends AdempiereServer
 		}
 		m_summary.append("Wakeup #").append(count).append (" - ");
 	}	//	wakeup
+
+	/**
+	 * 	Complete sleeping activity
+	 *	@param activity activity
+	 */
+	protected void wakeup(MWFActivity activity)
+	{
+		activity.setWFState (StateEngine.STATE_Completed);
+		// saves and calls MWFProcess.checkActivities();
+		MWFProcess wfpr = new MWFProcess(activity.getCtx(), activity.getAD_WF_Process_ID(), activity.get_TrxName());
+		wfpr.checkCloseActivities(activity.get_TrxName());
+	}	//	wakeup
 	
 	/**
 	 * 	Set/Increase Priority dynamically
@@ -158,13 +195,7 @@ public class WorkflowProcessor extends AdempiereServer
 			while (rs.next ())
 			{
 				MWFActivity activity = new MWFActivity (getCtx(), rs, null);
-				if (activity.getDynPriorityStart() == 0)
-					activity.setDynPriorityStart(activity.getPriority());
-				long ms = System.currentTimeMillis() - activity.getCreated().getTime();
-				MWFNode node = activity.getNode();
-				int prioDiff = node.calculateDynamicPriority ((int)(ms / 1000));
-				activity.setPriority(activity.getDynPriorityStart() + prioDiff);
-				activity.saveEx();
+				updatePriority(activity);
 				count++;
 			}
 		}
@@ -181,6 +212,21 @@ public class WorkflowProcessor extends AdempiereServer
 		
 		m_summary.append("DynPriority #").append(count).append (" - ");		    
 	}	//	setPriority
+
+	/**
+	 * 	Set priority of activity from dynamic priority of node
+	 *	@param activity activity
+	 */
+	protected void updatePriority(MWFActivity activity)
+	{
+		if (activity.getDynPriorityStart() == 0)
+			activity.setDynPriorityStart(activity.getPriority());
+		long ms = System.currentTimeMillis() - activity.getCreated().getTime();
+		MWFNode node = activity.getNode();
+		int prioDiff = node.calculateDynamicPriority ((int)(ms / 1000));
+		activity.setPriority(activity.getDynPriorityStart() + prioDiff);
+		activity.saveEx();
+	}	//	updatePriority
 	
 	
 	/**
@@ -268,11 +314,7 @@ public class WorkflowProcessor extends AdempiereServer
 			while (rs.next ())
 			{
 				MWFActivity activity = new MWFActivity (getCtx(), rs, null);
-				boolean escalate = activity.getDateLastAlert() != null; 
-				countEMails += sendEmail (activity, "ActivityEndWaitTime", 
-					escalate, false);
-				activity.setDateLastAlert(new Timestamp(System.currentTimeMillis()));
-				activity.saveEx();
+				countEMails += alertEndWait(activity);
 				count++;
 			}
 		}
@@ -343,6 +385,118 @@ public class WorkflowProcessor extends AdempiereServer
 			m_summary.append (" - ");
 		}	//	Inactivity		
 	}	//	sendAlerts
+
+	/**
+	 * 	Send alert for activity over end wait time
+	 *	@param activity activity
+	 *	@return number of mails sent
+	 */
+	protected int alertEndWait(MWFActivity activity)
+	{
+		boolean escalate = activity.getDateLastAlert() != null; 
+		int countEMails = sendEmail (activity, "ActivityEndWaitTime", 
+			escalate, false);
+		activity.setDateLastAlert(new Timestamp(System.currentTimeMillis()));
+		activity.saveEx();
+		return countEMails;
+	}	//	alertEndWait
+
+	/**
+	 * 	Wakeup, set dynamic priority and send end wait alerts of activities that are due
+	 *	in {@link WFActivityDueIndex}, instead of scanning all suspended activities.<br/>
+	 *	Over priority, inactivity alerts and reminders are sent by the full scan.
+	 */
+	protected void processDue()
+	{
+		int AD_Client_ID = m_model.getAD_Client_ID();
+		int count = processDue(WFActivityDueIndex.Type.Wakeup,
+			e -> e.getAD_Client_ID() == AD_Client_ID && isProcessorWorkflow(e.getAD_Workflow_ID(), true),
+			"EndWaitTime <= getDate()",
+			activity -> {
+				wakeup(activity);
+				return 0;
+			});
+		m_summary.append("Wakeup #").append(count).append (" - ");
+
+		count = processDue(WFActivityDueIndex.Type.DynPriority,
+			e -> isProcessorWorkflow(e.getAD_Workflow_ID(), false),
+			null,
+			activity -> {
+				updatePriority(activity);
+				return 0;
+			});
+		m_summary.append("DynPriority #").append(count).append (" - ");
+
+		AtomicInteger countEMails = new AtomicInteger();
+		count = processDue(WFActivityDueIndex.Type.EndWait,
+			e -> isProcessorWorkflow(e.getAD_Workflow_ID(), true),
+			"EndWaitTime < getDate() AND DateLastAlert IS NULL",
+			activity -> countEMails.addAndGet(alertEndWait(activity)));
+		m_summary.append("EndWaitTime #").append(count);
+		if (countEMails.get() > 0)
+			m_summary.append(" (").append(countEMails.get()).append(" EMail)");
+		m_summary.append (" - ");
+	}	//	processDue
+
+	/**
+	 * 	Process due activities of index, loaded in batches
+	 *	@param type due event
+	 *	@param filter activities of this processor
+	 *	@param whereClause optional condition re-checked in DB
+	 *	@param action action for activity
+	 *	@return number of activities processed
+	 */
+	private int processDue(WFActivityDueIndex.Type type, Predicate<WFActivityDueIndex.Entry> filter, String whereClause,
+		ToIntFunction<MWFActivity> action)
+	{
+		int count = 0;
+		List<Integer> ids;
+		while (!(ids = WFActivityDueIndex.pollDue(type, filter, DUE_BATCH_SIZE)).isEmpty())
+		{
+			StringBuilder where = new StringBuilder("Processed='N' AND WFState='OS' AND AD_WF_Activity_ID IN (");
+			for (int i = 0; i < ids.size(); i++)
+			{
+				if (i > 0)
+					where.append(",");
+				where.append(ids.get(i));
+			}
+			where.append(")");
+			if (whereClause != null)
+				where.append(" AND ").append(whereClause);
+			List<MWFActivity> activities = new Query(getCtx(), MWFActivity.Table_Name, where.toString(), null)
+				.setOrderBy(MWFActivity.COLUMNNAME_AD_WF_Activity_ID)
+				.list();
+			for (MWFActivity activity : activities)
+			{
+				try
+				{
+					action.applyAsInt(activity);
+					count++;
+				}
+				catch (Exception e)
+				{
+					log.log(Level.SEVERE, type + " " + activity, e);
+				}
+			}
+		}
+		return count;
+	}	//	processDue
+
+	/**
+	 * 	Is workflow processed by this processor
+	 *	@param AD_Workflow_ID workflow
+	 *	@param allowNone true to include workflow without processor
+	 *	@return true if workflow is processed by this processor
+	 */
+	private boolean isProcessorWorkflow(int AD_Workflow_ID, boolean allowNone)
+	{
+		MWorkflow workflow = MWorkflow.get(getCtx(), AD_Workflow_ID);
+		if (workflow == null)
+			return false;
+		int AD_WorkflowProcessor_ID = workflow.getAD_WorkflowProcessor_ID();
+		return AD_WorkflowProcessor_ID == m_model.getAD_WorkflowProcessor_ID()
+			|| (allowNone && AD_WorkflowProcessor_ID == 0);
+	}	//	isProcessorWorkflow
 	
 	/**
 	 *  Send Alert EMail
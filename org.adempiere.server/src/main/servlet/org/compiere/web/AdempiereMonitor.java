@@ -34,6 +34,7 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -1146,6 +1147,17 @@ public class AdempiereMonitor extends HttpServlet
 			+ ", Daemons=" + systemInfo.getDaemonThreadCount()
 			+ ", Total=" + systemInfo.getTotalStartedThreadCount()));
 		table.addElement(line);
+		//	Thread Pools
+		if (systemInfo.getThreadPoolStatus() != null)
+		{
+			for (Map.Entry<String, String> entry : systemInfo.getThreadPoolStatus().entrySet())
+			{
+				line = new tr();
+				line.addElement(new th().addElement("Thread Pool " + entry.getKey()));
+				line.addElement(new td().addElement(entry.getValue()));
+				table.addElement(line);
+			}
+		}
 		
 		//Transactions
 		TrxInfo[] trxs = systemInfo.getTrxInfos();
@@ -1729,6 +1741,17 @@ public class AdempiereMonitor extends HttpServlet
 			+ ", Daemons=" + systemInfo.getDaemonThreadCount()
 			+ ", Total=" + systemInfo.getTotalStartedThreadCount()));
 		table.addElement(line);
+		//	Thread Pools
+		if (systemInfo.getThreadPoolStatus() != null)
+		{
+			for (Map.Entry<String, String> entry : systemInfo.getThreadPoolStatus().entrySet())
+			{
+				line = new tr();
+				line.addElement(new th().addElement("Thread Pool " + entry.getKey()));
+				line.addElement(new td().addElement(entry.getValue()));
+				table.addElement(line);
+			}
+		}
 		
 		//Transactions
 		TrxInfo[] trxs = systemInfo.getTrxInfos();
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 
 import org.adempiere.util.Callback;
@@ -1070,7 +1071,14 @@ public abstract class AbstractProcessDialog extends Window implements IProcessUI
 	public void runProcess() 
 	{
 		Events.sendEvent(DialogEvents.ON_BEFORE_RUN_PROCESS, this, null);
-		future = Adempiere.getThreadPoolExecutor().submit(new DesktopRunnable(new ProcessDialogRunnable(null), getDesktop()));
+		try {
+			future = Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_REPORT).submit(new DesktopRunnable(new ProcessDialogRunnable(null), getDesktop()));
+		} catch (RejectedExecutionException e) {
+			//report thread pool is full, complete with error to unlock ui
+			log.log(Level.WARNING, e.getLocalizedMessage(), e);
+			getProcessInfo().setSummary(e.getLocalizedMessage(), true);
+			Events.postEvent(new Event(ON_COMPLETE_EVENT, this, null));
+		}
 	}
 
 	/**
@@ -23,6 +23,7 @@ import org.adempiere.webui.adwindow.ADTreePanel;
 import org.adempiere.webui.panel.TreeSearchPanel;
 import org.compiere.model.MTree;
 import org.compiere.model.MTreeNode;
+import org.compiere.model.MTree_Base;
 import org.compiere.util.CLogger;
 import org.compiere.util.Env;
 import org.zkoss.lang.Objects;
@@ -58,6 +59,8 @@ public class SimpleTreeModel extends org.zkoss.zul.DefaultTreeModel<Object> impl
 	private boolean itemDraggable;
 	/** Listeners for ON_DROP event */
 	private List<EventListener<Event>> onDropListners = new ArrayList<EventListener<Event>>();
+	/** Tree that load children of node on demand, null if all nodes are loaded */
+	private MTree lazyTree = null;
 
 	/**
 	 * @param root Root node
@@ -112,9 +115,11 @@ public class SimpleTreeModel extends org.zkoss.zul.DefaultTreeModel<Object> impl
 	 * @return SimpleTreeModel
 	 */
 	public static SimpleTreeModel initADTree(Tree tree, int AD_Tree_ID, int windowNo, boolean editable, String trxName, String linkColName, int linkID) {
-		MTree vTree = new MTree (Env.getCtx(), AD_Tree_ID, editable, true, trxName, linkColName, linkID);
+		MTree_Base tb = MTree_Base.get(Env.getCtx(), AD_Tree_ID, trxName);
+		boolean lazy = tb != null && !tb.isLoadAllNodesImmediately();
+		MTree vTree = new MTree (Env.getCtx(), AD_Tree_ID, editable, true, false, lazy, trxName, linkColName, linkID);
 		MTreeNode root = vTree.getRoot();
-		SimpleTreeModel treeModel = SimpleTreeModel.createFrom(root);
+		SimpleTreeModel treeModel = vTree.isLazyLoading() ? SimpleTreeModel.createFrom(vTree) : SimpleTreeModel.createFrom(root);
 		treeModel.setItemDraggable(true);
 		treeModel.setTreeDrivenByValue(vTree.isTreeDrivenByValue());
 		treeModel.setIsValueDisplayed(vTree.isValueDisplayed());
@@ -197,6 +202,78 @@ public class SimpleTreeModel extends org.zkoss.zul.DefaultTreeModel<Object> impl
 		return model;
 	}
 
+	/**
+	 * Create model from {@link MTree} that load children of node on demand.<br/>
+	 * Children of a summary node is added to model when the node is open.
+	 * @param mTree tree with lazy loading of nodes
+	 * @return SimpleTreeModel
+	 */
+	public static SimpleTreeModel createFrom(MTree mTree) {
+		MTreeNode root = mTree.getRoot();
+		DefaultTreeNode<Object> stRoot = new DefaultTreeNode<Object>(root, new ArrayList<TreeNode<Object>>());
+		SimpleTreeModel model = new SimpleTreeModel(stRoot);
+		model.lazyTree = mTree;
+		Enumeration<?> nodeEnum = root.children();
+		while(nodeEnum.hasMoreElements()) {
+			MTreeNode childNode = (MTreeNode)nodeEnum.nextElement();
+			stRoot.getChildren().add(model.createLazyNode(childNode));
+		}
+		return model;
+	}
+
+	/**
+	 * Create DefaultTreeNode for node of {@link #lazyTree}.
+	 * @param mNode
+	 * @return DefaultTreeNode, with empty children list if mNode has children that is not loaded yet
+	 */
+	private DefaultTreeNode<Object> createLazyNode(MTreeNode mNode) {
+		if (lazyTree.getChildCount(mNode.getNode_ID()) == 0)
+			return new DefaultTreeNode<Object>(mNode);
+		DefaultTreeNode<Object> stNode = new DefaultTreeNode<Object>(mNode, new ArrayList<TreeNode<Object>>());
+		if (lazyTree.isChildrenLoaded(mNode)) {
+			Enumeration<?> nodeEnum = mNode.children();
+			while(nodeEnum.hasMoreElements()) {
+				stNode.getChildren().add(createLazyNode((MTreeNode)nodeEnum.nextElement()));
+			}
+		}
+		return stNode;
+	}
+
+	/**
+	 * Add children of node from {@link #lazyTree} if they have not been loaded
+	 * @param stNode
+	 */
+	public void loadLazyChildren(DefaultTreeNode<Object> stNode) {
+		if (lazyTree == null || !(stNode.getData() instanceof MTreeNode) || stNode.getChildren() == null)
+			return;
+		MTreeNode mNode = (MTreeNode) stNode.getData();
+		if (lazyTree.isChildrenLoaded(mNode))
+			return;
+		List<MTreeNode> children = lazyTree.loadChildren(mNode);
+		List<TreeNode<Object>> newNodes = new ArrayList<TreeNode<Object>>();
+		for (MTreeNode child : children) {
+			//node could have been added to model by drag and drop
+			boolean exists = false;
+			for (TreeNode<Object> existing : stNode.getChildren()) {
+				if (existing.getData() instanceof MTreeNode && ((MTreeNode)existing.getData()).getNode_ID() == child.getNode_ID()) {
+					exists = true;
+					break;
+				}
+			}
+			if (!exists)
+				newNodes.add(createLazyNode(child));
+		}
+		if (!newNodes.isEmpty())
+			stNode.getChildren().addAll(newNodes);
+	}
+
+	/**
+	 * @return true if children of node is loaded on demand
+	 */
+	public boolean isLazyLoading() {
+		return lazyTree != null;
+	}
+
 	/**
 	 * Add child nodes from parentNode into stParentNode
 	 * @param stParentNode DefaultTreeNode wrapper for parentNode
@@ -254,6 +331,11 @@ public class SimpleTreeModel extends org.zkoss.zul.DefaultTreeModel<Object> impl
 		    		ZkCssHelper.appendStyle(tc, "font-weight: bold");
 			}
 			// End color
+
+			if (lazyTree != null && data instanceof MTreeNode && !lazyTree.isChildrenLoaded((MTreeNode) data)
+				&& lazyTree.getChildCount(((MTreeNode) data).getNode_ID()) > 0) {
+				ti.addEventListener(Events.ON_OPEN, this);
+			}
 		}else{
 			tr = ti.getTreerow(); 
 			tr.getChildren().clear();
@@ -329,6 +411,13 @@ public class SimpleTreeModel extends org.zkoss.zul.DefaultTreeModel<Object> impl
 			for (EventListener<Event> listener : onDropListners) {
 				listener.onEvent(event);
 			}
+		} else if (Events.ON_OPEN.equals(event.getName()) && event.getTarget() instanceof Treeitem) {
+			Treeitem ti = (Treeitem) event.getTarget();
+			if (ti.getValue() instanceof DefaultTreeNode<?>) {
+				@SuppressWarnings("unchecked")
+				DefaultTreeNode<Object> stNode = (DefaultTreeNode<Object>) ti.getValue();
+				loadLazyChildren(stNode);
+			}
 		}
 	}
 
@@ -387,6 +476,11 @@ public class SimpleTreeModel extends org.zkoss.zul.DefaultTreeModel<Object> impl
 			return fromNode;
 		if (isLeaf(fromNode)) 
 			return null;
+		if (lazyTree != null && !lazyTree.isChildrenLoaded(data)) {
+			if (!lazyTree.isAncestor(data.getNode_ID(), recordId))
+				return null;
+			loadLazyChildren(fromNode);
+		}
 		int cnt = getChildCount(fromNode);
 		for(int i = 0; i < cnt; i++ ) {
 			DefaultTreeNode<Object> child = (DefaultTreeNode<Object>) getChild(fromNode, i);
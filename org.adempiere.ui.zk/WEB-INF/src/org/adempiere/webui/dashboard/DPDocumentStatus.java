@@ -118,7 +118,7 @@ public class DPDocumentStatus extends DashboardPanel implements EventListener<Ev
     				});
     			}
     		};
-    		Adempiere.getThreadPoolExecutor().submit(cr);
+    		Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_UI).submit(cr);
 		}
 	}	
 	
@@ -158,7 +158,7 @@ public class DashboardRunnable implements Runnable, Serializable
 	    				});
 	    			}
 	    		};
-	    		Adempiere.getThreadPoolExecutor().submit(cr);
+	    		Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_UI).submit(cr);
 	    	}
 		}
 		finally
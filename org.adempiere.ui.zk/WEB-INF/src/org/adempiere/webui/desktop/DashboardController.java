@@ -341,7 +341,7 @@ public class DashboardController implements EventListener<Event> {
 							}
 						}
 					};	        		
-	        		Adempiere.getThreadPoolExecutor().submit(new DesktopRunnable(cr, parent.getDesktop()));
+	        		Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_UI).submit(new DesktopRunnable(cr, parent.getDesktop()));
 	        	}
 	        }
             
@@ -656,7 +656,7 @@ public class DashboardController implements EventListener<Event> {
 							}
 						}
 					};	        		
-	        		Adempiere.getThreadPoolExecutor().submit(new DesktopRunnable(cr, parent.getDesktop()));				
+	        		Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_UI).submit(new DesktopRunnable(cr, parent.getDesktop()));				
 	        	}
 	        }
             
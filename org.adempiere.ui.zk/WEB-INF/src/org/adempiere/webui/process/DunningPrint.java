@@ -32,6 +32,9 @@ import org.compiere.model.MQuery;
 import org.compiere.model.MUser;
 import org.compiere.model.MUserMail;
 import org.compiere.model.PrintInfo;
+import org.compiere.print.BatchPDFRenderer;
+import org.compiere.print.BatchPDFRenderer.BatchDocument;
+import org.compiere.print.BatchPDFRenderer.BatchResult;
 import org.compiere.print.MPrintFormat;
 import org.compiere.print.ReportEngine;
 import org.compiere.process.ProcessInfoParameter;
@@ -120,6 +123,8 @@ public class DunningPrint extends SvrProcess
 		int errors = 0;
 		MDunningRunEntry[] entries = run.getEntries(false);
 		final List<File> pdfList = new ArrayList<File>();
+		final List<BatchDocument> batch = new ArrayList<BatchDocument>();
+		final List<MDunningRunEntry> batchEntries = new ArrayList<MDunningRunEntry>();
 		for (int i = 0; i < entries.length; i++)
 		{
 			MDunningRunEntry entry = entries[i];
@@ -176,17 +181,16 @@ public class DunningPrint extends SvrProcess
 				entry.getC_BPartner_ID());
 			StringBuilder msginfo = new StringBuilder().append(bp.getName()).append(", Amt=").append(entry.getAmt());
 			info.setDescription(msginfo.toString());
-			ReportEngine re = null;
 			if (format != null) {
 				Language lang = client.getLanguage();
 				if (!Util.isEmpty(bp.getAD_Language()))
 					lang = Language.getLanguage(bp.getAD_Language());
 				format.setLanguage(lang);
-				re = new ReportEngine(getCtx(), format, query, info);
 			}
 			boolean printed = false;
 			if (p_EMailPDF)
 			{
+				ReportEngine re = format != null ? new ReportEngine(getCtx(), format, query, info) : null;
 				EMail email = client.createEMail(to.getEMail(), null, null);
 				if (!email.isValid())
 				{
@@ -235,13 +239,10 @@ public class DunningPrint extends SvrProcess
 			}
 			else
 			{
-				if (re != null) {
-					pdfList.add(re.getPDF());					
-					count++;
-					printed = true;
+				if (format != null) {
+					batch.add(new BatchDocument(format, query, info));	//	rendered after loop
+					batchEntries.add(entry);
 				}
-				
-					
 			}
 			if (printed)
 			{
@@ -250,6 +251,26 @@ public class DunningPrint extends SvrProcess
 			}
 
 		}	//	for all dunning letters
+		
+		//	Render PDF concurrently, in dunning entry order
+		List<BatchResult> results = new BatchPDFRenderer(getCtx()).render(batch);
+		for (int i = 0; i < results.size(); i++)
+		{
+			BatchResult result = results.get(i);
+			MDunningRunEntry entry = batchEntries.get(i);
+			if (result.isOK())
+			{
+				pdfList.add(result.getPDF());
+				count++;
+				entry.setProcessed (true);
+				entry.saveEx();
+			}
+			else
+			{
+				addLog (entry.get_ID(), null, null, result.getDocument().getPrintInfo().getName() + " " + result.getError().getLocalizedMessage());
+				errors++;
+			}
+		}
 		if (errors==0) {
 			run.setProcessed(true);
 			run.saveEx();
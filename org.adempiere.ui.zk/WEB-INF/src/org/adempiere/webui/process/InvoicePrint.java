@@ -33,6 +33,9 @@ import org.compiere.model.MRole;
 import org.compiere.model.MUser;
 import org.compiere.model.MUserMail;
 import org.compiere.model.PrintInfo;
+import org.compiere.print.BatchPDFRenderer;
+import org.compiere.print.BatchPDFRenderer.BatchDocument;
+import org.compiere.print.BatchPDFRenderer.BatchResult;
 import org.compiere.print.MPrintFormat;
 import org.compiere.print.ReportEngine;
 import org.compiere.process.ProcessInfoParameter;
@@ -177,6 +180,7 @@ public class InvoicePrint extends SvrProcess
 		ResultSet rs = null;
 		
 		final List<File> pdfList = new ArrayList<File>();
+		final List<BatchDocument> batch = new ArrayList<BatchDocument>();
 		try
 		{
 			pstmt = DB.prepareStatement(sql.toString(), get_TrxName());
@@ -248,10 +252,10 @@ public class InvoicePrint extends SvrProcess
 					C_Invoice_ID,
 					C_BPartner_ID);
 				info.setCopies(copies);
-				ReportEngine re = new ReportEngine(getCtx(), format, query, info);
 				boolean printed = false;
 				if (p_EMailPDF)
 				{
+					ReportEngine re = new ReportEngine(getCtx(), format, query, info);
 					mText.setBPartner(C_BPartner_ID);	//	Context - Translation
 					String subject = mText.getMailHeader() + " - " + DocumentNo;
 					EMail email = client.createEMail(to.getEMail(), subject, null);
@@ -300,19 +304,29 @@ public class InvoicePrint extends SvrProcess
 				}
 				else
 				{
-					pdfList.add(re.getPDF());
-					count++;
-					printed = true;
+					batch.add(new BatchDocument(format, query, info));	//	rendered after loop
 				}
 				//	Print Confirm
 				if (printed)
+					printConfirm(C_Invoice_ID);
+			}	//	for all entries						
+			
+			//	Render PDF concurrently, in invoice order
+			for (BatchResult result : new BatchPDFRenderer(getCtx()).render(batch))
+			{
+				PrintInfo info = result.getDocument().getPrintInfo();
+				if (result.isOK())
 				{
-					StringBuffer sb = new StringBuffer ("UPDATE C_Invoice "
-						+ "SET DatePrinted=getDate(), IsPrinted='Y' WHERE C_Invoice_ID=")
-						.append (C_Invoice_ID);
-					DB.executeUpdateEx(sb.toString(), get_TrxName());
+					pdfList.add(result.getPDF());
+					count++;
+					printConfirm(info.getRecord_ID());
 				}
-			}	//	for all entries						
+				else
+				{
+					addLog (info.getRecord_ID(), null, null, info.getName() + " " + result.getError().getLocalizedMessage());
+					errors++;
+				}
+			}
 		}
 		catch (Exception e)
 		{
@@ -334,6 +348,18 @@ public class InvoicePrint extends SvrProcess
 		return "@Printed@=" + count;
 	}	//	doIt
 
+	/**
+	 * 	Set invoice as printed
+	 *	@param C_Invoice_ID
+	 */
+	private void printConfirm(int C_Invoice_ID)
+	{
+		StringBuffer sb = new StringBuffer ("UPDATE C_Invoice "
+			+ "SET DatePrinted=getDate(), IsPrinted='Y' WHERE C_Invoice_ID=")
+			.append (C_Invoice_ID);
+		DB.executeUpdateEx(sb.toString(), get_TrxName());
+	}	//	printConfirm
+
 	protected void setSQLAndParams() {
 		//	Get Info
 		sql.append(
@@ -34,6 +34,7 @@ import java.util.regex.Pattern;
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
 import org.compiere.db.partition.ITablePartitionService;
+import org.compiere.db.partition.PartitionMigrationMonitor;
 import org.compiere.db.partition.RangePartitionColumn;
 import org.compiere.db.partition.RangePartitionInterval;
 import org.compiere.model.MColumn;
@@ -172,6 +173,11 @@ public class TablePartitionService implements ITablePartitionService {
 	
 	@Override
 	public boolean addPartitionAndMigrateData(MTable table, String trxName, ProcessInfo processInfo) {
+		return addPartitionAndMigrateData(table, trxName, processInfo, null);
+	}
+	
+	@Override
+	public boolean addPartitionAndMigrateData(MTable table, String trxName, ProcessInfo processInfo, PartitionMigrationMonitor monitor) {
 		boolean isUpdated = false;
 		
 		List<MColumn> partitionKeyColumns = table.getPartitionKeyColumns(false);
@@ -195,7 +201,7 @@ public class TablePartitionService implements ITablePartitionService {
 			}
 			else
 			{
-				isUpdated = addListPartition(table, partitionKeyColumn, trxName, processInfo, "default_partition", null, null);
+				isUpdated = addListPartition(table, partitionKeyColumn, trxName, processInfo, "default_partition", null, null, monitor);
 			}
 		}
 		else if (partitioningMethod.equals(MColumn.PARTITIONINGMETHOD_Range))
@@ -216,7 +222,7 @@ public class TablePartitionService implements ITablePartitionService {
 				else
 				{
 					syncRange(table, partitionKeyColumn, trxName, interval, processInfo);
-					isUpdated = addRangePartition(table, partitionKeyColumn, trxName, processInfo, "default_partition", null, null);
+					isUpdated = addRangePartition(table, partitionKeyColumn, trxName, processInfo, "default_partition", null, null, monitor);
 				}
 			}
 		}
@@ -232,7 +238,7 @@ public class TablePartitionService implements ITablePartitionService {
 					String defaultSubPartition = getDefaultSubPartitionName(table, primaryPartition, false, trxName);
 					if (defaultSubPartition == null)
 						continue;
-					isUpdated = addListPartition(table, subPartitionColumn, trxName, processInfo, defaultSubPartition, primaryPartition.getName(), primaryPartition);
+					isUpdated = addListPartition(table, subPartitionColumn, trxName, processInfo, defaultSubPartition, primaryPartition.getName(), primaryPartition, monitor);
 				}
 			}
 			else if (subPartitionColumn.getPartitioningMethod().equals(MColumn.PARTITIONINGMETHOD_Range))
@@ -242,7 +248,7 @@ public class TablePartitionService implements ITablePartitionService {
 					String defaultSubPartition = getDefaultSubPartitionName(table, primaryPartition, true, trxName);
 					if (defaultSubPartition == null)
 						continue;
-					isUpdated = addRangePartition(table, subPartitionColumn, trxName, processInfo, defaultSubPartition, primaryPartition.getName(), primaryPartition);
+					isUpdated = addRangePartition(table, subPartitionColumn, trxName, processInfo, defaultSubPartition, primaryPartition.getName(), primaryPartition, monitor);
 				}
 			}
 			else
@@ -529,9 +535,11 @@ public class TablePartitionService implements ITablePartitionService {
 	 * @param fromPartition name of default partition to select from
 	 * @param partitionNamePrefix
 	 * @param parentPartition
+	 * @param monitor optional migration monitor
 	 * @return true if new list partition added
 	 */
-	private boolean addListPartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, String fromPartition, String partitionNamePrefix, X_AD_TablePartition parentPartition) {
+	private boolean addListPartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, String fromPartition, String partitionNamePrefix, X_AD_TablePartition parentPartition,
+			PartitionMigrationMonitor monitor) {
 		boolean isUpdated = false;
 		List<X_AD_TablePartition> partitions = new ArrayList<>();
 		boolean subPartition = parentPartition != null;
@@ -570,7 +578,11 @@ public class TablePartitionService implements ITablePartitionService {
 				if (Character.isDigit(name.charAt(0))) {
 					name.insert(0, "p");
 				}
-				X_AD_TablePartition partition = table.createTablePartition(name.toString(), expression.toString(), trxName, partitionKeyColumn, parentPartition);
+				// record committed by an interrupted online migration
+				Query query = new Query(Env.getCtx(), X_AD_TablePartition.Table_Name, "AD_Table_ID=? AND Name=?", trxName);
+				X_AD_TablePartition partition = query.setParameters(table.getAD_Table_ID(), name.toString()).first();
+				if (partition == null)
+					partition = table.createTablePartition(name.toString(), expression.toString(), trxName, partitionKeyColumn, parentPartition);
 				partitions.add(partition);
 			}
 		}
@@ -581,15 +593,22 @@ public class TablePartitionService implements ITablePartitionService {
 		
 		for(X_AD_TablePartition partition : partitions)
 		{
+			long start = System.currentTimeMillis();
 			StringBuilder alterStmt = new StringBuilder();
 			alterStmt.append("ALTER TABLE ").append(table.getTableName()).append(" SPLIT ").append(subPartition ? "SubPartition " : "Partition ").append(fromPartition).append(" ");
 			alterStmt.append(partition.getExpressionPartition());
 			alterStmt.append(" INTO ( ").append(subPartition ? "SUBPARTITION " : "PARTITION ").append(partition.getName()).append(", ");
 			alterStmt.append(subPartition ? "SubPartition " : "Partition ").append(fromPartition).append(" )");
+			if (monitor != null && monitor.isOnline())
+				alterStmt.append(" ONLINE");
 			int no = DB.executeUpdateEx(alterStmt.toString(), trxName);
 			if (pi != null)
 				pi.addLog(0, null, null, no + " " + alterStmt.toString());
 			
+			// SPLIT is a single DDL statement, rows are not moved in chunks and not counted
+			if (monitor != null)
+				monitor.partitionMigrated(partition, -1, start);
+			
 			isUpdated = true;
 		}
 		return isUpdated;
@@ -604,9 +623,11 @@ public class TablePartitionService implements ITablePartitionService {
 	 * @param fromPartition name of default partition to select from
 	 * @param partitionNamePrefix
 	 * @param parentPartition
+	 * @param monitor optional migration monitor
 	 * @return true if new range partition added
 	 */
-	private boolean addRangePartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, String fromPartition, String partitionNamePrefix, X_AD_TablePartition parentPartition) {
+	private boolean addRangePartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, String fromPartition, String partitionNamePrefix, X_AD_TablePartition parentPartition,
+			PartitionMigrationMonitor monitor) {
 		boolean isUpdated = false;
 		X_AD_TablePartition partition = null;
 		RangePartitionColumn rangePartitionColumn = null;
@@ -684,19 +705,26 @@ public class TablePartitionService implements ITablePartitionService {
 			if (Character.isDigit(name.charAt(0))) {
 				name.insert(0, "p");
 			}			
+			partition = null;
 			if (!tablePartitionNames.contains(name.toString()))
 				partition = table.createTablePartition(name.toString(), expression.toString(), trxName, partitionKeyColumn, parentPartition);
 			
 			if (partition != null)
 			{				
+				long start = System.currentTimeMillis();
 				StringBuilder alterStmt = new StringBuilder();
 				alterStmt.append("ALTER TABLE ").append(table.getTableName()).append(" SPLIT ").append(subPartition ? "SubPartition " : "Partition ").append(fromPartition);
 				alterStmt.append(" INTO ( ").append(subPartition ? "SUBPARTITION " : "PARTITION ").append(partition.getName()).append(" ").append(partition.getExpressionPartition()).append(", ");
 				alterStmt.append(subPartition ? "SubPartition " : "Partition ").append(fromPartition).append(" )");
+				if (monitor != null && monitor.isOnline())
+					alterStmt.append(" ONLINE");
 				int no = DB.executeUpdateEx(alterStmt.toString(), trxName);
 				if (pi != null)
 					pi.addLog(0, null, null, no + " " + alterStmt.toString());
 				
+				if (monitor != null)
+					monitor.partitionMigrated(partition, recordCount, start);
+				
 				isUpdated = true;
 			}
 		}
@@ -822,6 +850,13 @@ public class TablePartitionService implements ITablePartitionService {
 		return null;
 	}
 
+	@Override
+	public long getDefaultPartitionRowCount(MTable table, String trxName) {
+		BigDecimal rows = DB.getSQLValueBDEx(trxName, "SELECT Num_Rows FROM User_Tab_Partitions WHERE Table_Name=? AND Partition_Name=?", 
+				table.getTableName().toUpperCase(), "DEFAULT_PARTITION");
+		return rows != null ? rows.longValue() : -1;
+	}
+
 	@Override
 	public void detachPartition(MTable table, X_AD_TablePartition partition, String trxName,
 			ProcessInfo processInfo) {
@@ -21,19 +21,26 @@
  **********************************************************************/
 package org.adempiere.db.postgresql.partition;
 
+import java.math.BigDecimal;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.adempiere.exceptions.AdempiereException;
 import org.adempiere.exceptions.DBException;
 import org.compiere.db.DB_PostgreSQL;
 import org.compiere.db.partition.ITablePartitionService;
+import org.compiere.db.partition.PartitionMigrationMonitor;
 import org.compiere.db.partition.RangePartitionColumn;
 import org.compiere.db.partition.RangePartitionInterval;
 import org.compiere.model.MColumn;
@@ -50,6 +57,13 @@ import org.compiere.util.Util;
 
 public class TablePartitionService implements ITablePartitionService {
 
+	/** Range partition expression */
+	private static final Pattern RANGE_EXPRESSION = Pattern.compile("FOR VALUES FROM \\((.+)\\) TO \\((.+)\\)", Pattern.CASE_INSENSITIVE);
+	/** List partition expression */
+	private static final Pattern LIST_EXPRESSION = Pattern.compile("FOR VALUES IN \\((.+)\\)", Pattern.CASE_INSENSITIVE);
+	/** CHECK constraint of a new partition that proves the partition constraint on attach */
+	private static final String ATTACH_CHECK_CONSTRAINT = "partition_attach_chk";
+
 	public TablePartitionService() {
 	}
 
@@ -575,6 +589,11 @@ public class TablePartitionService implements ITablePartitionService {
 	
 	@Override
 	public boolean addPartitionAndMigrateData(MTable table, String trxName, ProcessInfo pi) {
+		return addPartitionAndMigrateData(table, trxName, pi, null);
+	}
+	
+	@Override
+	public boolean addPartitionAndMigrateData(MTable table, String trxName, ProcessInfo pi, PartitionMigrationMonitor monitor) {
 		boolean isUpdated = false;
 		
 		String error = validateConfiguration(table, trxName);
@@ -586,14 +605,18 @@ public class TablePartitionService implements ITablePartitionService {
 		MColumn subPartitionColumn = null;
 		if (partitionKeyColumns.size() > 1)
 			subPartitionColumn = partitionKeyColumns.get(1);
+		if (monitor != null && monitor.getChunkSize() > 0)
+			isUpdated = resumeMigration(table, trxName, pi, monitor);
 		String partitioningMethod = partitionKeyColumn.getPartitioningMethod();		
 		if (partitioningMethod.equals(MColumn.PARTITIONINGMETHOD_List))
 		{
-			isUpdated = addListPartition(table, partitionKeyColumn, trxName, pi, subPartitionColumn);
+			if (addListPartition(table, partitionKeyColumn, trxName, pi, subPartitionColumn, monitor))
+				isUpdated = true;
 		}
 		else if (partitioningMethod.equals(MColumn.PARTITIONINGMETHOD_Range))
 		{
-			isUpdated = addRangePartition(table, partitionKeyColumn, trxName, pi, subPartitionColumn);
+			if (addRangePartition(table, partitionKeyColumn, trxName, pi, subPartitionColumn, monitor))
+				isUpdated = true;
 		}
 		else
 			throw new IllegalArgumentException(Msg.getMsg(Env.getCtx(), "PartitioningMethodNotSupported", new Object[]{partitioningMethod}));
@@ -656,17 +679,8 @@ public class TablePartitionService implements ITablePartitionService {
 
 		StringBuilder countStmt = new StringBuilder("SELECT Count(*) FROM ")
 				.append(defaultPartitionName).append(" ")
-				.append("WHERE ").append(" ")
-				.append(partitionKeyColumn.getColumnName()).append(" >= ");
-		if (DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) || DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
-			countStmt.append("TO_DATE(").append(rangePartitionInterval.getFrom()).append(",'yyyy-MM-dd') ");
-		else
-			countStmt.append(rangePartitionInterval.getFrom()).append(" ");
-		countStmt.append("AND ").append(partitionKeyColumn.getColumnName()).append(" < ");
-		if (DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) || DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
-			countStmt.append("TO_DATE(").append(rangePartitionInterval.getTo()).append(",'yyyy-MM-dd') ");
-		else
-			countStmt.append(rangePartitionInterval.getTo()).append(" ");
+				.append("WHERE ").append(" ");
+		appendRangeCondition(countStmt, partitionKeyColumn, rangePartitionInterval);
 		int recordCount = DB.getSQLValueEx(trxName, countStmt.toString());
 		
 		if (recordCount == 0) {
@@ -686,8 +700,28 @@ public class TablePartitionService implements ITablePartitionService {
 		return partition;
 	}
 	
+	/**
+	 * Append condition for rows of a range partition interval
+	 * @param sql
+	 * @param partitionKeyColumn
+	 * @param rangePartitionInterval
+	 */
+	private void appendRangeCondition(StringBuilder sql, MColumn partitionKeyColumn, RangePartitionInterval rangePartitionInterval) {
+		sql.append(partitionKeyColumn.getColumnName()).append(" >= ");
+		if (DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) || DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
+			sql.append("TO_DATE(").append(rangePartitionInterval.getFrom()).append(",'yyyy-MM-dd') ");
+		else
+			sql.append(rangePartitionInterval.getFrom()).append(" ");
+		sql.append("AND ").append(partitionKeyColumn.getColumnName()).append(" < ");
+		if (DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) || DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
+			sql.append("TO_DATE(").append(rangePartitionInterval.getTo()).append(",'yyyy-MM-dd') ");
+		else
+			sql.append(rangePartitionInterval.getTo()).append(" ");
+	}
+	
 	/**
 	 * Move data from default partition to a range partition 
+	 * @param table
 	 * @param partition range partition
 	 * @param partitionKeyColumn
 	 * @param tableName table name to attached partition
@@ -695,30 +729,129 @@ public class TablePartitionService implements ITablePartitionService {
 	 * @param rangePartitionInterval
 	 * @param pi
 	 * @param trxName
+	 * @param monitor optional migration monitor
 	 */
-	private void moveDefaultPartitionDataForRange(X_AD_TablePartition partition, MColumn partitionKeyColumn, String tableName, 
-			String defaultPartitionName, RangePartitionInterval rangePartitionInterval, ProcessInfo pi, String trxName) {
-		StringBuilder updateStmt = new StringBuilder();
-		updateStmt.append("WITH x AS ( ");
-		updateStmt.append("DELETE FROM ").append(defaultPartitionName).append(" ");
-		updateStmt.append("WHERE ").append(" ");				
-		updateStmt.append(partitionKeyColumn.getColumnName()).append(" >= ");
-		if (DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) || DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
-			updateStmt.append("TO_DATE(").append(rangePartitionInterval.getFrom()).append(",'yyyy-MM-dd') ");
-		else
-			updateStmt.append(rangePartitionInterval.getFrom()).append(" ");
-		updateStmt.append("AND ").append(partitionKeyColumn.getColumnName()).append(" < ");
-		if (DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) || DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
-			updateStmt.append("TO_DATE(").append(rangePartitionInterval.getTo()).append(",'yyyy-MM-dd') ");
-		else
-			updateStmt.append(rangePartitionInterval.getTo()).append(" ");
+	private void moveDefaultPartitionDataForRange(MTable table, X_AD_TablePartition partition, MColumn partitionKeyColumn, String tableName, 
+			String defaultPartitionName, RangePartitionInterval rangePartitionInterval, ProcessInfo pi, String trxName, PartitionMigrationMonitor monitor) {
+		StringBuilder condition = new StringBuilder();
+		appendRangeCondition(condition, partitionKeyColumn, rangePartitionInterval);
+		moveDefaultPartitionData(table, partition, condition.toString(), tableName, defaultPartitionName, pi, trxName, monitor);
+	}
+	
+	/**
+	 * Move rows from default partition to a new partition and attach the partition.<br/>
+	 * With a chunk size (online migration), rows are copied in chunks of ascending key range of the table ID column with a
+	 * commit after each chunk and stay in the default partition, visible through the table, until the partition is attached.
+	 * Changes to the default partition during the copy are recorded by a trigger, so that the final transaction only has to
+	 * re-copy the changed and the remaining rows, delete the rows from the default partition and attach the partition.<br/>
+	 * A CHECK constraint matching the partition bound is added before the rows are copied, so that the attach does not
+	 * scan the new partition while the table is locked.
+	 * @param table
+	 * @param partition new partition, not attached
+	 * @param condition SQL condition for rows of partition
+	 * @param tableName table name to attach partition
+	 * @param defaultPartitionName name of default partition
+	 * @param pi
+	 * @param trxName
+	 * @param monitor optional migration monitor
+	 */
+	private void moveDefaultPartitionData(MTable table, X_AD_TablePartition partition, String condition, String tableName,
+			String defaultPartitionName, ProcessInfo pi, String trxName, PartitionMigrationMonitor monitor) {
+		long start = System.currentTimeMillis();
+		int chunkSize = monitor != null ? monitor.getChunkSize() : 0;
+		String keyColumn = getChunkKeyColumn(table);
+		String checkCondition = getPartitionCheckCondition(partition, trxName);
+		if (checkCondition != null) {
+			String sql = "SELECT COUNT(*) FROM pg_constraint c JOIN pg_class t ON (c.conrelid=t.oid) WHERE t.relname=LOWER(?) AND c.conname=?";
+			if (DB.getSQLValueEx(trxName, sql, partition.getName(), ATTACH_CHECK_CONSTRAINT) <= 0) {
+				StringBuilder checkStmt = new StringBuilder();
+				checkStmt.append("ALTER TABLE ").append(partition.getName()).append(" ");
+				checkStmt.append("ADD CONSTRAINT ").append(ATTACH_CHECK_CONSTRAINT).append(" CHECK (").append(checkCondition).append(")");
+				DB.executeUpdateEx(checkStmt.toString(), trxName);
+				if (pi != null)
+					pi.addLog(0, null, null, checkStmt.toString());
+			}
+		}
+		
+		// changes to the default partition after the copy of a chunk, recorded by an interrupted migration or by this one
+		String logTable = keyColumn != null ? getMigrationLogTableName(partition) : null;
+		boolean isLogged = logTable != null 
+				&& DB.getSQLValueEx(trxName, "SELECT COUNT(*) FROM pg_class WHERE relname=? AND relkind='r'", logTable) > 0;
+		int lastKey = -1;
+		if (keyColumn != null && (chunkSize > 0 || isLogged)) {
+			if (!isLogged) {
+				StringBuilder createStmt = new StringBuilder();
+				createStmt.append("CREATE TABLE ").append(logTable).append(" (").append(keyColumn).append(" NUMERIC(10))");
+				DB.executeUpdateEx(createStmt.toString(), trxName);
+				StringBuilder triggerStmt = new StringBuilder();
+				triggerStmt.append("CREATE TRIGGER ").append(logTable).append(" ");
+				triggerStmt.append("AFTER INSERT OR UPDATE OR DELETE ON ").append(defaultPartitionName).append(" ");
+				triggerStmt.append("FOR EACH ROW EXECUTE FUNCTION partition_migration_log('").append(logTable).append("','")
+						.append(keyColumn.toLowerCase()).append("')");
+				DB.executeUpdateEx(triggerStmt.toString(), trxName);
+				if (pi != null)
+					pi.addLog(0, null, null, triggerStmt.toString());
+				isLogged = true;
+			}
 			
-		updateStmt.append("RETURNING *) ");
-		updateStmt.append("INSERT INTO ").append(partition.getName()).append(" ");
-		updateStmt.append("SELECT * FROM x");
-		int no = DB.executeUpdateEx(updateStmt.toString(), trxName);
-		if (pi != null)
-			pi.addLog(0, null, null, no + " " + updateStmt.toString());
+			// continue after the rows copied by an interrupted migration
+			lastKey = DB.getSQLValueEx(trxName, "SELECT COALESCE(MAX(" + keyColumn + "),-1) FROM " + partition.getName());
+			while (chunkSize > 0) {
+				StringBuilder keyStmt = new StringBuilder("SELECT ").append(keyColumn).append(" FROM ").append(defaultPartitionName)
+						.append(" WHERE ").append(condition).append(" AND ").append(keyColumn).append(">").append(lastKey)
+						.append(" ORDER BY ").append(keyColumn).append(" OFFSET ").append(chunkSize - 1).append(" LIMIT 1");
+				int upperKey = DB.getSQLValueEx(trxName, keyStmt.toString());
+				if (upperKey < 0)
+					break;
+				
+				StringBuilder chunkStmt = new StringBuilder();
+				chunkStmt.append("INSERT INTO ").append(partition.getName()).append(" ");
+				chunkStmt.append("SELECT * FROM ").append(defaultPartitionName).append(" ");
+				chunkStmt.append("WHERE ").append(condition).append(" AND ").append(keyColumn).append(">").append(lastKey)
+						.append(" AND ").append(keyColumn).append("<=").append(upperKey);
+				int no = DB.executeUpdateEx(chunkStmt.toString(), trxName);
+				monitor.chunkMigrated(partition, no, start);
+				lastKey = upperKey;
+				start = System.currentTimeMillis();
+			}
+		}
+		
+		int no = 0;
+		if (isLogged) {
+			// no change to the default partition until the partition is attached
+			DB.executeUpdateEx("LOCK TABLE " + defaultPartitionName + " IN EXCLUSIVE MODE", trxName);
+			StringBuilder deleteStmt = new StringBuilder();
+			deleteStmt.append("DELETE FROM ").append(partition.getName()).append(" ");
+			deleteStmt.append("WHERE ").append(keyColumn).append(" IN (SELECT ").append(keyColumn).append(" FROM ").append(logTable).append(")");
+			DB.executeUpdateEx(deleteStmt.toString(), trxName);
+			
+			StringBuilder insertStmt = new StringBuilder();
+			insertStmt.append("INSERT INTO ").append(partition.getName()).append(" ");
+			insertStmt.append("SELECT * FROM ").append(defaultPartitionName).append(" ");
+			insertStmt.append("WHERE ").append(condition).append(" AND (").append(keyColumn).append(">").append(lastKey).append(" ");
+			insertStmt.append("OR ").append(keyColumn).append(" IN (SELECT ").append(keyColumn).append(" FROM ").append(logTable).append("))");
+			no = DB.executeUpdateEx(insertStmt.toString(), trxName);
+			if (pi != null)
+				pi.addLog(0, null, null, no + " " + insertStmt.toString());
+			
+			StringBuilder deleteDefaultStmt = new StringBuilder();
+			deleteDefaultStmt.append("DELETE FROM ").append(defaultPartitionName).append(" ");
+			deleteDefaultStmt.append("WHERE ").append(condition);
+			int deleted = DB.executeUpdateEx(deleteDefaultStmt.toString(), trxName);
+			if (pi != null)
+				pi.addLog(0, null, null, deleted + " " + deleteDefaultStmt.toString());
+		} else {
+			StringBuilder updateStmt = new StringBuilder();
+			updateStmt.append("WITH x AS ( ");
+			updateStmt.append("DELETE FROM ").append(defaultPartitionName).append(" ");
+			updateStmt.append("WHERE ").append(condition).append(" ");
+			updateStmt.append("RETURNING *) ");
+			updateStmt.append("INSERT INTO ").append(partition.getName()).append(" ");
+			updateStmt.append("SELECT * FROM x");
+			no = DB.executeUpdateEx(updateStmt.toString(), trxName);
+			if (pi != null)
+				pi.addLog(0, null, null, no + " " + updateStmt.toString());
+		}
 		
 		StringBuilder alterStmt = new StringBuilder();
 		alterStmt.append("ALTER TABLE ").append(tableName).append(" ");
@@ -726,6 +859,122 @@ public class TablePartitionService implements ITablePartitionService {
 		DB.executeUpdateEx(alterStmt.toString(), trxName);
 		if (pi != null)
 			pi.addLog(0, null, null, alterStmt.toString());
+		
+		if (isLogged) {
+			DB.executeUpdateEx("DROP TRIGGER " + logTable + " ON " + defaultPartitionName, trxName);
+			DB.executeUpdateEx("DROP TABLE " + logTable, trxName);
+		}
+		// redundant with the partition constraint once attached
+		if (checkCondition != null)
+			DB.executeUpdateEx("ALTER TABLE " + partition.getName() + " DROP CONSTRAINT IF EXISTS " + ATTACH_CHECK_CONSTRAINT, trxName);
+		
+		if (monitor != null)
+			monitor.partitionMigrated(partition, no, start);
+	}
+	
+	/**
+	 * Get CHECK condition that implies the partition constraint of a partition (including the constraint of its parent partition),
+	 * for attach of the partition without validation scan
+	 * @param partition
+	 * @param trxName
+	 * @return SQL condition or null if not supported
+	 */
+	private String getPartitionCheckCondition(X_AD_TablePartition partition, String trxName) {
+		StringBuilder check = new StringBuilder();
+		X_AD_TablePartition current = partition;
+		while (current != null) {
+			MColumn column = MColumn.get(Env.getCtx(), current.getAD_Column_ID());
+			String condition = getPartitionCondition(column, current.getExpressionPartition());
+			if (condition == null)
+				return null;
+			if (check.length() > 0)
+				check.append(" AND ");
+			check.append(column.getColumnName()).append(" IS NOT NULL AND ").append(condition);
+			current = current.getParent_TablePartition_ID() > 0 
+					? new X_AD_TablePartition(Env.getCtx(), current.getParent_TablePartition_ID(), trxName) : null;
+		}
+		return check.toString();
+	}
+	
+	/**
+	 * Get name of table and trigger that record the keys of rows changed in the default partition during the
+	 * copy of rows to a partition
+	 * @param partition
+	 * @return log table name (lower case)
+	 */
+	private String getMigrationLogTableName(X_AD_TablePartition partition) {
+		return "t_partition_log_" + partition.getAD_TablePartition_ID();
+	}
+	
+	/**
+	 * Get key column to move rows in chunks
+	 * @param table
+	 * @return ID column of table with single key or null
+	 */
+	private String getChunkKeyColumn(MTable table) {
+		String[] keyColumns = table.getKeyColumns();
+		if (keyColumns == null || keyColumns.length != 1)
+			return null;
+		MColumn column = table.getColumn(keyColumns[0]);
+		if (column == null || column.getAD_Reference_ID() != DisplayType.ID)
+			return null;
+		return column.getColumnName();
+	}
+	
+	/**
+	 * Continue data migration of partitions created but not attached by an interrupted online migration
+	 * @param table
+	 * @param trxName
+	 * @param pi
+	 * @param monitor
+	 * @return true if partition attached
+	 */
+	private boolean resumeMigration(MTable table, String trxName, ProcessInfo pi, PartitionMigrationMonitor monitor) {
+		boolean isUpdated = false;
+		List<X_AD_TablePartition> partitions = new ArrayList<>(table.getTablePartitions(true, trxName));
+		partitions.sort(Comparator.comparingInt(X_AD_TablePartition::getParent_TablePartition_ID));
+		for (X_AD_TablePartition partition : partitions) {
+			// partition detached by retention is not attached on purpose
+			if (!partition.isActive() || !partition.isPartitionAttached() || "DEFAULT".equalsIgnoreCase(partition.getExpressionPartition()))
+				continue;
+			String sql = "SELECT COUNT(*) FROM pg_class WHERE relname=LOWER(?) AND relkind IN ('r','p') AND NOT relispartition";
+			if (DB.getSQLValueEx(trxName, sql, partition.getName()) <= 0)
+				continue;
+			String condition = getPartitionCondition(MColumn.get(Env.getCtx(), partition.getAD_Column_ID()), partition.getExpressionPartition());
+			if (condition == null)
+				continue;
+			String tableName = table.getTableName();
+			String defaultPartitionName = getDefaultPartitionName(table);
+			if (partition.getParent_TablePartition_ID() > 0) {
+				X_AD_TablePartition parent = new X_AD_TablePartition(Env.getCtx(), partition.getParent_TablePartition_ID(), trxName);
+				tableName = parent.getName();
+				defaultPartitionName = parent.getName() + "_default_partition";
+			}
+			moveDefaultPartitionData(table, partition, condition, tableName, defaultPartitionName, pi, trxName, monitor);
+			isUpdated = true;
+		}
+		return isUpdated;
+	}
+	
+	/**
+	 * Get SQL condition for rows of partition
+	 * @param partitionKeyColumn
+	 * @param expression partition expression (FOR VALUES ...)
+	 * @return SQL condition or null if not supported
+	 */
+	private String getPartitionCondition(MColumn partitionKeyColumn, String expression) {
+		Matcher matcher = RANGE_EXPRESSION.matcher(expression);
+		if (matcher.matches()) {
+			String from = matcher.group(1).trim();
+			String to = matcher.group(2).trim();
+			if (from.equalsIgnoreCase("MINVALUE") || to.equalsIgnoreCase("MAXVALUE"))
+				return null;
+			return partitionKeyColumn.getColumnName() + " >= " + from + " AND " + partitionKeyColumn.getColumnName() + " < " + to;
+		}
+		matcher = LIST_EXPRESSION.matcher(expression);
+		if (matcher.matches())
+			return partitionKeyColumn.getColumnName() + " IN (" + matcher.group(1) + ")";
+		return null;
 	}
 	
 	/**
@@ -735,9 +984,10 @@ public class TablePartitionService implements ITablePartitionService {
 	 * @param trxName
 	 * @param pi
 	 * @param subPartitionColumn 
+	 * @param monitor optional migration monitor
 	 * @return true if new range partition added
 	 */
-	private boolean addRangePartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, MColumn subPartitionColumn) {
+	private boolean addRangePartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, MColumn subPartitionColumn, PartitionMigrationMonitor monitor) {
 		boolean isUpdated = false;
 		RangePartitionColumn rangePartitionColumn = buildRangePartitionColumn(getDefaultPartitionName(table), partitionKeyColumn, trxName);		
 		if (rangePartitionColumn == null)
@@ -773,7 +1023,7 @@ public class TablePartitionService implements ITablePartitionService {
 					createSubDefaultPartition(table, subPartitionColumn, partition, pi, trxName);
 				}
 				
-				moveDefaultPartitionDataForRange(partition, partitionKeyColumn, table.getTableName(), getDefaultPartitionName(table), rangePartitionInterval, pi, trxName);
+				moveDefaultPartitionDataForRange(table, partition, partitionKeyColumn, table.getTableName(), getDefaultPartitionName(table), rangePartitionInterval, pi, trxName, monitor);
 				isUpdated = true;
 			}
 		}
@@ -817,7 +1067,7 @@ public class TablePartitionService implements ITablePartitionService {
 						if (pi != null)
 							pi.addLog(0, null, null, createStmt.toString().replace(DB_PostgreSQL.NATIVE_MARKER, ""));	
 						Object subValue = subValues.get(subPartition.getName());
-						moveDefaultPartitionDataForList(subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, subValue, pi, trxName);
+						moveDefaultPartitionDataForList(table, subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, subValue, pi, trxName, monitor);
 					}
 				} else if (MColumn.PARTITIONINGMETHOD_Range.equals(subPartitionColumn.getPartitioningMethod())) {
 					rangePartitionColumn = buildRangePartitionColumn(partition.getName(), subPartitionColumn, trxName);		
@@ -836,7 +1086,7 @@ public class TablePartitionService implements ITablePartitionService {
 								DB.executeUpdateEx(createStmt.toString(), trxName);
 								if (pi != null)
 									pi.addLog(0, null, null, createStmt.toString().replace(DB_PostgreSQL.NATIVE_MARKER, ""));
-								moveDefaultPartitionDataForRange(subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, rangePartitionInterval, pi, trxName);
+								moveDefaultPartitionDataForRange(table, subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, rangePartitionInterval, pi, trxName, monitor);
 							}
 						}
 					}
@@ -847,6 +1097,91 @@ public class TablePartitionService implements ITablePartitionService {
 		return isUpdated;
 	}
 
+	@Override
+	public int addFutureRangePartitions(MTable table, int intervals, String trxName, ProcessInfo pi) {
+		if (intervals <= 0 || !isPartitionedTable(table, trxName))
+			return 0;
+		List<MColumn> partitionKeyColumns = table.getPartitionKeyColumns(false);
+		if (partitionKeyColumns.isEmpty())
+			return 0;
+		MColumn partitionKeyColumn = partitionKeyColumns.get(0);
+		if (!MColumn.PARTITIONINGMETHOD_Range.equals(partitionKeyColumn.getPartitioningMethod()))
+			return 0;
+		MColumn subPartitionColumn = null;
+		if (partitionKeyColumns.size() > 1)
+			subPartitionColumn = partitionKeyColumns.get(1);
+		
+		RangePartitionColumn rangePartitionColumn = null;
+		if (DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) || DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
+		{
+			RangePartitionInterval.Interval interval = RangePartitionInterval.getInterval(partitionKeyColumn);
+			Calendar cal = Calendar.getInstance();
+			Timestamp from = new Timestamp(cal.getTimeInMillis());
+			cal.add(Calendar.YEAR, interval.years() * intervals);
+			cal.add(Calendar.MONTH, interval.months() * intervals);
+			rangePartitionColumn = new RangePartitionColumn(partitionKeyColumn.getColumnName(), partitionKeyColumn.getRangePartitionInterval(),
+					from, new Timestamp(cal.getTimeInMillis()));
+		}
+		else
+		{
+			BigDecimal from = DB.getSQLValueBDEx(trxName, "SELECT MAX(" + partitionKeyColumn.getColumnName() + ") FROM " + table.getTableName());
+			if (from == null)
+				return 0;
+			BigDecimal interval = new BigDecimal(partitionKeyColumn.getRangePartitionInterval());
+			rangePartitionColumn = new RangePartitionColumn(partitionKeyColumn.getColumnName(), partitionKeyColumn.getRangePartitionInterval(),
+					from, from.add(interval.multiply(BigDecimal.valueOf(intervals))));
+		}
+		
+		int count = 0;
+		List<String> tablePartitionNames = table.getTablePartitionNames(trxName);
+		for (RangePartitionInterval rangePartitionInterval : RangePartitionInterval.createInterval(table, rangePartitionColumn, trxName))
+		{
+			String name = table.getTableName().toLowerCase() + "_" + rangePartitionInterval.getName();
+			if (tablePartitionNames.contains(name))
+				continue;
+			
+			// rows already in default partition are moved by addPartitionAndMigrateData
+			StringBuilder countStmt = new StringBuilder("SELECT Count(*) FROM ")
+					.append(getDefaultPartitionName(table)).append(" WHERE ");
+			appendRangeCondition(countStmt, partitionKeyColumn, rangePartitionInterval);
+			if (DB.getSQLValueEx(trxName, countStmt.toString()) > 0)
+				continue;
+			
+			String expression = "FOR VALUES FROM (" + rangePartitionInterval.getFrom() + ") TO (" + rangePartitionInterval.getTo() + ")";
+			X_AD_TablePartition partition = table.createTablePartition(name, expression, trxName, partitionKeyColumn);
+			tablePartitionNames.add(name);
+			
+			StringBuilder createStmt = new StringBuilder();
+			createStmt.append("CREATE TABLE ").append(partition.getName()).append(" (").append(DB_PostgreSQL.NATIVE_MARKER).append("LIKE ");
+			createStmt.append(getDefaultPartitionName(table)).append(" INCLUDING ALL)");
+			if (subPartitionColumn != null) {
+				createStmt.append(" PARTITION BY ");
+				if (MColumn.PARTITIONINGMETHOD_List.equals(subPartitionColumn.getPartitioningMethod()))
+					createStmt.append(" LIST(");
+				else if (MColumn.PARTITIONINGMETHOD_Range.equals(subPartitionColumn.getPartitioningMethod()))
+					createStmt.append(" RANGE(");
+				else
+					throw new IllegalArgumentException(Msg.getMsg(Env.getCtx(), "PartitioningMethodNotSupported", new Object[]{subPartitionColumn.getPartitioningMethod()}));
+				createStmt.append(subPartitionColumn.getColumnName());
+				createStmt.append(")");
+			}
+			DB.executeUpdateEx(createStmt.toString(), trxName);
+			if (pi != null)
+				pi.addLog(0, null, null, createStmt.toString().replace(DB_PostgreSQL.NATIVE_MARKER, ""));
+			if (subPartitionColumn != null)
+				createSubDefaultPartition(table, subPartitionColumn, partition, pi, trxName);
+			
+			StringBuilder alterStmt = new StringBuilder();
+			alterStmt.append("ALTER TABLE ").append(table.getTableName()).append(" ");
+			alterStmt.append("ATTACH PARTITION ").append(partition.getName()).append(" ").append(partition.getExpressionPartition());
+			DB.executeUpdateEx(alterStmt.toString(), trxName);
+			if (pi != null)
+				pi.addLog(0, null, null, alterStmt.toString());
+			count++;
+		}
+		return count;
+	}
+
 	/**
 	 * Generate new X_AD_TablePartition records
 	 * @param table
@@ -882,7 +1217,11 @@ public class TablePartitionService implements ITablePartitionService {
 				value = rs.getObject(partitionKeyColumn.getColumnName());
 				columnValues.put(name, value);
 				
-				X_AD_TablePartition partition = table.createTablePartition(name, expression, trxName, partitionKeyColumn, parentPartition);
+				// record committed by an interrupted online migration
+				Query query = new Query(Env.getCtx(), X_AD_TablePartition.Table_Name, "AD_Table_ID=? AND Name=?", trxName);
+				X_AD_TablePartition partition = query.setParameters(table.getAD_Table_ID(), name).first();
+				if (partition == null)
+					partition = table.createTablePartition(name, expression, trxName, partitionKeyColumn, parentPartition);
 				partitions.add(partition);
 			}
 		}
@@ -895,6 +1234,7 @@ public class TablePartitionService implements ITablePartitionService {
 	
 	/**
 	 * Move records from default partition to a list partition
+	 * @param table
 	 * @param partition list partition
 	 * @param partitionKeyColumn
 	 * @param tableName table name to attached list partition
@@ -902,37 +1242,22 @@ public class TablePartitionService implements ITablePartitionService {
 	 * @param listValue key value of list partition
 	 * @param pi
 	 * @param trxName
+	 * @param monitor optional migration monitor
 	 */
-	private void moveDefaultPartitionDataForList(X_AD_TablePartition partition, MColumn partitionKeyColumn, String tableName, 
-			String defaultPartitionName, Object listValue, ProcessInfo pi, String trxName) {
-		StringBuilder updateStmt = new StringBuilder();
-		updateStmt.append("WITH x AS ( ");
-		updateStmt.append("DELETE FROM ").append(defaultPartitionName).append(" ");
-		updateStmt.append("WHERE ").append(" ");
-			
-		updateStmt.append(partitionKeyColumn.getColumnName()).append("=");						
+	private void moveDefaultPartitionDataForList(MTable table, X_AD_TablePartition partition, MColumn partitionKeyColumn, String tableName, 
+			String defaultPartitionName, Object listValue, ProcessInfo pi, String trxName, PartitionMigrationMonitor monitor) {
+		StringBuilder condition = new StringBuilder();
+		condition.append(partitionKeyColumn.getColumnName()).append("=");						
 				
 		if (DisplayType.isText(partitionKeyColumn.getAD_Reference_ID()) || partitionKeyColumn.getAD_Reference_ID() == DisplayType.YesNo 
 			|| DisplayType.isList(partitionKeyColumn.getAD_Reference_ID())
 			|| "EntityType".equals(partitionKeyColumn.getColumnName())
 			|| "AD_Language".equals(partitionKeyColumn.getColumnName()))
-			updateStmt.append("'").append(listValue).append("' ");
+			condition.append("'").append(listValue).append("'");
 		else
-			updateStmt.append(listValue).append(" ");
-		
-		updateStmt.append("RETURNING *) ");
-		updateStmt.append("INSERT INTO ").append(partition.getName()).append(" ");
-		updateStmt.append("SELECT * FROM x");
-		int no = DB.executeUpdateEx(updateStmt.toString(), trxName);
-		if (pi != null)
-			pi.addLog(0, null, null, no + " " + updateStmt.toString());
+			condition.append(listValue);
 		
-		StringBuilder alterStmt = new StringBuilder();
-		alterStmt.append("ALTER TABLE ").append(tableName).append(" ");
-		alterStmt.append("ATTACH PARTITION ").append(partition.getName()).append(" ").append(partition.getExpressionPartition());
-		DB.executeUpdateEx(alterStmt.toString(), trxName);
-		if (pi != null)
-			pi.addLog(0, null, null, alterStmt.toString());
+		moveDefaultPartitionData(table, partition, condition.toString(), tableName, defaultPartitionName, pi, trxName, monitor);
 	}
 	
 	/**
@@ -942,9 +1267,10 @@ public class TablePartitionService implements ITablePartitionService {
 	 * @param trxName
 	 * @param pi
 	 * @param subPartitionColumn 
+	 * @param monitor optional migration monitor
 	 * @return true if new list partition added
 	 */
-	private boolean addListPartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, MColumn subPartitionColumn) {
+	private boolean addListPartition(MTable table, MColumn partitionKeyColumn, String trxName, ProcessInfo pi, MColumn subPartitionColumn, PartitionMigrationMonitor monitor) {
 		boolean isUpdated = false;
 		HashMap<String, Object> columnValues = new HashMap<>();
 		List<X_AD_TablePartition> partitions = generateListPartition(table, table.getTableName().toLowerCase(), getDefaultPartitionName(table), partitionKeyColumn, columnValues, null, trxName);
@@ -974,7 +1300,7 @@ public class TablePartitionService implements ITablePartitionService {
 				createSubDefaultPartition(table, subPartitionColumn, partition, pi, trxName);
 			}
 			
-			moveDefaultPartitionDataForList(partition, partitionKeyColumn, table.getTableName(), getDefaultPartitionName(table), value, pi, trxName);
+			moveDefaultPartitionDataForList(table, partition, partitionKeyColumn, table.getTableName(), getDefaultPartitionName(table), value, pi, trxName, monitor);
 			
 			isUpdated = true;
 		}
@@ -1018,7 +1344,7 @@ public class TablePartitionService implements ITablePartitionService {
 						if (pi != null)
 							pi.addLog(0, null, null, createStmt.toString().replace(DB_PostgreSQL.NATIVE_MARKER, ""));
 						Object subValue = subValues.get(subPartition.getName());
-						moveDefaultPartitionDataForList(subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, subValue, pi, trxName);
+						moveDefaultPartitionDataForList(table, subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, subValue, pi, trxName, monitor);
 					}
 				} else if (MColumn.PARTITIONINGMETHOD_Range.equals(subPartitionColumn.getPartitioningMethod())) {
 					RangePartitionColumn rangePartitionColumn = buildRangePartitionColumn(partition.getName(), subPartitionColumn, trxName);		
@@ -1037,7 +1363,7 @@ public class TablePartitionService implements ITablePartitionService {
 								DB.executeUpdateEx(createStmt.toString(), trxName);
 								if (pi != null)
 									pi.addLog(0, null, null, createStmt.toString().replace(DB_PostgreSQL.NATIVE_MARKER, ""));
-								moveDefaultPartitionDataForRange(subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, rangePartitionInterval, pi, trxName);
+								moveDefaultPartitionDataForRange(table, subPartition, subPartitionColumn, partition.getName(), subDefaultPartition, rangePartitionInterval, pi, trxName, monitor);
 							}
 						}
 					}
@@ -1153,6 +1479,12 @@ public class TablePartitionService implements ITablePartitionService {
 		return null;
 	}
 
+	@Override
+	public long getDefaultPartitionRowCount(MTable table, String trxName) {
+		BigDecimal rows = DB.getSQLValueBDEx(trxName, "SELECT reltuples FROM pg_class WHERE relname = LOWER(?)", getDefaultPartitionName(table));
+		return rows != null && rows.signum() >= 0 ? rows.longValue() : -1;
+	}
+
 	@Override
 	public void detachPartition(MTable table, X_AD_TablePartition partition, String trxName,
 			ProcessInfo processInfo) {
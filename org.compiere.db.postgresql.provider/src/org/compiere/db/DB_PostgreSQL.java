@@ -339,12 +339,21 @@ public class DB_PostgreSQL implements AdempiereDatabase
             sb.append(" , # Min Pool Size: ").append(m_ds.getMinimumIdle());
             sb.append(" , # Max Pool Size: ").append(m_ds.getMaximumPoolSize());
             sb.append(" , # Open Transactions: ").append(Trx.getOpenTransactions().length);
+            ConnectionLimiter limiter = ConnectionLimiter.get(this);
+            if (limiter != null)
+            	sb.append(" , # ").append(limiter);
         }
         catch (Exception e)
         {}
         return sb.toString();
 	}	//	getStatus
 
+	@Override
+	public int getMaxPoolSize()
+	{
+		return m_ds != null ? m_ds.getMaximumPoolSize() : -1;
+	}	//	getMaxPoolSize
+
 	/*************************************************************************
 	 *  Convert an individual Oracle Style statements to target database statement syntax
 	 *
@@ -29,6 +29,7 @@ import java.util.logging.Level;
 
 import org.adempiere.exceptions.AdempiereException;
 import org.compiere.db.partition.ITablePartitionService;
+import org.compiere.db.partition.PartitionMigrationMonitor;
 import org.compiere.model.MColumn;
 import org.compiere.model.MTable;
 import org.compiere.process.ProcessInfo;
@@ -46,6 +47,7 @@ public class TablePartitionTask {
 	private ProcessInfo pi;
 	private Trx trx;
 	private ITablePartitionService partitionService;
+	private PartitionMigrationMonitor monitor;
 	private CLogger log = CLogger.getCLogger (getClass());
 	
 	/**
@@ -61,7 +63,9 @@ public class TablePartitionTask {
 	}
 	
 	/**
-	 * Execute create/update table partition task
+	 * Execute create/update table partition task.<br/>
+	 * With {@link org.compiere.model.MSysConfig#TABLE_PARTITION_ONLINE_MIGRATION}, data is migrated with a commit after each
+	 * partition and a failed task can be run again to continue the migration.
 	 * @return true if success
 	 */
 	public boolean executeTask()
@@ -71,6 +75,7 @@ public class TablePartitionTask {
 		String trxName = Trx.createTrxName("TablePartition-");
 		trx = Trx.get(trxName, true);
 		trx.setDisplayName(getClass().getName()+"_runProcess");
+		monitor = PartitionMigrationMonitor.create(trxName, pi);
 		
 		try 
 		{
@@ -85,18 +90,27 @@ public class TablePartitionTask {
 			{
 				if (!createPartitionedTable())
 					throw new AdempiereException(Msg.getMsg(Env.getCtx(), "FailedCreatePartitionedTable"));
+				monitor.commit();
 			}
 				
 			isUpdated = addPartitionAndMigrateData();
 		
 			trx.commit();
+			if (monitor.getPartitionCount() > 0)
+				addMigrationLog();
 		}
 		catch (Exception e)
 		{
 			log.log(Level.SEVERE, e.getMessage(), e);
 			isError = true;
 			addLog(Msg.getMsg(Env.getCtx(), "Error") + e.getLocalizedMessage());
-			trx.rollback();			
+			trx.rollback();
+			if (monitor.isOnline() && monitor.getPartitionCount() > 0)
+			{
+				// partitions committed before the error are kept, run again to continue
+				addMigrationLog();
+				isUpdated = true;
+			}
 		}
 		finally
 		{			
@@ -126,6 +140,15 @@ public class TablePartitionTask {
 			pi.addLog(0, null, null, msg);
 	}
 
+	/**
+	 * Add process log for number of migrated partitions and rows
+	 */
+	private void addMigrationLog()
+	{
+		addLog(Msg.getElement(Env.getCtx(), "AD_TablePartition_ID") + ": " + monitor.getPartitionCount() 
+			+ ", " + Msg.getMsg(Env.getCtx(), "Records") + ": " + monitor.getRowCount());
+	}
+
 	/**
 	 * @return transaction name
 	 */
@@ -145,7 +168,7 @@ public class TablePartitionTask {
 	}
 
 	private boolean addPartitionAndMigrateData() {
-		return partitionService.addPartitionAndMigrateData(table, getTrxName(), pi);
+		return partitionService.addPartitionAndMigrateData(table, getTrxName(), pi, monitor);
 	}
 
 	private boolean runPostPartitionProcess() {
@@ -0,0 +1,244 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.tablepartition.process;
+
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.compiere.db.partition.ITablePartitionService;
+import org.compiere.db.partition.RangePartitionInterval;
+import org.compiere.model.MColumn;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.MTable;
+import org.compiere.model.Query;
+import org.compiere.model.X_AD_TablePartition;
+import org.compiere.process.SvrProcess;
+import org.compiere.util.DB;
+import org.compiere.util.DisplayType;
+import org.compiere.util.Env;
+import org.compiere.util.Msg;
+import org.compiere.util.TimeUtil;
+import org.compiere.util.Trx;
+import org.idempiere.tablepartition.TablePartitionTask;
+
+/**
+ * Rolling maintenance of partitioned tables, to be run by a scheduler.<br/>
+ * For each partitioned table:
+ * <ul>
+ * <li>move rows from the default partition to new partitions (same as {@link CreatePartition})</li>
+ * <li>create {@link MSysConfig#TABLE_PARTITION_FUTURE_INTERVALS} range partitions ahead of data</li>
+ * <li>with {@link MSysConfig#TABLE_PARTITION_RETENTION_INTERVALS}, detach date range partitions older than the retention
+ * and re-attach detached partitions within the retention</li>
+ * <li>log partition health (attached/detached partitions, last range and estimated rows in default partition)</li>
+ * </ul>
+ */
+@org.adempiere.base.annotation.Process
+public class PartitionMaintenance extends SvrProcess {
+
+	/** Upper bound date literal of range partition expression */
+	private static final Pattern DATE_BOUND = Pattern.compile("'(\\d{4}-\\d{2}-\\d{2})'");
+
+	private int p_futureIntervals = 0;
+	private int p_retentionIntervals = 0;
+
+	@Override
+	protected void prepare() {
+		int AD_Client_ID = Env.getAD_Client_ID(getCtx());
+		p_futureIntervals = MSysConfig.getIntValue(MSysConfig.TABLE_PARTITION_FUTURE_INTERVALS, 2, AD_Client_ID);
+		p_retentionIntervals = MSysConfig.getIntValue(MSysConfig.TABLE_PARTITION_RETENTION_INTERVALS, 0, AD_Client_ID);
+	}
+
+	@Override
+	protected String doIt() throws Exception {
+		ITablePartitionService service = DB.getDatabase().getTablePartitionService();
+		if (service == null) {
+			return "@Error@ " + Msg.getMsg(getCtx(), "DBAdapterNoTablePartitionSupport");
+		}
+
+		int successCount = 0;
+		int errorCount = 0;
+		String whereClause = MTable.COLUMNNAME_IsPartition + "='Y' AND " + MTable.COLUMNNAME_IsView + "='N'";
+		List<MTable> tables = new Query(getCtx(), MTable.Table_Name, whereClause, null)
+				.setOnlyActiveRecords(true)
+				.setOrderBy(MTable.COLUMNNAME_TableName)
+				.list();
+		for (MTable table : tables)
+		{
+			if (table.getPartitionKeyColumns(true).isEmpty())
+				continue;
+			statusUpdate(table.getTableName());
+			if (maintain(table, service))
+				++successCount;
+			else
+				++errorCount;
+			addHealthLog(table, service);
+		}
+
+		return Msg.getMsg(Env.getCtx(), "Updated") + ": " + successCount + ", " + Msg.getMsg(Env.getCtx(), "Error") + errorCount;
+	}
+
+	/**
+	 * Migrate data, create future partitions and apply retention for a table
+	 * @param table
+	 * @param service
+	 * @return true if success
+	 */
+	private boolean maintain(MTable table, ITablePartitionService service) {
+		TablePartitionTask task = new TablePartitionTask(table, getProcessInfo(), service);
+		if (!task.executeTask())
+			return false;
+
+		boolean success = true;
+		Trx trx = Trx.get(Trx.createTrxName("PartitionMaintenance-"), true);
+		trx.setDisplayName(getClass().getName()+"_maintain");
+		try
+		{
+			table.set_TrxName(trx.getTrxName());
+			int no = service.addFutureRangePartitions(table, p_futureIntervals, trx.getTrxName(), getProcessInfo());
+			trx.commit(true);
+			if (no > 0 && log.isLoggable(Level.INFO)) log.info(table.getTableName() + " #" + no);
+
+			if (p_retentionIntervals > 0)
+				applyRetention(table, service, trx);
+		}
+		catch (Exception e)
+		{
+			log.log(Level.SEVERE, table.getTableName(), e);
+			addLog(0, null, null, table.getTableName() + ": " + Msg.getMsg(Env.getCtx(), "Error") + e.getLocalizedMessage());
+			trx.rollback();
+			success = false;
+		}
+		finally
+		{
+			trx.close();
+			table.set_TrxName(null);
+		}
+		table.getTablePartitions(true, null);
+		return success;
+	}
+
+	/**
+	 * Detach range partitions older than retention and re-attach detached partitions within retention.<br/>
+	 * Only for top level range partitions of a date partition key, each change is committed.
+	 * @param table
+	 * @param service
+	 * @param trx
+	 */
+	private void applyRetention(MTable table, ITablePartitionService service, Trx trx) {
+		MColumn partitionKeyColumn = table.getPartitionKeyColumns(false).get(0);
+		if (!MColumn.PARTITIONINGMETHOD_Range.equals(partitionKeyColumn.getPartitioningMethod()))
+			return;
+		if (!DisplayType.isDate(partitionKeyColumn.getAD_Reference_ID()) && !DisplayType.isTimestampWithTimeZone(partitionKeyColumn.getAD_Reference_ID()))
+			return;
+
+		RangePartitionInterval.Interval interval = RangePartitionInterval.getInterval(partitionKeyColumn);
+		Calendar cal = TimeUtil.getToday();
+		cal.set(Calendar.DAY_OF_MONTH, 1);
+		cal.add(Calendar.YEAR, -interval.years() * p_retentionIntervals);
+		cal.add(Calendar.MONTH, -interval.months() * p_retentionIntervals);
+		Timestamp cutoff = new Timestamp(cal.getTimeInMillis());
+
+		for (X_AD_TablePartition partition : table.getTablePartitions(true, trx.getTrxName()))
+		{
+			if (!partition.isActive() || partition.getParent_TablePartition_ID() > 0
+				|| partition.getAD_Column_ID() != partitionKeyColumn.getAD_Column_ID()
+				|| partition.getName().toLowerCase().endsWith("default_partition"))
+				continue;
+			Timestamp upperBound = getUpperBound(partition);
+			if (upperBound == null)
+				continue;
+
+			boolean expired = !upperBound.after(cutoff);
+			if (expired && partition.isPartitionAttached())
+			{
+				service.detachPartition(table, partition, trx.getTrxName(), getProcessInfo());
+				addLog(0, null, null, Msg.getMsg(getCtx(), "PartitionDetachFromTable", new Object[] {partition.getName(), table.getTableName()}));
+			}
+			else if (!expired && !partition.isPartitionAttached())
+			{
+				service.reattachPartition(table, partition, trx.getTrxName(), getProcessInfo());
+				addLog(0, null, null, Msg.getMsg(getCtx(), "PartitionReAttachToTable", new Object[] {partition.getName(), table.getTableName()}));
+			}
+			else
+				continue;
+			trx.commit(true);
+		}
+	}
+
+	/**
+	 * Log partition health of a table
+	 * @param table
+	 * @param service
+	 */
+	private void addHealthLog(MTable table, ITablePartitionService service) {
+		MColumn partitionKeyColumn = table.getPartitionKeyColumns(false).get(0);
+		int attached = 0;
+		int detached = 0;
+		Timestamp lastBound = null;
+		for (X_AD_TablePartition partition : table.getTablePartitions(false, null))
+		{
+			if (!partition.isActive() || partition.getParent_TablePartition_ID() > 0
+				|| partition.getName().toLowerCase().endsWith("default_partition"))
+				continue;
+			if (partition.isPartitionAttached())
+			{
+				attached++;
+				Timestamp upperBound = getUpperBound(partition);
+				if (upperBound != null && (lastBound == null || upperBound.after(lastBound)))
+					lastBound = upperBound;
+			}
+			else
+				detached++;
+		}
+		long defaultRows = service.getDefaultPartitionRowCount(table, null);
+
+		StringBuilder msg = new StringBuilder(table.getTableName()).append(": ")
+				.append(attached).append(" attached, ")
+				.append(detached).append(" detached");
+		if (lastBound != null)
+			msg.append(", ").append(partitionKeyColumn.getColumnName()).append(" < ").append(DisplayType.getDateFormat().format(lastBound));
+		if (defaultRows >= 0)
+			msg.append(", default partition ~").append(defaultRows);
+		addLog(0, null, null, msg.toString());
+		if (defaultRows > 0 && MColumn.PARTITIONINGMETHOD_Range.equals(partitionKeyColumn.getPartitioningMethod()))
+			log.warning(msg.toString());
+		else if (log.isLoggable(Level.INFO))
+			log.info(msg.toString());
+	}
+
+	/**
+	 * Get upper bound of date range partition
+	 * @param partition
+	 * @return upper bound (exclusive) or null if not a date range partition
+	 */
+	private Timestamp getUpperBound(X_AD_TablePartition partition) {
+		Matcher matcher = DATE_BOUND.matcher(partition.getExpressionPartition());
+		String date = null;
+		while (matcher.find())
+			date = matcher.group(1);
+		return date != null ? Timestamp.valueOf(date + " 00:00:00") : null;
+	}
+}
@@ -0,0 +1,137 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.compiere.model.MInvoice;
+import org.compiere.model.Query;
+import org.compiere.print.BatchPDFRenderer;
+import org.compiere.print.BatchPDFRenderer.BatchDocument;
+import org.compiere.print.BatchPDFRenderer.BatchResult;
+import org.compiere.print.ReportEngine;
+import org.compiere.util.Env;
+import org.compiere.util.Util;
+import org.idempiere.test.AbstractTestCase;
+import org.junit.jupiter.api.Test;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+
+/**
+ * Concurrent rendering of a batch of documents to PDF ({@link BatchPDFRenderer})
+ */
+public class BatchPDFRendererTest extends AbstractTestCase {
+
+	private static final int DOCUMENTS = 6;
+
+	public BatchPDFRendererTest() {
+	}
+
+	@Test
+	public void testRenderInOrderAndMerge() throws Exception {
+		List<MInvoice> invoices = new Query(Env.getCtx(), MInvoice.Table_Name, "IsSOTrx='Y' AND DocStatus IN ('CO','CL')", null)
+				.setClient_ID()
+				.setOrderBy(MInvoice.COLUMNNAME_C_Invoice_ID)
+				.list();
+		assumeTrue(invoices.size() >= 2, "No invoices to print");
+		if (invoices.size() > DOCUMENTS)
+			invoices = invoices.subList(0, DOCUMENTS);
+
+		List<BatchDocument> batch = new ArrayList<BatchDocument>();
+		for (MInvoice invoice : invoices) {
+			ReportEngine re = ReportEngine.get(Env.getCtx(), ReportEngine.INVOICE, invoice.getC_Invoice_ID());
+			assertNotNull(re, "No print format for invoice " + invoice.getDocumentNo());
+			batch.add(new BatchDocument(re.getPrintFormat(), re.getQuery(), re.getPrintInfo()));
+		}
+
+		List<File> pdfList = new ArrayList<File>();
+		List<String> documentNos = new ArrayList<String>();
+		File merged = null;
+		try {
+			// results in input order, each PDF of its own document
+			List<BatchResult> results = new BatchPDFRenderer(Env.getCtx(), invoices.size()).render(batch);
+			assertEquals(batch.size(), results.size());
+			for (int i = 0; i < results.size(); i++) {
+				BatchResult result = results.get(i);
+				assertSame(batch.get(i), result.getDocument());
+				assertTrue(result.isOK(), "Failed to render " + invoices.get(i).getDocumentNo() + ": " + result.getError());
+				pdfList.add(result.getPDF());
+				int pages = getNumberOfPages(result.getPDF());
+				assertTrue(pages > 0);
+				for (int page = 0; page < pages; page++)
+					documentNos.add(invoices.get(i).getDocumentNo());
+			}
+			for (int i = 0; i < pdfList.size(); i++)
+				assertTrue(getText(pdfList.get(i), 1).contains(invoices.get(i).getDocumentNo()), "PDF " + i + " is not invoice " + invoices.get(i).getDocumentNo());
+
+			// merged pages in invoice order
+			merged = File.createTempFile("BatchPDFRendererTest", ".pdf");
+			Util.mergePdf(pdfList, merged);
+			assertEquals(documentNos.size(), getNumberOfPages(merged));
+			for (int page = 1; page <= documentNos.size(); page++)
+				assertTrue(getText(merged, page).contains(documentNos.get(page - 1)), "Merged page " + page + " is not invoice " + documentNos.get(page - 1));
+		} finally {
+			for (File pdf : pdfList)
+				pdf.delete();
+			if (merged != null)
+				merged.delete();
+		}
+	}
+
+	/**
+	 * @param pdf
+	 * @return number of pages
+	 * @throws Exception
+	 */
+	private int getNumberOfPages(File pdf) throws Exception {
+		PdfReader reader = new PdfReader(pdf.getAbsolutePath());
+		try {
+			return reader.getNumberOfPages();
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * @param pdf
+	 * @param page page number, starting with 1
+	 * @return text of page
+	 * @throws Exception
+	 */
+	private String getText(File pdf, int page) throws Exception {
+		PdfReader reader = new PdfReader(pdf.getAbsolutePath());
+		try {
+			return new PdfTextExtractor(reader).getTextFromPage(page);
+		} finally {
+			reader.close();
+		}
+	}
+}
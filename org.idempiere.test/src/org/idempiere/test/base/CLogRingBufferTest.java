@@ -0,0 +1,59 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.compiere.util.CLogRingBuffer;
+import org.junit.jupiter.api.Test;
+
+public class CLogRingBufferTest {
+
+	@Test
+	public void testOverwriteOldest() {
+		CLogRingBuffer<Integer> buffer = new CLogRingBuffer<Integer>(3);
+		assertTrue(buffer.toList().isEmpty());
+		buffer.add(1);
+		buffer.add(2);
+		assertEquals(List.of(1, 2), buffer.toList());
+		buffer.add(3);
+		buffer.add(4);
+		buffer.add(5);
+		assertEquals(3, buffer.size());
+		assertEquals(List.of(3, 4, 5), buffer.toList(), "Unexpected elements after overwrite");
+	}
+
+	@Test
+	public void testClear() {
+		CLogRingBuffer<Integer> buffer = new CLogRingBuffer<Integer>(3);
+		buffer.add(1);
+		buffer.add(2);
+		buffer.clear();
+		assertEquals(0, buffer.size());
+		assertTrue(buffer.toList().isEmpty());
+		buffer.add(3);
+		assertEquals(List.of(3), buffer.toList(), "Elements before clear returned");
+	}
+}
@@ -0,0 +1,161 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+import org.compiere.model.ChangeLogBuffer;
+import org.compiere.model.MChangeLog;
+import org.compiere.model.MColumn;
+import org.compiere.model.MProduct;
+import org.compiere.model.MSession;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.Query;
+import org.compiere.util.CacheMgt;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Trx;
+import org.idempiere.test.AbstractTestCase;
+import org.idempiere.test.DictionaryIDs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+/**
+ * Batch insert of change log ({@link MSysConfig#AD_CHANGELOG_BATCH_SIZE})
+ */
+@ResourceLock(value = MSysConfig.AD_CHANGELOG_BATCH_SIZE)
+public class ChangeLogBufferTest extends AbstractTestCase {
+
+	private static final int BATCH_SIZE = 5;
+
+	/** Changed sysconfig to restore after test */
+	private MSysConfig sysConfig = null;
+	private String oldValue = null;
+
+	public ChangeLogBufferTest() {
+	}
+
+	@BeforeEach
+	public void enableBatch() {
+		Query query = new Query(Env.getCtx(), MSysConfig.Table_Name, "Name=? AND AD_Client_ID IN (0, ?)", null);
+		MSysConfig config = query.setOrderBy("AD_Client_ID Desc").setParameters(MSysConfig.AD_CHANGELOG_BATCH_SIZE, getAD_Client_ID()).first();
+		assertNotNull(config, MSysConfig.AD_CHANGELOG_BATCH_SIZE);
+		if (!config.getValue().equals(String.valueOf(BATCH_SIZE))) {
+			oldValue = config.getValue();
+			config.setValue(String.valueOf(BATCH_SIZE));
+			config.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = config;
+		}
+		assertEquals(BATCH_SIZE, ChangeLogBuffer.getBatchSize());
+	}
+
+	@AfterEach
+	public void restoreBatch() {
+		if (sysConfig != null) {
+			sysConfig.setValue(oldValue);
+			sysConfig.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = null;
+		}
+	}
+
+	@Test
+	public void testInsertBeforeCommit() {
+		String newValue = "ChangeLogBufferTest_" + System.currentTimeMillis();
+		Trx trx = Trx.get(Trx.createTrxName("ChangeLogBufferTest"), true);
+		try {
+			for (int i = 0; i < BATCH_SIZE - 1; i++)
+				changeLog(trx.getTrxName(), newValue);
+			// buffered, not visible in transaction
+			assertEquals(0, getCount(trx.getTrxName(), newValue));
+
+			// inserted with one batch before commit
+			assertTrue(trx.commit());
+			assertEquals(BATCH_SIZE - 1, getCount(null, newValue));
+
+			// inserted when buffer reaches batch size
+			for (int i = 0; i < BATCH_SIZE; i++)
+				changeLog(trx.getTrxName(), newValue);
+			assertEquals(2 * BATCH_SIZE - 1, getCount(trx.getTrxName(), newValue));
+			trx.rollback();
+			assertEquals(BATCH_SIZE - 1, getCount(null, newValue));
+		} finally {
+			trx.close();
+			DB.executeUpdateEx("DELETE FROM AD_ChangeLog WHERE NewValue=?", new Object[] {newValue}, null);
+		}
+	}
+
+	@Test
+	public void testRollbackToSavepoint() throws SQLException {
+		String newValue = "ChangeLogBufferTest_" + System.currentTimeMillis();
+		changeLog(getTrxName(), newValue);
+		Savepoint savepoint = getTrx().setSavepoint(null);
+		changeLog(getTrxName(), newValue);
+		ChangeLogBuffer.flush(getTrxName());
+		assertEquals(2, getCount(getTrxName(), newValue));
+
+		// change log added before savepoint but inserted after it is pending again, change log after savepoint is discarded
+		getTrx().rollback(savepoint);
+		assertEquals(0, getCount(getTrxName(), newValue));
+		ChangeLogBuffer.flush(getTrxName());
+		assertEquals(1, getCount(getTrxName(), newValue));
+
+		// change log inserted before savepoint is kept
+		savepoint = getTrx().setSavepoint(null);
+		changeLog(getTrxName(), newValue);
+		getTrx().rollback(savepoint);
+		ChangeLogBuffer.flush(getTrxName());
+		assertEquals(1, getCount(getTrxName(), newValue));
+	}
+
+	/**
+	 * Log change of product description
+	 * @param trxName
+	 * @param newValue
+	 */
+	private void changeLog(String trxName, String newValue) {
+		MSession session = MSession.get(Env.getCtx());
+		if (session == null)
+			session = MSession.create(Env.getCtx());
+		MColumn column = MColumn.get(Env.getCtx(), MProduct.Table_Name, MProduct.COLUMNNAME_Description);
+		MChangeLog cl = session.changeLog(trxName, 0, MProduct.Table_ID, column.getAD_Column_ID(), DictionaryIDs.M_Product.AZALEA_BUSH.id,
+				getAD_Client_ID(), 0, null, newValue, MChangeLog.EVENTCHANGELOG_Update);
+		assertNotNull(cl);
+	}
+
+	/**
+	 * @param trxName
+	 * @param newValue
+	 * @return number of change log inserted with new value
+	 */
+	private int getCount(String trxName, String newValue) {
+		return DB.getSQLValueEx(trxName, "SELECT COUNT(*) FROM AD_ChangeLog WHERE NewValue=?", newValue);
+	}
+}
@@ -0,0 +1,109 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.compiere.print.PrintData;
+import org.compiere.print.PrintDataElement;
+import org.compiere.print.util.ColumnarSerializableMatrix;
+import org.compiere.util.DisplayType;
+import org.compiere.util.Env;
+import org.compiere.util.KeyNamePair;
+import org.idempiere.test.AbstractTestCase;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarSerializableMatrixTest extends AbstractTestCase {
+
+	public ColumnarSerializableMatrixTest() {
+	}
+
+	@Test
+	public void testRoundTrip() {
+		ColumnarSerializableMatrix matrix = new ColumnarSerializableMatrix();
+		Timestamp ts = new Timestamp(System.currentTimeMillis());
+		BigDecimal big = new BigDecimal("123456789012345678901234567890.12");
+		PrintData nested = new PrintData(Env.getCtx(), "Nested");
+		for (int row = 0; row < 1000; row++) {
+			List<Serializable> nodes = new ArrayList<Serializable>();
+			matrix.addRow(nodes);
+			nodes.add(new PrintDataElement(1, "Name", "Name " + (row % 10), DisplayType.String, null));
+			nodes.add(new PrintDataElement(2, "Qty", new BigDecimal(row).movePointLeft(2), DisplayType.Quantity, "#,##0.00"));
+			nodes.add(new PrintDataElement(3, "C_BPartner_ID", new KeyNamePair(row, "BP " + row), DisplayType.TableDir, null));
+			nodes.add(new PrintDataElement(4, "DateDoc", ts, DisplayType.Date, null));
+			nodes.add(new PrintDataElement(5, "IsActive", Boolean.valueOf(row % 2 == 0), DisplayType.YesNo, null));
+			nodes.add(new PrintDataElement(6, "Amt", row == 500 ? big : null, DisplayType.Amount, null));
+			if (row == 999)
+				nodes.add(nested);
+		}
+		assertEquals(1000, matrix.getRowCount());
+
+		assertTrue(matrix.setRowIndex(500));
+		List<Serializable> nodes = matrix.getRowData();
+		assertEquals(6, nodes.size());
+		assertEquals("Name 0", ((PrintDataElement)nodes.get(0)).getValue());
+		assertEquals(new BigDecimal("5.00"), ((PrintDataElement)nodes.get(1)).getValue());
+		assertEquals("#,##0.00", ((PrintDataElement)nodes.get(1)).getM_formatPattern());
+		assertEquals(new KeyNamePair(500, "BP 500"), ((PrintDataElement)nodes.get(2)).getValue());
+		assertEquals(ts, ((PrintDataElement)nodes.get(3)).getValue());
+		assertEquals(Boolean.TRUE, ((PrintDataElement)nodes.get(4)).getValue());
+		assertEquals(big, ((PrintDataElement)nodes.get(5)).getValue());
+		assertEquals(DisplayType.Amount, ((PrintDataElement)nodes.get(5)).getDisplayType());
+
+		assertTrue(matrix.setRowIndex(501));
+		assertNull(((PrintDataElement)matrix.getRowData().get(5)).getValue());
+		assertTrue(matrix.setRowIndex(999));
+		assertEquals(7, matrix.getRowData().size());
+		assertSame(nested, matrix.getRowData().get(6));
+	}
+
+	@Test
+	public void testModifyCurrentRow() {
+		ColumnarSerializableMatrix matrix = new ColumnarSerializableMatrix();
+		for (int row = 0; row < 10; row++) {
+			List<Serializable> nodes = new ArrayList<Serializable>();
+			nodes.add(new PrintDataElement(1, "Script", "@SCRIPT" + row, DisplayType.String, null));
+			matrix.addRow(nodes);
+		}
+		for (int row = 0; row < 10; row++) {
+			matrix.setRowIndex(row);
+			PrintDataElement e = (PrintDataElement) matrix.getRowData().get(0);
+			e.setDisplayType(DisplayType.Integer);
+			e.setValue(Integer.valueOf(row));
+		}
+		for (int row = 0; row < 10; row++) {
+			matrix.setRowIndex(row);
+			PrintDataElement e = (PrintDataElement) matrix.getRowData().get(0);
+			assertEquals(DisplayType.Integer, e.getDisplayType());
+			assertEquals(Integer.valueOf(row), e.getValue());
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import javax.mail.Message;
+import javax.mail.Session;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+import org.compiere.util.DB;
+import org.compiere.util.EMailOutbox;
+import org.idempiere.test.AbstractTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Send queued emails of {@link EMailOutbox} to an in-process SMTP stand-in
+ */
+public class EMailOutboxTest extends AbstractTestCase {
+
+	private SMTPStandIn smtp;
+
+	private final List<Integer> outboxIds = new ArrayList<Integer>();
+
+	@BeforeEach
+	public void startSMTP() throws IOException {
+		smtp = new SMTPStandIn();
+	}
+
+	@AfterEach
+	public void stopSMTP() throws IOException {
+		smtp.close();
+		for (int id : outboxIds)
+			DB.executeUpdateEx("DELETE FROM AD_MailOutbox WHERE AD_MailOutbox_ID=?", new Object[] {id}, null);
+	}
+
+	@Test
+	public void testSendBatchOnOneConnection() throws Exception {
+		EMailOutbox outbox = new EMailOutbox();
+		Session session = smtp.createSession();
+		for (int i = 0; i < 3; i++)
+			outboxIds.add(outbox.add(createMessage(session, "user" + i + "@example.com"), session, "localhost", smtp.getPort(), null, 0));
+		//	queued before start, as left from a previous run or another server
+		outbox.start();
+		try {
+			waitFor(() -> outbox.getSentCount() == 3);
+			assertEquals(3, smtp.messages.get());
+			assertEquals(1, smtp.connections.get(), "Batch not sent on one connection");
+			for (int id : outboxIds)
+				assertEquals(0, DB.getSQLValueEx(null, "SELECT COUNT(*) FROM AD_MailOutbox WHERE AD_MailOutbox_ID=?", id), "Sent message left in outbox");
+		} finally {
+			outbox.stop();
+		}
+	}
+
+	@Test
+	public void testRejectedRecipient() throws Exception {
+		EMailOutbox outbox = new EMailOutbox();
+		outbox.start();
+		try {
+			Session session = smtp.createSession();
+			int id = outbox.add(createMessage(session, "reject@example.com"), session, "localhost", smtp.getPort(), null, 0);
+			outboxIds.add(id);
+			waitFor(() -> outbox.getFailedCount() == 1);
+			assertEquals(0, outbox.getSentCount());
+			waitFor(() -> "Y".equals(DB.getSQLValueStringEx(null, "SELECT IsError FROM AD_MailOutbox WHERE AD_MailOutbox_ID=?", id)));
+			String result = DB.getSQLValueStringEx(null, "SELECT Result FROM AD_MailOutbox WHERE AD_MailOutbox_ID=?", id);
+			assertTrue(result != null && result.length() > 0, "Error of rejected message not recorded");
+		} finally {
+			outbox.stop();
+		}
+	}
+
+	private MimeMessage createMessage(Session session, String to) throws Exception {
+		MimeMessage msg = new MimeMessage(session);
+		msg.setFrom(new InternetAddress("sender@example.com"));
+		msg.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+		msg.setSubject("Outbox Test");
+		msg.setText("Outbox Test");
+		msg.saveChanges();
+		return msg;
+	}
+
+	private void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < end)
+			Thread.sleep(50);
+		assertTrue(condition.getAsBoolean(), "Timeout");
+	}
+
+	/**
+	 * Minimal SMTP server, accepts all messages except for recipients starting with reject
+	 */
+	private static class SMTPStandIn implements AutoCloseable {
+		private final ServerSocket serverSocket;
+		private final AtomicInteger connections = new AtomicInteger();
+		private final AtomicInteger messages = new AtomicInteger();
+
+		private SMTPStandIn() throws IOException {
+			serverSocket = new ServerSocket(0);
+			Thread thread = new Thread(this::accept, "SMTPStandIn");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		private int getPort() {
+			return serverSocket.getLocalPort();
+		}
+
+		private Session createSession() {
+			Properties props = new Properties();
+			props.put("mail.transport.protocol", "smtp");
+			props.put("mail.host", "localhost");
+			props.put("mail.smtp.port", String.valueOf(getPort()));
+			return Session.getInstance(props);
+		}
+
+		private void accept() {
+			while (!serverSocket.isClosed()) {
+				try (Socket socket = serverSocket.accept()) {
+					connections.incrementAndGet();
+					handle(socket);
+				} catch (IOException e) {
+				}
+			}
+		}
+
+		private void handle(Socket socket) throws IOException {
+			BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+			reply(out, "220 localhost SMTP");
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.toUpperCase();
+				if (command.startsWith("RCPT") && command.contains("<REJECT")) {
+					reply(out, "550 Rejected");
+				} else if (command.startsWith("DATA")) {
+					reply(out, "354 End data with <CR><LF>.<CR><LF>");
+					while ((line = in.readLine()) != null && !line.equals("."))
+						;
+					messages.incrementAndGet();
+					reply(out, "250 OK");
+				} else if (command.startsWith("QUIT")) {
+					reply(out, "221 Bye");
+					return;
+				} else {
+					reply(out, "250 OK");
+				}
+			}
+		}
+
+		private void reply(PrintWriter out, String reply) {
+			out.print(reply + "\r\n");
+			out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			serverSocket.close();
+		}
+	}
+}
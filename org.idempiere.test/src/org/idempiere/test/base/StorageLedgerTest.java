@@ -0,0 +1,167 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.model.MStorageOnHand;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.Query;
+import org.compiere.model.StorageLedger;
+import org.compiere.util.CacheMgt;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.TimeUtil;
+import org.idempiere.test.AbstractTestCase;
+import org.idempiere.test.DictionaryIDs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+/**
+ * Write behind of storage changes ({@link MSysConfig#STORAGE_WRITE_BEHIND})
+ */
+@ResourceLock(value = MSysConfig.STORAGE_WRITE_BEHIND)
+public class StorageLedgerTest extends AbstractTestCase {
+
+	private static final int M_Product_ID = DictionaryIDs.M_Product.AZALEA_BUSH.id;
+	private static final int M_Locator_ID = DictionaryIDs.M_Locator.HQ.id;
+
+	/** Changed sysconfig to restore after test */
+	private MSysConfig sysConfig = null;
+
+	public StorageLedgerTest() {
+	}
+
+	@BeforeEach
+	public void enableWriteBehind() {
+		Query query = new Query(Env.getCtx(), MSysConfig.Table_Name, "Name=? AND AD_Client_ID IN (0, ?)", null);
+		MSysConfig config = query.setOrderBy("AD_Client_ID Desc").setParameters(MSysConfig.STORAGE_WRITE_BEHIND, getAD_Client_ID()).first();
+		assertNotNull(config, MSysConfig.STORAGE_WRITE_BEHIND);
+		if (!config.getValue().equals("Y")) {
+			config.setValue("Y");
+			config.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = config;
+		}
+		assertTrue(StorageLedger.isWriteBehind(getAD_Client_ID()));
+	}
+
+	@AfterEach
+	public void restoreWriteBehind() {
+		if (sysConfig != null) {
+			sysConfig.setValue("N");
+			sysConfig.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = null;
+		}
+	}
+
+	@Test
+	public void testFlushBeforeRead() {
+		BigDecimal before = getQtyInDB();
+		add(new BigDecimal("5"));
+		// deferred until flush
+		assertEquals(0, before.compareTo(getQtyInDB()));
+
+		// storage read of transaction writes pending changes first
+		BigDecimal qty = MStorageOnHand.getQtyOnHandForLocatorWithASIZero(M_Product_ID, M_Locator_ID, getTrxName());
+		assertEquals(0, before.add(new BigDecimal("5")).compareTo(qty));
+		assertEquals(0, before.add(new BigDecimal("5")).compareTo(getQtyInDB()));
+
+		// aggregated write on explicit flush
+		add(new BigDecimal("2"));
+		add(new BigDecimal("-1"));
+		StorageLedger.flush(getTrxName());
+		assertEquals(0, before.add(new BigDecimal("6")).compareTo(getQtyInDB()));
+	}
+
+	@Test
+	public void testRollbackToSavepoint() throws SQLException {
+		BigDecimal before = getQtyInDB();
+		add(new BigDecimal("5"));
+		Savepoint savepoint = getTrx().setSavepoint(null);
+		add(new BigDecimal("3"));
+		StorageLedger.flush(getTrxName());
+		assertEquals(0, before.add(new BigDecimal("8")).compareTo(getQtyInDB()));
+
+		// change added before savepoint but written after it is pending again, change after savepoint is discarded
+		getTrx().rollback(savepoint);
+		assertEquals(0, before.compareTo(getQtyInDB()));
+		StorageLedger.flush(getTrxName());
+		assertEquals(0, before.add(new BigDecimal("5")).compareTo(getQtyInDB()));
+
+		// change written before savepoint is kept
+		savepoint = getTrx().setSavepoint(null);
+		add(new BigDecimal("2"));
+		getTrx().rollback(savepoint);
+		StorageLedger.flush(getTrxName());
+		assertEquals(0, before.add(new BigDecimal("5")).compareTo(getQtyInDB()));
+	}
+
+	@Test
+	public void testFailedFlushKeepsChanges() {
+		BigDecimal before = getQtyInDB();
+		add(new BigDecimal("5"));
+		Timestamp dateMPolicy = TimeUtil.getDay(System.currentTimeMillis());
+		Timestamp movedDate = TimeUtil.getDay(1999, 1, 1);
+		final String sql = "UPDATE M_StorageOnHand SET DateMaterialPolicy=? WHERE M_Product_ID=? AND M_Locator_ID=? AND M_AttributeSetInstance_ID=0 AND DateMaterialPolicy=?";
+		DB.executeUpdateEx(sql, new Object[] {movedDate, M_Product_ID, M_Locator_ID, dateMPolicy}, getTrxName());
+
+		// storage record of pending change not found
+		assertThrows(AdempiereException.class, () -> StorageLedger.flush(getTrxName()));
+		assertEquals(0, before.compareTo(getQtyInDB()));
+		// still pending
+		assertThrows(AdempiereException.class, () -> StorageLedger.flush(getTrxName()));
+
+		DB.executeUpdateEx(sql, new Object[] {dateMPolicy, M_Product_ID, M_Locator_ID, movedDate}, getTrxName());
+		StorageLedger.flush(getTrxName());
+		assertEquals(0, before.add(new BigDecimal("5")).compareTo(getQtyInDB()));
+	}
+
+	/**
+	 * Add on hand quantity of today's storage record
+	 * @param qty
+	 */
+	private void add(BigDecimal qty) {
+		assertTrue(MStorageOnHand.add(Env.getCtx(), M_Locator_ID, M_Product_ID, 0, qty, TimeUtil.getDay(System.currentTimeMillis()), null, getTrxName()));
+	}
+
+	/**
+	 * @return on hand quantity written to database, without pending changes
+	 */
+	private BigDecimal getQtyInDB() {
+		BigDecimal qty = DB.getSQLValueBDEx(getTrxName(), "SELECT SUM(QtyOnHand) FROM M_StorageOnHand WHERE M_Product_ID=? AND M_Locator_ID=? AND M_AttributeSetInstance_ID=0",
+				M_Product_ID, M_Locator_ID);
+		return qty != null ? qty : Env.ZERO;
+	}
+}
@@ -0,0 +1,111 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+import java.util.List;
+
+import org.compiere.db.partition.ITablePartitionService;
+import org.compiere.db.partition.PartitionMigrationMonitor;
+import org.compiere.model.MColumn;
+import org.compiere.model.MTable;
+import org.compiere.model.MTest;
+import org.compiere.model.X_AD_TablePartition;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.idempiere.test.AbstractTestCase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Online data migration of table partitions (PostgreSQL).<br/>
+ * The migration runs in the test transaction (DDL of PostgreSQL is transactional) and is rolled back.
+ */
+public class TablePartitionMigrationTest extends AbstractTestCase {
+
+	public TablePartitionMigrationTest() {
+	}
+
+	@Test
+	public void testRowsVisibleBetweenChunks() {
+		assumeTrue(DB.isPostgreSQL(), "PostgreSQL only");
+
+		for (int i = 1; i <= 5; i++) {
+			MTest test = new MTest(Env.getCtx(), "TablePartitionMigrationTest", i, getTrxName());
+			test.saveEx();
+		}
+		int total = DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM Test");
+
+		MColumn column = new MColumn(Env.getCtx(), MColumn.getColumn_ID(MTest.Table_Name, "AD_Client_ID"), getTrxName());
+		column.setIsPartitionKey(true);
+		column.setPartitioningMethod(MColumn.PARTITIONINGMETHOD_List);
+		MTable table = spy(new MTable(Env.getCtx(), MTest.Table_ID, getTrxName()));
+		doReturn(List.of(column)).when(table).getPartitionKeyColumns(anyBoolean());
+
+		ITablePartitionService service = DB.getDatabase().getTablePartitionService();
+		assertTrue(service.createPartitionedTable(table, getTrxName(), null));
+
+		String gardenWorldPartition = "test_" + getAD_Client_ID();
+		int[] visible = new int[] {total, 0};
+		int[] changed = new int[2];
+		PartitionMigrationMonitor monitor = new PartitionMigrationMonitor(getTrxName(), null, true, 0, 2) {
+			@Override
+			public void commit() {
+				// keep the test transaction
+			}
+
+			@Override
+			public void chunkMigrated(X_AD_TablePartition partition, int rows, long startTime) {
+				// all rows visible through the table until the partition is attached
+				assertEquals(visible[0], DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM Test"), "Rows visible after chunk of " + partition.getName());
+				visible[1]++;
+				if (partition.getName().equalsIgnoreCase(gardenWorldPartition) && changed[0] == 0) {
+					// change rows already copied to the partition
+					changed[0] = DB.getSQLValueEx(getTrxName(), "SELECT MIN(Test_ID) FROM " + gardenWorldPartition);
+					changed[1] = DB.getSQLValueEx(getTrxName(), "SELECT MAX(Test_ID) FROM " + gardenWorldPartition);
+					DB.executeUpdateEx("UPDATE Test SET Name='TablePartitionMigrationTest_Changed' WHERE Test_ID=?", new Object[] {changed[0]}, getTrxName());
+					DB.executeUpdateEx("DELETE FROM Test WHERE Test_ID=?", new Object[] {changed[1]}, getTrxName());
+					visible[0]--;
+				}
+				super.chunkMigrated(partition, rows, startTime);
+			}
+		};
+		assertTrue(service.addPartitionAndMigrateData(table, getTrxName(), null, monitor));
+
+		assertTrue(visible[1] > 0, "No chunk migrated");
+		assertTrue(changed[0] > 0 && changed[0] != changed[1], "No change between chunks");
+
+		assertEquals(total - 1, DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM Test"));
+		assertEquals(0, DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM " + service.getDefaultPartitionName(table)));
+		assertEquals("TablePartitionMigrationTest_Changed", DB.getSQLValueStringEx(getTrxName(), "SELECT Name FROM " + gardenWorldPartition + " WHERE Test_ID=?", changed[0]));
+		assertEquals(0, DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM " + gardenWorldPartition + " WHERE Test_ID=?", changed[1]));
+		// partition attached, migration trigger, log table and attach constraint dropped
+		assertEquals(1, DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM pg_class WHERE relname=? AND relispartition", gardenWorldPartition));
+		assertEquals(0, DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM pg_trigger WHERE tgname LIKE 't_partition_log_%'"));
+		assertEquals(0, DB.getSQLValueEx(getTrxName(), "SELECT COUNT(*) FROM pg_constraint WHERE conname='partition_attach_chk'"));
+	}
+}
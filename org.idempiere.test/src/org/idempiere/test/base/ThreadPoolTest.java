@@ -0,0 +1,110 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.base;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.adempiere.util.ServerContext;
+import org.compiere.Adempiere;
+import org.compiere.util.InstrumentedThreadPool;
+import org.compiere.util.ThreadPoolMXBean;
+import org.idempiere.test.AbstractTestCase;
+import org.junit.jupiter.api.Test;
+
+public class ThreadPoolTest extends AbstractTestCase {
+
+	public ThreadPoolTest() {
+	}
+
+	@Test
+	public void testBoundedQueue() throws Exception {
+		InstrumentedThreadPool pool = new InstrumentedThreadPool("ThreadPoolTest", 1, 1, InstrumentedThreadPool.POLICY_ABORT);
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			CountDownLatch started = new CountDownLatch(1);
+			Future<?> running = pool.submit(() -> {
+				started.countDown();
+				release.await();
+				return null;
+			});
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			Future<?> queued = pool.submit(() -> {});
+			assertEquals(1, pool.getQueueSize());
+			assertThrows(RejectedExecutionException.class, () -> pool.submit(() -> {}));
+			assertEquals(1, pool.getRejectedTaskCount());
+
+			release.countDown();
+			running.get(5, TimeUnit.SECONDS);
+			queued.get(5, TimeUnit.SECONDS);
+			Future<?> failed = pool.submit(() -> { throw new IllegalStateException(); });
+			//statistics are updated after the future is done
+			while (!failed.isDone() || pool.getCompletedTaskCount() < 3)
+				Thread.sleep(10);
+			assertEquals(1, pool.getFailedTaskCount());
+			assertEquals(3, pool.getLatencyHistogram().values().stream().mapToLong(Long::longValue).sum());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testCallerRuns() throws Exception {
+		InstrumentedThreadPool pool = new InstrumentedThreadPool("ThreadPoolTest", 1, 1, InstrumentedThreadPool.POLICY_CALLER_RUNS);
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			pool.submit(() -> {
+				release.await();
+				return null;
+			});
+			pool.submit(() -> {});
+			Thread caller = Thread.currentThread();
+			Properties context = ServerContext.getCurrentInstance();
+			Thread[] runner = new Thread[1];
+			pool.submit(() -> {
+				runner[0] = Thread.currentThread();
+				ServerContext.dispose();
+			}).get(5, TimeUnit.SECONDS);
+			release.countDown();
+			assertSame(caller, runner[0]);
+			assertSame(context, ServerContext.getCurrentInstance(), "Context of calling thread not restored");
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testWorkloadPools() {
+		assertSame(Adempiere.getThreadPoolExecutor(), Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_DEFAULT));
+		assertSame(Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_LOOKUP), Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_LOOKUP));
+		assertTrue(Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_LOOKUP) != Adempiere.getThreadPoolExecutor(Adempiere.THREAD_POOL_REPORT));
+		assertTrue(Adempiere.getThreadPools().stream().map(ThreadPoolMXBean::getName).anyMatch(Adempiere.THREAD_POOL_LOOKUP::equals));
+	}
+}
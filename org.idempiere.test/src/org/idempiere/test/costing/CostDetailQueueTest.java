@@ -0,0 +1,268 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.costing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.compiere.model.CostDetailQueue;
+import org.compiere.model.MAcctSchema;
+import org.compiere.model.MClient;
+import org.compiere.model.MCost;
+import org.compiere.model.MCostDetail;
+import org.compiere.model.MInventory;
+import org.compiere.model.MInventoryLine;
+import org.compiere.model.MProduct;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.Query;
+import org.compiere.util.CacheMgt;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.Trx;
+import org.idempiere.test.AbstractTestCase;
+import org.idempiere.test.DictionaryIDs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+/**
+ * Deferred processing of cost detail ({@link MSysConfig#COST_DETAIL_DEFERRED_PROCESSING})
+ */
+@Isolated
+public class CostDetailQueueTest extends AbstractTestCase {
+
+	/** Wait for background worker, in milliseconds */
+	private static final long WORKER_TIMEOUT = 30000;
+
+	/** Changed sysconfig to restore after test */
+	private MSysConfig sysConfig = null;
+
+	public CostDetailQueueTest() {
+	}
+
+	@BeforeEach
+	public void enableDeferred() {
+		Query query = new Query(Env.getCtx(), MSysConfig.Table_Name, "Name=? AND AD_Client_ID IN (0, ?)", null);
+		MSysConfig config = query.setOrderBy("AD_Client_ID Desc").setParameters(MSysConfig.COST_DETAIL_DEFERRED_PROCESSING, getAD_Client_ID()).first();
+		assertNotNull(config, MSysConfig.COST_DETAIL_DEFERRED_PROCESSING);
+		if (!config.getValue().equals("Y")) {
+			config.setValue("Y");
+			config.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = config;
+		}
+		assertTrue(CostDetailQueue.isDeferred(getAD_Client_ID()));
+	}
+
+	@AfterEach
+	public void restoreDeferred() {
+		if (sysConfig != null) {
+			sysConfig.setValue("N");
+			sysConfig.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = null;
+		}
+	}
+
+	@Test
+	public void testCommittedProcessed() throws InterruptedException {
+		MAcctSchema as = MClient.get(Env.getCtx()).getAcctSchema();
+		MProduct product = createProduct("testCommittedProcessed", null);
+		MInventory inventory = null;
+		Trx trx = Trx.get(Trx.createTrxName("CostDetailQueueTest"), true);
+		try {
+			inventory = createInventory(as, product, trx.getTrxName());
+			MCostDetail cd = getCostDetail(as, product, trx.getTrxName());
+			assertNotNull(cd);
+			assertFalse(cd.isProcessed(), "Cost detail processed before commit");
+
+			// processed by background worker after commit
+			assertTrue(trx.commit());
+			assertTrue(waitForProcessed(cd.getM_CostDetail_ID()), "Committed cost detail not processed");
+			assertEquals(0, new BigDecimal("10").compareTo(getCurrentQty(as, product)));
+		} finally {
+			trx.close();
+			delete(product, inventory);
+		}
+	}
+
+	@Test
+	public void testRollbackDiscarded() throws InterruptedException {
+		MAcctSchema as = MClient.get(Env.getCtx()).getAcctSchema();
+		MProduct product = createProduct("testRollbackDiscarded", null);
+		try {
+			createInventory(as, product, getTrxName());
+			assertNotNull(getCostDetail(as, product, getTrxName()));
+
+			// queue of transaction is discarded with the rolled back cost detail, nothing is processed after next commit
+			rollback();
+			assertNull(getCostDetail(as, product, getTrxName()));
+			CostDetailQueue.flush(getTrxName());
+			commit();
+			Thread.sleep(1000);
+			assertNull(getCostDetail(as, product, null));
+			assertEquals(0, DB.getSQLValueEx(null, "SELECT COUNT(*) FROM M_Cost WHERE M_Product_ID=? AND CurrentQty<>0", product.getM_Product_ID()));
+		} finally {
+			delete(product, null);
+		}
+	}
+
+	@Test
+	public void testCostLookupProcessesPending() {
+		MAcctSchema as = MClient.get(Env.getCtx()).getAcctSchema();
+		MProduct product = createProduct("testCostLookupProcessesPending", getTrxName());
+		createInventory(as, product, getTrxName());
+		MCostDetail cd = getCostDetail(as, product, getTrxName());
+		assertFalse(cd.isProcessed(), "Cost detail processed before cost lookup");
+
+		// cost lookup of posting transaction processes its pending cost detail first
+		BigDecimal cost = MCost.getCurrentCost(product, 0, as, getAD_Org_ID(), as.getCostingMethod(), new BigDecimal("1"), 0, false, getTrxName());
+		assertNotNull(cost);
+		assertEquals(0, new BigDecimal("2").compareTo(cost));
+		cd.load(getTrxName());
+		assertTrue(cd.isProcessed(), "Pending cost detail not processed by cost lookup");
+		assertEquals(0, new BigDecimal("10").compareTo(getCurrentQty(as, product)));
+	}
+
+	@Test
+	public void testRecover() throws InterruptedException {
+		MAcctSchema as = MClient.get(Env.getCtx()).getAcctSchema();
+		MProduct product = createProduct("testRecover", null);
+		MInventory inventory = null;
+		try {
+			// committed unprocessed cost detail, as left by a stopped server
+			inventory = createInventory(null, product, null);
+			MCostDetail cd = new MCostDetail(as, getAD_Org_ID(), product.getM_Product_ID(), 0, 0, new BigDecimal("20"), new BigDecimal("10"), "testRecover", null);
+			cd.setM_InventoryLine_ID(inventory.getLines(false)[0].getM_InventoryLine_ID());
+			cd.saveEx();
+			assertFalse(cd.isProcessed());
+
+			CostDetailQueue.recover();
+			assertTrue(waitForProcessed(cd.getM_CostDetail_ID()), "Unprocessed cost detail not requeued");
+			assertEquals(0, new BigDecimal("10").compareTo(getCurrentQty(as, product)));
+		} finally {
+			delete(product, inventory);
+		}
+	}
+
+	/**
+	 * @param name
+	 * @param trxName
+	 * @return new stocked item
+	 */
+	private MProduct createProduct(String name, String trxName) {
+		MProduct product = new MProduct(Env.getCtx(), 0, trxName);
+		product.setM_Product_Category_ID(DictionaryIDs.M_Product_Category.CHEMICALS.id);
+		product.setName(name);
+		product.setValue(name);
+		product.setProductType(MProduct.PRODUCTTYPE_Item);
+		product.setIsStocked(true);
+		product.setC_UOM_ID(DictionaryIDs.C_UOM.EACH.id);
+		product.setC_TaxCategory_ID(DictionaryIDs.C_TaxCategory.STANDARD.id);
+		product.saveEx();
+		return product;
+	}
+
+	/**
+	 * Create physical inventory line of 10 and its cost detail of 10 at 2
+	 * @param as accounting schema or null to not create cost detail
+	 * @param product
+	 * @param trxName
+	 * @return drafted physical inventory
+	 */
+	private MInventory createInventory(MAcctSchema as, MProduct product, String trxName) {
+		MInventory inventory = new MInventory(Env.getCtx(), 0, trxName);
+		inventory.setM_Warehouse_ID(DictionaryIDs.M_Warehouse.HQ.id);
+		inventory.setC_DocType_ID(DictionaryIDs.C_DocType.MATERIAL_PHYSICAL_INVENTORY.id);
+		inventory.saveEx();
+		MInventoryLine line = new MInventoryLine(inventory, DictionaryIDs.M_Locator.HQ.id, product.getM_Product_ID(), 0, Env.ZERO, new BigDecimal("10"));
+		line.saveEx();
+		if (as != null) {
+			assertTrue(MCostDetail.createInventory(as, getAD_Org_ID(), product.getM_Product_ID(), 0, line.getM_InventoryLine_ID(), 0,
+					new BigDecimal("20"), new BigDecimal("10"), "CostDetailQueueTest", null, 0, trxName));
+		}
+		return inventory;
+	}
+
+	/**
+	 * @param as
+	 * @param product
+	 * @param trxName
+	 * @return cost detail of product or null
+	 */
+	private MCostDetail getCostDetail(MAcctSchema as, MProduct product, String trxName) {
+		return new Query(Env.getCtx(), MCostDetail.Table_Name, "C_AcctSchema_ID=? AND M_Product_ID=?", trxName)
+				.setParameters(as.getC_AcctSchema_ID(), product.getM_Product_ID())
+				.first();
+	}
+
+	/**
+	 * @param as
+	 * @param product
+	 * @return current quantity of costing record
+	 */
+	private BigDecimal getCurrentQty(MAcctSchema as, MProduct product) {
+		MCost cost = product.getCostingRecord(as, getAD_Org_ID(), 0, as.getCostingMethod());
+		assertNotNull(cost, "No costing record");
+		return cost.getCurrentQty();
+	}
+
+	/**
+	 * Wait for background worker to process cost detail
+	 * @param M_CostDetail_ID
+	 * @return true if processed
+	 * @throws InterruptedException
+	 */
+	private boolean waitForProcessed(int M_CostDetail_ID) throws InterruptedException {
+		long end = System.currentTimeMillis() + WORKER_TIMEOUT;
+		while (System.currentTimeMillis() < end) {
+			if ("Y".equals(DB.getSQLValueStringEx(null, "SELECT Processed FROM M_CostDetail WHERE M_CostDetail_ID=?", M_CostDetail_ID)))
+				return true;
+			Thread.sleep(100);
+		}
+		return false;
+	}
+
+	/**
+	 * Delete committed product with its costing records and physical inventory
+	 * @param product
+	 * @param inventory optional committed physical inventory
+	 */
+	private void delete(MProduct product, MInventory inventory) {
+		DB.executeUpdateEx("DELETE FROM M_CostHistory WHERE M_CostDetail_ID IN (SELECT M_CostDetail_ID FROM M_CostDetail WHERE M_Product_ID=?)", new Object[] {product.getM_Product_ID()}, null);
+		DB.executeUpdateEx("DELETE FROM M_CostDetail WHERE M_Product_ID=?", new Object[] {product.getM_Product_ID()}, null);
+		DB.executeUpdateEx("DELETE FROM M_Cost WHERE M_Product_ID=?", new Object[] {product.getM_Product_ID()}, null);
+		if (inventory != null) {
+			DB.executeUpdateEx("DELETE FROM M_InventoryLine WHERE M_Inventory_ID=?", new Object[] {inventory.getM_Inventory_ID()}, null);
+			inventory.set_TrxName(null);
+			inventory.deleteEx(true);
+		}
+		product.set_TrxName(null);
+		product.deleteEx(true);
+	}
+}
@@ -0,0 +1,195 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.compiere.model.MAcctSchema;
+import org.compiere.model.MClient;
+import org.compiere.model.MCost;
+import org.compiere.model.MCostElement;
+import org.compiere.model.MProduct;
+import org.compiere.model.Query;
+import org.compiere.process.BOMCostRollup;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.eevolution.model.MPPProductBOM;
+import org.eevolution.model.MPPProductBOMLine;
+import org.idempiere.test.AbstractTestCase;
+import org.idempiere.test.DictionaryIDs;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Set based roll up of BOM costs ({@link BOMCostRollup}) compared with the row by row roll up it replaced
+ */
+public class BOMCostRollupTest extends AbstractTestCase {
+
+	public BOMCostRollupTest() {
+	}
+
+	@Test
+	public void testMultiLevelRollup() {
+		MAcctSchema as = MClient.get(Env.getCtx()).getAcctSchema();
+		MCostElement element = MCostElement.getMaterialCostElement(Env.getCtx(), as.getCostingMethod());
+		assertNotNull(element, "No material cost element");
+
+		// top = 1 assembly + 2 D, assembly = 2 sub assembly + 1 C, sub assembly = 3 D + 1 C
+		MProduct componentC = createProduct("BOMCostRollupTest_C", as, element, "2", "2.5");
+		MProduct componentD = createProduct("BOMCostRollupTest_D", as, element, "3", "4");
+		MProduct subAssembly = createProduct("BOMCostRollupTest_Sub", as, element, "0", "0");
+		MProduct assembly = createProduct("BOMCostRollupTest_Assembly", as, element, "0", "0");
+		MProduct top = createProduct("BOMCostRollupTest_Top", as, element, "0", "0");
+		createBOM(subAssembly, componentD, "3", componentC, "1");
+		createBOM(assembly, subAssembly, "2", componentC, "1");
+		createBOM(top, assembly, "1", componentD, "2");
+
+		BOMCostRollup rollup = new BOMCostRollup(getAD_Client_ID(), as.getC_AcctSchema_ID(), element.getM_CostElement_ID(), getTrxName());
+		rollup.load();
+		assertTrue(rollup.rollUp(List.of(top.getM_Product_ID())).isEmpty(), "Unexpected BOM cycle");
+		List<Integer> order = rollup.getRolledUpProducts();
+		assertTrue(order.indexOf(subAssembly.getM_Product_ID()) < order.indexOf(assembly.getM_Product_ID()), "Sub assembly not rolled up before assembly");
+		assertTrue(order.indexOf(assembly.getM_Product_ID()) < order.indexOf(top.getM_Product_ID()), "Assembly not rolled up before top");
+
+		// previous row by row roll up, saves future cost price
+		Map<Integer, BigDecimal> currentCostPrices = new HashMap<Integer, BigDecimal>();
+		rollUpRowByRow(top.getM_Product_ID(), as, element, new HashSet<Integer>(), currentCostPrices);
+
+		for (MProduct product : new MProduct[] {subAssembly, assembly, top}) {
+			BigDecimal current = currentCostPrices.get(product.getM_Product_ID());
+			assertNotNull(current, product.getName());
+			assertEquals(0, current.compareTo(rollup.getNewCurrentCostPrice(product.getM_Product_ID())), "Current cost price of " + product.getName());
+			MCost cost = MCost.get(product, 0, as, 0, element.getM_CostElement_ID(), getTrxName());
+			assertEquals(0, cost.getFutureCostPrice().compareTo(rollup.getNewFutureCostPrice(product.getM_Product_ID())), "Future cost price of " + product.getName());
+		}
+		// current cost of assembly from stored (not yet adjusted) cost of components, future cost through all levels
+		assertEquals(0, new BigDecimal("11").compareTo(rollup.getNewCurrentCostPrice(subAssembly.getM_Product_ID())));
+		assertEquals(0, new BigDecimal("2").compareTo(rollup.getNewCurrentCostPrice(assembly.getM_Product_ID())));
+		assertEquals(0, new BigDecimal("14.5").compareTo(rollup.getNewFutureCostPrice(subAssembly.getM_Product_ID())));
+		assertEquals(0, new BigDecimal("31.5").compareTo(rollup.getNewFutureCostPrice(assembly.getM_Product_ID())));
+		assertEquals(0, new BigDecimal("39.5").compareTo(rollup.getNewFutureCostPrice(top.getM_Product_ID())));
+	}
+
+	/**
+	 * Row by row roll up of the previous RollUpCosts process: recursive BOM walk with one query per product and cost record
+	 * @param productId
+	 * @param as
+	 * @param element
+	 * @param processed rolled up products
+	 * @param currentCostPrices product:rolled up current cost price (cost adjustment of the process)
+	 */
+	private void rollUpRowByRow(int productId, MAcctSchema as, MCostElement element, Set<Integer> processed, Map<Integer, BigDecimal> currentCostPrices) {
+		String sql = "SELECT bl.M_Product_ID FROM PP_Product_BOMLine bl"
+				+ " JOIN PP_Product_BOM b ON (b.PP_Product_BOM_ID=bl.PP_Product_BOM_ID) WHERE b.M_Product_ID=?"
+				+ " AND b.AD_Client_ID=? AND b.BOMUse='A' AND b.BOMType='A' AND b.IsActive='Y' AND bl.IsActive='Y'";
+		for (int componentId : DB.getIDsEx(getTrxName(), sql, productId, getAD_Client_ID())) {
+			if (!processed.contains(componentId))
+				rollUpRowByRow(componentId, as, element, processed, currentCostPrices);
+		}
+
+		String where = "M_Product_ID=? AND AD_Client_ID=? AND M_CostElement_ID=? AND C_AcctSchema_ID=?"
+				+ " AND M_Product_ID IN (SELECT b.M_Product_ID FROM PP_Product_BOM b JOIN PP_Product_BOMLine bl ON (b.PP_Product_BOM_ID=bl.PP_Product_BOM_ID)"
+				+ " WHERE b.BOMType='A' AND b.BOMUse='A' AND b.IsActive='Y' AND b.AD_Client_ID=?)";
+		List<MCost> costs = new Query(Env.getCtx(), MCost.Table_Name, where, getTrxName())
+				.setParameters(productId, getAD_Client_ID(), element.getM_CostElement_ID(), as.getC_AcctSchema_ID(), getAD_Client_ID())
+				.list();
+		for (MCost cost : costs) {
+			String currentSql = "SELECT SUM(b.QtyBOM * c.CurrentCostPrice) FROM PP_Product_BOMLine b"
+					+ " INNER JOIN M_Cost c ON (b.M_Product_ID=c.M_Product_ID)"
+					+ " JOIN PP_Product_BOM bom ON (bom.PP_Product_BOM_ID=b.PP_Product_BOM_ID AND bom.IsActive='Y')"
+					+ " WHERE bom.M_Product_ID=? AND bom.BOMType='A' AND bom.BOMUse='A' AND c.M_CostElement_ID=? AND c.C_AcctSchema_ID=?";
+			BigDecimal current = DB.getSQLValueBDEx(getTrxName(), currentSql, productId, element.getM_CostElement_ID(), cost.getC_AcctSchema_ID());
+			currentCostPrices.put(productId, current != null ? current : Env.ZERO);
+
+			String futureSql = "SELECT SUM(b.QtyBOM * c.FutureCostPrice) FROM PP_Product_BOMLine b"
+					+ " INNER JOIN M_Cost c ON (b.M_Product_ID=c.M_Product_ID)"
+					+ " JOIN PP_Product_BOM bom ON (bom.PP_Product_BOM_ID=b.PP_Product_BOM_ID AND bom.IsActive='Y')"
+					+ " WHERE bom.M_Product_ID=? AND c.M_CostElement_ID=? AND c.C_AcctSchema_ID=?";
+			BigDecimal future = DB.getSQLValueBDEx(getTrxName(), futureSql, productId, element.getM_CostElement_ID(), cost.getC_AcctSchema_ID());
+			cost.setFutureCostPrice(future != null ? future : Env.ZERO);
+			if (cost.is_Changed())
+				cost.saveEx();
+		}
+		processed.add(productId);
+	}
+
+	/**
+	 * @param name
+	 * @param as
+	 * @param element
+	 * @param currentCostPrice
+	 * @param futureCostPrice
+	 * @return new product with cost record
+	 */
+	private MProduct createProduct(String name, MAcctSchema as, MCostElement element, String currentCostPrice, String futureCostPrice) {
+		MProduct product = new MProduct(Env.getCtx(), 0, getTrxName());
+		product.setM_Product_Category_ID(DictionaryIDs.M_Product_Category.CHEMICALS.id);
+		product.setName(name);
+		product.setValue(name);
+		product.setProductType(MProduct.PRODUCTTYPE_Item);
+		product.setIsStocked(true);
+		product.setC_UOM_ID(DictionaryIDs.C_UOM.EACH.id);
+		product.setC_TaxCategory_ID(DictionaryIDs.C_TaxCategory.STANDARD.id);
+		product.saveEx();
+
+		MCost cost = MCost.get(product, 0, as, 0, element.getM_CostElement_ID(), getTrxName());
+		cost.setCurrentCostPrice(new BigDecimal(currentCostPrice));
+		cost.setFutureCostPrice(new BigDecimal(futureCostPrice));
+		cost.saveEx();
+		return product;
+	}
+
+	/**
+	 * Create active assembly BOM with two lines
+	 * @param product
+	 * @param component1
+	 * @param qty1
+	 * @param component2
+	 * @param qty2
+	 */
+	private void createBOM(MProduct product, MProduct component1, String qty1, MProduct component2, String qty2) {
+		MPPProductBOM bom = new MPPProductBOM(Env.getCtx(), 0, getTrxName());
+		bom.setM_Product_ID(product.getM_Product_ID());
+		bom.setBOMType(MPPProductBOM.BOMTYPE_CurrentActive);
+		bom.setBOMUse(MPPProductBOM.BOMUSE_Master);
+		bom.setName(product.getName());
+		bom.saveEx();
+
+		MPPProductBOMLine line1 = new MPPProductBOMLine(bom);
+		line1.setM_Product_ID(component1.getM_Product_ID());
+		line1.setQtyBOM(new BigDecimal(qty1));
+		line1.saveEx();
+
+		MPPProductBOMLine line2 = new MPPProductBOMLine(bom);
+		line2.setM_Product_ID(component2.getM_Product_ID());
+		line2.setQtyBOM(new BigDecimal(qty2));
+		line2.saveEx();
+	}
+}
@@ -0,0 +1,183 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.model.DashboardDataCache;
+import org.compiere.model.MDocumentStatus;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.Query;
+import org.compiere.util.CacheMgt;
+import org.compiere.util.Env;
+import org.idempiere.test.AbstractTestCase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+/**
+ * Dashboard data shared by sessions ({@link MSysConfig#ZK_DASHBOARD_CACHE_SECONDS})
+ */
+@ResourceLock(value = MSysConfig.ZK_DASHBOARD_CACHE_SECONDS)
+public class DashboardDataCacheTest extends AbstractTestCase {
+
+	/** Changed sysconfig to restore after test */
+	private MSysConfig sysConfig = null;
+	private String oldValue = null;
+
+	private final DashboardDataCache<Integer> cache = new DashboardDataCache<Integer>(MDocumentStatus.Table_Name, "DashboardDataCacheTest");
+
+	public DashboardDataCacheTest() {
+	}
+
+	@BeforeEach
+	public void setCacheSeconds() {
+		Query query = new Query(Env.getCtx(), MSysConfig.Table_Name, "Name=? AND AD_Client_ID IN (0, ?)", null);
+		MSysConfig config = query.setOrderBy("AD_Client_ID Desc").setParameters(MSysConfig.ZK_DASHBOARD_CACHE_SECONDS, getAD_Client_ID()).first();
+		assertNotNull(config, MSysConfig.ZK_DASHBOARD_CACHE_SECONDS);
+		if (!config.getValue().equals("1")) {
+			oldValue = config.getValue();
+			config.setValue("1");
+			config.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = config;
+		}
+	}
+
+	@AfterEach
+	public void restoreCacheSeconds() {
+		cache.reset();
+		if (sysConfig != null) {
+			sysConfig.setValue(oldValue);
+			sysConfig.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = null;
+		}
+	}
+
+	@Test
+	public void testExpiry() throws InterruptedException {
+		assertEquals(1, cache.get("testExpiry", () -> 1).intValue());
+		// cached
+		assertEquals(1, cache.get("testExpiry", () -> 2).intValue());
+		Thread.sleep(1100);
+		// expired, loaded again
+		assertEquals(2, cache.get("testExpiry", () -> 2).intValue());
+		assertEquals(2, cache.get("testExpiry", () -> 3).intValue());
+	}
+
+	@Test
+	public void testSingleLoad() throws InterruptedException {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Integer> first = new AtomicReference<Integer>();
+		AtomicReference<Integer> second = new AtomicReference<Integer>();
+
+		Thread t1 = new Thread(() -> first.set(cache.get("testSingleLoad", () -> {
+			loads.incrementAndGet();
+			started.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return 1;
+		})));
+		t1.start();
+		assertTrue(started.await(10, TimeUnit.SECONDS), "Load not started");
+
+		Thread t2 = new Thread(() -> second.set(cache.get("testSingleLoad", () -> {
+			loads.incrementAndGet();
+			return 2;
+		})));
+		t2.start();
+		// second get waits for load in progress
+		t2.join(200);
+		assertTrue(t2.isAlive(), "Second get not waiting for load in progress");
+
+		release.countDown();
+		t1.join(10000);
+		t2.join(10000);
+		assertFalse(t1.isAlive() || t2.isAlive(), "Get not finished");
+		assertEquals(1, loads.get());
+		assertEquals(1, first.get().intValue());
+		assertEquals(1, second.get().intValue());
+	}
+
+	@Test
+	public void testRetryAfterFailedLoad() throws InterruptedException {
+		assertThrows(AdempiereException.class, () -> cache.get("testRetryAfterFailedLoad", () -> {
+			throw new AdempiereException("DashboardDataCacheTest load failure");
+		}));
+		// failure is not cached
+		assertEquals(1, cache.get("testRetryAfterFailedLoad", () -> 1).intValue());
+
+		// session waiting for a failed load runs its own load
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		AtomicReference<Integer> second = new AtomicReference<Integer>();
+		Thread t1 = new Thread(() -> {
+			try {
+				cache.get("testRetryAfterFailedLoad2", () -> {
+					started.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					throw new AdempiereException("DashboardDataCacheTest load failure");
+				});
+			} catch (Throwable e) {
+				error.set(e);
+			}
+		});
+		t1.start();
+		assertTrue(started.await(10, TimeUnit.SECONDS), "Load not started");
+
+		Thread t2 = new Thread(() -> second.set(cache.get("testRetryAfterFailedLoad2", () -> 2)));
+		t2.start();
+		t2.join(200);
+		assertTrue(t2.isAlive(), "Second get not waiting for load in progress");
+
+		release.countDown();
+		t1.join(10000);
+		t2.join(10000);
+		assertFalse(t1.isAlive() || t2.isAlive(), "Get not finished");
+		assertTrue(error.get() instanceof AdempiereException, "Failed load not thrown");
+		assertEquals(2, second.get().intValue());
+		// result of the retry is cached
+		assertEquals(2, cache.get("testRetryAfterFailedLoad2", () -> 3).intValue());
+	}
+}
@@ -0,0 +1,109 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.compiere.model.MTree;
+import org.compiere.model.MTreeNode;
+import org.compiere.util.Env;
+import org.idempiere.test.AbstractTestCase;
+import org.idempiere.test.DictionaryIDs;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link MTree} loading from shared node structure
+ */
+public class MTreeTest extends AbstractTestCase {
+
+	public MTreeTest() {
+	}
+
+	@Test
+	public void testSharedStructure() {
+		int AD_Tree_ID = DictionaryIDs.AD_Tree.GARDENWORLD_ELEMENTVALUE.id;
+		MTree tree1 = new MTree(Env.getCtx(), AD_Tree_ID, false, true, null);
+		MTree tree2 = new MTree(Env.getCtx(), AD_Tree_ID, false, true, null);
+		MTree tree3 = new MTree(Env.getCtx(), AD_Tree_ID, false, true, getTrxName());
+
+		List<Integer> ids1 = getNodeIds(tree1.getRoot());
+		assertTrue(ids1.size() > 0, "No node loaded");
+		assertEquals(ids1, getNodeIds(tree2.getRoot()));
+		assertEquals(ids1, getNodeIds(tree3.getRoot()));
+		assertFalse(tree1.isLazyLoading());
+	}
+
+	@Test
+	public void testLoadChildren() {
+		int AD_Tree_ID = DictionaryIDs.AD_Tree.GARDENWORLD_ELEMENTVALUE.id;
+		MTree tree = new MTree(Env.getCtx(), AD_Tree_ID, false, true, getTrxName());
+		MTreeNode root = tree.getRoot();
+		assertTrue(tree.isChildrenLoaded(root));
+		assertEquals(root.getChildCount(), tree.getChildCount(root.getNode_ID()));
+		assertTrue(tree.loadChildren(root).isEmpty(), "Children should only be added once");
+
+		MTreeNode summary = null;
+		Enumeration<?> en = root.preorderEnumeration();
+		while (en.hasMoreElements()) {
+			MTreeNode node = (MTreeNode) en.nextElement();
+			if (node != root && node.isSummary() && node.getChildCount() > 0) {
+				summary = node;
+				break;
+			}
+		}
+		assertNotNull(summary, "No summary node");
+		MTreeNode child = (MTreeNode) summary.getChildAt(0);
+		assertTrue(tree.isAncestor(summary.getNode_ID(), child.getNode_ID()));
+		assertFalse(tree.isAncestor(child.getNode_ID(), summary.getNode_ID()));
+		assertEquals(child, tree.findNode(child.getNode_ID()));
+	}
+
+	@Test
+	public void testMenuByRole() {
+		int AD_Tree_ID = DictionaryIDs.AD_Tree.MENU.id;
+		MTree menu1 = new MTree(Env.getCtx(), AD_Tree_ID, false, true, null);
+		MTree menu2 = new MTree(Env.getCtx(), AD_Tree_ID, false, true, null);
+		MTree menu3 = new MTree(Env.getCtx(), AD_Tree_ID, false, true, getTrxName());
+
+		List<Integer> ids1 = getNodeIds(menu1.getRoot());
+		assertTrue(ids1.size() > 1, "No menu node loaded");
+		assertEquals(ids1, getNodeIds(menu2.getRoot()));
+		assertEquals(ids1, getNodeIds(menu3.getRoot()));
+	}
+
+	private List<Integer> getNodeIds(MTreeNode root) {
+		List<Integer> ids = new ArrayList<Integer>();
+		Enumeration<?> en = root.preorderEnumeration();
+		while (en.hasMoreElements()) {
+			MTreeNode node = (MTreeNode) en.nextElement();
+			ids.add(node.getNode_ID());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,276 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.test.workflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.adempiere.base.Core;
+import org.adempiere.base.event.AbstractEventHandler;
+import org.adempiere.base.event.IEventTopics;
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.model.MBPartner;
+import org.compiere.model.MInOut;
+import org.compiere.model.MInOutLine;
+import org.compiere.model.MProduct;
+import org.compiere.model.MSysConfig;
+import org.compiere.model.PO;
+import org.compiere.model.Query;
+import org.compiere.process.DocAction;
+import org.compiere.process.ProcessInfo;
+import org.compiere.util.CacheMgt;
+import org.compiere.util.DB;
+import org.compiere.util.Env;
+import org.compiere.util.TimeUtil;
+import org.compiere.util.Trx;
+import org.compiere.util.TrxEventListener;
+import org.compiere.wf.MWFNode;
+import org.compiere.wf.MWorkflow;
+import org.idempiere.test.AbstractTestCase;
+import org.idempiere.test.DictionaryIDs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.osgi.service.event.Event;
+
+/**
+ * Document process workflow without persistent activities ({@link MSysConfig#WORKFLOW_DIRECT_DOC_ACTION})
+ */
+@ResourceLock(value = MSysConfig.WORKFLOW_DIRECT_DOC_ACTION)
+public class WFDirectDocActionTest extends AbstractTestCase {
+
+	private static final int LOCATION_FROM_PATIO = 115;
+	private static final int WF_PROCESS_SHIPMENT = 117;
+
+	/** Changed sysconfig to restore after test */
+	private MSysConfig sysConfig = null;
+	private String oldValue = null;
+
+	public WFDirectDocActionTest() {
+	}
+
+	@BeforeEach
+	public void enableDirect() {
+		Query query = new Query(Env.getCtx(), MSysConfig.Table_Name, "Name=? AND AD_Client_ID IN (0, ?)", null);
+		MSysConfig config = query.setOrderBy("AD_Client_ID Desc").setParameters(MSysConfig.WORKFLOW_DIRECT_DOC_ACTION, getAD_Client_ID()).first();
+		assertNotNull(config, MSysConfig.WORKFLOW_DIRECT_DOC_ACTION);
+		if (!config.getValue().equals("Y")) {
+			oldValue = config.getValue();
+			config.setValue("Y");
+			config.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = config;
+		}
+	}
+
+	@AfterEach
+	public void restoreDirect() {
+		if (sysConfig != null) {
+			sysConfig.setValue(oldValue);
+			sysConfig.saveCrossTenantSafeEx();
+			CacheMgt.get().reset();
+			sysConfig = null;
+		}
+	}
+
+	@Test
+	public void testDirectDocAction() {
+		MInOut mr = createReceipt(getTrxName());
+		ProcessInfo info = MWorkflow.runDocumentActionWorkflow(mr, DocAction.ACTION_Complete);
+		assertFalse(info.isError(), info.getSummary());
+		mr.load(getTrxName());
+		assertEquals(DocAction.STATUS_Completed, mr.getDocStatus());
+		// no persistent activity
+		assertEquals(0, getActivityCount(mr, getTrxName()));
+	}
+
+	@Test
+	public void testFailedCommitSetsInvalid() {
+		Trx trx = Trx.get(Trx.createTrxName("WFDirectDocActionTest"), true);
+		MInOut mr = null;
+		AtomicBoolean failed = new AtomicBoolean();
+		AbstractEventHandler handler = null;
+		try {
+			mr = createReceipt(trx.getTrxName());
+			trx.commit();
+			final int M_InOut_ID = mr.getM_InOut_ID();
+
+			// fail the commit of the workflow transaction once, after the document is completed
+			handler = new AbstractEventHandler() {
+				@Override
+				protected void initialize() {
+					registerTableEvent(IEventTopics.DOC_AFTER_COMPLETE, MInOut.Table_Name);
+				}
+
+				@Override
+				protected void doHandleEvent(Event event) {
+					PO po = getPO(event);
+					if (po.get_ID() != M_InOut_ID)
+						return;
+					Trx.get(po.get_TrxName(), false).addTrxEventListener(new TrxEventListener() {
+						@Override
+						public void beforeCommit(Trx trx) {
+							if (failed.compareAndSet(false, true))
+								throw new AdempiereException("WFDirectDocActionTest commit failure");
+						}
+
+						@Override
+						public void afterCommit(Trx trx, boolean success) {
+						}
+
+						@Override
+						public void afterRollback(Trx trx, boolean success) {
+						}
+
+						@Override
+						public void afterClose(Trx trx) {
+						}
+					});
+				}
+			};
+			handler.bindEventManager(Core.getEventManager());
+
+			MWorkflow wf = new MWorkflow(Env.getCtx(), WF_PROCESS_SHIPMENT, null);
+			ProcessInfo pi = new ProcessInfo(mr.getDocumentInfo(), 0, MInOut.Table_ID, M_InOut_ID);
+			pi.setAD_Client_ID(getAD_Client_ID());
+			pi.setAD_User_ID(getAD_User_ID());
+			wf.start(pi, null);
+
+			assertTrue(failed.get(), "Commit not failed");
+			assertTrue(pi.isError(), pi.getSummary());
+			mr.load((String)null);
+			assertEquals(DocAction.STATUS_Invalid, mr.getDocStatus());
+			assertEquals(0, getActivityCount(mr, null));
+		} catch (Exception e) {
+			throw new AdempiereException(e);
+		} finally {
+			if (handler != null)
+				Core.getEventManager().unregister(handler);
+			trx.rollback();
+			trx.close();
+			if (mr != null && mr.getM_InOut_ID() > 0) {
+				DB.executeUpdateEx("DELETE FROM AD_WF_Process WHERE AD_Table_ID=? AND Record_ID=?", new Object[] {MInOut.Table_ID, mr.getM_InOut_ID()}, null);
+				mr.set_TrxName(null);
+				mr.load((String)null);
+				mr.deleteEx(true);
+			}
+		}
+	}
+
+	@Test
+	public void testFallbackForAndSplit() {
+		MWFNode node = createNode(0);
+		node.setSplitElement(MWFNode.SPLITELEMENT_AND);
+		node.saveEx();
+		assertFallback();
+	}
+
+	@Test
+	public void testFallbackForAndJoin() {
+		MWFNode node = createNode(0);
+		node.setJoinElement(MWFNode.JOINELEMENT_AND);
+		node.saveEx();
+		assertFallback();
+	}
+
+	@Test
+	public void testFallbackForSleep() {
+		MWFNode node = createNode(5);
+		node.saveEx();
+		assertFallback();
+	}
+
+	/**
+	 * Unreachable wait node of the shipment workflow, not saved
+	 * @param waitTime
+	 * @return node
+	 */
+	private MWFNode createNode(int waitTime) {
+		MWFNode node = new MWFNode(new MWorkflow(Env.getCtx(), WF_PROCESS_SHIPMENT, getTrxName()), "WFDirectDocActionTest", "WFDirectDocActionTest");
+		node.setClientOrg(getAD_Client_ID(), 0);
+		node.setAction(MWFNode.ACTION_WaitSleep);
+		node.setWaitTime(waitTime);
+		return node;
+	}
+
+	/**
+	 * Complete receipt with the workflow (and its node of the test transaction),
+	 * the workflow engine runs it with persistent activities
+	 */
+	private void assertFallback() {
+		MInOut mr = createReceipt(getTrxName());
+		MWorkflow wf = new MWorkflow(Env.getCtx(), WF_PROCESS_SHIPMENT, getTrxName());
+		ProcessInfo pi = new ProcessInfo(mr.getDocumentInfo(), 0, MInOut.Table_ID, mr.getM_InOut_ID());
+		pi.setAD_Client_ID(getAD_Client_ID());
+		pi.setAD_User_ID(getAD_User_ID());
+		pi.setTransactionName(getTrxName());
+		pi.setPO(mr);
+		assertNotNull(wf.start(pi, getTrxName()), pi.getSummary());
+		assertFalse(pi.isError(), pi.getSummary());
+		mr.load(getTrxName());
+		assertEquals(DocAction.STATUS_Completed, mr.getDocStatus());
+		assertTrue(getActivityCount(mr, getTrxName()) > 0, "No persistent activity");
+	}
+
+	/**
+	 * @param trxName
+	 * @return drafted material receipt of one line
+	 */
+	private MInOut createReceipt(String trxName) {
+		MInOut mr = new MInOut(Env.getCtx(), 0, trxName);
+		mr.setBPartner(MBPartner.get(Env.getCtx(), DictionaryIDs.C_BPartner.PATIO.id));
+		mr.setC_BPartner_Location_ID(LOCATION_FROM_PATIO);
+		mr.setM_Warehouse_ID(DictionaryIDs.M_Warehouse.HQ.id);
+		mr.setC_DocType_ID(DictionaryIDs.C_DocType.MM_RECEIPT.id);
+		mr.setIsSOTrx(false);
+		mr.setMovementType(MInOut.MOVEMENTTYPE_VendorReceipts);
+		mr.setDocStatus(DocAction.STATUS_Drafted);
+		mr.setDocAction(DocAction.ACTION_Complete);
+		Timestamp today = TimeUtil.getDay(System.currentTimeMillis());
+		mr.setDateOrdered(today);
+		mr.saveEx();
+
+		MInOutLine line = new MInOutLine(mr);
+		line.setLine(10);
+		line.setProduct(MProduct.get(Env.getCtx(), DictionaryIDs.M_Product.SEEDER.id));
+		line.setQty(new BigDecimal("1"));
+		line.setM_Locator_ID(DictionaryIDs.M_Locator.HQ.id);
+		line.saveEx();
+		return mr;
+	}
+
+	/**
+	 * @param mr
+	 * @param trxName
+	 * @return number of workflow activities of receipt
+	 */
+	private int getActivityCount(MInOut mr, String trxName) {
+		return DB.getSQLValueEx(trxName, "SELECT COUNT(*) FROM AD_WF_Activity WHERE AD_Table_ID=? AND Record_ID=?", MInOut.Table_ID, mr.getM_InOut_ID());
+	}
+}
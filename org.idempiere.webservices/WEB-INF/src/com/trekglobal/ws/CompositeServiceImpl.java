@@ -14,11 +14,21 @@
 package com.trekglobal.ws;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 import javax.jws.WebService;
+import javax.servlet.http.HttpServletRequest;
 
+import org.adempiere.exceptions.AdempiereException;
+import org.compiere.Adempiere;
+import org.compiere.model.MSysConfig;
 import org.compiere.util.CLogger;
+import org.compiere.util.Env;
 import org.compiere.util.Trx;
 import org.idempiere.adInterface.x10.ADLoginRequest;
 import org.idempiere.adInterface.x10.CompositeRequest;
@@ -26,6 +36,9 @@ import org.idempiere.adInterface.x10.CompositeRequestDocument;
 import org.idempiere.adInterface.x10.CompositeResponse;
 import org.idempiere.adInterface.x10.CompositeResponses;
 import org.idempiere.adInterface.x10.CompositeResponsesDocument;
+import org.idempiere.adInterface.x10.DataField;
+import org.idempiere.adInterface.x10.DataRow;
+import org.idempiere.adInterface.x10.ModelCRUD;
 import org.idempiere.adInterface.x10.ModelCRUDRequest;
 import org.idempiere.adInterface.x10.ModelCRUDRequestDocument;
 import org.idempiere.adInterface.x10.ModelRunProcessRequest;
@@ -44,7 +57,11 @@ import org.idempiere.webservices.AbstractService;
 
 
 /**
- * Composite service interface for combining request and transaction management
+ * Composite service interface for combining request and transaction management.<br/>
+ * Each operations element runs in its own transaction. With {@link MSysConfig#WEBSERVICE_COMPOSITE_MAX_THREADS} &gt; 1,
+ * consecutive operations elements that don't reference request variables (@Table.Column@, @Variable@ or recordIDVariable)
+ * are independent of the operations before them and run in parallel, each with a copy of the request context.
+ * Responses keep the order of the request.
  * 
  * @author Deepak Pansheriya
  * 
@@ -92,29 +109,25 @@ public class CompositeServiceImpl extends AbstractService implements CompositeSe
 			Trx trx = Trx.get(trxName, true);
 			trx.setDisplayName(getClass().getName()+"_"+webServiceName+"_compositeOperation");
 	
+			int maxThreads = MSysConfig.getIntValue(MSysConfig.WEBSERVICE_COMPOSITE_MAX_THREADS, 1, reqlogin.getClientID());
 			try {
 				modelADService.setLocalTrxName(trxName);
 		
 				Operations operationsArr[] = req.getOperationsArray();
+				List<Operations> parallel = new ArrayList<Operations>();
 		
 				for (Operations operations : operationsArr) {
 					Operation operationArr[] = operations.getOperationArray();
 					if (operationArr.length > 0) {
-						CompositeResponse compResp = resps.addNewCompositeResponse();
-						ArrayList<StandardResponse> respAggregator = new ArrayList<StandardResponse>();
-						try {
-							boolean isSuccess = performOperations(trx, operationArr, modelADService, compResp, respAggregator, reqlogin);
-			
-							// Committing after each operation set
-							if (isSuccess) {
-								commitTrx(trx, compResp, respAggregator, "Cannot commit at end of process", false);
-							}
-						} catch (RuntimeException e) {
-							rollbackAndSetError(trx, compResp, respAggregator, e.getLocalizedMessage());
-							throw e;
-						}		
+						if (maxThreads > 1 && isIndependent(operations)) {
+							parallel.add(operations);
+							continue;
+						}
+						performParallel(parallel, maxThreads, trx, modelADService, resps, reqlogin);
+						performOperations(trx, operationArr, modelADService, resps.addNewCompositeResponse(), reqlogin);
 					}
 				}
+				performParallel(parallel, maxThreads, trx, modelADService, resps, reqlogin);
 			} finally {
 				trx.close();
 			}
@@ -125,6 +138,187 @@ public class CompositeServiceImpl extends AbstractService implements CompositeSe
 		}
 	}
 
+	/**
+	 * Perform operations element and commit
+	 * @param trx
+	 * @param operationArr
+	 * @param modelADService
+	 * @param compResp
+	 * @param reqlogin
+	 */
+	private void performOperations(Trx trx, Operation operationArr[], ModelADServiceImpl modelADService, CompositeResponse compResp,
+			ADLoginRequest reqlogin) {
+		ArrayList<StandardResponse> respAggregator = new ArrayList<StandardResponse>();
+		try {
+			boolean isSuccess = performOperations(trx, operationArr, modelADService, compResp, respAggregator, reqlogin);
+
+			// Committing after each operation set
+			if (isSuccess) {
+				commitTrx(trx, compResp, respAggregator, "Cannot commit at end of process", false);
+			}
+		} catch (RuntimeException e) {
+			rollbackAndSetError(trx, compResp, respAggregator, e.getLocalizedMessage());
+			throw e;
+		}
+	}
+
+	/**
+	 * Perform independent operations elements in parallel, each in its own transaction.<br/>
+	 * Responses are added in the order of operationsList, request variables of the operations are added to the
+	 * request Ctx in the same order. The first runtime exception (in order) is thrown after all operations completed.<br/>
+	 * Once an operations element has failed with a runtime exception, the operations elements not yet started are
+	 * skipped. Unlike sequential execution, operations elements after the failing one that were already running
+	 * are completed and committed.<br/>
+	 * If the thread pool rejects an operations element, it is performed in the calling thread with the transaction
+	 * and service of the composite request.
+	 * @param operationsList independent operations elements, cleared after execution
+	 * @param maxThreads maximum number of operations elements running at a time
+	 * @param trx transaction of composite request, for single operations element
+	 * @param modelADService service of composite request, for single operations element
+	 * @param resps
+	 * @param reqlogin
+	 */
+	private void performParallel(List<Operations> operationsList, int maxThreads, Trx trx, ModelADServiceImpl modelADService,
+			CompositeResponses resps, ADLoginRequest reqlogin) {
+		if (operationsList.isEmpty())
+			return;
+		if (operationsList.size() == 1) {
+			performOperations(trx, operationsList.get(0).getOperationArray(), modelADService, resps.addNewCompositeResponse(), reqlogin);
+			operationsList.clear();
+			return;
+		}
+
+		int size = operationsList.size();
+		CompositeResponse results[] = new CompositeResponse[size];
+		RuntimeException errors[] = new RuntimeException[size];
+		HttpServletRequest workerReqs[] = new HttpServletRequest[size];
+		Semaphore permits = new Semaphore(maxThreads);
+		AtomicBoolean failed = new AtomicBoolean();
+		try {
+			for (int i = 0; i < size; i++) {
+				permits.acquire();
+				if (failed.get()) {
+					permits.release();
+					break;
+				}
+				final int index = i;
+				final Operations operations = (Operations) operationsList.get(i).copy();
+				final HttpServletRequest workerReq = createWorkerRequest();
+				final Properties ctx = new Properties();
+				ctx.putAll(Env.getCtx());
+				workerReqs[i] = workerReq;
+				results[i] = CompositeResponse.Factory.newInstance();
+				try {
+					Adempiere.getThreadPoolExecutor().submit(() -> {
+						try {
+							connectWorker(workerReq, ctx);
+							if (!failed.get())
+								performWorkerOperations(operations, workerReq, results[index], reqlogin);
+						} catch (RuntimeException e) {
+							errors[index] = e;
+							failed.set(true);
+						} finally {
+							disconnectWorker(workerReq);
+							permits.release();
+						}
+					});
+				} catch (RejectedExecutionException e) {
+					permits.release();
+					// perform in calling thread, request variables are set directly in request Ctx
+					workerReqs[i] = null;
+					try {
+						performOperations(trx, operations.getOperationArray(), modelADService, results[i], reqlogin);
+					} catch (RuntimeException ex) {
+						errors[i] = ex;
+						failed.set(true);
+					}
+				}
+			}
+			permits.acquire(maxThreads);	//	wait for completion
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AdempiereException(e);
+		} finally {
+			operationsList.clear();
+		}
+
+		// an operations element not started is always after a failed one, the loop ends before reaching it
+		for (int i = 0; i < size; i++) {
+			resps.addNewCompositeResponse().set(results[i]);
+			if (workerReqs[i] != null)
+				mergeWorkerRequest(workerReqs[i]);
+			if (errors[i] != null)
+				throw errors[i];
+		}
+	}
+
+	/**
+	 * Perform operations element in worker thread, with its own transaction and service
+	 * @param operations
+	 * @param workerReq
+	 * @param compResp
+	 * @param reqlogin
+	 */
+	private void performWorkerOperations(Operations operations, HttpServletRequest workerReq, CompositeResponse compResp, ADLoginRequest reqlogin) {
+		ModelADServiceImpl modelADService = new ModelADServiceImpl(null, null);
+		modelADService.setWorkerRequest(workerReq);
+
+		String trxName = Trx.createTrxName(webServiceName);
+		Trx trx = Trx.get(trxName, true);
+		trx.setDisplayName(getClass().getName()+"_"+webServiceName+"_compositeOperation");
+		try {
+			modelADService.setLocalTrxName(trxName);
+			performOperations(trx, operations.getOperationArray(), modelADService, compResp, reqlogin);
+		} finally {
+			trx.close();
+		}
+	}
+
+	/**
+	 * Operations element is independent of previous operations if it doesn't use request variables
+	 * (context variables @#Name@ are allowed)
+	 * @param operations
+	 * @return true if independent
+	 */
+	private boolean isIndependent(Operations operations) {
+		for (Operation operation : operations.getOperationArray()) {
+			ModelCRUD crud = operation.getModelCRUD();
+			if (crud != null) {
+				if (isVariable(crud.getRecordIDVariable()) || hasVariable(crud.getDataRow()))
+					return false;
+				if (crud.getFilter() != null && crud.getFilter().indexOf('@') >= 0)
+					return false;
+			}
+			if (operation.getModelSetDocAction() != null && isVariable(operation.getModelSetDocAction().getRecordIDVariable()))
+				return false;
+			if (operation.getModelRunProcess() != null && hasVariable(operation.getModelRunProcess().getParamValues()))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param dataRow
+	 * @return true if a field value is a request variable
+	 */
+	private boolean hasVariable(DataRow dataRow) {
+		if (dataRow == null)
+			return false;
+		for (DataField field : dataRow.getFieldArray()) {
+			if (isVariable(field.getVal()))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @param value
+	 * @return true if value is a request variable (not a context variable)
+	 */
+	private boolean isVariable(String value) {
+		return value != null && value.startsWith("@") && !value.startsWith("@#");
+	}
+
 	/**
 	 * Perform operation
 	 * @param trx
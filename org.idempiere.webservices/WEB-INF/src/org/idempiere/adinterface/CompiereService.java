@@ -16,6 +16,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
@@ -81,6 +83,12 @@ public class CompiereService {
 
 	private int m_connectCount;
 
+	/** true for copy of logged in service used by a worker thread */
+	private boolean m_copy = false;
+
+	/** Context of outer connect of current thread, restored by disconnect of nested connect */
+	private static final ThreadLocal<Deque<Properties>> s_outerCtx = new ThreadLocal<Deque<Properties>>();
+
 	/**
 	 * 
 	 * @return AD_Client_ID of current request
@@ -113,14 +121,68 @@ public class CompiereService {
 		m_loggedin = false;
 		m_connectCount = 0;
 	}
+
+	/**
+	 * Copy login data of a logged in service
+	 * @param cs
+	 */
+	private CompiereService(CompiereService cs)
+	{
+		this();
+		m_AD_Client_ID = cs.m_AD_Client_ID;
+		m_AD_Org_ID = cs.m_AD_Org_ID;
+		m_AD_User_ID = cs.m_AD_User_ID;
+		m_AD_Role_ID = cs.m_AD_Role_ID;
+		m_M_Warehouse_ID = cs.m_M_Warehouse_ID;
+		m_locale = cs.m_locale;
+		m_userName = cs.m_userName;
+		m_password = cs.m_password;
+		m_expiryMinutes = cs.m_expiryMinutes;
+		m_lastAuthorizationTime = cs.m_lastAuthorizationTime;
+		m_IPAddress = cs.m_IPAddress;
+		m_loggedin = cs.m_loggedin;
+		m_language = cs.m_language;
+		m_copy = true;
+		if (m_language != null) {
+			dateFormat = DisplayType.getDateFormat(DisplayType.Date, m_language);
+			dateTimeFormat = DisplayType.getDateFormat(DisplayType.DateTime, m_language);
+			timeFormat = DisplayType.getDateFormat(DisplayType.Time, m_language);
+		}
+		dateFormatJDBC = DisplayType.getDateFormat_JDBC();
+		dateTimeFormatJDBC = DisplayType.getTimestampFormat_Default();
+		timeFormatJDBC = DisplayType.getTimeFormat_Default();
+	}
+
+	/**
+	 * Create copy of this logged in service for a worker thread of the current request.<br/>
+	 * The copy has its own date formats and is not kept in the login cache.
+	 * @return copy
+	 */
+	public synchronized CompiereService copy()
+	{
+		return new CompiereService(this);
+	}
 	
 	/**
-	 * setup request
+	 * setup request.<br/>
+	 * Nested connect in the same thread (e.g. operations of a composite request) reuses a copy of the logged in
+	 * context of the outer request, instead of login again with a new context.
 	 */
 	public void connect()
 	{
 		CompiereUtil.initWeb();
 
+		Deque<Properties> outerCtx = s_outerCtx.get();
+		if (outerCtx != null && isLoggedIn()) {
+			Properties ctx = new Properties();
+			ctx.putAll(Env.getCtx());
+			outerCtx.push(Env.getCtx());
+			ServerContext.setCurrentInstance(ctx);
+			m_connectCount++;
+			return;
+		}
+		s_outerCtx.set(new ArrayDeque<Properties>());
+
 		ServerContext.setCurrentInstance(new Properties());
 		Env.setContext(getCtx(), Env.LANGUAGE, "en_US" );
 		m_language = Language.getLanguage("en_US");
@@ -135,6 +197,19 @@ public class CompiereService {
 		m_connectCount++;
 	}
 	
+	/**
+	 * Setup request of a worker thread, e.g. for operations of a composite request running in parallel
+	 * @param ctx context for worker thread, copy of logged in context of request
+	 */
+	public void connect(Properties ctx)
+	{
+		CompiereUtil.initWeb();
+
+		s_outerCtx.set(new ArrayDeque<Properties>());
+		ServerContext.setCurrentInstance(ctx);
+		connectCacheInstance();
+	}
+
 	/**
 	 * Increase connect count
 	 */
@@ -148,9 +223,17 @@ public class CompiereService {
 	 */
 	public synchronized void disconnect() 
 	{
+		Deque<Properties> outerCtx = s_outerCtx.get();
+		if (outerCtx != null) {
+			if (outerCtx.isEmpty())
+				s_outerCtx.remove();
+			else
+				ServerContext.setCurrentInstance(outerCtx.pop());
+		}
 		m_connectCount--;
 		// TODO: create a thread that checks expired connected compiereservices and log them out
-		expungeIfExpire();		
+		if (!m_copy)
+			expungeIfExpire();		
 	}
 
 	/**
@@ -29,10 +29,12 @@
 
 package org.idempiere.adinterface;
 
+import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -54,6 +56,7 @@ import org.compiere.model.MLookupFactory;
 import org.compiere.model.MRefTable;
 import org.compiere.model.MReference;
 import org.compiere.model.MRole;
+import org.compiere.model.MSysConfig;
 import org.compiere.model.MTable;
 import org.compiere.model.PO;
 import org.compiere.model.POInfo;
@@ -125,6 +128,11 @@ public class ModelADServiceImpl extends AbstractService implements ModelADServic
 	private static final CLogger	log = CLogger.getCLogger(ModelADServiceImpl.class);
 	
 	private static String webServiceName = new String("ModelADService");
+
+	/** Fetch size of streaming response query */
+	private static final int STREAM_FETCH_SIZE = 100;
+	/** Status of streaming response when the row limit is reached */
+	private static final String STREAM_STATUS_TRUNCATED = "TRUNCATED";
 	
 	private boolean manageTrx = true;
 
@@ -484,60 +492,18 @@ public class ModelADServiceImpl extends AbstractService implements ModelADServic
 			int roleid = reqlogin.getRoleID();
 	
 	    	// Validate parameters
-			try {
-				modelGetList.setADReferenceID(validateParameter("AD_Reference_ID", modelGetList.getADReferenceID()));
-			} catch(XmlValueOutOfRangeException e) { //	Catch the exception when the Reference ID is not an Integer
-				String refUU = getUUIDValue(modelGetList.xgetADReferenceID());
-				if (refUU == null) {
-					throw e;
-				}
-				modelGetList.setADReferenceID(validateParameter("AD_Reference_ID", 0, refUU));
-			}
-			modelGetList.setFilter(validateParameter("Filter", modelGetList.getFilter()));
-	
-	    	int ref_id = modelGetList.getADReferenceID();
-	    	String filter = modelGetList.getFilter();
-	    	if (filter == null || filter.length() == 0)
-	    		filter = "";
-	    	else
-	    		filter = " AND " + filter;
+	    	validateGetList(modelGetList);
 	
-	    	CompiereService m_cs = getCompiereService();
-	    	
-	    	Properties ctx = m_cs.getCtx();
-	
-	    	MReference ref = MReference.get(ctx, ref_id);
-	    	
-	    	String sql = null;
-			ArrayList<String> listColumnNames = new ArrayList<String>();
+	    	ArrayList<String> listColumnNames = new ArrayList<String>();
+	    	ArrayList<Object> sqlParaList = new ArrayList<Object>();
+	    	String sql = buildGetListSQL(modelGetList, roleid, null, 0, listColumnNames, sqlParaList);
 			PreparedStatement pstmt = null;
 			ResultSet rs = null;
 			MWebServiceType m_webservicetype= getWebServiceType();
-	    	if (MReference.VALIDATIONTYPE_ListValidation.equals(ref.getValidationType())) {
-	    		// Fill List Reference
-	    		String ad_language = Env.getAD_Language(ctx);
-	    		boolean isBaseLanguage = Env.isBaseLanguage(ad_language, "AD_Ref_List");
-	    		sql = isBaseLanguage ?
-	    			"SELECT AD_Ref_List.AD_Ref_List_ID, AD_Ref_List.Value, AD_Ref_List.Name, AD_Ref_List.Description " +
-	    			"FROM AD_Ref_List " +
-	    			"WHERE AD_Ref_List.AD_Reference_ID=? AND AD_Ref_List.IsActive='Y' " +
-	    			filter +
-	    			" ORDER BY AD_Ref_List.Name"
-	    			:
-	       			"SELECT AD_Ref_List.AD_Ref_List_ID, AD_Ref_List.Value, AD_Ref_List_Trl.Name, AD_Ref_List_Trl.Description " +
-	       			"FROM AD_Ref_List, AD_Ref_List_Trl " +
-	       			"WHERE AD_Ref_List.AD_Reference_ID=? AND AD_Ref_List.IsActive='Y' AND AD_Ref_List_Trl.AD_Language=? AND AD_Ref_List.AD_Ref_List_ID=AD_Ref_List_Trl.AD_Ref_List_ID " +
-	       			filter +
-	       			" ORDER BY AD_Ref_List_Trl.Name";
-	    		listColumnNames.add("AD_Ref_List_ID");
-	    		listColumnNames.add("Value");
-	    		listColumnNames.add("Name");
-	    		listColumnNames.add("Description");
+	    	if (sql != null) {
 	   			try {
 	   	   			pstmt = DB.prepareStatement(sql, null);
-					pstmt.setInt(1, ref_id);
-		   			if (!isBaseLanguage)
-		   				pstmt.setString(2, ad_language);
+	   	   			DB.setParameters(pstmt, sqlParaList);
 		   			rs = pstmt.executeQuery();
 				} catch (SQLException e)
 	    		{
@@ -548,78 +514,6 @@ public class ModelADServiceImpl extends AbstractService implements ModelADServic
 	    			rs = null; pstmt = null;
 					throw new IdempiereServiceFault(e.getClass().toString() + " " + e.getMessage() + " sql=" + sql, e.getCause(), new QName("getList"));
 	    		}
-	
-	    	} else if (MReference.VALIDATIONTYPE_TableValidation.equals(ref.getValidationType())) {
-	    		// Fill values from a reference table
-	    		MRole role = MRole.get(ctx, roleid);
-	    		MRefTable rt = MRefTable.get(ctx,  ref_id);
-	    		if (rt == null || rt.get_ID() == 0)
-	    			throw new IdempiereServiceFault("Web service type "
-	    					+ m_webservicetype.getValue() + ": reference table "
-	    					+ ref_id + " not found",
-	    					new QName("getList"));
-	    		
-	    		MTable table = new MTable(ctx, rt.getAD_Table_ID(), null);
-	    		MColumn column = new MColumn(ctx, rt.getAD_Key(), null);
-	
-	    		// TODO: if any value or identifier column is translated, then get them from trl table (and client has multilanguage documents enabled)
-	    		sql = "SELECT " + column.getColumnName();
-	    		listColumnNames.add(column.getColumnName());
-	    		if (rt.isValueDisplayed()) {
-	    			sql += ",Value";
-	    			listColumnNames.add("Value");
-	    		}
-	    		
-	    		String sqlident = "SELECT ColumnName FROM AD_Column WHERE AD_Table_ID=? AND IsActive='Y' AND IsIdentifier='Y' ORDER BY SeqNo";
-	   			PreparedStatement pstmtident = null;
-	    		ResultSet rsident = null;
-	    		try
-	    		{
-	    			pstmtident = DB.prepareStatement (sqlident, null);
-	    			pstmtident.setInt (1, rt.getAD_Table_ID());
-	    			rsident = pstmtident.executeQuery ();
-	    			while (rsident.next ()) {
-	    				String colnameident = rsident.getString("ColumnName");
-	    				if (rt.isValueDisplayed() && colnameident.equalsIgnoreCase("Value")) {
-	    					// Value already added
-	    				} else {
-	            			sql += "," + colnameident;
-	            			listColumnNames.add(colnameident);
-	    				}
-	    			}
-	    		}
-	    		catch (Exception e)
-	    		{
-	    			// ignore this exception
-	    		}
-	    		finally
-	    		{
-	    			DB.close(rsident, pstmtident);
-	    			rsident = null; pstmtident = null;
-	    		}
-	    		
-	    		sql += " FROM " + table.getTableName() + " WHERE IsActive='Y'";
-	    		sql = role.addAccessSQL(sql, table.getTableName(), true, true);
-	    		sql += filter;
-	    		if (rt.getWhereClause() != null && rt.getWhereClause().length() > 0)
-	    			sql += " AND " + rt.getWhereClause();
-	    		if (rt.getOrderByClause() != null && rt.getOrderByClause().length() > 0)
-	    			sql += " ORDER BY " + rt.getOrderByClause();
-	
-	    		try {
-	   	   			pstmt = DB.prepareStatement(sql, null);
-		   			rs = pstmt.executeQuery();
-				} catch (SQLException e) {
-	    			res.setError(e.getMessage());
-	    			res.setErrorInfo(sql);
-	    			res.setSuccess(false);
-	    			DB.close(rs, pstmt);
-	    			rs = null; pstmt = null;
-					throw new IdempiereServiceFault(e.getClass().toString() + " " + e.getMessage() + " sql=" + sql, e.getCause(), new QName("getList"));
-	    		}
-	    		
-	    	} else {
-	    		// Don't fill - wrong type
 	    	}
 	
 	    	if (rs != null) {
@@ -664,6 +558,252 @@ public class ModelADServiceImpl extends AbstractService implements ModelADServic
 		}
 	} // getList
 
+	/**
+	 * Validate AD_Reference_ID and Filter of getList request
+	 * @param modelGetList
+	 */
+	private void validateGetList(ModelGetList modelGetList) {
+		try {
+			modelGetList.setADReferenceID(validateParameter("AD_Reference_ID", modelGetList.getADReferenceID()));
+		} catch(XmlValueOutOfRangeException e) { //	Catch the exception when the Reference ID is not an Integer
+			String refUU = getUUIDValue(modelGetList.xgetADReferenceID());
+			if (refUU == null) {
+				throw e;
+			}
+			modelGetList.setADReferenceID(validateParameter("AD_Reference_ID", 0, refUU));
+		}
+		modelGetList.setFilter(validateParameter("Filter", modelGetList.getFilter()));
+	}
+
+	/**
+	 * Get key column for keyset paging of getList
+	 * @param modelGetList
+	 * @return qualified key column of the list or of the ID keyed reference table, null if rows cannot be paged by key
+	 */
+	private String getListKeyColumn(ModelGetList modelGetList) {
+		Properties ctx = getCompiereService().getCtx();
+		MReference ref = MReference.get(ctx, modelGetList.getADReferenceID());
+		if (MReference.VALIDATIONTYPE_ListValidation.equals(ref.getValidationType()))
+			return "AD_Ref_List.AD_Ref_List_ID";
+		if (MReference.VALIDATIONTYPE_TableValidation.equals(ref.getValidationType())) {
+			MRefTable rt = MRefTable.get(ctx, ref.getAD_Reference_ID());
+			if (rt == null || rt.get_ID() == 0)
+				return null;
+			MTable table = MTable.get(ctx, rt.getAD_Table_ID());
+			MColumn column = MColumn.get(ctx, rt.getAD_Key());
+			if (table != null && column != null && table.isIDKeyTable()
+					&& column.getColumnName().equalsIgnoreCase(table.getKeyColumns()[0]))
+				return table.getTableName() + "." + column.getColumnName();
+		}
+		return null;
+	}
+
+	/**
+	 * Build SELECT statement of getList for a list or table validation reference
+	 * @param modelGetList
+	 * @param roleid
+	 * @param keyColumn optional key column from {@link #getListKeyColumn(ModelGetList)}, rows are ordered by it instead of the reference order
+	 * @param afterKey if &gt; 0 and keyColumn is set, only rows with key after it are selected
+	 * @param listColumnNames column names of result, filled by this method
+	 * @param sqlParaList SQL parameters, filled by this method
+	 * @return SELECT statement or null if reference is not a list or table validation
+	 */
+	private String buildGetListSQL(ModelGetList modelGetList, int roleid, String keyColumn, int afterKey, ArrayList<String> listColumnNames, ArrayList<Object> sqlParaList) {
+		int ref_id = modelGetList.getADReferenceID();
+		String filter = modelGetList.getFilter();
+		if (filter == null || filter.length() == 0)
+			filter = "";
+		else
+			filter = " AND " + filter;
+
+		Properties ctx = getCompiereService().getCtx();
+		MReference ref = MReference.get(ctx, ref_id);
+		MWebServiceType m_webservicetype= getWebServiceType();
+
+		String sql = null;
+		if (MReference.VALIDATIONTYPE_ListValidation.equals(ref.getValidationType())) {
+			// Fill List Reference
+			String ad_language = Env.getAD_Language(ctx);
+			boolean isBaseLanguage = Env.isBaseLanguage(ad_language, "AD_Ref_List");
+			sql = isBaseLanguage ?
+				"SELECT AD_Ref_List.AD_Ref_List_ID, AD_Ref_List.Value, AD_Ref_List.Name, AD_Ref_List.Description " +
+				"FROM AD_Ref_List " +
+				"WHERE AD_Ref_List.AD_Reference_ID=? AND AD_Ref_List.IsActive='Y' " +
+				filter
+				:
+				"SELECT AD_Ref_List.AD_Ref_List_ID, AD_Ref_List.Value, AD_Ref_List_Trl.Name, AD_Ref_List_Trl.Description " +
+				"FROM AD_Ref_List, AD_Ref_List_Trl " +
+				"WHERE AD_Ref_List.AD_Reference_ID=? AND AD_Ref_List.IsActive='Y' AND AD_Ref_List_Trl.AD_Language=? AND AD_Ref_List.AD_Ref_List_ID=AD_Ref_List_Trl.AD_Ref_List_ID " +
+				filter;
+			listColumnNames.add("AD_Ref_List_ID");
+			listColumnNames.add("Value");
+			listColumnNames.add("Name");
+			listColumnNames.add("Description");
+			sqlParaList.add(ref_id);
+			if (!isBaseLanguage)
+				sqlParaList.add(ad_language);
+			if (keyColumn != null)
+				sql += getListKeysetSQL(keyColumn, afterKey, sqlParaList);
+			else
+				sql += isBaseLanguage ? " ORDER BY AD_Ref_List.Name" : " ORDER BY AD_Ref_List_Trl.Name";
+		} else if (MReference.VALIDATIONTYPE_TableValidation.equals(ref.getValidationType())) {
+			// Fill values from a reference table
+			MRole role = MRole.get(ctx, roleid);
+			MRefTable rt = MRefTable.get(ctx,  ref_id);
+			if (rt == null || rt.get_ID() == 0)
+				throw new IdempiereServiceFault("Web service type "
+						+ m_webservicetype.getValue() + ": reference table "
+						+ ref_id + " not found",
+						new QName("getList"));
+
+			MTable table = new MTable(ctx, rt.getAD_Table_ID(), null);
+			MColumn column = new MColumn(ctx, rt.getAD_Key(), null);
+
+			// TODO: if any value or identifier column is translated, then get them from trl table (and client has multilanguage documents enabled)
+			sql = "SELECT " + column.getColumnName();
+			listColumnNames.add(column.getColumnName());
+			if (rt.isValueDisplayed()) {
+				sql += ",Value";
+				listColumnNames.add("Value");
+			}
+
+			String sqlident = "SELECT ColumnName FROM AD_Column WHERE AD_Table_ID=? AND IsActive='Y' AND IsIdentifier='Y' ORDER BY SeqNo";
+			PreparedStatement pstmtident = null;
+			ResultSet rsident = null;
+			try
+			{
+				pstmtident = DB.prepareStatement (sqlident, null);
+				pstmtident.setInt (1, rt.getAD_Table_ID());
+				rsident = pstmtident.executeQuery ();
+				while (rsident.next ()) {
+					String colnameident = rsident.getString("ColumnName");
+					if (rt.isValueDisplayed() && colnameident.equalsIgnoreCase("Value")) {
+						// Value already added
+					} else {
+						sql += "," + colnameident;
+						listColumnNames.add(colnameident);
+					}
+				}
+			}
+			catch (Exception e)
+			{
+				// ignore this exception
+			}
+			finally
+			{
+				DB.close(rsident, pstmtident);
+				rsident = null; pstmtident = null;
+			}
+
+			sql += " FROM " + table.getTableName() + " WHERE IsActive='Y'";
+			sql = role.addAccessSQL(sql, table.getTableName(), true, true);
+			sql += filter;
+			if (rt.getWhereClause() != null && rt.getWhereClause().length() > 0)
+				sql += " AND " + rt.getWhereClause();
+			if (keyColumn != null)
+				sql += getListKeysetSQL(keyColumn, afterKey, sqlParaList);
+			else if (rt.getOrderByClause() != null && rt.getOrderByClause().length() > 0)
+				sql += " ORDER BY " + rt.getOrderByClause();
+		} else {
+			// Don't fill - wrong type
+		}
+		return sql;
+	}
+
+	/**
+	 * @param keyColumn
+	 * @param afterKey
+	 * @param sqlParaList
+	 * @return key condition (if afterKey &gt; 0) and ORDER BY key
+	 */
+	private String getListKeysetSQL(String keyColumn, int afterKey, ArrayList<Object> sqlParaList) {
+		String sql = "";
+		if (afterKey > 0) {
+			sql += " AND " + keyColumn + ">?";
+			sqlParaList.add(afterKey);
+		}
+		return sql + " ORDER BY " + keyColumn;
+	}
+
+	/**
+	 * Streaming version of {@link #getList(ModelGetListRequestDocument)}, rows are written to writer as they are read.<br/>
+	 * Number of rows is limited by {@link MSysConfig#WEBSERVICE_STREAM_MAX_ROWS}.<br/>
+	 * For a list reference or a table reference with the single ID key of its table, rows are ordered by key and Status of
+	 * the response is the key of the last row when the limit is reached; the client passes it as afterKey of the next request
+	 * to continue after that row (keyset paging). For other references, Status is TRUNCATED when the limit is reached.
+	 * @param req
+	 * @param writer
+	 * @param afterKey continue after the row with this key, 0 to start from first row
+	 * @throws IOException
+	 */
+	public void getList(ModelGetListRequestDocument req, WindowTabDataWriter writer, int afterKey) throws IOException {
+		Trx trx = null;
+		PreparedStatement pstmt = null;
+		ResultSet rs = null;
+		String sql = null;
+		try {
+			getCompiereService().connect();
+
+			ModelGetList modelGetList = req.getModelGetListRequest().getModelGetList();
+			String serviceType = modelGetList.getServiceType();
+			ADLoginRequest reqlogin = req.getModelGetListRequest().getADLoginRequest();
+			String err = login(reqlogin, webServiceName, "getList", serviceType);
+			if (err != null && err.length() > 0) {
+				writer.writeError(err);
+				return;
+			}
+
+			validateGetList(modelGetList);
+			ArrayList<String> listColumnNames = new ArrayList<String>();
+			ArrayList<Object> sqlParaList = new ArrayList<Object>();
+			String keyColumn = getListKeyColumn(modelGetList);
+			sql = buildGetListSQL(modelGetList, reqlogin.getRoleID(), keyColumn, afterKey, listColumnNames, sqlParaList);
+			MWebServiceType m_webservicetype = getWebServiceType();
+			int maxRows = getStreamMaxRows();
+
+			writer.startDocument(1);
+			int cnt = 0;
+			boolean truncated = false;
+			String lastKey = null;
+			if (sql != null) {
+				// fetch size is ignored by PostgreSQL driver in auto commit mode
+				trx = Trx.get(Trx.createTrxName("ws_modelGetList"), true);
+				trx.setDisplayName(getClass().getName()+"_"+webServiceName+"_getList");
+				pstmt = DB.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, trx.getTrxName());
+				pstmt.setFetchSize(STREAM_FETCH_SIZE);
+				DB.setParameters(pstmt, sqlParaList);
+				rs = pstmt.executeQuery();
+				while (rs.next()) {
+					if (cnt >= maxRows) {
+						truncated = true;
+						break;
+					}
+					cnt++;
+					writer.startRow();
+					for (String listColumnName : listColumnNames) {
+						if (m_webservicetype.isOutputColumnNameAllowed(listColumnName))
+							writer.writeField(listColumnName, rs.getString(listColumnName));
+					}
+					writer.endRow();
+					if (keyColumn != null)
+						lastKey = rs.getString(listColumnNames.get(0));
+				}
+			}
+			writer.endDocument(cnt, true, null, truncated ? (keyColumn != null ? lastKey : STREAM_STATUS_TRUNCATED) : null);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			log.log(Level.SEVERE, e.getLocalizedMessage() + (sql != null ? " sql=" + sql : ""), e);
+			writer.endDocument(writer.getRowCount(), false, e.getLocalizedMessage(), null);
+		} finally {
+			DB.close(rs, pstmt);
+			rs = null; pstmt = null;
+			if (trx != null)
+				trx.close();
+			getCompiereService().disconnect();
+		}
+	} // getList
+
 	public StandardResponseDocument deleteData(ModelCRUDRequestDocument req) {
 		Trx trx = null;
 		try {
@@ -1439,7 +1579,6 @@ public class ModelADServiceImpl extends AbstractService implements ModelADServic
 			
 	    	Properties ctx = m_cs.getCtx();
 	    	String tableName = modelCRUD.getTableName();
-	    	Map<String, Object> reqCtx = getRequestCtx();
 	    	MWebServiceType  m_webservicetype = getWebServiceType();
 	    	// get the PO for the tablename and record ID
 	    	MTable table = MTable.get(ctx, tableName);
@@ -1463,60 +1602,10 @@ public class ModelADServiceImpl extends AbstractService implements ModelADServic
 			if (manageTrx)
 				trx.setDisplayName(getClass().getName()+"_"+webServiceName+"_queryData");
 			
-	    	StringBuilder sqlBuilder = new StringBuilder(role.addAccessSQL("SELECT * FROM " + tableName, tableName, true, MRole.SQL_RO));
-			
 			ArrayList<Object> sqlParaList = new ArrayList<Object>();
-			PO holderPo = table.getPO(0, trxName);
+			StringBuilder sqlBuilder = buildQueryDataSQL(modelCRUD, table, role, trx, sqlParaList);
 			POInfo poinfo = POInfo.getPOInfo(ctx, table.getAD_Table_ID());
 			
-			if (modelCRUD.getDataRow() != null)
-			{
-				DataRow dr = modelCRUD.getDataRow();
-				DataField fields[] = dr.getFieldArray();
-				StandardResponseDocument stdRet = StandardResponseDocument.Factory.newInstance();
-				StandardResponse stdResp = stdRet.addNewStandardResponse();
-		
-				StandardResponseDocument retResp = invokeWSValidator(m_webservicetype, IWSValidator.TIMING_BEFORE_PARSE, holderPo, fields, trx,
-						reqCtx, stdResp, stdRet);
-				if (retResp != null){
-					throw new IdempiereServiceFault(retResp.getStandardResponse().getError(), new QName("queryData"));
-				}
-		
-				retResp = scanFields(fields, m_webservicetype, holderPo, poinfo, trx, stdResp, stdRet);
-				
-				if (retResp != null){
-					throw new IdempiereServiceFault(retResp.getStandardResponse().getError(), new QName("queryData"));
-				}
-		
-				
-				for (DataField field : modelCRUD.getDataRow().getFieldArray()) {
-		    		if (m_webservicetype.isInputColumnNameAllowed(field.getColumn())) {
-		    			
-		    			// Jan Thielemann Solution for query using the sentence like
-		    			X_WS_WebServiceFieldInput inputField = m_webservicetype.getFieldInput(field.getColumn());
-		    			I_AD_Column col = inputField.getAD_Column();		    			
-		    			String sqlType = DisplayType.getSQLDataType(col.getAD_Reference_ID(), col.getColumnName(), col.getFieldLength());		    					
-		    			if(sqlType.contains("CHAR"))
-		    				sqlBuilder.append(" AND ").append(field.getColumn()).append(" LIKE ?");
-		    			else
-		    				sqlBuilder.append(" AND ").append(field.getColumn()).append("=?");
-		    			
-		    			sqlParaList.add(holderPo.get_Value(field.getColumn()));
-				    	// End Jan Thielemann Solution for query using the sentence like		    			
-		    		}else if(m_webservicetype.getFieldInput(field.getColumn())==null){
-		    			//If not even ctx variable column
-						throw new IdempiereServiceFault("Web service type "
-								+ m_webservicetype.getValue() + ": input column "
-								+ field.getColumn() + " not allowed", new QName("queryData"));
-		    		}
-				}
-			}
-			
-			if (modelCRUD.getFilter() != null && modelCRUD.getFilter().length() > 0){
-				String sql = parseSQL(" WHERE " + modelCRUD.getFilter(), sqlParaList, holderPo, poinfo, reqCtx);
-				sqlBuilder.append(" AND ").append(sql.substring(6));
-			}
-			
 	    	int cnt = 0;
 	    	int rowCnt = 0;
 			int offset = modelCRUD.getOffset();
@@ -1576,4 +1665,205 @@ public class ModelADServiceImpl extends AbstractService implements ModelADServic
 			getCompiereService().disconnect();
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Build SELECT statement of queryData for the DataRow and Filter of a request
+	 * @param modelCRUD
+	 * @param table
+	 * @param role
+	 * @param trx
+	 * @param sqlParaList SQL parameters, filled by this method
+	 * @return SELECT statement
+	 */
+	private StringBuilder buildQueryDataSQL(ModelCRUD modelCRUD, MTable table, MRole role, Trx trx, ArrayList<Object> sqlParaList) {
+		String tableName = table.getTableName();
+		StringBuilder sqlBuilder = new StringBuilder(role.addAccessSQL("SELECT * FROM " + tableName, tableName, true, MRole.SQL_RO));
+		Map<String, Object> reqCtx = getRequestCtx();
+		MWebServiceType m_webservicetype = getWebServiceType();
+		PO holderPo = table.getPO(0, trx.getTrxName());
+		POInfo poinfo = POInfo.getPOInfo(getCompiereService().getCtx(), table.getAD_Table_ID());
+		
+		if (modelCRUD.getDataRow() != null)
+		{
+			DataRow dr = modelCRUD.getDataRow();
+			DataField fields[] = dr.getFieldArray();
+			StandardResponseDocument stdRet = StandardResponseDocument.Factory.newInstance();
+			StandardResponse stdResp = stdRet.addNewStandardResponse();
+	
+			StandardResponseDocument retResp = invokeWSValidator(m_webservicetype, IWSValidator.TIMING_BEFORE_PARSE, holderPo, fields, trx,
+					reqCtx, stdResp, stdRet);
+			if (retResp != null){
+				throw new IdempiereServiceFault(retResp.getStandardResponse().getError(), new QName("queryData"));
+			}
+	
+			retResp = scanFields(fields, m_webservicetype, holderPo, poinfo, trx, stdResp, stdRet);
+			
+			if (retResp != null){
+				throw new IdempiereServiceFault(retResp.getStandardResponse().getError(), new QName("queryData"));
+			}
+	
+			
+			for (DataField field : modelCRUD.getDataRow().getFieldArray()) {
+	    		if (m_webservicetype.isInputColumnNameAllowed(field.getColumn())) {
+	    			
+	    			// Jan Thielemann Solution for query using the sentence like
+	    			X_WS_WebServiceFieldInput inputField = m_webservicetype.getFieldInput(field.getColumn());
+	    			I_AD_Column col = inputField.getAD_Column();		    			
+	    			String sqlType = DisplayType.getSQLDataType(col.getAD_Reference_ID(), col.getColumnName(), col.getFieldLength());		    					
+	    			if(sqlType.contains("CHAR"))
+	    				sqlBuilder.append(" AND ").append(field.getColumn()).append(" LIKE ?");
+	    			else
+	    				sqlBuilder.append(" AND ").append(field.getColumn()).append("=?");
+	    			
+	    			sqlParaList.add(holderPo.get_Value(field.getColumn()));
+			    	// End Jan Thielemann Solution for query using the sentence like		    			
+	    		}else if(m_webservicetype.getFieldInput(field.getColumn())==null){
+	    			//If not even ctx variable column
+					throw new IdempiereServiceFault("Web service type "
+							+ m_webservicetype.getValue() + ": input column "
+							+ field.getColumn() + " not allowed", new QName("queryData"));
+	    		}
+			}
+		}
+		
+		if (modelCRUD.getFilter() != null && modelCRUD.getFilter().length() > 0){
+			String sql = parseSQL(" WHERE " + modelCRUD.getFilter(), sqlParaList, holderPo, poinfo, reqCtx);
+			sqlBuilder.append(" AND ").append(sql.substring(6));
+		}
+		return sqlBuilder;
+	}
+
+	/**
+	 * Streaming version of {@link #queryData(ModelCRUDRequestDocument)}, rows are written to writer as they are read.<br/>
+	 * Offset and Limit are pushed down to the database with paging SQL, Limit is capped by {@link MSysConfig#WEBSERVICE_STREAM_MAX_ROWS}.<br/>
+	 * For table with a single ID key, rows are ordered by key and Status of the response is the key of the last row when
+	 * there are more rows; the client passes it as RecordID of the next request to continue after that row (keyset paging,
+	 * Offset is then ignored).
+	 * @param req
+	 * @param writer
+	 * @throws IOException
+	 */
+	public void queryData(ModelCRUDRequestDocument req, WindowTabDataWriter writer) throws IOException {
+		Trx trx=null;
+		PreparedStatement pstmtquery = null;
+		ResultSet rsquery = null;
+		String sql = null;
+		try {
+			getCompiereService().connect();
+
+			CompiereService m_cs = getCompiereService();
+			ModelCRUD modelCRUD = req.getModelCRUDRequest().getModelCRUD();
+			String serviceType = modelCRUD.getServiceType();
+
+			ADLoginRequest reqlogin = req.getModelCRUDRequest().getADLoginRequest();
+			String err = login(reqlogin, webServiceName, "queryData", serviceType);
+			if (err != null && err.length() > 0) {
+				writer.writeError(err);
+				return;
+			}
+
+			// Validate parameters vs service type
+			validateCRUD(modelCRUD);
+
+			Properties ctx = m_cs.getCtx();
+			String tableName = modelCRUD.getTableName();
+			MWebServiceType  m_webservicetype = getWebServiceType();
+			MTable table = MTable.get(ctx, tableName);
+			if (table == null)
+				throw new IdempiereServiceFault("Web service type "
+						+ m_webservicetype.getValue() + ": table "
+						+ tableName + " not found",
+						new QName("queryData"));
+
+			MRole role = MRole.get(ctx, reqlogin.getRoleID());
+
+			// start a trx
+			String trxName = localTrxName;
+			if (trxName == null) {
+				trxName = Trx.createTrxName("ws_modelQueryData");
+				manageTrx = true;
+			}
+			trx = Trx.get(trxName, true);
+			if (manageTrx)
+				trx.setDisplayName(getClass().getName()+"_"+webServiceName+"_queryData");
+
+			ArrayList<Object> sqlParaList = new ArrayList<Object>();
+			StringBuilder sqlBuilder = buildQueryDataSQL(modelCRUD, table, role, trx, sqlParaList);
+			POInfo poinfo = POInfo.getPOInfo(ctx, table.getAD_Table_ID());
+
+			int offset = Math.max(modelCRUD.getOffset(), 0);
+			int maxRows = getStreamMaxRows();
+			int limit = modelCRUD.getLimit() > 0 ? Math.min(modelCRUD.getLimit(), maxRows) : maxRows;
+			String keyColumn = table.isIDKeyTable() ? table.getKeyColumns()[0] : null;
+			if (keyColumn != null) {
+				if (modelCRUD.getRecordID() > 0) {
+					sqlBuilder.append(" AND ").append(keyColumn).append(">?");
+					sqlParaList.add(modelCRUD.getRecordID());
+					offset = 0;
+				}
+				sqlBuilder.append(" ORDER BY ").append(keyColumn);
+			}
+			// one more row to know if there are more rows
+			sql = sqlBuilder.toString();
+			boolean paging = DB.getDatabase().isPagingSupported();
+			if (paging)
+				sql = DB.getDatabase().addPagingSQL(sql, offset+1, (int) Math.min((long) offset+limit+1, Integer.MAX_VALUE));
+
+			pstmtquery = DB.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, trxName);
+			pstmtquery.setFetchSize(STREAM_FETCH_SIZE);
+			DB.setParameters(pstmtquery, sqlParaList);
+			rsquery = pstmtquery.executeQuery();
+
+			writer.startDocument(offset);
+			int skipped = 0;
+			int rowCnt = 0;
+			boolean more = false;
+			String lastKey = null;
+			while (rsquery.next()) {
+				if (!paging && skipped < offset) {
+					skipped++;
+					continue;
+				}
+				if (rowCnt >= limit) {
+					more = true;
+					break;
+				}
+				rowCnt++;
+				writer.startRow();
+				for (int i = 0; i < poinfo.getColumnCount(); i++) {
+					String columnName = poinfo.getColumnName(i);
+					if (m_webservicetype.isOutputColumnNameAllowed(columnName)) {
+						if(rsquery.getObject(columnName) instanceof byte[])
+							writer.writeField(columnName, new String(Base64.encodeBase64(rsquery.getBytes(columnName))));
+						else
+							writer.writeField(columnName, rsquery.getString(columnName));
+					}
+				}
+				writer.endRow();
+				if (keyColumn != null)
+					lastKey = rsquery.getString(keyColumn);
+			}
+			writer.endDocument(rowCnt, true, null, more ? (keyColumn != null ? lastKey : STREAM_STATUS_TRUNCATED) : null);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			log.log(Level.SEVERE, e.getLocalizedMessage() + (sql != null ? " sql=" + sql : ""), e);
+			writer.endDocument(writer.getRowCount(), false, e.getLocalizedMessage(), null);
+		} finally {
+			DB.close(rsquery, pstmtquery);
+			rsquery = null; pstmtquery = null;
+			if (manageTrx && trx != null)
+				trx.close();
+
+			getCompiereService().disconnect();
+		}
+	}
+
+	/**
+	 * @return maximum number of rows of a streaming response
+	 */
+	private int getStreamMaxRows() {
+		int maxRows = MSysConfig.getIntValue(MSysConfig.WEBSERVICE_STREAM_MAX_ROWS, 100000, Env.getAD_Client_ID(getCompiereService().getCtx()));
+		return maxRows > 0 ? maxRows : Integer.MAX_VALUE;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.adinterface;
+
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.apache.cxf.jaxrs.ext.MessageContext;
+import org.idempiere.adInterface.x10.ModelCRUDRequestDocument;
+import org.idempiere.adInterface.x10.ModelGetListRequestDocument;
+
+/**
+ * REST resource for streaming response of queryData and getList.<br/>
+ * Request is the same as /model_adservice/query_data and /model_adservice/get_list, response rows are written
+ * by {@link WindowTabDataWriter} as they are read from the database, as XML or JSON depending on the Accept header.<br/>
+ * get_list continues after the row with the key given by the afterKey query parameter (Status of the previous response).
+ */
+@Path("/model_adservice_stream/")
+@Consumes({"application/xml", "application/json"})
+@Produces({"application/xml", "application/json"})
+public class ModelADStreamServiceImpl {
+
+	@Context
+	protected MessageContext jaxrsContext;
+
+	@POST
+	@Path("/query_data")
+	public Response queryData(ModelCRUDRequestDocument req) {
+		final boolean json = isJSON();
+		StreamingOutput output = os -> {
+			WindowTabDataWriter writer = json ? WindowTabDataWriter.json(os) : WindowTabDataWriter.xml(os);
+			new ModelADServiceImpl(null, jaxrsContext).queryData(req, writer);
+		};
+		return Response.ok(output, json ? MediaType.APPLICATION_JSON_TYPE : MediaType.APPLICATION_XML_TYPE).build();
+	}
+
+	@POST
+	@Path("/get_list")
+	public Response getList(ModelGetListRequestDocument req, @QueryParam("afterKey") @DefaultValue("0") int afterKey) {
+		final boolean json = isJSON();
+		StreamingOutput output = os -> {
+			WindowTabDataWriter writer = json ? WindowTabDataWriter.json(os) : WindowTabDataWriter.xml(os);
+			new ModelADServiceImpl(null, jaxrsContext).getList(req, writer, afterKey);
+		};
+		return Response.ok(output, json ? MediaType.APPLICATION_JSON_TYPE : MediaType.APPLICATION_XML_TYPE).build();
+	}
+
+	/**
+	 * @return true if client prefers JSON over XML
+	 */
+	private boolean isJSON() {
+		List<MediaType> types = jaxrsContext.getHttpHeaders().getAcceptableMediaTypes();
+		for (MediaType type : types) {
+			if (type.isCompatible(MediaType.APPLICATION_JSON_TYPE) && !type.isWildcardType())
+				return true;
+			if (type.isCompatible(MediaType.APPLICATION_XML_TYPE))
+				return false;
+		}
+		return false;
+	}
+}
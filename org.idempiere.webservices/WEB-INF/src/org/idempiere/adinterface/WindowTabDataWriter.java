@@ -0,0 +1,346 @@
+/***********************************************************************
+ * This file is part of iDempiere ERP Open Source                      *
+ * http://www.idempiere.org                                            *
+ *                                                                     *
+ * Copyright (C) Contributors                                          *
+ *                                                                     *
+ * This program is free software; you can redistribute it and/or       *
+ * modify it under the terms of the GNU General Public License         *
+ * as published by the Free Software Foundation; either version 2      *
+ * of the License, or (at your option) any later version.              *
+ *                                                                     *
+ * This program is distributed in the hope that it will be useful,     *
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of      *
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the        *
+ * GNU General Public License for more details.                        *
+ *                                                                     *
+ * You should have received a copy of the GNU General Public License   *
+ * along with this program; if not, write to the Free Software         *
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,          *
+ * MA 02110-1301, USA.                                                 *
+ **********************************************************************/
+package org.idempiere.adinterface;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Write a WindowTabData response row by row, without building the XMLBeans document in memory.<br/>
+ * The XML output follows the WindowTabData type of idempiere-schema.xsd. The JSON output has the same
+ * structure as the XMLBeans JSON provider (attributes prefixed with @, values as string), except that
+ * DataRow and field are always arrays.<br/>
+ * NumRows and TotalRows are not known when the document starts and are not written.
+ */
+public abstract class WindowTabDataWriter {
+
+	/** ADInterface namespace */
+	public static final String NAMESPACE = "http://idempiere.org/ADInterface/1_0";
+
+	/** Number of rows between flush of output */
+	private static final int FLUSH_ROWS = 100;
+
+	private boolean started = false;
+	private boolean ended = false;
+	private boolean rowOpen = false;
+	private int rows = 0;
+
+	/**
+	 * @param os
+	 * @return XML writer
+	 * @throws IOException
+	 */
+	public static WindowTabDataWriter xml(OutputStream os) throws IOException {
+		return new XML(os);
+	}
+
+	/**
+	 * @param os
+	 * @return JSON writer
+	 */
+	public static WindowTabDataWriter json(OutputStream os) {
+		return new JSON(os);
+	}
+
+	/**
+	 * Start WindowTabData and DataSet
+	 * @param startRow
+	 * @throws IOException
+	 */
+	public void startDocument(int startRow) throws IOException {
+		if (started)
+			return;
+		started = true;
+		doStartDocument(startRow);
+	}
+
+	/**
+	 * Start DataRow
+	 * @throws IOException
+	 */
+	public void startRow() throws IOException {
+		doStartRow(rows == 0);
+		rowOpen = true;
+	}
+
+	/**
+	 * Write field of current row
+	 * @param column
+	 * @param value
+	 * @throws IOException
+	 */
+	public abstract void writeField(String column, String value) throws IOException;
+
+	/**
+	 * End DataRow, output is flushed every {@link #FLUSH_ROWS} rows
+	 * @throws IOException
+	 */
+	public void endRow() throws IOException {
+		doEndRow();
+		rowOpen = false;
+		rows++;
+		if (rows % FLUSH_ROWS == 0)
+			flush();
+	}
+
+	/**
+	 * End DataSet and WindowTabData, a row still open (e.g. reading the row has failed) is closed first
+	 * @param rowCount
+	 * @param success
+	 * @param error optional error
+	 * @param status optional status, continuation key for queryData and getList
+	 * @throws IOException
+	 */
+	public void endDocument(int rowCount, boolean success, String error, String status) throws IOException {
+		if (ended)
+			return;
+		startDocument(0);
+		ended = true;
+		if (rowOpen) {
+			doEndRow();
+			rowOpen = false;
+		}
+		doEndDocument(rowCount, success, error, status);
+		flush();
+	}
+
+	/**
+	 * Write document with error and no data
+	 * @param error
+	 * @throws IOException
+	 */
+	public void writeError(String error) throws IOException {
+		endDocument(0, false, error, null);
+	}
+
+	/**
+	 * @return true if document has been started
+	 */
+	public boolean isStarted() {
+		return started;
+	}
+
+	/**
+	 * @return number of rows written
+	 */
+	public int getRowCount() {
+		return rows;
+	}
+
+	protected abstract void doStartDocument(int startRow) throws IOException;
+
+	protected abstract void doStartRow(boolean first) throws IOException;
+
+	protected abstract void doEndRow() throws IOException;
+
+	protected abstract void doEndDocument(int rowCount, boolean success, String error, String status) throws IOException;
+
+	protected abstract void flush() throws IOException;
+
+	/**
+	 * StAX writer
+	 */
+	private static class XML extends WindowTabDataWriter {
+		private final XMLStreamWriter writer;
+
+		private XML(OutputStream os) throws IOException {
+			try {
+				writer = XMLOutputFactory.newInstance().createXMLStreamWriter(os, "UTF-8");
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		protected void doStartDocument(int startRow) throws IOException {
+			try {
+				writer.writeStartDocument("UTF-8", "1.0");
+				writer.setDefaultNamespace(NAMESPACE);
+				writer.writeStartElement(NAMESPACE, "WindowTabData");
+				writer.writeDefaultNamespace(NAMESPACE);
+				writer.writeAttribute("StartRow", String.valueOf(startRow));
+				writer.writeStartElement(NAMESPACE, "DataSet");
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		protected void doStartRow(boolean first) throws IOException {
+			try {
+				writer.writeStartElement(NAMESPACE, "DataRow");
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		public void writeField(String column, String value) throws IOException {
+			try {
+				writer.writeStartElement(NAMESPACE, "field");
+				writer.writeAttribute("column", column);
+				writer.writeStartElement(NAMESPACE, "val");
+				if (value != null)
+					writer.writeCharacters(value);
+				writer.writeEndElement();
+				writer.writeEndElement();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		protected void doEndRow() throws IOException {
+			try {
+				writer.writeEndElement();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		@Override
+		protected void doEndDocument(int rowCount, boolean success, String error, String status) throws IOException {
+			try {
+				writer.writeEndElement();	// DataSet
+				writeElement("RowCount", String.valueOf(rowCount));
+				writeElement("Success", String.valueOf(success));
+				if (error != null)
+					writeElement("Error", error);
+				if (status != null)
+					writeElement("Status", status);
+				writer.writeEndElement();	// WindowTabData
+				writer.writeEndDocument();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		private void writeElement(String name, String value) throws XMLStreamException {
+			writer.writeStartElement(NAMESPACE, name);
+			writer.writeCharacters(value);
+			writer.writeEndElement();
+		}
+
+		@Override
+		protected void flush() throws IOException {
+			try {
+				writer.flush();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+	}
+
+	/**
+	 * JSON writer
+	 */
+	private static class JSON extends WindowTabDataWriter {
+		private final Writer writer;
+		private boolean firstField = true;
+
+		private JSON(OutputStream os) {
+			writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+		}
+
+		@Override
+		protected void doStartDocument(int startRow) throws IOException {
+			writer.write("{\"WindowTabData\":{\"@StartRow\":");
+			writeString(String.valueOf(startRow));
+			writer.write(",\"DataSet\":{\"DataRow\":[");
+		}
+
+		@Override
+		protected void doStartRow(boolean first) throws IOException {
+			if (!first)
+				writer.write(',');
+			writer.write("{\"field\":[");
+			firstField = true;
+		}
+
+		@Override
+		public void writeField(String column, String value) throws IOException {
+			if (!firstField)
+				writer.write(',');
+			firstField = false;
+			writer.write("{\"@column\":");
+			writeString(column);
+			writer.write(",\"val\":");
+			writeString(value != null ? value : "");
+			writer.write('}');
+		}
+
+		@Override
+		protected void doEndRow() throws IOException {
+			writer.write("]}");
+		}
+
+		@Override
+		protected void doEndDocument(int rowCount, boolean success, String error, String status) throws IOException {
+			writer.write("]},\"RowCount\":");
+			writeString(String.valueOf(rowCount));
+			writer.write(",\"Success\":");
+			writeString(String.valueOf(success));
+			if (error != null) {
+				writer.write(",\"Error\":");
+				writeString(error);
+			}
+			if (status != null) {
+				writer.write(",\"Status\":");
+				writeString(status);
+			}
+			writer.write("}}");
+		}
+
+		private void writeString(String value) throws IOException {
+			writer.write('"');
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+				case '"': writer.write("\\\""); break;
+				case '\\': writer.write("\\\\"); break;
+				case '\n': writer.write("\\n"); break;
+				case '\r': writer.write("\\r"); break;
+				case '\t': writer.write("\\t"); break;
+				default:
+					if (c < 0x20)
+						writer.write(String.format("\\u%04x", (int) c));
+					else
+						writer.write(c);
+				}
+			}
+			writer.write('"');
+		}
+
+		@Override
+		protected void flush() throws IOException {
+			writer.flush();
+		}
+	}
+}
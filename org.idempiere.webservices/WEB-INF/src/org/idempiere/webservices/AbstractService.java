@@ -16,6 +16,8 @@ package org.idempiere.webservices;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,7 @@ import java.util.Properties;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
 import javax.ws.rs.core.Context;
 import javax.xml.namespace.QName;
 import javax.xml.ws.WebServiceContext;
@@ -31,6 +34,7 @@ import javax.xml.ws.handler.MessageContext;
 import org.adempiere.base.ServiceQuery;
 import org.adempiere.base.equinox.EquinoxExtensionLocator;
 import org.adempiere.exceptions.AdempiereException;
+import org.adempiere.util.ServerContext;
 import org.apache.commons.codec.binary.Base64;
 import org.compiere.model.Lookup;
 import org.compiere.model.MColumn;
@@ -74,12 +78,16 @@ public class AbstractService {
 			+ "SELECT Included_Role_ID as AD_Role_ID FROM AD_Role_Included WHERE AD_Role_ID=?) "
 	        + "AND WS_WebServiceType_ID=?";
 	private static final String COMPIERE_SERVICE = "CompiereService";
+	private static final String REQUEST_CTX = "RequestCtx";
 	@Resource
 	protected WebServiceContext jaxwsContext; //soap context
 	
 	@Context
 	protected org.apache.cxf.jaxrs.ext.MessageContext jaxrsContext ; //rest context
 
+	/** request of worker thread, overrides soap/rest context */
+	private HttpServletRequest workerRequest;
+
 	/**
 	 * Login to web Services
 	 * @param loginRequest
@@ -332,10 +340,10 @@ public class AbstractService {
 		HttpServletRequest req = getHttpServletRequest();
 
 		@SuppressWarnings("unchecked")
-		Map<String,Object> reqCtx= (Map<String,Object>)req.getAttribute("RequestCtx");
+		Map<String,Object> reqCtx= (Map<String,Object>)req.getAttribute(REQUEST_CTX);
 		if(reqCtx==null){
 			reqCtx = new HashMap<String, Object>();
-			req.setAttribute("RequestCtx", reqCtx);
+			req.setAttribute(REQUEST_CTX, reqCtx);
 		}
 		
 		return reqCtx;
@@ -677,7 +685,9 @@ public class AbstractService {
 	 */
 	private HttpServletRequest getHttpServletRequest() {
 		HttpServletRequest req;
-		if (jaxrsContext != null) {
+		if (workerRequest != null) {
+			req = workerRequest;
+		} else if (jaxrsContext != null) {
 			req = (HttpServletRequest) jaxrsContext.getHttpServletRequest();
 		} else
 			req = (HttpServletRequest) jaxwsContext.getMessageContext().get(
@@ -685,4 +695,96 @@ public class AbstractService {
 		return req;
 	}
 	
+
+	/**
+	 * Set request of a worker thread, created by {@link #createWorkerRequest()}
+	 * @param req
+	 */
+	public void setWorkerRequest(HttpServletRequest req) {
+		this.workerRequest = req;
+	}
+
+	/**
+	 * Create request for a worker thread of the current request.<br/>
+	 * The worker request has its own attributes: a copy of the logged in Compiere Service and of the request Ctx.
+	 * @return worker request
+	 */
+	protected HttpServletRequest createWorkerRequest() {
+		HttpServletRequest req = getHttpServletRequest();
+		WorkerRequest workerReq = new WorkerRequest(req);
+		Enumeration<String> names = req.getAttributeNames();
+		while (names.hasMoreElements()) {
+			String name = names.nextElement();
+			workerReq.setAttribute(name, req.getAttribute(name));
+		}
+		workerReq.setAttribute(COMPIERE_SERVICE, getCompiereService().copy());
+		workerReq.setAttribute(REQUEST_CTX, new HashMap<String, Object>(getRequestCtx()));
+		return workerReq;
+	}
+
+	/**
+	 * Setup worker thread, must be followed by {@link #disconnectWorker(HttpServletRequest)}
+	 * @param workerReq request created by {@link #createWorkerRequest()}
+	 * @param ctx context for worker thread, copy of logged in context of request
+	 */
+	protected static void connectWorker(HttpServletRequest workerReq, Properties ctx) {
+		((CompiereService) workerReq.getAttribute(COMPIERE_SERVICE)).connect(ctx);
+	}
+
+	/**
+	 * Cleanup worker thread
+	 * @param workerReq request created by {@link #createWorkerRequest()}
+	 */
+	protected static void disconnectWorker(HttpServletRequest workerReq) {
+		try {
+			((CompiereService) workerReq.getAttribute(COMPIERE_SERVICE)).disconnect();
+		} finally {
+			ServerContext.dispose();
+		}
+	}
+
+	/**
+	 * Add request Ctx variables of a completed worker to request Ctx of current request
+	 * @param workerReq request created by {@link #createWorkerRequest()}
+	 */
+	protected void mergeWorkerRequest(HttpServletRequest workerReq) {
+		@SuppressWarnings("unchecked")
+		Map<String,Object> workerCtx = (Map<String,Object>) workerReq.getAttribute(REQUEST_CTX);
+		if (workerCtx != null)
+			getRequestCtx().putAll(workerCtx);
+	}
+
+	/**
+	 * Request of worker thread, attributes are local to the worker
+	 */
+	private static class WorkerRequest extends HttpServletRequestWrapper {
+		private final Map<String, Object> attributes = new HashMap<String, Object>();
+
+		private WorkerRequest(HttpServletRequest request) {
+			super(request);
+		}
+
+		@Override
+		public Object getAttribute(String name) {
+			return attributes.get(name);
+		}
+
+		@Override
+		public Enumeration<String> getAttributeNames() {
+			return Collections.enumeration(attributes.keySet());
+		}
+
+		@Override
+		public void setAttribute(String name, Object o) {
+			if (o == null)
+				attributes.remove(name);
+			else
+				attributes.put(name, o);
+		}
+
+		@Override
+		public void removeAttribute(String name) {
+			attributes.remove(name);
+		}
+	}
 }